@@ -0,0 +1,723 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ExtendedPVCoordinatesProvider;
+import org.orekit.utils.PVCoordinates;
+
+/** Shared service for eclipse geometry.
+ * <p>
+ * This class gathers the eclipse computations needed by several parts of
+ * the library (radiation pressure force models, eclipse detectors...). It
+ * considers a spherical occulted body (typically the Sun) hidden by a spherical
+ * occulting body (typically the Earth) located at the origin of the frames
+ * in which spacecraft positions are given.
+ * </p>
+ * <p>
+ * Computing the occulted body position is the costliest part of eclipse
+ * computation, as it involves ephemerides evaluation and frames transforms.
+ * As the occulted body moves very slowly and regularly with respect to the
+ * occulting body, its position is computed only on a fixed grid of reference
+ * dates (multiples of the validity interval since {@link AbsoluteDate#J2000_EPOCH
+ * J2000}) in each pseudo-inertial frame and extrapolated from the closest
+ * reference date using a second order Taylor expansion. The extrapolated
+ * position therefore depends only on date and frame, not on the order of
+ * the calls, so propagators sharing the predictor, running in parallel or
+ * rejecting steps get the same results. With the default validity of one hour,
+ * the position error is a few meters for the Sun as seen from Earth, i.e. far
+ * below 10<sup>-10</sup> radians. Setting the validity to 0 disables this cache.
+ * </p>
+ * <p>
+ * Force models using a predictor must use it consistently for all their
+ * eclipse-related computations, for example {@link
+ * org.orekit.forces.radiation.SolarRadiationPressure SolarRadiationPressure}
+ * uses it both for the lighting ratio and for its umbra and penumbra
+ * detectors, so the discontinuities of the lighting ratio match the events.
+ * </p>
+ * <p>
+ * The {@link #getPredictedLighting(PVCoordinates, Frame, AbsoluteDate, double, double)
+ * getPredictedLighting} method allows to know the lighting conditions without
+ * computing the eclipse geometry when the spacecraft is far from the umbra and
+ * penumbra cones boundaries. The cones crossings are predicted once per orbit,
+ * with the spacecraft trajectory approximated by Keplerian motion and the
+ * crossings refined by root finding, and the intervals where the spacecraft is
+ * safely in full light or in umbra are cached. The prediction is checked against
+ * the actual spacecraft position at each call, and redone from the current state
+ * when the trajectory departs too much from the Keplerian approximation. The
+ * lighting conditions are therefore never wrong, but a predictor shared by
+ * several spacecraft will keep predicting crossings again.
+ * </p>
+ * <p>
+ * This class is thread-safe, the same instance can be shared by several
+ * force models and detectors, even in propagators running in parallel.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class EclipsePredictor {
+
+    /** Lighting conditions from predicted cones crossings. */
+    public enum Lighting {
+
+        /** Occulted body fully visible. */
+        LIT,
+
+        /** Occulted body fully hidden. */
+        UMBRA,
+
+        /** Close to the cones boundaries or within penumbra, eclipse geometry must be computed. */
+        UNDETERMINED;
+
+    }
+
+    /** Default validity of occulted body position extrapolation (s). */
+    public static final double DEFAULT_VALIDITY = 3600.0;
+
+    /** Angular margin around the predicted cones boundaries (rad). */
+    public static final double CROSSING_MARGIN = 0.05;
+
+    /** Margin to force recompute lighting ratio when we are really inside penumbra. */
+    private static final double ANGULAR_MARGIN = 1.0e-10;
+
+    /** Number of samples per orbit for cones crossings prediction. */
+    private static final int SAMPLES = 90;
+
+    /** Maximum eccentricity for cones crossings prediction. */
+    private static final double MAX_ECCENTRICITY = 0.9;
+
+    /** Absolute accuracy of cones crossings (rad). */
+    private static final double CROSSING_ACCURACY = 1.0e-10;
+
+    /** Maximum number of evaluations for cones crossings refinement. */
+    private static final int MAX_EVAL = 100;
+
+    /** Safety factor for allowances. */
+    private static final double SAFETY = 2.0;
+
+    /** Occulted body. */
+    private final ExtendedPVCoordinatesProvider occulted;
+
+    /** Occulted body radius (m). */
+    private final double occultedRadius;
+
+    /** Occulting body radius (m). */
+    private final double occultingRadius;
+
+    /** Validity of occulted body position extrapolation (s). */
+    private final double validity;
+
+    /** Current extrapolation of occulted body position. */
+    private volatile Extrapolation extrapolation;
+
+    /** Current cones crossings prediction. */
+    private volatile Crossings crossings;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses {@link #DEFAULT_VALIDITY} for the occulted
+     * body position extrapolation.
+     * </p>
+     * @param occulted occulted body
+     * @param occultedRadius occulted body radius (m)
+     * @param occultingRadius occulting body radius (m)
+     */
+    public EclipsePredictor(final ExtendedPVCoordinatesProvider occulted, final double occultedRadius,
+                            final double occultingRadius) {
+        this(occulted, occultedRadius, occultingRadius, DEFAULT_VALIDITY);
+    }
+
+    /** Simple constructor.
+     * @param occulted occulted body
+     * @param occultedRadius occulted body radius (m)
+     * @param occultingRadius occulting body radius (m)
+     * @param validity validity of occulted body position extrapolation (s),
+     * 0 disables extrapolation, i.e. occulted body position is recomputed at each call
+     */
+    public EclipsePredictor(final ExtendedPVCoordinatesProvider occulted, final double occultedRadius,
+                            final double occultingRadius, final double validity) {
+        this.occulted        = occulted;
+        this.occultedRadius  = occultedRadius;
+        this.occultingRadius = occultingRadius;
+        this.validity        = validity;
+        this.extrapolation   = null;
+        this.crossings       = null;
+    }
+
+    /** Get the occulted body.
+     * @return occulted body
+     */
+    public ExtendedPVCoordinatesProvider getOcculted() {
+        return occulted;
+    }
+
+    /** Get the occulted body radius.
+     * @return occulted body radius (m)
+     */
+    public double getOccultedRadius() {
+        return occultedRadius;
+    }
+
+    /** Get the occulting body radius.
+     * @return occulting body radius (m)
+     */
+    public double getOccultingRadius() {
+        return occultingRadius;
+    }
+
+    /** Get the validity of occulted body position extrapolation.
+     * @return validity of occulted body position extrapolation (s)
+     */
+    public double getValidity() {
+        return validity;
+    }
+
+    /** Get the occulted body position.
+     * <p>
+     * If the frame is pseudo-inertial and extrapolation is enabled, the position
+     * is extrapolated from the closest reference date on a fixed grid with
+     * {@link #getValidity()} spacing, otherwise it is computed directly.
+     * </p>
+     * @param date date
+     * @param frame frame in which position should be defined
+     * @return occulted body position
+     */
+    public Vector3D getOccultedPosition(final AbsoluteDate date, final Frame frame) {
+
+        if (validity <= 0 || !frame.isPseudoInertial()) {
+            // no extrapolation
+            return occulted.getPVCoordinates(date, frame).getPosition();
+        }
+
+        // reference date on the fixed grid
+        final long index = FastMath.round(date.durationFrom(AbsoluteDate.J2000_EPOCH) / validity);
+
+        Extrapolation current = extrapolation;
+        if (current == null || current.frame != frame || current.index != index) {
+            // we need a new reference
+            final AbsoluteDate reference = AbsoluteDate.J2000_EPOCH.shiftedBy(index * validity);
+            current       = new Extrapolation(frame, index, reference, occulted.getPVCoordinates(reference, frame));
+            extrapolation = current;
+        }
+
+        return current.position(date);
+
+    }
+
+    /** Get the lighting ratio ([0-1]).
+     * @param position spacecraft position
+     * @param frame frame in which position is defined
+     * @param date date
+     * @return lighting ratio
+     */
+    public double getLightingRatio(final Vector3D position, final Frame frame, final AbsoluteDate date) {
+
+        final Vector3D occultedPosition = getOccultedPosition(date, frame);
+        if (occultedPosition.getNorm() < 2 * occultedRadius) {
+            // we are in fact computing a trajectory around occulted body (or solar system barycenter),
+            // not around a planet,we consider lighting ratio is always 1
+            return 1.0;
+        }
+
+        // Compute useful angles
+        final double[] angle = getEclipseAngles(occultedPosition, position);
+
+        // Sat-Occulted / Sat-Occulting angle
+        final double occultedSatOccultingAngle = angle[0];
+
+        // Occulting body apparent radius
+        final double alphaOcculting = angle[1];
+
+        // Occulted body apparent radius
+        final double alphaOcculted = angle[2];
+
+        double result = 1.0;
+
+        // Is the satellite in complete umbra ?
+        if (occultedSatOccultingAngle - alphaOcculting + alphaOcculted <= ANGULAR_MARGIN) {
+            result = 0.0;
+        } else if (occultedSatOccultingAngle - alphaOcculting - alphaOcculted < -ANGULAR_MARGIN) {
+            // Compute a lighting ratio in penumbra
+            final double sEA2    = occultedSatOccultingAngle * occultedSatOccultingAngle;
+            final double oo2sEA  = 1.0 / (2. * occultedSatOccultingAngle);
+            final double aS2     = alphaOcculted * alphaOcculted;
+            final double aE2     = alphaOcculting * alphaOcculting;
+            final double aE2maS2 = aE2 - aS2;
+
+            final double alpha1  = (sEA2 - aE2maS2) * oo2sEA;
+            final double alpha2  = (sEA2 + aE2maS2) * oo2sEA;
+
+            // Protection against numerical inaccuracy at boundaries
+            final double almost0 = Precision.SAFE_MIN;
+            final double almost1 = FastMath.nextDown(1.0);
+            final double a1oaS   = FastMath.min(almost1, FastMath.max(-almost1, alpha1 / alphaOcculted));
+            final double aS2ma12 = FastMath.max(almost0, aS2 - alpha1 * alpha1);
+            final double a2oaE   = FastMath.min(almost1, FastMath.max(-almost1, alpha2 / alphaOcculting));
+            final double aE2ma22 = FastMath.max(almost0, aE2 - alpha2 * alpha2);
+
+            final double P1 = aS2 * FastMath.acos(a1oaS) - alpha1 * FastMath.sqrt(aS2ma12);
+            final double P2 = aE2 * FastMath.acos(a2oaE) - alpha2 * FastMath.sqrt(aE2ma22);
+
+            result = 1. - (P1 + P2) / (FastMath.PI * aS2);
+        }
+
+        return result;
+
+    }
+
+    /** Get the lighting conditions from predicted cones crossings.
+     * <p>
+     * The lighting conditions are {@link Lighting#LIT LIT} or {@link Lighting#UMBRA
+     * UMBRA} only if the spacecraft is guaranteed to be respectively at least
+     * {@code margin} outside of the penumbra cone or inside the umbra cone. In all
+     * other cases, including when the trajectory cannot be approximated by an elliptic
+     * Keplerian orbit around the occulting body or when {@code frame} is not
+     * pseudo-inertial, they are {@link Lighting#UNDETERMINED UNDETERMINED} and the
+     * eclipse geometry must be computed.
+     * </p>
+     * @param pv spacecraft position-velocity
+     * @param frame frame in which position-velocity is defined
+     * @param date date
+     * @param mu central attraction coefficient (m³/s²)
+     * @param margin angular margin with respect to cones (rad), must be
+     * lower than half {@link #CROSSING_MARGIN}
+     * @return lighting conditions
+     */
+    public Lighting getPredictedLighting(final PVCoordinates pv, final Frame frame,
+                                         final AbsoluteDate date, final double mu,
+                                         final double margin) {
+
+        if (!frame.isPseudoInertial()) {
+            return Lighting.UNDETERMINED;
+        }
+
+        Crossings current  = crossings;
+        Lighting  lighting = current == null ? null : current.lighting(pv.getPosition(), frame, date, margin);
+        if (lighting == null) {
+            // the current prediction does not apply, predict crossings again
+            current = predictCrossings(pv, frame, date, mu);
+            if (current == null) {
+                return Lighting.UNDETERMINED;
+            }
+            crossings = current;
+            lighting  = current.lighting(pv.getPosition(), frame, date, margin);
+        }
+
+        return lighting == null ? Lighting.UNDETERMINED : lighting;
+
+    }
+
+    /** Predict cones crossings over one orbit.
+     * @param pv spacecraft position-velocity
+     * @param frame pseudo-inertial frame in which position-velocity is defined
+     * @param date date
+     * @param mu central attraction coefficient (m³/s²)
+     * @return predicted crossings, or null if the trajectory is not suitable for prediction
+     */
+    private Crossings predictCrossings(final PVCoordinates pv, final Frame frame,
+                                       final AbsoluteDate date, final double mu) {
+
+        final Vector3D occultedPosition = getOccultedPosition(date, frame);
+        if (occultedPosition.getNorm() < 2 * occultedRadius) {
+            // no eclipse for trajectories around occulted body
+            return null;
+        }
+
+        // Keplerian approximation
+        final Vector3D position  = pv.getPosition();
+        final Vector3D momentum  = pv.getMomentum();
+        final double   h2        = momentum.getNormSq();
+        final Vector3D eVector   = new Vector3D(1.0 / mu, Vector3D.crossProduct(pv.getVelocity(), momentum),
+                                                -1.0 / position.getNorm(), position);
+        final double   e         = eVector.getNorm();
+        final double   semiLatus = h2 / mu;
+        if (h2 == 0 || e > MAX_ECCENTRICITY || semiLatus <= occultingRadius * (1 + e)) {
+            // no elliptic orbit, or orbit intersecting the occulting body
+            return null;
+        }
+
+        final Crossings c = new Crossings(frame, date, position, momentum, eVector, e, semiLatus, mu,
+                                          occulted.getPVCoordinates(date, frame));
+        final double    h = MathUtils.TWO_PI / SAMPLES;
+
+        // sample the cones offsets along the orbit
+        final double[] nu       = new double[SAMPLES + 1];
+        final double[] penumbra = new double[SAMPLES + 1];
+        final double[] umbra    = new double[SAMPLES + 1];
+        double rate = 0;
+        for (int k = 0; k <= SAMPLES; ++k) {
+            nu[k] = c.nuStart + k * h;
+            final double[] offsets = conesOffsets(c, nu[k]);
+            umbra[k]    = offsets[0];
+            penumbra[k] = offsets[1];
+            if (k > 0) {
+                rate = FastMath.max(rate, FastMath.abs(umbra[k]    - umbra[k - 1])    / h);
+                rate = FastMath.max(rate, FastMath.abs(penumbra[k] - penumbra[k - 1]) / h);
+            }
+        }
+        rate *= SAFETY;
+
+        // safe intervals, at least CROSSING_MARGIN away from the cones boundaries
+        final double[] lit    = new double[SAMPLES + 1];
+        final double[] shadow = new double[SAMPLES + 1];
+        for (int k = 0; k <= SAMPLES; ++k) {
+            lit[k]    = penumbra[k] - CROSSING_MARGIN;
+            shadow[k] = -umbra[k]   - CROSSING_MARGIN;
+        }
+        c.lit   = safeIntervals(nu, lit,    x -> conesOffsets(c, x)[1] - CROSSING_MARGIN, rate * h);
+        c.umbra = safeIntervals(nu, shadow, x -> -conesOffsets(c, x)[0] - CROSSING_MARGIN, rate * h);
+
+        return c;
+
+    }
+
+    /** Compute angular offsets with respect to umbra and penumbra cones along a Keplerian orbit.
+     * @param c Keplerian orbit
+     * @param nu true anomaly
+     * @return angular offsets with respect to umbra and penumbra cones
+     * (negative inside the cones)
+     */
+    private double[] conesOffsets(final Crossings c, final double nu) {
+        final double[] angle = getEclipseAngles(getOccultedPosition(c.date.shiftedBy(c.timeOffset(nu)), c.frame),
+                                                c.position(nu));
+        return new double[] {
+            angle[0] - angle[1] + angle[2],
+            angle[0] - angle[1] - angle[2]
+        };
+    }
+
+    /** Find the intervals where a sampled function is positive.
+     * <p>
+     * Sampling intervals without sign change are considered positive only
+     * if the function rate bound guarantees it cannot cross zero in between.
+     * Sign changes are refined by root finding.
+     * </p>
+     * @param x sampling abscissas
+     * @param y sampled values
+     * @param f function
+     * @param variation bound on function variation over one sampling interval
+     * @return start and end abscissas of positive intervals
+     */
+    private static double[][] safeIntervals(final double[] x, final double[] y,
+                                            final UnivariateFunction f, final double variation) {
+
+        final BracketingNthOrderBrentSolver solver = new BracketingNthOrderBrentSolver(CROSSING_ACCURACY, 5);
+        final double[] starts = new double[x.length];
+        final double[] ends   = new double[x.length];
+        int n = 0;
+        for (int k = 0; k < x.length - 1; ++k) {
+            final double start;
+            final double end;
+            if (y[k] > 0 && y[k + 1] > 0) {
+                if (y[k] + y[k + 1] <= variation) {
+                    // the function may cross zero twice in this interval
+                    continue;
+                }
+                start = x[k];
+                end   = x[k + 1];
+            } else if (y[k] > 0) {
+                start = x[k];
+                end   = solver.solve(MAX_EVAL, f, x[k], x[k + 1], AllowedSolution.LEFT_SIDE);
+            } else if (y[k + 1] > 0) {
+                start = solver.solve(MAX_EVAL, f, x[k], x[k + 1], AllowedSolution.RIGHT_SIDE);
+                end   = x[k + 1];
+            } else {
+                continue;
+            }
+            if (n > 0 && ends[n - 1] == start) {
+                // merge with previous interval
+                ends[n - 1] = end;
+            } else {
+                starts[n] = start;
+                ends[n]   = end;
+                ++n;
+            }
+        }
+
+        final double[][] intervals = new double[2][n];
+        System.arraycopy(starts, 0, intervals[0], 0, n);
+        System.arraycopy(ends,   0, intervals[1], 0, n);
+        return intervals;
+
+    }
+
+    /** Get the useful angles for eclipse computation.
+     * @param occultedPosition occulted body position in the selected frame
+     * @param position the satellite's position in the selected frame
+     * @return the 3 angles {(satOcculting, satOcculted), occulting body apparent radius,
+     * occulted body apparent radius}
+     */
+    private double[] getEclipseAngles(final Vector3D occultedPosition, final Vector3D position) {
+        final double[] angle = new double[3];
+
+        final Vector3D satOccultedVector = occultedPosition.subtract(position);
+
+        // Sat-Occulted / Sat-Occulting angle
+        angle[0] = Vector3D.angle(satOccultedVector, position.negate());
+
+        // Occulting body apparent radius
+        final double r = position.getNorm();
+        if (r <= occultingRadius) {
+            throw new OrekitException(OrekitMessages.TRAJECTORY_INSIDE_BRILLOUIN_SPHERE, r);
+        }
+        angle[1] = FastMath.asin(occultingRadius / r);
+
+        // Occulted body apparent radius
+        angle[2] = FastMath.asin(occultedRadius / satOccultedVector.getNorm());
+
+        return angle;
+    }
+
+    /** Cones crossings predicted along a Keplerian orbit.
+     * <p>
+     * Positions along the orbit are identified by their true anomaly, so the
+     * lighting conditions can also be retrieved for states at the same date
+     * but different positions along the orbit, as semi-analytical models do.
+     * </p>
+     */
+    private class Crossings {
+
+        /** Frame in which the orbit is defined. */
+        private final Frame frame;
+
+        /** Reference date. */
+        private final AbsoluteDate date;
+
+        /** Unit vector towards periapsis. */
+        private final Vector3D p;
+
+        /** Unit vector in orbital plane, 90° ahead of periapsis. */
+        private final Vector3D q;
+
+        /** Unit vector along orbital momentum. */
+        private final Vector3D w;
+
+        /** Eccentricity. */
+        private final double e;
+
+        /** Semi-latus rectum (m). */
+        private final double semiLatus;
+
+        /** Mean motion (rad/s). */
+        private final double n;
+
+        /** Orbital period (s). */
+        private final double period;
+
+        /** Start of true anomaly range (rad). */
+        private final double nuStart;
+
+        /** Unwrapped mean anomaly at reference date (rad). */
+        private final double m0;
+
+        /** Bound on occulted body angular rate (rad/s). */
+        private final double occultedRate;
+
+        /** Distance of occulted body (m). */
+        private final double occultedDistance;
+
+        /** True anomalies of intervals in full light (starts and ends). */
+        private double[][] lit;
+
+        /** True anomalies of intervals in umbra (starts and ends). */
+        private double[][] umbra;
+
+        /** Simple constructor.
+         * @param frame frame in which the orbit is defined
+         * @param date reference date
+         * @param position position at reference date
+         * @param momentum orbital momentum
+         * @param eVector eccentricity vector
+         * @param e eccentricity
+         * @param semiLatus semi-latus rectum (m)
+         * @param mu central attraction coefficient (m³/s²)
+         * @param occultedPV occulted body position-velocity at reference date
+         */
+        Crossings(final Frame frame, final AbsoluteDate date, final Vector3D position,
+                  final Vector3D momentum, final Vector3D eVector, final double e,
+                  final double semiLatus, final double mu, final PVCoordinates occultedPV) {
+            final double a        = semiLatus / (1 - e * e);
+            this.frame            = frame;
+            this.date             = date;
+            this.w                = momentum.normalize();
+            this.p                = e < Precision.EPSILON ? position.normalize() : eVector.normalize();
+            this.q                = Vector3D.crossProduct(w, p);
+            this.e                = e;
+            this.semiLatus        = semiLatus;
+            this.n                = FastMath.sqrt(mu / a) / a;
+            this.period           = MathUtils.TWO_PI / n;
+            final double nu0      = FastMath.atan2(Vector3D.dotProduct(position, q), Vector3D.dotProduct(position, p));
+            this.nuStart          = nu0 - FastMath.PI;
+            this.m0               = meanAnomaly(nu0);
+            this.occultedDistance = occultedPV.getPosition().getNorm();
+            this.occultedRate     = SAFETY * occultedPV.getMomentum().getNorm() /
+                                    (occultedDistance * occultedDistance);
+        }
+
+        /** Get unwrapped mean anomaly.
+         * @param nu true anomaly
+         * @return mean anomaly, in the same turn as true anomaly
+         */
+        private double meanAnomaly(final double nu) {
+            final double halfNu = 0.5 * nu;
+            final double ea     = MathUtils.normalizeAngle(2 * FastMath.atan2(FastMath.sqrt(1 - e) * FastMath.sin(halfNu),
+                                                                              FastMath.sqrt(1 + e) * FastMath.cos(halfNu)),
+                                                           nu);
+            return ea - e * FastMath.sin(ea);
+        }
+
+        /** Get the time offset with respect to reference date.
+         * @param nu true anomaly, in the reference orbit range
+         * @return time offset (s)
+         */
+        public double timeOffset(final double nu) {
+            return (meanAnomaly(nu) - m0) / n;
+        }
+
+        /** Get the position along orbit.
+         * @param nu true anomaly
+         * @return position
+         */
+        public Vector3D position(final double nu) {
+            final double r = semiLatus / (1 + e * FastMath.cos(nu));
+            return new Vector3D(r * FastMath.cos(nu), p, r * FastMath.sin(nu), q);
+        }
+
+        /** Get the lighting conditions for a spacecraft.
+         * @param position spacecraft position
+         * @param f frame in which position is defined
+         * @param t date
+         * @param margin angular margin with respect to cones (rad)
+         * @return lighting conditions, or null if the spacecraft is too
+         * far from the orbit for the prediction to apply
+         */
+        public Lighting lighting(final Vector3D position, final Frame f, final AbsoluteDate t, final double margin) {
+
+            if (f != frame) {
+                return null;
+            }
+
+            // distance to the point at the same true anomaly on the Keplerian orbit
+            final double x    = Vector3D.dotProduct(position, p);
+            final double y    = Vector3D.dotProduct(position, q);
+            final double z    = Vector3D.dotProduct(position, w);
+            final double rho  = FastMath.hypot(x, y);
+            final double rKep = semiLatus * rho / (rho + e * x);
+            final double d    = FastMath.hypot(rho - rKep, z);
+            final double rMin = FastMath.min(position.getNorm(), rKep) - d;
+            final double rMax = FastMath.max(position.getNorm(), rKep) + d;
+            if (rMin <= occultingRadius) {
+                return null;
+            }
+
+            // bound on the cones offsets changes due to the distance to the orbit,
+            // to occulting body apparent radius change and to occulted body motion
+            final double allowance =
+                    SAFETY * d * (1 + occultingRadius / FastMath.sqrt((rMin - occultingRadius) * (rMin + occultingRadius))) / rMin +
+                    SAFETY * d / (occultedDistance - rMax) +
+                    occultedRate * (FastMath.abs(t.durationFrom(date)) + 0.5 * period);
+            if (allowance > 0.5 * CROSSING_MARGIN) {
+                return null;
+            }
+
+            if (allowance + margin <= CROSSING_MARGIN) {
+                final double nu = MathUtils.normalizeAngle(FastMath.atan2(y, x), nuStart + FastMath.PI);
+                if (contains(lit, nu)) {
+                    return Lighting.LIT;
+                } else if (contains(umbra, nu)) {
+                    return Lighting.UMBRA;
+                }
+            }
+
+            return Lighting.UNDETERMINED;
+
+        }
+
+        /** Check if an angle belongs to a set of intervals.
+         * @param intervals start and end of intervals
+         * @param nu true anomaly
+         * @return true if angle belongs to one interval
+         */
+        private boolean contains(final double[][] intervals, final double nu) {
+            for (int i = 0; i < intervals[0].length; ++i) {
+                if (nu >= intervals[0][i] && nu <= intervals[1][i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /** Extrapolation of occulted body position. */
+    private static class Extrapolation {
+
+        /** Frame in which position is extrapolated. */
+        private final Frame frame;
+
+        /** Index of the reference date in the grid. */
+        private final long index;
+
+        /** Reference date. */
+        private final AbsoluteDate date;
+
+        /** Position at reference date. */
+        private final Vector3D p;
+
+        /** Velocity at reference date. */
+        private final Vector3D v;
+
+        /** Acceleration at reference date. */
+        private final Vector3D a;
+
+        /** Simple constructor.
+         * @param frame frame in which position is extrapolated
+         * @param index index of the reference date in the grid
+         * @param date reference date
+         * @param pv position-velocity-acceleration at reference date
+         */
+        Extrapolation(final Frame frame, final long index, final AbsoluteDate date, final PVCoordinates pv) {
+            this.frame = frame;
+            this.index = index;
+            this.date  = date;
+            this.p     = pv.getPosition();
+            this.v     = pv.getVelocity();
+            this.a     = pv.getAcceleration();
+        }
+
+        /** Extrapolate position.
+         * @param t date
+         * @return extrapolated position
+         */
+        public Vector3D position(final AbsoluteDate t) {
+            final double dt = t.durationFrom(date);
+            return new Vector3D(1, p, dt, v, 0.5 * dt * dt, a);
+        }
+
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -34,8 +35,11 @@ import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresBuilder;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresOptimizer;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresOptimizer.Optimum;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.MultivariateJacobianFunction;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.ParameterValidator;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Incrementor;
+import org.hipparchus.util.Pair;
 import org.orekit.errors.OrekitException;
 import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.EstimationsProvider;
@@ -96,6 +100,26 @@ public class BatchLSEstimator {
     /** Counter for the iterations. */
     private Incrementor iterationsCounter;
 
+    /** Executor for measurements estimation (null for sequential estimation).
+     * @since 10.2
+     */
+    private ExecutorService measurementsExecutor;
+
+    /** Indicator for normal equations accumulation.
+     * @since 10.2
+     */
+    private boolean normalEquationsAccumulation;
+
+    /** Threshold on normalized parameters change below which the model is linearized.
+     * @since 10.2
+     */
+    private double linearizationThreshold;
+
+    /** Number of linearized evaluations performed during last estimation.
+     * @since 10.2
+     */
+    private int linearizedEvaluationsCount;
+
     /** Simple constructor.
      * <p>
      * If multiple {@link PropagatorBuilder propagator builders} are set up,
@@ -125,6 +149,10 @@ public class BatchLSEstimator {
         this.observer                       = null;
         this.estimations                    = null;
         this.orbits                         = new Orbit[builders.length];
+        this.measurementsExecutor           = null;
+        this.normalEquationsAccumulation    = false;
+        this.linearizationThreshold         = 0.0;
+        this.linearizedEvaluationsCount     = 0;
 
         setParametersConvergenceThreshold(Double.NaN);
 
@@ -190,6 +218,127 @@ public class BatchLSEstimator {
         lsBuilder.maxEvaluations(maxEvaluations);
     }
 
+    /** Set the executor for measurements estimation.
+     * <p>
+     * By default, no executor is set and each measurement is estimated in the
+     * propagation thread as soon as the propagator reaches its date. If an
+     * executor is set, propagation only interpolates the states at measurements
+     * dates, and the measurements estimations, including all modifiers (troposphere,
+     * ionosphere, Shapiro...), are dispatched to the executor by batches. This is
+     * worth it when there are many measurements with costly modifiers. The measurements
+     * and their modifiers must then be thread-safe. The residuals vector and
+     * Jacobian are assembled in chronological order, so the estimation results do
+     * not depend on the executor.
+     * </p>
+     * @param executor executor for measurements estimation
+     * (null for sequential estimation in the propagation thread)
+     * @since 10.2
+     */
+    public void setMeasurementsExecutor(final ExecutorService executor) {
+        this.measurementsExecutor = executor;
+    }
+
+    /** Get the executor for measurements estimation.
+     * @return executor for measurements estimation
+     * (null for sequential estimation in the propagation thread)
+     * @see #setMeasurementsExecutor(ExecutorService)
+     * @since 10.2
+     */
+    public ExecutorService getMeasurementsExecutor() {
+        return measurementsExecutor;
+    }
+
+    /** Set the normal equations accumulation mode.
+     * <p>
+     * By default, the full weighted Jacobian matrix (measurements × parameters) is
+     * built at each evaluation and handed to the least squares optimizer. For large
+     * problems (many measurements, several satellites, many station or troposphere
+     * parameters), this matrix is huge and mostly filled with zeros. In normal
+     * equations accumulation mode, each measurement is added to the normal equations
+     * J<sup>T</sup>J and J<sup>T</sup>r as soon as it is evaluated, using only its
+     * non-zero Jacobian entries, and the full Jacobian is never stored. Memory use
+     * is then proportional to the square of the number of parameters.
+     * </p>
+     * <p>
+     * The optimizer sees an equivalent compressed problem with one row per estimated
+     * parameter plus one extra row, built from the Cholesky factor of the normal matrix.
+     * It has the same normal equations and the same cost as the full problem, so the
+     * estimated parameters, covariances and RMS are the same. However the {@link
+     * org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation#getResiduals()
+     * residuals} and {@link org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation#getJacobian()
+     * Jacobian} available from evaluations and {@link #getOptimum() optimum} are the
+     * compressed ones, the per-measurement residuals remain available from the
+     * {@link #getLastEstimations() estimations}. This mode requires that all estimated
+     * parameters are observable, i.e. that the normal matrix is positive definite.
+     * </p>
+     * @param accumulate if true, normal equations are accumulated instead of
+     * storing the full Jacobian
+     * @since 10.2
+     */
+    public void setNormalEquationsAccumulation(final boolean accumulate) {
+        this.normalEquationsAccumulation = accumulate;
+    }
+
+    /** Check if normal equations accumulation mode is used.
+     * @return true if normal equations are accumulated instead of
+     * storing the full Jacobian
+     * @see #setNormalEquationsAccumulation(boolean)
+     * @since 10.2
+     */
+    public boolean isNormalEquationsAccumulation() {
+        return normalEquationsAccumulation;
+    }
+
+    /** Set the threshold for linearized evaluations.
+     * <p>
+     * By default (threshold set to 0), each evaluation of the least squares model
+     * creates new propagators and integrates the whole arc again, together with
+     * the state transition matrix. When the threshold is strictly positive, the
+     * residuals and Jacobian of the last full evaluation are reused as long as the
+     * estimated normalized parameters do not move farther than the threshold (in
+     * L<sub>∞</sub> norm) from the point of this full evaluation. In this case,
+     * the residuals are predicted linearly using the state transition matrix
+     * included in the Jacobian, and no propagation is performed. This typically
+     * saves the last iterations, when corrections are tiny.
+     * </p>
+     * <p>
+     * The linearized evaluations do not update the {@link #getLastEstimations()
+     * estimations} nor the orbits provided to the {@link #setObserver(BatchLSObserver)
+     * observer}, which are those of the last full evaluation. As the residuals
+     * prediction error is quadratic in the parameters change, the threshold should
+     * be small with respect to the parameters convergence threshold.
+     * </p>
+     * @param threshold threshold on normalized parameters change below which the
+     * model is linearized (0 to always perform full evaluations)
+     * @see #getLinearizedEvaluationsCount()
+     * @since 10.2
+     */
+    public void setLinearizationThreshold(final double threshold) {
+        this.linearizationThreshold = threshold;
+    }
+
+    /** Get the threshold for linearized evaluations.
+     * @return threshold on normalized parameters change below which the
+     * model is linearized (0 if full evaluations are always performed)
+     * @see #setLinearizationThreshold(double)
+     * @since 10.2
+     */
+    public double getLinearizationThreshold() {
+        return linearizationThreshold;
+    }
+
+    /** Get the number of linearized evaluations performed during last estimation.
+     * <p>
+     * These evaluations are included in the {@link #getEvaluationsCount() evaluations count}.
+     * </p>
+     * @return number of linearized evaluations performed during last estimation
+     * @see #setLinearizationThreshold(double)
+     * @since 10.2
+     */
+    public int getLinearizedEvaluationsCount() {
+        return linearizedEvaluationsCount;
+    }
+
     /** Get the orbital parameters supported by this estimator.
      * <p>
      * If there are more than one propagator builder, then the names
@@ -398,7 +547,7 @@ public class BatchLSEstimator {
                 p += measurement.getDimension();
             }
         }
-        final double[] target = new double[p];
+        final double[] target = new double[normalEquationsAccumulation ? start.length + 1 : p];
         lsBuilder.target(target);
 
         // set up the model
@@ -412,9 +561,12 @@ public class BatchLSEstimator {
             }
         };
         final BatchLSODModel model = builders[0].buildLSModel(builders, measurements, estimatedMeasurementsParameters, modelObserver);
+        model.setMeasurementsExecutor(measurementsExecutor);
+        model.setNormalEquationsAccumulation(normalEquationsAccumulation);
         //final Model model = new Model(builders, measurements, estimatedMeasurementsParameters,
                                       //modelObserver);
-        lsBuilder.model(model);
+        linearizedEvaluationsCount = 0;
+        lsBuilder.model(linearizationThreshold > 0 ? new LinearizedModel(model) : model);
 
         // add a validator for orbital parameters
         lsBuilder.parameterValidator(new Validator(estimatedOrbitalParameters,
@@ -426,6 +578,7 @@ public class BatchLSEstimator {
         // set up the problem to solve
         final LeastSquaresProblem problem = new TappedLSProblem(lsBuilder.build(),
                                                                 model,
+                                                                p,
                                                                 estimatedOrbitalParameters,
                                                                 estimatedPropagatorParameters,
                                                                 estimatedMeasurementsParameters);
@@ -538,6 +691,9 @@ public class BatchLSEstimator {
         /** Multivariate function model. */
         private final BatchLSODModel model;
 
+        /** Number of measurements components. */
+        private final int measurementsSize;
+
         /** Estimated orbital parameters. */
         private final ParameterDriversList estimatedOrbitalParameters;
 
@@ -550,17 +706,20 @@ public class BatchLSEstimator {
         /** Simple constructor.
          * @param problem underlying problem
          * @param model multivariate function model
+         * @param measurementsSize number of measurements components
          * @param estimatedOrbitalParameters estimated orbital parameters
          * @param estimatedPropagatorParameters estimated propagator parameters
          * @param estimatedMeasurementsParameters estimated measurements parameters
          */
         TappedLSProblem(final LeastSquaresProblem problem,
                         final BatchLSODModel model,
+                        final int measurementsSize,
                         final ParameterDriversList estimatedOrbitalParameters,
                         final ParameterDriversList estimatedPropagatorParameters,
                         final ParameterDriversList estimatedMeasurementsParameters) {
             this.problem                         = problem;
             this.model                           = model;
+            this.measurementsSize                = measurementsSize;
             this.estimatedOrbitalParameters      = estimatedOrbitalParameters;
             this.estimatedPropagatorParameters   = estimatedPropagatorParameters;
             this.estimatedMeasurementsParameters = estimatedMeasurementsParameters;
@@ -613,7 +772,9 @@ public class BatchLSEstimator {
         public Evaluation evaluate(final RealVector point) {
 
             // perform the evaluation
-            final Evaluation evaluation = problem.evaluate(point);
+            final Evaluation evaluation = model.isNormalEquationsAccumulation() ?
+                                          new CompressedEvaluation(problem.evaluate(point), measurementsSize) :
+                                          problem.evaluate(point);
 
             // notify the observer
             if (observer != null) {
@@ -633,6 +794,134 @@ public class BatchLSEstimator {
 
     }
 
+    /** Model reusing the last full evaluation for small parameters changes.
+     * @since 10.2
+     */
+    private class LinearizedModel implements MultivariateJacobianFunction {
+
+        /** Underlying model. */
+        private final MultivariateJacobianFunction model;
+
+        /** Point of the last full evaluation. */
+        private RealVector referencePoint;
+
+        /** Value at the last full evaluation. */
+        private RealVector referenceValue;
+
+        /** Jacobian at the last full evaluation. */
+        private RealMatrix referenceJacobian;
+
+        /** Simple constructor.
+         * @param model underlying model
+         */
+        LinearizedModel(final MultivariateJacobianFunction model) {
+            this.model = model;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Pair<RealVector, RealMatrix> value(final RealVector point) {
+
+            if (referencePoint != null &&
+                point.getLInfDistance(referencePoint) <= linearizationThreshold) {
+                // the point is close to the last full evaluation, predict residuals linearly
+                ++linearizedEvaluationsCount;
+                final RealVector delta = point.subtract(referencePoint);
+                return new Pair<>(referenceValue.add(referenceJacobian.operate(delta)), referenceJacobian);
+            }
+
+            // full evaluation, which becomes the new reference
+            final Pair<RealVector, RealMatrix> full = model.value(point);
+            referencePoint    = point.copy();
+            referenceValue    = full.getFirst();
+            referenceJacobian = full.getSecond();
+            return full;
+
+        }
+
+    }
+
+    /** Evaluation of a compressed problem.
+     * <p>
+     * The compressed problem has the same cost as the full problem, but fewer rows,
+     * so the statistics depending on the number of observations must be fixed.
+     * </p>
+     * @since 10.2
+     */
+    private static class CompressedEvaluation implements LeastSquaresProblem.Evaluation {
+
+        /** Evaluation of the compressed problem. */
+        private final LeastSquaresProblem.Evaluation compressed;
+
+        /** Number of rows of the full problem. */
+        private final int observationSize;
+
+        /** Simple constructor.
+         * @param compressed evaluation of the compressed problem
+         * @param observationSize number of rows of the full problem
+         */
+        CompressedEvaluation(final LeastSquaresProblem.Evaluation compressed, final int observationSize) {
+            this.compressed      = compressed;
+            this.observationSize = observationSize;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix getCovariances(final double threshold) {
+            return compressed.getCovariances(threshold);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector getSigma(final double covarianceSingularityThreshold) {
+            return compressed.getSigma(covarianceSingularityThreshold);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getRMS() {
+            final double cost = compressed.getCost();
+            return FastMath.sqrt(cost * cost / observationSize);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix getJacobian() {
+            return compressed.getJacobian();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getCost() {
+            return compressed.getCost();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getChiSquare() {
+            return compressed.getChiSquare();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getReducedChiSquare(final int numberOfFittedParameters) {
+            return getChiSquare() / (observationSize - numberOfFittedParameters);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector getResiduals() {
+            return compressed.getResiduals();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector getPoint() {
+            return compressed.getPoint();
+        }
+
+    }
+
     /** Provider for evaluations. */
     private class Provider implements EstimationsProvider {
 
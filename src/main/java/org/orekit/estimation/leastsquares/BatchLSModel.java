@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -111,6 +112,26 @@ public class BatchLSModel implements BatchLSODModel {
     /** Model function Jacobian. */
     private RealMatrix jacobian;
 
+    /** Number of rows of the dense problem.
+     * @since 10.2
+     */
+    private final int rows;
+
+    /** Number of columns of the problem.
+     * @since 10.2
+     */
+    private final int columns;
+
+    /** Accumulator for normal equations (null if dense Jacobian is used).
+     * @since 10.2
+     */
+    private NormalEquations normalEquations;
+
+    /** Executor for measurements estimation (null for sequential estimation).
+     * @since 10.2
+     */
+    private ExecutorService measurementsExecutor;
+
     /** Simple constructor.
      * @param propagatorBuilders builders to use for propagation
      * @param measurements measurements
@@ -131,23 +152,23 @@ public class BatchLSModel implements BatchLSODModel {
         this.observer                        = observer;
         this.mappers                         = new JacobiansMapper[builders.length];
 
-        // allocate vector and matrix
-        int rows = 0;
+        // compute problem dimensions
+        int nbRows = 0;
         for (final ObservedMeasurement<?> measurement : measurements) {
-            rows += measurement.getDimension();
+            nbRows += measurement.getDimension();
         }
 
         this.orbitsStartColumns = new int[builders.length];
         this.orbitsEndColumns   = new int[builders.length];
-        int columns = 0;
+        int nbColumns = 0;
         for (int i = 0; i < builders.length; ++i) {
-            this.orbitsStartColumns[i] = columns;
+            this.orbitsStartColumns[i] = nbColumns;
             for (final ParameterDriver driver : builders[i].getOrbitalParametersDrivers().getDrivers()) {
                 if (driver.isSelected()) {
-                    ++columns;
+                    ++nbColumns;
                 }
             }
-            this.orbitsEndColumns[i] = columns;
+            this.orbitsEndColumns[i] = nbColumns;
         }
 
         // Gather all the propagation drivers names in a list
@@ -166,20 +187,23 @@ public class BatchLSModel implements BatchLSODModel {
         // Populate the map of propagation drivers' columns and update the total number of columns
         propagationParameterColumns = new HashMap<>(estimatedPropagationParametersNames.size());
         for (final String driverName : estimatedPropagationParametersNames) {
-            propagationParameterColumns.put(driverName, columns);
-            ++columns;
+            propagationParameterColumns.put(driverName, nbColumns);
+            ++nbColumns;
         }
 
 
         // Populate the map of measurement drivers' columns and update the total number of columns
         for (final ParameterDriver parameter : estimatedMeasurementsParameters.getDrivers()) {
-            measurementParameterColumns.put(parameter.getName(), columns);
-            ++columns;
+            measurementParameterColumns.put(parameter.getName(), nbColumns);
+            ++nbColumns;
         }
 
-        // Initialize point and value
-        value    = new ArrayRealVector(rows);
-        jacobian = MatrixUtils.createRealMatrix(rows, columns);
+        // value and Jacobian will be allocated at first evaluation
+        this.rows            = nbRows;
+        this.columns         = nbColumns;
+        this.value           = null;
+        this.jacobian        = null;
+        this.normalEquations = null;
 
         // Decide whether the propagation will be done forward or backward.
         // Minimize the duration between first measurement treated and orbit determination date
@@ -216,6 +240,36 @@ public class BatchLSModel implements BatchLSODModel {
         return forwardPropagation;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void setMeasurementsExecutor(final ExecutorService executor) {
+        this.measurementsExecutor = executor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ExecutorService getMeasurementsExecutor() {
+        return measurementsExecutor;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setNormalEquationsAccumulation(final boolean accumulate) {
+        if (accumulate) {
+            normalEquations = new NormalEquations(columns);
+            value           = null;
+            jacobian        = null;
+        } else {
+            normalEquations = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isNormalEquationsAccumulation() {
+        return normalEquations != null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Pair<RealVector, RealMatrix> value(final RealVector point) {
@@ -232,11 +286,19 @@ public class BatchLSModel implements BatchLSODModel {
 
         // Reset value and Jacobian
         evaluations.clear();
-        value.set(0.0);
-        for (int i = 0; i < jacobian.getRowDimension(); ++i) {
-            for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
-                jacobian.setEntry(i, j, 0.0);
+        if (normalEquations == null) {
+            if (jacobian == null) {
+                value    = new ArrayRealVector(rows);
+                jacobian = MatrixUtils.createRealMatrix(rows, columns);
+            }
+            value.set(0.0);
+            for (int i = 0; i < jacobian.getRowDimension(); ++i) {
+                for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
+                    jacobian.setEntry(i, j, 0.0);
+                }
             }
+        } else {
+            normalEquations.reset();
         }
 
         // Run the propagation, gathering residuals on the fly
@@ -250,7 +312,11 @@ public class BatchLSModel implements BatchLSODModel {
 
         observer.modelCalled(orbits, evaluations);
 
-        return new Pair<RealVector, RealMatrix>(value, jacobian);
+        if (normalEquations == null) {
+            return new Pair<RealVector, RealMatrix>(value, jacobian);
+        } else {
+            return normalEquations.getCompressedProblem();
+        }
 
     }
 
@@ -398,8 +464,22 @@ public class BatchLSModel implements BatchLSODModel {
         final double[] observed  = observedMeasurement.getObservedValue();
         final double[] sigma     = observedMeasurement.getTheoreticalStandardDeviation();
         final double[] weight    = evaluation.getObservedMeasurement().getBaseWeight();
+        // select where weighted residuals and Jacobian are stored
+        final RealVector measurementValue;
+        final RealMatrix measurementJacobian;
+        final int        row0;
+        if (normalEquations == null) {
+            measurementValue    = value;
+            measurementJacobian = jacobian;
+            row0                = index;
+        } else {
+            measurementValue    = new ArrayRealVector(evaluated.length);
+            measurementJacobian = MatrixUtils.createRealMatrix(evaluated.length, columns);
+            row0                = 0;
+        }
+
         for (int i = 0; i < evaluated.length; ++i) {
-            value.setEntry(index + i, weight[i] * (evaluated[i] - observed[i]) / sigma[i]);
+            measurementValue.setEntry(row0 + i, weight[i] * (evaluated[i] - observed[i]) / sigma[i]);
         }
 
         for (int k = 0; k < evaluationStates.length; ++k) {
@@ -426,8 +506,8 @@ public class BatchLSModel implements BatchLSODModel {
                 for (int j = 0; j < dMdY0.getColumnDimension(); ++j) {
                     final ParameterDriver driver = builders[p].getOrbitalParametersDrivers().getDrivers().get(j);
                     if (driver.isSelected()) {
-                        jacobian.setEntry(index + i, jOrb++,
-                                          weight[i] * dMdY0.getEntry(i, j) / sigma[i] * driver.getScale());
+                        measurementJacobian.setEntry(row0 + i, jOrb++,
+                                                     weight[i] * dMdY0.getEntry(i, j) / sigma[i] * driver.getScale());
                     }
                 }
             }
@@ -443,8 +523,8 @@ public class BatchLSModel implements BatchLSODModel {
                 for (int i = 0; i < dMdPp.getRowDimension(); ++i) {
                     for (int j = 0; j < nbParams; ++j) {
                         final ParameterDriver delegating = selectedPropagationDrivers.getDrivers().get(j);
-                        jacobian.addToEntry(index + i, propagationParameterColumns.get(delegating.getName()),
-                                            weight[i] * dMdPp.getEntry(i, j) / sigma[i] * delegating.getScale());
+                        measurementJacobian.addToEntry(row0 + i, propagationParameterColumns.get(delegating.getName()),
+                                                       weight[i] * dMdPp.getEntry(i, j) / sigma[i] * delegating.getScale());
                     }
                 }
             }
@@ -456,12 +536,18 @@ public class BatchLSModel implements BatchLSODModel {
             if (driver.isSelected()) {
                 final double[] aMPm = evaluation.getParameterDerivatives(driver);
                 for (int i = 0; i < aMPm.length; ++i) {
-                    jacobian.setEntry(index + i, measurementParameterColumns.get(driver.getName()),
-                                      weight[i] * aMPm[i] / sigma[i] * driver.getScale());
+                    measurementJacobian.setEntry(row0 + i, measurementParameterColumns.get(driver.getName()),
+                                                 weight[i] * aMPm[i] / sigma[i] * driver.getScale());
                 }
             }
         }
 
+
+        if (normalEquations != null) {
+            // accumulate the measurement in the normal equations
+            normalEquations.addMeasurement(measurementValue.toArray(), measurementJacobian.getData());
+        }
+
     }
 
 }
@@ -16,6 +16,8 @@
  */
 package org.orekit.estimation.leastsquares;
 
+import java.util.concurrent.ExecutorService;
+
 import org.hipparchus.linear.RealVector;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.MultivariateJacobianFunction;
 import org.hipparchus.util.Incrementor;
@@ -69,6 +71,72 @@ public interface BatchLSODModel extends MultivariateJacobianFunction {
      */
     int getEvaluationsCount();
 
+    /** Set the executor for measurements estimation.
+     * <p>
+     * If an executor is set, propagation only interpolates the states at
+     * measurements dates, and the measurements estimations (including
+     * modifiers) are performed concurrently by the executor. Measurements
+     * and their modifiers must then be thread-safe. The residuals and Jacobian
+     * are assembled in chronological order regardless of the executor.
+     * </p>
+     * <p>
+     * The default implementation does nothing, so models that do not
+     * override it keep estimating measurements sequentially.
+     * </p>
+     * @param executor executor for measurements estimation
+     * (null for sequential estimation in the propagation thread)
+     * @since 10.2
+     */
+    default void setMeasurementsExecutor(ExecutorService executor) {
+        // nothing by default
+    }
+
+    /** Get the executor for measurements estimation.
+     * <p>
+     * The default implementation returns null, i.e. sequential estimation.
+     * </p>
+     * @return executor for measurements estimation
+     * (null for sequential estimation in the propagation thread)
+     * @see #setMeasurementsExecutor(ExecutorService)
+     * @since 10.2
+     */
+    default ExecutorService getMeasurementsExecutor() {
+        return null;
+    }
+
+    /** Set the normal equations accumulation mode.
+     * <p>
+     * In normal equations accumulation mode, the model does not store the full
+     * Jacobian (measurements × parameters). The normal equations are accumulated
+     * measurement by measurement and the model returns an equivalent compressed
+     * problem with one row per parameter plus one row, which has the same normal
+     * equations and the same cost.
+     * </p>
+     * <p>
+     * The default implementation does nothing, so models that do not
+     * override it keep storing the full Jacobian.
+     * </p>
+     * @param accumulate if true, normal equations are accumulated instead of
+     * storing the full Jacobian
+     * @since 10.2
+     */
+    default void setNormalEquationsAccumulation(boolean accumulate) {
+        // nothing by default
+    }
+
+    /** Check if normal equations accumulation mode is used.
+     * <p>
+     * The default implementation returns false.
+     * </p>
+     * @return true if normal equations are accumulated instead of
+     * storing the full Jacobian
+     * @see #setNormalEquationsAccumulation(boolean)
+     * @since 10.2
+     */
+    default boolean isNormalEquationsAccumulation() {
+        return false;
+    }
+
     /** Return the forward propagation flag.
      * @return the forward propagation flag
      */
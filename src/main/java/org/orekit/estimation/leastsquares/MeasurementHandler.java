@@ -16,8 +16,15 @@
  */
 package org.orekit.estimation.leastsquares;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.ObservableSatellite;
@@ -29,11 +36,21 @@ import org.orekit.time.AbsoluteDate;
 
 /** {@link org.orekit.propagation.sampling.OrekitStepHandler Step handler} picking up
  * {@link ObservedMeasurement measurements}.
+ * <p>
+ * If the model provides a {@link BatchLSODModel#getMeasurementsExecutor() measurements
+ * executor}, the handler only interpolates the states at measurements dates during
+ * propagation and the measurements estimations are deferred and performed concurrently
+ * by batches. The evaluated measurements are always fetched to the model in chronological
+ * order, so the residuals and Jacobian are assembled deterministically.
+ * </p>
  * @author Luc Maisonobe
  * @since 8.0
  */
 class MeasurementHandler implements MultiSatStepHandler {
 
+    /** Maximum number of measurements estimated concurrently in one batch. */
+    private static final int BATCH_SIZE = 1024;
+
     /** Least squares model. */
     private final BatchLSODModel model;
 
@@ -46,13 +63,25 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** Index of the next measurement component in the model. */
     private int index;
 
+    /** Executor for measurements estimation (null for sequential estimation). */
+    private final ExecutorService executor;
+
+    /** Indices of the pending measurements in the model. */
+    private final List<Integer> pendingIndices;
+
+    /** Pending measurements estimations. */
+    private final List<Callable<EstimatedMeasurement<?>>> pendingEstimations;
+
     /** Simple constructor.
      * @param model least squares model
      * @param precompensated underlying measurements
      */
     MeasurementHandler(final BatchLSODModel model, final List<PreCompensation> precompensated) {
-        this.model          = model;
-        this.precompensated = precompensated;
+        this.model              = model;
+        this.precompensated     = precompensated;
+        this.executor           = model.getMeasurementsExecutor();
+        this.pendingIndices     = new ArrayList<>();
+        this.pendingEstimations = new ArrayList<>();
     }
 
     /** {@inheritDoc} */
@@ -60,6 +89,8 @@ class MeasurementHandler implements MultiSatStepHandler {
     public void init(final List<SpacecraftState> initialStates, final AbsoluteDate target) {
         number = 0;
         index  = 0;
+        pendingIndices.clear();
+        pendingEstimations.clear();
     }
 
     /** {@inheritDoc} */
@@ -82,7 +113,7 @@ class MeasurementHandler implements MultiSatStepHandler {
                     // this should never happen
                     throw new OrekitInternalError(null);
                 }
-                return;
+                break;
             }
 
             // get the observed measurement
@@ -94,12 +125,18 @@ class MeasurementHandler implements MultiSatStepHandler {
                 final ObservableSatellite satellite = observed.getSatellites().get(i);
                 states[i] = interpolators.get(satellite.getPropagatorIndex()).getInterpolatedState(next.getDate());
             }
-            final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
-                                                                        model.getEvaluationsCount(),
-                                                                        states);
-
-            // fetch the evaluated measurement to the estimator
-            model.fetchEvaluatedMeasurement(index, estimated);
+            final int iteration  = model.getIterationsCount();
+            final int evaluation = model.getEvaluationsCount();
+            if (executor == null) {
+                final EstimatedMeasurement<?> estimated = observed.estimate(iteration, evaluation, states);
+
+                // fetch the evaluated measurement to the estimator
+                model.fetchEvaluatedMeasurement(index, estimated);
+            } else {
+                // defer estimation, it will be performed concurrently
+                pendingIndices.add(index);
+                pendingEstimations.add(() -> observed.estimate(iteration, evaluation, states));
+            }
 
             // prepare handling of next measurement
             ++number;
@@ -107,6 +144,35 @@ class MeasurementHandler implements MultiSatStepHandler {
 
         }
 
+        if (pendingEstimations.size() >= BATCH_SIZE ||
+            (!pendingEstimations.isEmpty() && (isLast || number == precompensated.size()))) {
+            estimatePending();
+        }
+
+    }
+
+    /** Estimate the pending measurements concurrently and fetch them to the model.
+     */
+    private void estimatePending() {
+        try {
+            final List<Future<EstimatedMeasurement<?>>> futures = executor.invokeAll(pendingEstimations);
+            for (int i = 0; i < futures.size(); ++i) {
+                // fetch the evaluated measurements to the estimator, in chronological order
+                model.fetchEvaluatedMeasurement(pendingIndices.get(i), futures.get(i).get());
+            }
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                // propagate errors from measurements as is
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } finally {
+            pendingIndices.clear();
+            pendingEstimations.clear();
+        }
     }
 
 }
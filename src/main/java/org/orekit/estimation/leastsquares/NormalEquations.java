@@ -0,0 +1,189 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.CholeskyDecomposition;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Pair;
+import org.orekit.errors.OrekitException;
+
+/** Incremental accumulator for the normal equations of a least squares problem.
+ * <p>
+ * The weighted residuals v and Jacobian J of each measurement are added as they
+ * are evaluated, updating the normal matrix N = J<sup>T</sup>J, the vector
+ * b = J<sup>T</sup>v and the squared norm v<sup>T</sup>v. The full Jacobian is
+ * never stored, so memory use depends only on the number of estimated parameters.
+ * Only the non-zero columns of each row are used in the update, which takes advantage
+ * of the block structure of multi-satellites problems where each measurement
+ * depends only on a few orbits and parameters.
+ * </p>
+ * <p>
+ * The accumulated equations are converted to a compressed problem with n+1 rows
+ * for n parameters, which can be solved by any least squares optimizer. The Jacobian
+ * of the compressed problem is [L<sup>T</sup>; 0] where L is the Cholesky factor of N,
+ * and its value is [L<sup>-1</sup>b; s] where s² = v<sup>T</sup>v - |L<sup>-1</sup>b|².
+ * The compressed problem has the same normal equations and the same cost as the
+ * original one, so its linearized model is identical for any parameters change.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+class NormalEquations {
+
+    /** Number of parameters. */
+    private final int n;
+
+    /** Upper triangular part of the normal matrix. */
+    private final double[][] normal;
+
+    /** Right-hand side J<sup>T</sup>v. */
+    private final double[] rhs;
+
+    /** Indices of the non-zero columns of current row. */
+    private final int[] nonZero;
+
+    /** Squared norm of weighted residuals. */
+    private double squaredNorm;
+
+    /** Number of accumulated rows. */
+    private int rows;
+
+    /** Simple constructor.
+     * @param n number of parameters
+     */
+    NormalEquations(final int n) {
+        this.n       = n;
+        this.normal  = new double[n][n];
+        this.rhs     = new double[n];
+        this.nonZero = new int[n];
+        reset();
+    }
+
+    /** Reset the accumulated equations.
+     */
+    public void reset() {
+        for (final double[] row : normal) {
+            Arrays.fill(row, 0.0);
+        }
+        Arrays.fill(rhs, 0.0);
+        squaredNorm = 0.0;
+        rows        = 0;
+    }
+
+    /** Add the rows corresponding to one measurement.
+     * @param value weighted residuals of the measurement
+     * @param jacobian weighted Jacobian of the measurement (one row per residual)
+     */
+    public void addMeasurement(final double[] value, final double[][] jacobian) {
+        for (int k = 0; k < value.length; ++k) {
+
+            final double[] row = jacobian[k];
+
+            // identify the non-zero columns
+            int nz = 0;
+            for (int j = 0; j < n; ++j) {
+                if (row[j] != 0.0) {
+                    nonZero[nz++] = j;
+                }
+            }
+
+            // update upper triangular part of normal matrix and right-hand side
+            for (int p = 0; p < nz; ++p) {
+                final int      i     = nonZero[p];
+                final double   ri    = row[i];
+                final double[] nRowI = normal[i];
+                for (int q = p; q < nz; ++q) {
+                    final int j = nonZero[q];
+                    nRowI[j] += ri * row[j];
+                }
+                rhs[i] += ri * value[k];
+            }
+
+            squaredNorm += value[k] * value[k];
+            ++rows;
+
+        }
+    }
+
+    /** Get the number of accumulated rows.
+     * @return number of accumulated rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /** Get the normal matrix.
+     * @return normal matrix J<sup>T</sup>J
+     */
+    public RealMatrix getNormalMatrix() {
+        final RealMatrix matrix = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                matrix.setEntry(i, j, normal[i][j]);
+                matrix.setEntry(j, i, normal[i][j]);
+            }
+        }
+        return matrix;
+    }
+
+    /** Get the right-hand side of the normal equations.
+     * @return right-hand side J<sup>T</sup>v
+     */
+    public RealVector getRightHandSide() {
+        return new ArrayRealVector(rhs);
+    }
+
+    /** Build the compressed problem equivalent to the accumulated equations.
+     * @return compressed value (n+1 elements) and Jacobian (n+1 rows, n columns)
+     */
+    public Pair<RealVector, RealMatrix> getCompressedProblem() {
+
+        // factor the normal matrix
+        final RealMatrix l;
+        try {
+            l = new CholeskyDecomposition(getNormalMatrix(),
+                                          CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                          CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD).getL();
+        } catch (MathIllegalArgumentException miae) {
+            // some parameters are not observable
+            throw new OrekitException(miae);
+        }
+
+        // compressed value
+        final RealVector y = getRightHandSide();
+        MatrixUtils.solveLowerTriangularSystem(l, y);
+        final RealVector value = new ArrayRealVector(n + 1);
+        value.setSubVector(0, y);
+        value.setEntry(n, FastMath.sqrt(FastMath.max(0.0, squaredNorm - y.dotProduct(y))));
+
+        // compressed Jacobian
+        final RealMatrix jacobian = new Array2DRowRealMatrix(n + 1, n);
+        jacobian.setSubMatrix(l.transpose().getData(), 0, 0);
+
+        return new Pair<>(value, jacobian);
+
+    }
+
+}
@@ -16,9 +16,11 @@
  */
 package org.orekit.estimation.sequential;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.filtering.kalman.KalmanFilter;
 import org.hipparchus.filtering.kalman.ProcessEstimate;
 import org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter;
 import org.hipparchus.linear.MatrixDecomposer;
@@ -26,6 +28,7 @@ import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
 import org.orekit.errors.OrekitException;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.PV;
 import org.orekit.propagation.conversion.IntegratedPropagatorBuilder;
@@ -83,7 +86,7 @@ public class KalmanEstimator {
     private final KalmanODModel processModel;
 
     /** Filter. */
-    private final ExtendedKalmanFilter<MeasurementDecorator> filter;
+    private final KalmanFilter<MeasurementDecorator> filter;
 
     /** Observer to retrieve current estimation info. */
     private KalmanObserver observer;
@@ -93,11 +96,13 @@ public class KalmanEstimator {
      * @param propagatorBuilders propagators builders used to evaluate the orbit.
      * @param processNoiseMatricesProviders providers for process noise matrices
      * @param estimatedMeasurementParameters measurement parameters to estimate
+     * @param squareRoot if true, the filter propagates a square root of the covariance matrix
      */
     KalmanEstimator(final MatrixDecomposer decomposer,
                     final List<IntegratedPropagatorBuilder> propagatorBuilders,
                     final List<CovarianceMatrixProvider> processNoiseMatricesProviders,
-                    final ParameterDriversList estimatedMeasurementParameters) {
+                    final ParameterDriversList estimatedMeasurementParameters,
+                    final boolean squareRoot) {
 
         this.propagatorBuilders = propagatorBuilders;
         this.referenceDate      = propagatorBuilders.get(0).getInitialOrbitDate();
@@ -110,7 +115,9 @@ public class KalmanEstimator {
         //this.processModel = new KalmanModel(propagatorBuilders, processNoiseMatricesProviders,
                                       //estimatedMeasurementParameters);
 
-        this.filter = new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
+        this.filter = squareRoot ?
+                      new SquareRootExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate()) :
+                      new ExtendedKalmanFilter<>(decomposer, processModel, processModel.getEstimate());
 
     }
 
@@ -215,7 +222,7 @@ public class KalmanEstimator {
      */
     public AbstractIntegratedPropagator[] estimationStep(final ObservedMeasurement<?> observedMeasurement) {
         try {
-            final ProcessEstimate estimate = filter.estimationStep(decorate(observedMeasurement));
+            final ProcessEstimate estimate = filter.estimationStep(decorate(observedMeasurement, referenceDate));
             processModel.finalizeEstimation(observedMeasurement, estimate);
             if (observer != null) {
                 observer.evaluationPerformed(processModel);
@@ -238,6 +245,49 @@ public class KalmanEstimator {
         return propagators;
     }
 
+    /** Process several measurements, grouping simultaneous ones.
+     * <p>
+     * Measurements whose dates are within {@code tolerance} of the first measurement
+     * of a group are {@link MultiplexedMeasurement multiplexed} together and processed
+     * in a single estimation step. This implies the propagators are run only once
+     * per epoch and the correction is performed with stacked measurements instead
+     * of one correction per measurement. The {@link #getCurrentMeasurementNumber()
+     * current measurement number} is incremented once per group. Dynamic outlier filters
+     * set on the grouped measurements are still applied, and rejection of any of them
+     * rejects the whole group.
+     * </p>
+     * @param observedMeasurements the measurements to process in <em>chronologically sorted</em> order
+     * @param tolerance tolerance on dates for considering measurements are simultaneous (s)
+     * @return estimated propagators
+     * @since 10.2
+     */
+    public AbstractIntegratedPropagator[] processMeasurements(final Iterable<ObservedMeasurement<?>> observedMeasurements,
+                                                              final double tolerance) {
+        AbstractIntegratedPropagator[] propagators = null;
+        List<ObservedMeasurement<?>> group = new ArrayList<>();
+        for (ObservedMeasurement<?> observedMeasurement : observedMeasurements) {
+            if (!group.isEmpty() &&
+                observedMeasurement.getDate().durationFrom(group.get(0).getDate()) > tolerance) {
+                // previous group is complete
+                propagators = estimationStep(group);
+                group = new ArrayList<>();
+            }
+            group.add(observedMeasurement);
+        }
+        if (!group.isEmpty()) {
+            propagators = estimationStep(group);
+        }
+        return propagators;
+    }
+
+    /** Process a group of simultaneous measurements.
+     * @param group measurements group
+     * @return estimated propagators
+     */
+    private AbstractIntegratedPropagator[] estimationStep(final List<ObservedMeasurement<?>> group) {
+        return estimationStep(group.size() == 1 ? group.get(0) : new MultiplexedMeasurement(group));
+    }
+
     /** Decorate an observed measurement.
      * <p>
      * The "physical" measurement noise matrix is the covariance matrix of the measurement.
@@ -246,16 +296,27 @@ public class KalmanEstimator {
      * between the different components of the measurement.
      * </p>
      * @param observedMeasurement the measurement
+     * @param referenceDate reference date
      * @return decorated measurement
      */
-    private MeasurementDecorator decorate(final ObservedMeasurement<?> observedMeasurement) {
+    static MeasurementDecorator decorate(final ObservedMeasurement<?> observedMeasurement,
+                                         final AbsoluteDate referenceDate) {
 
         // Normalized measurement noise matrix contains 1 on its diagonal and correlation coefficients
         // of the measurement on its non-diagonal elements.
         // Indeed, the "physical" measurement noise matrix is the covariance matrix of the measurement
         // Normalizing it leaves us with the matrix of the correlation coefficients
         final RealMatrix covariance;
-        if (observedMeasurement instanceof PV) {
+        if (observedMeasurement instanceof MultiplexedMeasurement) {
+            // Block diagonal matrix gathering the correlation coefficients of the underlying measurements
+            covariance = MatrixUtils.createRealMatrix(observedMeasurement.getDimension(),
+                                                      observedMeasurement.getDimension());
+            int index = 0;
+            for (final ObservedMeasurement<?> m : ((MultiplexedMeasurement) observedMeasurement).getMeasurements()) {
+                covariance.setSubMatrix(decorate(m, referenceDate).getCovariance().getData(), index, index);
+                index += m.getDimension();
+            }
+        } else if (observedMeasurement instanceof PV) {
             // For PV measurements we do have a covariance matrix and thus a correlation coefficients matrix
             final PV pv = (PV) observedMeasurement;
             covariance = MatrixUtils.createRealMatrix(pv.getCorrelationCoefficientsMatrix());
@@ -18,6 +18,7 @@ package org.orekit.estimation.sequential;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.MatrixDecomposer;
 import org.hipparchus.linear.QRDecomposer;
@@ -45,6 +46,21 @@ public class KalmanEstimatorBuilder {
     /** Process noise matrices providers. */
     private List<CovarianceMatrixProvider> processNoiseMatricesProviders;
 
+    /** Indicator for square root covariance formulation. */
+    private boolean squareRoot;
+
+    /** Spread of the sigma points for unscented filter. */
+    private double alpha;
+
+    /** Prior knowledge of the state distribution for unscented filter. */
+    private double beta;
+
+    /** Secondary scaling parameter for unscented filter. */
+    private double kappa;
+
+    /** Executor for sigma points propagation (null for sequential propagation). */
+    private ExecutorService sigmaPointsExecutor;
+
     /** Default constructor.
      *  Set an extended Kalman filter, with linearized covariance prediction.
      */
@@ -53,6 +69,11 @@ public class KalmanEstimatorBuilder {
         this.propagatorBuilders              = new ArrayList<>();
         this.estimatedMeasurementsParameters = new ParameterDriversList();
         this.processNoiseMatricesProviders   = new ArrayList<>();
+        this.squareRoot                      = false;
+        this.alpha                           = 1.0;
+        this.beta                            = 2.0;
+        this.kappa                           = 0.0;
+        this.sigmaPointsExecutor             = null;
     }
 
     /** Construct a {@link KalmanEstimator} from the data in this builder.
@@ -69,7 +90,28 @@ public class KalmanEstimatorBuilder {
             throw new OrekitException(OrekitMessages.NO_PROPAGATOR_CONFIGURED);
         }
         return new KalmanEstimator(decomposer, propagatorBuilders, processNoiseMatricesProviders,
-                                   estimatedMeasurementsParameters);
+                                   estimatedMeasurementsParameters, squareRoot);
+    }
+
+    /** Construct an {@link UnscentedKalmanEstimator} from the data in this builder.
+     * <p>
+     * Before this method is called, {@link #addPropagationConfiguration(IntegratedPropagatorBuilder,
+     * CovarianceMatrixProvider) addPropagationConfiguration()} must have been called
+     * at least once, otherwise configuration is incomplete and an exception will be raised.
+     * </p>
+     * @return a new {@link UnscentedKalmanEstimator}.
+     * @see #unscentedTransform(double, double, double)
+     * @see #sigmaPointsExecutor(ExecutorService)
+     * @since 10.2
+     */
+    public UnscentedKalmanEstimator buildUnscented() {
+        final int n = propagatorBuilders.size();
+        if (n == 0) {
+            throw new OrekitException(OrekitMessages.NO_PROPAGATOR_CONFIGURED);
+        }
+        return new UnscentedKalmanEstimator(decomposer, propagatorBuilders, processNoiseMatricesProviders,
+                                            estimatedMeasurementsParameters,
+                                            alpha, beta, kappa, sigmaPointsExecutor);
     }
 
     /** Configure the matrix decomposer.
@@ -81,6 +123,71 @@ public class KalmanEstimatorBuilder {
         return this;
     }
 
+    /** Configure the covariance formulation used by {@link #build() extended filters}.
+     * <p>
+     * If this method is not called, the filter propagates and updates the covariance
+     * matrix P itself, using the Joseph form for the update. In square root formulation,
+     * the filter manages a matrix L such that P = L L<sup>T</sup>, which remains
+     * symmetric positive semi-definite by construction, even after a very large number
+     * of measurements. Each step still costs O(n³) in the number n of estimated parameters,
+     * as in the classical formulation, and is in fact somewhat slower. This formulation is
+     * recommended for long-running or badly conditioned filters, where round-off errors
+     * could otherwise make the covariance matrix indefinite.
+     * </p>
+     * @param useSquareRoot if true, the filter propagates a square root of the covariance matrix
+     * @return this object.
+     * @since 10.2
+     */
+    public KalmanEstimatorBuilder squareRootCovariance(final boolean useSquareRoot) {
+        squareRoot = useSquareRoot;
+        return this;
+    }
+
+    /** Configure the scaled unscented transform used by {@link #buildUnscented() unscented filters}.
+     * <p>
+     * If this method is not called, the default values are α = 1, β = 2 and κ = 0,
+     * which correspond to sigma points located at √n standard deviations from the mean
+     * and a central sigma point with zero weight for the mean.
+     * </p>
+     * @param spread spread α of the sigma points around the mean
+     * @param priorKnowledge prior knowledge β of the state distribution (2 is optimal
+     * for Gaussian distributions)
+     * @param secondaryScaling secondary scaling parameter κ
+     * @return this object.
+     * @since 10.2
+     */
+    public KalmanEstimatorBuilder unscentedTransform(final double spread, final double priorKnowledge,
+                                                     final double secondaryScaling) {
+        alpha = spread;
+        beta  = priorKnowledge;
+        kappa = secondaryScaling;
+        return this;
+    }
+
+    /** Configure the executor for sigma points propagation in {@link #buildUnscented() unscented filters}.
+     * <p>
+     * If this method is not called, sigma points are propagated sequentially in the
+     * thread calling the estimator. Sigma points are propagated concurrently only if
+     * no propagation parameters are estimated, as their drivers are shared with the force
+     * models.
+     * </p>
+     * <p>
+     * Each sigma point gets its own propagator, but the force models and attitude
+     * provider registered in the propagator builders are not copied: they are shared
+     * by all concurrent propagations. When an executor is set, they <em>must</em> therefore
+     * be thread-safe. DSST force models are not, so DSST propagator builders always
+     * propagate sigma points sequentially, regardless of this setting.
+     * </p>
+     * @param executor executor for sigma points propagation (null for sequential
+     * propagation in the calling thread)
+     * @return this object.
+     * @since 10.2
+     */
+    public KalmanEstimatorBuilder sigmaPointsExecutor(final ExecutorService executor) {
+        sigmaPointsExecutor = executor;
+        return this;
+    }
+
     /** Add a propagation configuration.
      * <p>
      * This method must be called once for each propagator to managed with the
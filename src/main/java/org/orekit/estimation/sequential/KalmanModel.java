@@ -35,6 +35,7 @@ import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.EstimationModifier;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservableSatellite;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.modifiers.DynamicOutlierFilter;
@@ -826,10 +827,14 @@ public class KalmanModel implements KalmanODModel {
      *         - H is the normalized measurement matrix (Ht its transpose)<p>
      *         - Ppred is the normalized predicted covariance matrix<p>
      *         - R is the normalized measurement noise matrix
+     * @param offset index of the first component of the measurement in the innovation
+     * covariance matrix (non-zero only for measurements {@link MultiplexedMeasurement multiplexed}
+     * in a larger one)
      * @param <T> the type of measurement
      */
     private <T extends ObservedMeasurement<T>> void applyDynamicOutlierFilter(final EstimatedMeasurement<T> measurement,
-                                                                              final RealMatrix innovationCovarianceMatrix) {
+                                                                              final RealMatrix innovationCovarianceMatrix,
+                                                                              final int offset) {
 
         // Observed measurement associated to the predicted measurement
         final ObservedMeasurement<T> observedMeasurement = measurement.getObservedMeasurement();
@@ -841,7 +846,7 @@ public class KalmanModel implements KalmanODModel {
                 final DynamicOutlierFilter<T> dynamicOutlierFilter = (DynamicOutlierFilter<T>) modifier;
 
                 // Initialize the values of the sigma array used in the dynamic filter
-                final double[] sigmaDynamic     = new double[innovationCovarianceMatrix.getColumnDimension()];
+                final double[] sigmaDynamic     = new double[observedMeasurement.getDimension()];
                 final double[] sigmaMeasurement = observedMeasurement.getTheoreticalStandardDeviation();
 
                 // Set the sigma value for each element of the measurement
@@ -856,7 +861,8 @@ public class KalmanModel implements KalmanODModel {
                 //  - sigma[i] is the theoretical standard deviation of the ith component of the measurement.
                 //    It is used here to un-normalize the value before it is filtered
                 for (int i = 0; i < sigmaDynamic.length; i++) {
-                    sigmaDynamic[i] = FastMath.sqrt(innovationCovarianceMatrix.getEntry(i, i)) * sigmaMeasurement[i];
+                    sigmaDynamic[i] = FastMath.sqrt(innovationCovarianceMatrix.getEntry(offset + i, offset + i)) *
+                                      sigmaMeasurement[i];
                 }
                 dynamicOutlierFilter.setSigma(sigmaDynamic);
 
@@ -867,6 +873,21 @@ public class KalmanModel implements KalmanODModel {
                 dynamicOutlierFilter.setSigma(null);
             }
         }
+
+        if (observedMeasurement instanceof MultiplexedMeasurement) {
+            // apply the filters of the underlying measurements, using their own block of the innovation
+            // covariance matrix, rejecting one of them rejects the whole multiplexed measurement
+            int index = offset;
+            for (final EstimatedMeasurement<?> underlying :
+                 ((MultiplexedMeasurement) observedMeasurement).getEstimatedMeasurements()) {
+                applyDynamicOutlierFilter(underlying, innovationCovarianceMatrix, index);
+                if (underlying.getStatus() == EstimatedMeasurement.Status.REJECTED) {
+                    measurement.setStatus(EstimatedMeasurement.Status.REJECTED);
+                }
+                index += underlying.getObservedMeasurement().getDimension();
+            }
+        }
+
     }
 
     /** {@inheritDoc} */
@@ -951,7 +972,7 @@ public class KalmanModel implements KalmanODModel {
                                     final RealMatrix innovationCovarianceMatrix) {
 
         // Apply the dynamic outlier filter, if it exists
-        applyDynamicOutlierFilter(predictedMeasurement, innovationCovarianceMatrix);
+        applyDynamicOutlierFilter(predictedMeasurement, innovationCovarianceMatrix, 0);
         if (predictedMeasurement.getStatus() == EstimatedMeasurement.Status.REJECTED)  {
             // set innovation to null to notify filter measurement is rejected
             return null;
@@ -0,0 +1,243 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import org.hipparchus.filtering.kalman.KalmanFilter;
+import org.hipparchus.filtering.kalman.Measurement;
+import org.hipparchus.filtering.kalman.ProcessEstimate;
+import org.hipparchus.filtering.kalman.extended.NonLinearEvolution;
+import org.hipparchus.filtering.kalman.extended.NonLinearProcess;
+import org.hipparchus.linear.CholeskyDecomposition;
+import org.hipparchus.linear.MatrixDecomposer;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.RectangularCholeskyDecomposition;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/** Extended Kalman filter propagating a square root of the covariance matrix.
+ * <p>
+ * The covariance matrix P is never propagated nor updated by itself, the filter
+ * manages a matrix L such that P = L L<sup>T</sup>. The product of a matrix by its
+ * transpose is always symmetric positive semi-definite, so the covariance cannot
+ * lose these properties due to round-off errors, even after a very large number of
+ * steps, and no symmetrization is needed.
+ * </p>
+ * <p>
+ * The prediction step propagates the square root as [Φ L, Q<sup>½</sup>] and
+ * triangularizes it using a QR decomposition. The correction step whitens the
+ * measurement using the Cholesky decomposition of its covariance and processes
+ * the components one at a time using Potter's update.
+ * </p>
+ * <p>
+ * This formulation is <em>not</em> cheaper than the classical extended Kalman filter:
+ * the QR triangularization of the prediction step and the covariance matrices in the
+ * {@link ProcessEstimate process estimates} returned, which are rebuilt from the square
+ * root for observers and for the {@link KalmanODModel process model}, both cost O(n³)
+ * at each step, as the Joseph form update does. Its benefit is numerical robustness,
+ * not speed.
+ * </p>
+ * @param <T> the type of the measurements
+ * @author agent
+ * @since 10.2
+ */
+class SquareRootExtendedKalmanFilter<T extends Measurement> implements KalmanFilter<T> {
+
+    /** Relative threshold for rank determination of square roots. */
+    private static final double RANK_THRESHOLD = 1.0e-15;
+
+    /** Decomposer to use for the Kalman gain computation. */
+    private final MatrixDecomposer decomposer;
+
+    /** Process to be estimated. */
+    private final NonLinearProcess<T> process;
+
+    /** Predicted state. */
+    private ProcessEstimate predicted;
+
+    /** Corrected state. */
+    private ProcessEstimate corrected;
+
+    /** Square root of the predicted covariance matrix. */
+    private RealMatrix predictedRoot;
+
+    /** Square root of the corrected covariance matrix. */
+    private RealMatrix correctedRoot;
+
+    /** Simple constructor.
+     * @param decomposer decomposer to use for the Kalman gain computation
+     * @param process non-linear process to be estimated
+     * @param initialState initial state
+     */
+    SquareRootExtendedKalmanFilter(final MatrixDecomposer decomposer,
+                                   final NonLinearProcess<T> process,
+                                   final ProcessEstimate initialState) {
+        this.decomposer    = decomposer;
+        this.process       = process;
+        this.predicted     = null;
+        this.corrected     = initialState;
+        this.predictedRoot = null;
+        this.correctedRoot = squareRoot(initialState.getCovariance());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate estimationStep(final T measurement) {
+
+        final NonLinearEvolution evolution =
+                        process.getEvolution(corrected.getTime(), corrected.getState(), measurement);
+
+        // prediction
+        final RealMatrix stm = evolution.getStateTransitionMatrix();
+        predictedRoot = triangularize(stm.multiply(correctedRoot),
+                                      squareRoot(evolution.getProcessNoiseMatrix()));
+        predicted     = new ProcessEstimate(evolution.getCurrentTime(), evolution.getCurrentState(),
+                                            predictedRoot.multiplyTransposed(predictedRoot));
+
+        // innovation covariance S = (H L) (H L)ᵀ + R
+        final RealMatrix h  = evolution.getMeasurementJacobian();
+        final RealMatrix hl = h.multiply(predictedRoot);
+        final RealMatrix s  = hl.multiplyTransposed(hl).add(measurement.getCovariance());
+
+        final RealVector innovation = process.getInnovation(measurement, evolution, s);
+        if (innovation == null) {
+            // the measurement has been rejected
+            corrected     = predicted;
+            correctedRoot = predictedRoot;
+            return corrected;
+        }
+
+        // Kalman gain K = P Hᵀ S⁻¹ = L (H L)ᵀ S⁻¹
+        final RealMatrix k = decomposer.decompose(s).
+                             solve(hl.multiplyTransposed(predictedRoot)).
+                             transpose();
+        final RealVector correctedState = predicted.getState().add(k.operate(innovation));
+
+        // whitened measurement matrix, with identity measurement covariance
+        final RealMatrix cR = new CholeskyDecomposition(measurement.getCovariance()).getL();
+        final RealMatrix whitened = forwardSubstitution(cR, h);
+
+        // Potter update, one measurement component at a time
+        final RealMatrix root = predictedRoot.copy();
+        for (int j = 0; j < whitened.getRowDimension(); ++j) {
+            final RealVector f     = root.preMultiply(whitened.getRowVector(j));
+            final double     a     = f.dotProduct(f) + 1.0;
+            final RealVector gain  = root.operate(f).mapDivideToSelf(a);
+            final double     gamma = 1.0 / (1.0 + FastMath.sqrt(1.0 / a));
+            for (int r = 0; r < root.getRowDimension(); ++r) {
+                final double gr = gamma * gain.getEntry(r);
+                for (int c = 0; c < root.getColumnDimension(); ++c) {
+                    root.addToEntry(r, c, -gr * f.getEntry(c));
+                }
+            }
+        }
+
+        correctedRoot = root;
+        corrected     = new ProcessEstimate(measurement.getTime(), correctedState,
+                                            root.multiplyTransposed(root),
+                                            stm, h, s, k);
+        return corrected;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getPredicted() {
+        return predicted;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProcessEstimate getCorrected() {
+        return corrected;
+    }
+
+    /** Solve L X = M for X, with L lower triangular.
+     * @param l lower triangular matrix, with non-zero diagonal
+     * @param m right hand side matrix
+     * @return solution X = L⁻¹ M
+     */
+    private static RealMatrix forwardSubstitution(final RealMatrix l, final RealMatrix m) {
+        final RealMatrix x = m.copy();
+        for (int i = 0; i < x.getRowDimension(); ++i) {
+            for (int k = 0; k < i; ++k) {
+                final double lik = l.getEntry(i, k);
+                if (lik != 0.0) {
+                    for (int c = 0; c < x.getColumnDimension(); ++c) {
+                        x.addToEntry(i, c, -lik * x.getEntry(k, c));
+                    }
+                }
+            }
+            final double inv = 1.0 / l.getEntry(i, i);
+            for (int c = 0; c < x.getColumnDimension(); ++c) {
+                x.multiplyEntry(i, c, inv);
+            }
+        }
+        return x;
+    }
+
+    /** Compute a square root of a symmetric positive semi-definite matrix.
+     * @param m symmetric positive semi-definite matrix
+     * @return matrix L such that m = L Lᵀ (may be rectangular if m is
+     * rank-deficient, a single zero column if m is zero)
+     */
+    private static RealMatrix squareRoot(final RealMatrix m) {
+        double maxDiagonal = 0;
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            maxDiagonal = FastMath.max(maxDiagonal, m.getEntry(i, i));
+        }
+        if (maxDiagonal <= 0) {
+            return MatrixUtils.createRealMatrix(m.getRowDimension(), 1);
+        }
+        return new RectangularCholeskyDecomposition(m.add(m.transpose()).scalarMultiply(0.5),
+                                                    FastMath.max(Precision.SAFE_MIN, RANK_THRESHOLD * maxDiagonal)).
+               getRootMatrix();
+    }
+
+    /** Compute a lower triangular square root of A Aᵀ + B Bᵀ.
+     * @param a first square root
+     * @param b second square root
+     * @return lower triangular matrix L such that L Lᵀ = A Aᵀ + B Bᵀ
+     * (may have less columns than rows if the sum is rank-deficient)
+     */
+    private static RealMatrix triangularize(final RealMatrix a, final RealMatrix b) {
+
+        // stack the square roots side by side
+        final RealMatrix ab = MatrixUtils.createRealMatrix(a.getRowDimension(),
+                                                           a.getColumnDimension() + b.getColumnDimension());
+        ab.setSubMatrix(a.getData(), 0, 0);
+        ab.setSubMatrix(b.getData(), 0, a.getColumnDimension());
+        return qrRoot(ab);
+
+    }
+
+    /** Compute a lower triangular square root of M Mᵀ.
+     * <p>
+     * If Mᵀ = Q R, then M Mᵀ = Rᵀ Qᵀ Q R = Rᵀ R, so Rᵀ is a lower triangular square root.
+     * </p>
+     * @param m square root
+     * @return lower triangular matrix L such that L Lᵀ = M Mᵀ
+     */
+    private static RealMatrix qrRoot(final RealMatrix m) {
+        final RealMatrix r    = new QRDecomposition(m.transpose()).getR();
+        final int        rows = FastMath.min(r.getRowDimension(), r.getColumnDimension());
+        return r.getSubMatrix(0, rows - 1, 0, r.getColumnDimension() - 1).transpose();
+    }
+
+}
@@ -0,0 +1,228 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.linear.MatrixDecomposer;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.orekit.errors.OrekitException;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.propagation.conversion.IntegratedPropagatorBuilder;
+import org.orekit.propagation.conversion.PropagatorBuilder;
+import org.orekit.propagation.integration.AbstractIntegratedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterDriversList;
+import org.orekit.utils.ParameterDriversList.DelegatingDriver;
+
+/**
+ * Implementation of an unscented Kalman filter to perform orbit determination.
+ * <p>
+ * This estimator shares its configuration with {@link KalmanEstimator}: estimated parameters
+ * are driven by {@link ParameterDriver} objects, process noise is provided by {@link
+ * CovarianceMatrixProvider} instances and all the variables seen by the filter are normalized.
+ * </p>
+ * <p>
+ * The extended Kalman filter linearizes the dynamics using variational equations integrated
+ * along a reference trajectory. This filter uses the scaled unscented transform instead:
+ * 2n+1 sigma points are drawn around the corrected state (n being the size of the state vector)
+ * and propagated independently to the next measurement date, without any variational equations.
+ * The predicted state, covariance and measurement are rebuilt from the propagated sigma points.
+ * Trading one propagation with variational equations for several independent propagations
+ * is worth it when the sigma points are propagated concurrently, which is done when an executor
+ * is configured in the {@link KalmanEstimatorBuilder#sigmaPointsExecutor(ExecutorService) builder}.
+ * In this case, the force models and attitude providers of the propagator builders are used
+ * concurrently by several threads and must be thread-safe.
+ * </p>
+ * <p>
+ * As no Jacobians are computed, the {@link KalmanEstimation#getPhysicalStateTransitionMatrix()
+ * state transition matrix} and {@link KalmanEstimation#getPhysicalMeasurementJacobian()
+ * measurement Jacobian} provided to {@link KalmanObserver observers} are null.
+ * </p>
+ * <p>An {@link UnscentedKalmanEstimator} object is built using the {@link
+ * KalmanEstimatorBuilder#buildUnscented() buildUnscented} method of a {@link KalmanEstimatorBuilder}.</p>
+ *
+ * @author agent
+ * @since 10.2
+ */
+public class UnscentedKalmanEstimator {
+
+    /** Builders for orbit propagators. */
+    private final List<IntegratedPropagatorBuilder> propagatorBuilders;
+
+    /** Reference date. */
+    private final AbsoluteDate referenceDate;
+
+    /** Unscented Kalman filter process model. */
+    private final UnscentedKalmanModel processModel;
+
+    /** Observer to retrieve current estimation info. */
+    private KalmanObserver observer;
+
+    /** Unscented Kalman filter estimator constructor (package private).
+     * @param decomposer decomposer to use for the correction phase
+     * @param propagatorBuilders propagators builders used to evaluate the orbit.
+     * @param processNoiseMatricesProviders providers for process noise matrices
+     * @param estimatedMeasurementParameters measurement parameters to estimate
+     * @param alpha spread of the sigma points around the mean
+     * @param beta prior knowledge of the state distribution (2 is optimal for Gaussian distributions)
+     * @param kappa secondary scaling parameter
+     * @param executor executor for sigma points propagation (null for sequential
+     * propagation in the calling thread)
+     */
+    UnscentedKalmanEstimator(final MatrixDecomposer decomposer,
+                             final List<IntegratedPropagatorBuilder> propagatorBuilders,
+                             final List<CovarianceMatrixProvider> processNoiseMatricesProviders,
+                             final ParameterDriversList estimatedMeasurementParameters,
+                             final double alpha, final double beta, final double kappa,
+                             final ExecutorService executor) {
+        this.propagatorBuilders = propagatorBuilders;
+        this.referenceDate      = propagatorBuilders.get(0).getInitialOrbitDate();
+        this.observer           = null;
+        this.processModel       = new UnscentedKalmanModel(decomposer, propagatorBuilders,
+                                                           processNoiseMatricesProviders,
+                                                           estimatedMeasurementParameters,
+                                                           alpha, beta, kappa, executor);
+    }
+
+    /** Set the observer.
+     * @param observer the observer
+     */
+    public void setObserver(final KalmanObserver observer) {
+        this.observer = observer;
+    }
+
+    /** Get the current measurement number.
+     * @return current measurement number
+     */
+    public int getCurrentMeasurementNumber() {
+        return processModel.getCurrentMeasurementNumber();
+    }
+
+    /** Get the current date.
+     * @return current date
+     */
+    public AbsoluteDate getCurrentDate() {
+        return processModel.getCurrentDate();
+    }
+
+    /** Get the "physical" estimated state (i.e. not normalized)
+     * @return the "physical" estimated state
+     */
+    public RealVector getPhysicalEstimatedState() {
+        return processModel.getPhysicalEstimatedState();
+    }
+
+    /** Get the "physical" estimated covariance matrix (i.e. not normalized)
+     * @return the "physical" estimated covariance matrix
+     */
+    public RealMatrix getPhysicalEstimatedCovarianceMatrix() {
+        return processModel.getPhysicalEstimatedCovarianceMatrix();
+    }
+
+    /** Get the orbital parameters supported by this estimator.
+     * <p>
+     * If there are more than one propagator builder, then the names
+     * of the drivers have an index marker in square brackets appended
+     * to them in order to distinguish the various orbits.
+     * </p>
+     * @param estimatedOnly if true, only estimated parameters are returned
+     * @return orbital parameters supported by this estimator
+     * @see KalmanEstimator#getOrbitalParametersDrivers(boolean)
+     */
+    public ParameterDriversList getOrbitalParametersDrivers(final boolean estimatedOnly) {
+
+        final ParameterDriversList estimated = new ParameterDriversList();
+        for (int i = 0; i < propagatorBuilders.size(); ++i) {
+            final String suffix = propagatorBuilders.size() > 1 ? "[" + i + "]" : null;
+            for (final ParameterDriver driver : propagatorBuilders.get(i).getOrbitalParametersDrivers().getDrivers()) {
+                if (driver.isSelected() || !estimatedOnly) {
+                    if (suffix != null && !driver.getName().endsWith(suffix)) {
+                        // we add suffix only conditionally because the method may already have been called
+                        // and suffixes may have already been appended
+                        driver.setName(driver.getName() + suffix);
+                    }
+                    estimated.add(driver);
+                }
+            }
+        }
+        return estimated;
+    }
+
+    /** Get the propagator parameters supported by this estimator.
+     * @param estimatedOnly if true, only estimated parameters are returned
+     * @return propagator parameters supported by this estimator
+     */
+    public ParameterDriversList getPropagationParametersDrivers(final boolean estimatedOnly) {
+
+        final ParameterDriversList estimated = new ParameterDriversList();
+        for (PropagatorBuilder builder : propagatorBuilders) {
+            for (final DelegatingDriver delegating : builder.getPropagationParametersDrivers().getDrivers()) {
+                if (delegating.isSelected() || !estimatedOnly) {
+                    for (final ParameterDriver driver : delegating.getRawDrivers()) {
+                        estimated.add(driver);
+                    }
+                }
+            }
+        }
+        return estimated;
+    }
+
+    /** Get the list of estimated measurements parameters.
+     * @return the list of estimated measurements parameters
+     */
+    public ParameterDriversList getEstimatedMeasurementsParameters() {
+        return processModel.getEstimatedMeasurementsParameters();
+    }
+
+    /** Process a single measurement.
+     * <p>
+     * Update the filter with the new measurement by propagating the sigma points
+     * to the measurement date and correcting the predicted state.
+     * </p>
+     * @param observedMeasurement the measurement to process
+     * @return estimated propagators
+     */
+    public AbstractIntegratedPropagator[] estimationStep(final ObservedMeasurement<?> observedMeasurement) {
+        try {
+            processModel.processMeasurement(KalmanEstimator.decorate(observedMeasurement, referenceDate));
+            if (observer != null) {
+                observer.evaluationPerformed(processModel);
+            }
+            return processModel.getEstimatedPropagators();
+        } catch (MathRuntimeException mrte) {
+            throw new OrekitException(mrte);
+        }
+    }
+
+    /** Process several measurements.
+     * @param observedMeasurements the measurements to process in <em>chronologically sorted</em> order
+     * @return estimated propagators
+     */
+    public AbstractIntegratedPropagator[] processMeasurements(final Iterable<ObservedMeasurement<?>> observedMeasurements) {
+        AbstractIntegratedPropagator[] propagators = null;
+        for (ObservedMeasurement<?> observedMeasurement : observedMeasurements) {
+            propagators = estimationStep(observedMeasurement);
+        }
+        return propagators;
+    }
+
+}
@@ -0,0 +1,1000 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.filtering.kalman.ProcessEstimate;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.MatrixDecomposer;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.RectangularCholeskyDecomposition;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.estimation.measurements.EstimatedMeasurement;
+import org.orekit.estimation.measurements.EstimationModifier;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
+import org.orekit.estimation.measurements.ObservableSatellite;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.modifiers.DynamicOutlierFilter;
+import org.orekit.orbits.OrbitType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.conversion.DSSTPropagatorBuilder;
+import org.orekit.propagation.conversion.IntegratedPropagatorBuilder;
+import org.orekit.propagation.integration.AbstractIntegratedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterDriversList;
+import org.orekit.utils.ParameterDriversList.DelegatingDriver;
+
+/** Class defining the process model dynamics to use with an {@link UnscentedKalmanEstimator}.
+ * <p>
+ * Contrary to {@link KalmanModel}, this model does not rely on variational equations
+ * to propagate the covariance. The state and covariance are propagated using the
+ * scaled unscented transform: a set of sigma points is drawn around the corrected
+ * state, each sigma point is propagated independently to the measurement date and
+ * the predicted mean and covariance are rebuilt from the propagated points. The same
+ * sigma points are used to predict the measurement, so neither the state transition
+ * matrix nor the measurement matrix are computed.
+ * </p>
+ * <p>
+ * As the propagations of the sigma points are independent from each other, they can be
+ * performed concurrently if an executor is provided. This is possible only if no propagation
+ * parameters are estimated, because propagation parameters drivers are shared with the
+ * force models and each sigma point needs its own values. If some propagation parameters
+ * are estimated, the sigma points are propagated sequentially in the calling thread.
+ * </p>
+ * <p>
+ * The propagators built for the sigma points are independent, but the objects they get
+ * from the builders are not copied: force models, attitude provider and integrator builder
+ * are shared by all the sigma points of a builder. When an executor is provided, these
+ * objects are therefore used by several threads at the same time and <em>must</em> be
+ * thread-safe. This is the caller responsibility. DSST force models are known to hold
+ * state between calls, so sigma points are always propagated sequentially when a
+ * {@link DSSTPropagatorBuilder} is used.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+class UnscentedKalmanModel implements KalmanEstimation {
+
+    /** Relative threshold for covariance matrix rank determination. */
+    private static final double RANK_THRESHOLD = 1.0e-15;
+
+    /** Builders for propagators. */
+    private final List<IntegratedPropagatorBuilder> builders;
+
+    /** Decomposer to use for the correction phase. */
+    private final MatrixDecomposer decomposer;
+
+    /** Estimated orbital parameters. */
+    private final ParameterDriversList allEstimatedOrbitalParameters;
+
+    /** Estimated propagation drivers. */
+    private final ParameterDriversList allEstimatedPropagationParameters;
+
+    /** Estimated measurements parameters. */
+    private final ParameterDriversList estimatedMeasurementsParameters;
+
+    /** Start columns for each estimated orbit. */
+    private final int[] orbitsStartColumns;
+
+    /** State vector columns of the selected parameters of each builder. */
+    private final int[][] builderColumns;
+
+    /** First column of measurements parameters. */
+    private final int measurementsStartColumn;
+
+    /** Providers for covariance matrices. */
+    private final List<CovarianceMatrixProvider> covarianceMatricesProviders;
+
+    /** Indirection arrays to extract the noise components for estimated parameters. */
+    private final int[][] covarianceIndirection;
+
+    /** Scaling factors. */
+    private final double[] scale;
+
+    /** Scaling factor for sigma points spread. */
+    private final double spread;
+
+    /** Weight of the central sigma point for mean computation. */
+    private final double centralMeanWeight;
+
+    /** Weight of the central sigma point for covariance computation. */
+    private final double centralCovarianceWeight;
+
+    /** Weight of the other sigma points for both mean and covariance computation. */
+    private final double weight;
+
+    /** Executor for sigma points propagation (null for sequential propagation). */
+    private final ExecutorService executor;
+
+    /** Current corrected estimate. */
+    private ProcessEstimate correctedEstimate;
+
+    /** Current number of measurement. */
+    private int currentMeasurementNumber;
+
+    /** Current date. */
+    private AbsoluteDate currentDate;
+
+    /** Predicted spacecraft states. */
+    private SpacecraftState[] predictedSpacecraftStates;
+
+    /** Corrected spacecraft states. */
+    private SpacecraftState[] correctedSpacecraftStates;
+
+    /** Predicted measurement. */
+    private EstimatedMeasurement<?> predictedMeasurement;
+
+    /** Corrected measurement. */
+    private EstimatedMeasurement<?> correctedMeasurement;
+
+    /** Unscented Kalman process model constructor (package private).
+     * @param decomposer decomposer to use for the correction phase
+     * @param propagatorBuilders propagators builders used to evaluate the orbits
+     * @param covarianceMatricesProviders providers for covariance matrices
+     * @param estimatedMeasurementParameters measurement parameters to estimate
+     * @param alpha spread of the sigma points around the mean
+     * @param beta prior knowledge of the state distribution (2 is optimal for Gaussian distributions)
+     * @param kappa secondary scaling parameter
+     * @param executor executor for sigma points propagation (null for sequential
+     * propagation in the calling thread), if not null the force models and attitude
+     * providers of the builders must be thread-safe
+     */
+    UnscentedKalmanModel(final MatrixDecomposer decomposer,
+                         final List<IntegratedPropagatorBuilder> propagatorBuilders,
+                         final List<CovarianceMatrixProvider> covarianceMatricesProviders,
+                         final ParameterDriversList estimatedMeasurementParameters,
+                         final double alpha, final double beta, final double kappa,
+                         final ExecutorService executor) {
+
+        this.builders                        = propagatorBuilders;
+        this.decomposer                      = decomposer;
+        this.estimatedMeasurementsParameters = estimatedMeasurementParameters;
+        this.currentMeasurementNumber        = 0;
+        this.currentDate                     = propagatorBuilders.get(0).getInitialOrbitDate();
+
+        // orbital parameters columns
+        final Map<String, Integer> orbitalParameterColumns = new HashMap<>(6 * builders.size());
+        orbitsStartColumns = new int[builders.size()];
+        int columns = 0;
+        allEstimatedOrbitalParameters = new ParameterDriversList();
+        for (int k = 0; k < builders.size(); ++k) {
+            orbitsStartColumns[k] = columns;
+            final String suffix = propagatorBuilders.size() > 1 ? "[" + k + "]" : null;
+            for (final ParameterDriver driver : builders.get(k).getOrbitalParametersDrivers().getDrivers()) {
+                if (driver.getReferenceDate() == null) {
+                    driver.setReferenceDate(currentDate);
+                }
+                if (suffix != null && !driver.getName().endsWith(suffix)) {
+                    // we add suffix only conditionally because the method may already have been called
+                    // and suffixes may have already been appended
+                    driver.setName(driver.getName() + suffix);
+                }
+                if (driver.isSelected()) {
+                    allEstimatedOrbitalParameters.add(driver);
+                    orbitalParameterColumns.put(driver.getName(), columns++);
+                }
+            }
+        }
+
+        // propagation parameters columns, shared between builders with the same name
+        allEstimatedPropagationParameters = new ParameterDriversList();
+        for (final IntegratedPropagatorBuilder builder : builders) {
+            for (final ParameterDriver driver : builder.getPropagationParametersDrivers().getDrivers()) {
+                if (driver.getReferenceDate() == null) {
+                    driver.setReferenceDate(currentDate);
+                }
+                if (driver.isSelected()) {
+                    allEstimatedPropagationParameters.add(driver);
+                }
+            }
+        }
+        final Map<String, Integer> propagationParameterColumns = new HashMap<>();
+        for (final ParameterDriver driver : allEstimatedPropagationParameters.getDrivers()) {
+            propagationParameterColumns.put(driver.getName(), columns++);
+        }
+
+        // measurements parameters columns
+        measurementsStartColumn = columns;
+        final Map<String, Integer> measurementParameterColumns = new HashMap<>();
+        for (final ParameterDriver parameter : estimatedMeasurementsParameters.getDrivers()) {
+            if (parameter.getReferenceDate() == null) {
+                parameter.setReferenceDate(currentDate);
+            }
+            measurementParameterColumns.put(parameter.getName(), columns++);
+        }
+
+        // columns of the selected parameters of each builder, in builder order
+        builderColumns = new int[builders.size()][];
+        for (int k = 0; k < builders.size(); ++k) {
+            final List<Integer> selected = new ArrayList<>();
+            for (final ParameterDriver driver : builders.get(k).getOrbitalParametersDrivers().getDrivers()) {
+                if (driver.isSelected()) {
+                    selected.add(orbitalParameterColumns.get(driver.getName()));
+                }
+            }
+            for (final ParameterDriver driver : builders.get(k).getPropagationParametersDrivers().getDrivers()) {
+                if (driver.isSelected()) {
+                    selected.add(propagationParameterColumns.get(driver.getName()));
+                }
+            }
+            builderColumns[k] = selected.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Store providers for process noise matrices
+        this.covarianceMatricesProviders = covarianceMatricesProviders;
+        this.covarianceIndirection       = new int[covarianceMatricesProviders.size()][columns];
+        for (int k = 0; k < covarianceIndirection.length; ++k) {
+            Arrays.fill(covarianceIndirection[k], -1);
+            int i = 0;
+            for (final ParameterDriver driver : builders.get(k).getOrbitalParametersDrivers().getDrivers()) {
+                final Integer c = orbitalParameterColumns.get(driver.getName());
+                covarianceIndirection[k][i++] = (c == null) ? -1 : c.intValue();
+            }
+            for (final ParameterDriver driver : builders.get(k).getPropagationParametersDrivers().getDrivers()) {
+                final Integer c = propagationParameterColumns.get(driver.getName());
+                if (c != null) {
+                    covarianceIndirection[k][i++] = c.intValue();
+                }
+            }
+            for (final ParameterDriver driver : estimatedMeasurementParameters.getDrivers()) {
+                final Integer c = measurementParameterColumns.get(driver.getName());
+                if (c != null) {
+                    covarianceIndirection[k][i++] = c.intValue();
+                }
+            }
+        }
+
+        // Compute the scale factors
+        this.scale = new double[columns];
+        int index = 0;
+        for (final ParameterDriver driver : allEstimatedOrbitalParameters.getDrivers()) {
+            scale[index++] = driver.getScale();
+        }
+        for (final ParameterDriver driver : allEstimatedPropagationParameters.getDrivers()) {
+            scale[index++] = driver.getScale();
+        }
+        for (final ParameterDriver driver : estimatedMeasurementsParameters.getDrivers()) {
+            scale[index++] = driver.getScale();
+        }
+
+        // scaled unscented transform weights
+        if (columns + kappa <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     columns + kappa, 0);
+        }
+        final double lambda          = alpha * alpha * (columns + kappa) - columns;
+        this.spread                  = FastMath.sqrt(columns + lambda);
+        this.centralMeanWeight       = lambda / (columns + lambda);
+        this.centralCovarianceWeight = centralMeanWeight + 1 - alpha * alpha + beta;
+        this.weight                  = 0.5 / (columns + lambda);
+
+        // sigma points can be propagated concurrently only if they share the force models parameters
+        // and if the force models do not hold state between calls
+        boolean concurrent = allEstimatedPropagationParameters.getNbParams() == 0;
+        for (final IntegratedPropagatorBuilder builder : propagatorBuilders) {
+            concurrent = concurrent && !(builder instanceof DSSTPropagatorBuilder);
+        }
+        this.executor = concurrent ? executor : null;
+
+        // Initialize the estimated normalized state and fill its values
+        final RealVector correctedState = MatrixUtils.createRealVector(columns);
+        int p = 0;
+        for (final ParameterDriver driver : allEstimatedOrbitalParameters.getDrivers()) {
+            correctedState.setEntry(p++, driver.getNormalizedValue());
+        }
+        for (final ParameterDriver driver : allEstimatedPropagationParameters.getDrivers()) {
+            correctedState.setEntry(p++, driver.getNormalizedValue());
+        }
+        for (final ParameterDriver driver : estimatedMeasurementsParameters.getDrivers()) {
+            correctedState.setEntry(p++, driver.getNormalizedValue());
+        }
+
+        final AbstractIntegratedPropagator[] propagators = getEstimatedPropagators();
+        this.predictedSpacecraftStates = new SpacecraftState[propagators.length];
+        for (int k = 0; k < propagators.length; ++k) {
+            predictedSpacecraftStates[k] = propagators[k].getInitialState();
+        }
+        this.correctedSpacecraftStates = predictedSpacecraftStates.clone();
+
+        // Set up initial covariance
+        final RealMatrix physicalCovariance = MatrixUtils.createRealMatrix(columns, columns);
+        for (int k = 0; k < covarianceMatricesProviders.size(); ++k) {
+            final RealMatrix noiseK = covarianceMatricesProviders.get(k).
+                                      getInitialCovarianceMatrix(correctedSpacecraftStates[k]);
+            addNoise(k, noiseK, physicalCovariance);
+        }
+
+        correctedEstimate = new ProcessEstimate(0.0, correctedState, normalizeCovarianceMatrix(physicalCovariance));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState[] getPredictedSpacecraftStates() {
+        return predictedSpacecraftStates.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState[] getCorrectedSpacecraftStates() {
+        return correctedSpacecraftStates.clone();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The unscented filter does not compute any state transition matrix, so this
+     * method always returns null.
+     * </p>
+     */
+    @Override
+    public RealMatrix getPhysicalStateTransitionMatrix() {
+        return null;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The unscented filter does not compute any measurement matrix, so this
+     * method always returns null.
+     * </p>
+     */
+    @Override
+    public RealMatrix getPhysicalMeasurementJacobian() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getPhysicalInnovationCovarianceMatrix() {
+        // S[i,j] = Sn[i,j] * σ[i] * σ[j]
+        final RealMatrix normalizedS = correctedEstimate.getInnovationCovariance();
+        if (normalizedS == null) {
+            return null;
+        } else {
+            final double[] sigmas = correctedMeasurement.getObservedMeasurement().getTheoreticalStandardDeviation();
+            final RealMatrix physicalS = MatrixUtils.createRealMatrix(sigmas.length, sigmas.length);
+            for (int i = 0; i < sigmas.length; ++i) {
+                for (int j = 0; j < sigmas.length; ++j) {
+                    physicalS.setEntry(i, j, normalizedS.getEntry(i, j) * sigmas[i] * sigmas[j]);
+                }
+            }
+            return physicalS;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getPhysicalKalmanGain() {
+        // K[i,j] = Kn[i,j] * scale[i] / σ[j]
+        final RealMatrix normalizedK = correctedEstimate.getKalmanGain();
+        if (normalizedK == null) {
+            return null;
+        } else {
+            final double[] sigmas = correctedMeasurement.getObservedMeasurement().getTheoreticalStandardDeviation();
+            final RealMatrix physicalK = MatrixUtils.createRealMatrix(scale.length, sigmas.length);
+            for (int i = 0; i < scale.length; ++i) {
+                for (int j = 0; j < sigmas.length; ++j) {
+                    physicalK.setEntry(i, j, normalizedK.getEntry(i, j) * scale[i] / sigmas[j]);
+                }
+            }
+            return physicalK;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getCurrentMeasurementNumber() {
+        return currentMeasurementNumber;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getCurrentDate() {
+        return currentDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EstimatedMeasurement<?> getPredictedMeasurement() {
+        return predictedMeasurement;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EstimatedMeasurement<?> getCorrectedMeasurement() {
+        return correctedMeasurement;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector getPhysicalEstimatedState() {
+        final RealVector physicalEstimatedState = new ArrayRealVector(scale.length);
+        int i = 0;
+        for (final DelegatingDriver driver : getEstimatedOrbitalParameters().getDrivers()) {
+            physicalEstimatedState.setEntry(i++, driver.getValue());
+        }
+        for (final DelegatingDriver driver : getEstimatedPropagationParameters().getDrivers()) {
+            physicalEstimatedState.setEntry(i++, driver.getValue());
+        }
+        for (final DelegatingDriver driver : getEstimatedMeasurementsParameters().getDrivers()) {
+            physicalEstimatedState.setEntry(i++, driver.getValue());
+        }
+        return physicalEstimatedState;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix getPhysicalEstimatedCovarianceMatrix() {
+        // P[i,j] = Pn[i,j] * scale[i] * scale[j]
+        final RealMatrix normalizedP = correctedEstimate.getCovariance();
+        final RealMatrix physicalP   = MatrixUtils.createRealMatrix(scale.length, scale.length);
+        for (int i = 0; i < scale.length; ++i) {
+            for (int j = 0; j < scale.length; ++j) {
+                physicalP.setEntry(i, j, normalizedP.getEntry(i, j) * scale[i] * scale[j]);
+            }
+        }
+        return physicalP;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriversList getEstimatedOrbitalParameters() {
+        return allEstimatedOrbitalParameters;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriversList getEstimatedPropagationParameters() {
+        return allEstimatedPropagationParameters;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriversList getEstimatedMeasurementsParameters() {
+        return estimatedMeasurementsParameters;
+    }
+
+    /** Get the current corrected estimate.
+     * @return current corrected estimate
+     */
+    public ProcessEstimate getEstimate() {
+        return correctedEstimate;
+    }
+
+    /** Get the propagators estimated with the values set in the propagators builders.
+     * @return propagators based on the current values in the builder
+     */
+    public AbstractIntegratedPropagator[] getEstimatedPropagators() {
+        final AbstractIntegratedPropagator[] propagators = new AbstractIntegratedPropagator[builders.size()];
+        for (int k = 0; k < builders.size(); ++k) {
+            propagators[k] = (AbstractIntegratedPropagator) builders.get(k).
+                             buildPropagator(builders.get(k).getSelectedNormalizedParameters());
+        }
+        return propagators;
+    }
+
+    /** Process a measurement.
+     * @param measurement decorated measurement to process
+     */
+    public void processMeasurement(final MeasurementDecorator measurement) {
+
+        // Set a reference date for all measurements parameters that lack one (including the not estimated ones)
+        final ObservedMeasurement<?> observedMeasurement = measurement.getObservedMeasurement();
+        for (final ParameterDriver driver : observedMeasurement.getParametersDrivers()) {
+            if (driver.getReferenceDate() == null) {
+                driver.setReferenceDate(builders.get(0).getInitialOrbitDate());
+            }
+        }
+
+        ++currentMeasurementNumber;
+        currentDate = observedMeasurement.getDate();
+
+        // draw the sigma points around the corrected state
+        final RealVector[] points = sigmaPoints();
+        final double w0m = centralMeanWeight + (scale.length - (points.length - 1) / 2) * 2 * weight;
+        final double w0c = centralCovarianceWeight + (scale.length - (points.length - 1) / 2) * 2 * weight;
+
+        // propagate the sigma points to measurement date
+        final SpacecraftState[][] states = propagate(points, currentDate);
+        predictedSpacecraftStates = states[0];
+        for (int k = 0; k < builders.size(); ++k) {
+            // the propagated central sigma point becomes the new reference orbit
+            builders.get(k).resetOrbit(predictedSpacecraftStates[k].getOrbit());
+        }
+        final RealVector[] predictedPoints = new RealVector[points.length];
+        for (int i = 0; i < points.length; ++i) {
+            predictedPoints[i] = normalize(points[i], states[i]);
+        }
+
+        // predicted state and covariance
+        final RealVector predictedState = weightedMean(predictedPoints, w0m);
+        final RealMatrix physicalProcessNoise = MatrixUtils.createRealMatrix(scale.length, scale.length);
+        for (int k = 0; k < covarianceMatricesProviders.size(); ++k) {
+            final RealMatrix noiseK = covarianceMatricesProviders.get(k).
+                                      getProcessNoiseMatrix(correctedSpacecraftStates[k],
+                                                            predictedSpacecraftStates[k]);
+            addNoise(k, noiseK, physicalProcessNoise);
+        }
+        final RealMatrix predictedCovariance =
+                        weightedCovariance(predictedPoints, predictedState, predictedPoints, predictedState, w0c).
+                        add(normalizeCovarianceMatrix(physicalProcessNoise));
+
+        // predict the normalized measurement for each sigma point
+        final double[] sigma = observedMeasurement.getTheoreticalStandardDeviation();
+        final RealVector[] predictedMeasurements = new RealVector[points.length];
+        for (int i = predictedPoints.length - 1; i >= 0; --i) {
+            int p = measurementsStartColumn;
+            for (final DelegatingDriver driver : estimatedMeasurementsParameters.getDrivers()) {
+                driver.setNormalizedValue(predictedPoints[i].getEntry(p++));
+            }
+            // Note: here the "iteration/evaluation" formalism from the batch LS method
+            // is twisted to fit the need of the Kalman filter, as in the extended filter
+            final EstimatedMeasurement<?> estimated =
+                            observedMeasurement.estimate(currentMeasurementNumber, currentMeasurementNumber,
+                                                         filterRelevant(observedMeasurement, states[i]));
+            final double[] value = estimated.getEstimatedValue();
+            predictedMeasurements[i] = MatrixUtils.createRealVector(value.length);
+            for (int j = 0; j < value.length; ++j) {
+                predictedMeasurements[i].setEntry(j, value[j] / sigma[j]);
+            }
+            if (i == 0) {
+                // the central sigma point holds the predicted measurement
+                predictedMeasurement = estimated;
+            }
+        }
+
+        // innovation covariance and cross-covariance
+        final RealVector meanMeasurement = weightedMean(predictedMeasurements, w0m);
+        final RealMatrix innovationCovariance =
+                        weightedCovariance(predictedMeasurements, meanMeasurement,
+                                           predictedMeasurements, meanMeasurement, w0c).
+                        add(measurement.getCovariance());
+
+        applyDynamicOutlierFilter(predictedMeasurement, innovationCovariance, 0);
+        if (predictedMeasurement.getStatus() == EstimatedMeasurement.Status.REJECTED) {
+            // the measurement is rejected, the corrected state is the predicted state
+            correctedEstimate = new ProcessEstimate(measurement.getTime(), predictedState, predictedCovariance,
+                                                    null, null, innovationCovariance, null);
+        } else {
+            final RealMatrix crossCovariance =
+                            weightedCovariance(predictedPoints, predictedState,
+                                               predictedMeasurements, meanMeasurement, w0c);
+
+            // Kalman gain K = Pxz S⁻¹, computed as (S⁻¹ Pxzᵀ)ᵀ since S is symmetric
+            final RealMatrix gain = decomposer.decompose(innovationCovariance).
+                                    solve(crossCovariance.transpose()).
+                                    transpose();
+
+            // normalized innovation
+            final double[] observed = observedMeasurement.getObservedValue();
+            final RealVector innovation = MatrixUtils.createRealVector(observed.length);
+            for (int j = 0; j < observed.length; ++j) {
+                innovation.setEntry(j, observed[j] / sigma[j] - meanMeasurement.getEntry(j));
+            }
+
+            final RealVector correctedState      = predictedState.add(gain.operate(innovation));
+            final RealMatrix correctedCovariance =
+                            predictedCovariance.subtract(gain.multiply(innovationCovariance).multiply(gain.transpose()));
+            correctedEstimate = new ProcessEstimate(measurement.getTime(), correctedState, correctedCovariance,
+                                                    null, null, innovationCovariance, gain);
+        }
+
+        // Update the parameters with the estimated state
+        // The min/max values of the parameters are handled by the ParameterDriver implementation
+        updateParameters();
+
+        // Get the estimated propagator (mirroring parameter update in the builder)
+        // and the estimated spacecraft state
+        final AbstractIntegratedPropagator[] estimatedPropagators = getEstimatedPropagators();
+        for (int k = 0; k < estimatedPropagators.length; ++k) {
+            correctedSpacecraftStates[k] = estimatedPropagators[k].getInitialState();
+        }
+
+        // Compute the estimated measurement using estimated spacecraft state
+        correctedMeasurement = observedMeasurement.estimate(currentMeasurementNumber,
+                                                            currentMeasurementNumber,
+                                                            filterRelevant(observedMeasurement, correctedSpacecraftStates));
+
+    }
+
+    /** Draw the sigma points around the corrected state.
+     * <p>
+     * If the covariance matrix is rank deficient, only the sigma points corresponding
+     * to the non-degenerated directions are drawn, the missing ones being identical
+     * to the central point.
+     * </p>
+     * @return sigma points, the first one being the central point
+     */
+    private RealVector[] sigmaPoints() {
+
+        final RealVector state      = correctedEstimate.getState();
+        final RealMatrix covariance = correctedEstimate.getCovariance();
+
+        // square root of the (symmetrized) covariance matrix
+        double maxDiagonal = 0;
+        for (int i = 0; i < covariance.getRowDimension(); ++i) {
+            maxDiagonal = FastMath.max(maxDiagonal, covariance.getEntry(i, i));
+        }
+        final RectangularCholeskyDecomposition cholesky =
+                        new RectangularCholeskyDecomposition(covariance.add(covariance.transpose()).scalarMultiply(0.5),
+                                                             FastMath.max(Precision.SAFE_MIN, RANK_THRESHOLD * maxDiagonal));
+        final RealMatrix root = cholesky.getRootMatrix();
+
+        final RealVector[] points = new RealVector[2 * cholesky.getRank() + 1];
+        points[0] = state;
+        for (int j = 0; j < cholesky.getRank(); ++j) {
+            final RealVector delta = root.getColumnVector(j).mapMultiply(spread);
+            points[2 * j + 1] = state.add(delta);
+            points[2 * j + 2] = state.subtract(delta);
+        }
+
+        return points;
+
+    }
+
+    /** Propagate sigma points to a target date.
+     * @param points sigma points
+     * @param date target date
+     * @return propagated states, indexed by sigma point and propagator
+     */
+    private SpacecraftState[][] propagate(final RealVector[] points, final AbsoluteDate date) {
+
+        final SpacecraftState[][] states = new SpacecraftState[points.length][builders.size()];
+
+        if (executor == null) {
+            // sequential propagation, the force models parameters are set for each sigma point
+            for (int i = 0; i < points.length; ++i) {
+                for (int k = 0; k < builders.size(); ++k) {
+                    states[i][k] = buildPropagator(k, points[i]).propagate(date);
+                }
+            }
+        } else {
+            // concurrent propagation, only the initial orbits differ between propagators
+            // force models and attitude providers are shared between threads,
+            // thread-safety is required from the caller when setting up the executor
+            final List<Callable<SpacecraftState>> tasks = new ArrayList<>(points.length * builders.size());
+            for (final RealVector point : points) {
+                for (int k = 0; k < builders.size(); ++k) {
+                    final Propagator propagator = buildPropagator(k, point);
+                    tasks.add(() -> propagator.propagate(date));
+                }
+            }
+            try {
+                final List<Future<SpacecraftState>> futures = executor.invokeAll(tasks);
+                for (int i = 0; i < points.length; ++i) {
+                    for (int k = 0; k < builders.size(); ++k) {
+                        states[i][k] = futures.get(i * builders.size() + k).get();
+                    }
+                }
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof RuntimeException) {
+                    // propagate errors from propagators as is
+                    throw (RuntimeException) ee.getCause();
+                }
+                throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+        }
+
+        return states;
+
+    }
+
+    /** Build the propagator corresponding to one sigma point.
+     * @param k index of the propagator builder
+     * @param point sigma point
+     * @return propagator starting from sigma point
+     */
+    private Propagator buildPropagator(final int k, final RealVector point) {
+        final double[] normalized = new double[builderColumns[k].length];
+        for (int j = 0; j < normalized.length; ++j) {
+            normalized[j] = point.getEntry(builderColumns[k][j]);
+        }
+        return builders.get(k).buildPropagator(normalized);
+    }
+
+    /** Convert a propagated sigma point to a normalized state vector.
+     * <p>
+     * The orbital drivers reference values must have been reset to the
+     * propagated central sigma point before this method is called.
+     * </p>
+     * @param point sigma point before propagation
+     * @param states propagated states for this sigma point
+     * @return normalized state vector after propagation
+     */
+    private RealVector normalize(final RealVector point, final SpacecraftState[] states) {
+
+        // propagation and measurements parameters are not changed by propagation
+        final RealVector normalized = point.copy();
+
+        final double[] orbitArray = new double[6];
+        for (int k = 0; k < builders.size(); ++k) {
+            final IntegratedPropagatorBuilder builder = builders.get(k);
+            builder.getOrbitType().mapOrbitToArray(states[k].getOrbit(), builder.getPositionAngle(), orbitArray, null);
+            final boolean[] angular = angularComponents(builder.getOrbitType());
+            int column = orbitsStartColumns[k];
+            for (int i = 0; i < orbitArray.length; ++i) {
+                final ParameterDriver driver = builder.getOrbitalParametersDrivers().getDrivers().get(i);
+                if (driver.isSelected()) {
+                    final double reference = driver.getReferenceValue();
+                    final double value     = angular[i] ?
+                                             MathUtils.normalizeAngle(orbitArray[i], reference) :
+                                             orbitArray[i];
+                    normalized.setEntry(column++, (value - reference) / driver.getScale());
+                }
+            }
+        }
+
+        return normalized;
+
+    }
+
+    /** Get the angular components of an orbit type.
+     * @param orbitType orbit type
+     * @return flags for the angular components
+     */
+    private static boolean[] angularComponents(final OrbitType orbitType) {
+        switch (orbitType) {
+            case KEPLERIAN :
+                return new boolean[] { false, false, false, true, true, true };
+            case CIRCULAR :
+                return new boolean[] { false, false, false, false, true, true };
+            case EQUINOCTIAL :
+                return new boolean[] { false, false, false, false, false, true };
+            default :
+                return new boolean[6];
+        }
+    }
+
+    /** Compute the weighted mean of sigma points.
+     * @param points sigma points (or their images), the first one being the central point
+     * @param w0 weight of the central point
+     * @return weighted mean
+     */
+    private RealVector weightedMean(final RealVector[] points, final double w0) {
+        final RealVector mean = points[0].mapMultiply(w0);
+        for (int i = 1; i < points.length; ++i) {
+            mean.combineToSelf(1.0, weight, points[i]);
+        }
+        return mean;
+    }
+
+    /** Compute the weighted cross-covariance of sigma points images.
+     * @param a first images of the sigma points
+     * @param meanA mean of the first images
+     * @param b second images of the sigma points
+     * @param meanB mean of the second images
+     * @param w0 weight of the central point
+     * @return weighted cross-covariance
+     */
+    private RealMatrix weightedCovariance(final RealVector[] a, final RealVector meanA,
+                                          final RealVector[] b, final RealVector meanB,
+                                          final double w0) {
+        final RealMatrix covariance = MatrixUtils.createRealMatrix(meanA.getDimension(), meanB.getDimension());
+        for (int i = 0; i < a.length; ++i) {
+            final double     w  = (i == 0) ? w0 : weight;
+            final RealVector da = a[i].subtract(meanA);
+            final RealVector db = b[i].subtract(meanB);
+            for (int r = 0; r < da.getDimension(); ++r) {
+                final double wdr = w * da.getEntry(r);
+                for (int c = 0; c < db.getDimension(); ++c) {
+                    covariance.addToEntry(r, c, wdr * db.getEntry(c));
+                }
+            }
+        }
+        return covariance;
+    }
+
+    /** Add the noise provided for one propagator to a full covariance matrix.
+     * @param k index of the propagator
+     * @param noiseK noise matrix for the propagator
+     * @param physicalCovariance full physical covariance matrix to update
+     */
+    private void addNoise(final int k, final RealMatrix noiseK, final RealMatrix physicalCovariance) {
+        checkDimension(noiseK.getRowDimension(),
+                       builders.get(k).getOrbitalParametersDrivers(),
+                       builders.get(k).getPropagationParametersDrivers(),
+                       estimatedMeasurementsParameters);
+        final int[] indK = covarianceIndirection[k];
+        for (int i = 0; i < indK.length; ++i) {
+            if (indK[i] >= 0) {
+                for (int j = 0; j < indK.length; ++j) {
+                    if (indK[j] >= 0) {
+                        physicalCovariance.setEntry(indK[i], indK[j], noiseK.getEntry(i, j));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Check dimension.
+     * @param dimension dimension to check
+     * @param orbitalParameters orbital parameters
+     * @param propagationParameters propagation parameters
+     * @param measurementParameters measurements parameters
+     */
+    private void checkDimension(final int dimension,
+                                final ParameterDriversList orbitalParameters,
+                                final ParameterDriversList propagationParameters,
+                                final ParameterDriversList measurementParameters) {
+
+        // count parameters, taking care of counting all orbital parameters
+        // regardless of them being estimated or not
+        int requiredDimension = orbitalParameters.getNbParams();
+        for (final ParameterDriver driver : propagationParameters.getDrivers()) {
+            if (driver.isSelected()) {
+                ++requiredDimension;
+            }
+        }
+        for (final ParameterDriver driver : measurementParameters.getDrivers()) {
+            if (driver.isSelected()) {
+                ++requiredDimension;
+            }
+        }
+
+        if (dimension != requiredDimension) {
+            // there is a problem, set up an explicit error message
+            final StringBuilder builder = new StringBuilder();
+            for (final ParameterDriver driver : orbitalParameters.getDrivers()) {
+                if (builder.length() > 0) {
+                    builder.append(", ");
+                }
+                builder.append(driver.getName());
+            }
+            for (final ParameterDriver driver : propagationParameters.getDrivers()) {
+                if (driver.isSelected()) {
+                    builder.append(driver.getName());
+                }
+            }
+            for (final ParameterDriver driver : measurementParameters.getDrivers()) {
+                if (driver.isSelected()) {
+                    builder.append(driver.getName());
+                }
+            }
+            throw new OrekitException(OrekitMessages.DIMENSION_INCONSISTENT_WITH_PARAMETERS,
+                                      dimension, builder.toString());
+        }
+
+    }
+
+    /** Normalize a covariance matrix.
+     * @param physicalCovarianceMatrix The "physical" covariance matrix in input
+     * @return the normalized covariance matrix
+     */
+    private RealMatrix normalizeCovarianceMatrix(final RealMatrix physicalCovarianceMatrix) {
+        // Pn[i,j] = P[i,j] / (scale[i]*scale[j])
+        final RealMatrix normalizedCovarianceMatrix = MatrixUtils.createRealMatrix(scale.length, scale.length);
+        for (int i = 0; i < scale.length; ++i) {
+            for (int j = 0; j < scale.length; ++j) {
+                normalizedCovarianceMatrix.setEntry(i, j,
+                                                    physicalCovarianceMatrix.getEntry(i, j) /
+                                                    (scale[i] * scale[j]));
+            }
+        }
+        return normalizedCovarianceMatrix;
+    }
+
+    /** Set and apply a dynamic outlier filter on a measurement.
+     * @param measurement measurement to filter
+     * @param innovationCovarianceMatrix normalized innovation covariance matrix
+     * @param offset index of the first component of the measurement in the innovation
+     * covariance matrix (non-zero only for measurements {@link MultiplexedMeasurement multiplexed}
+     * in a larger one)
+     * @param <T> the type of measurement
+     */
+    private <T extends ObservedMeasurement<T>> void applyDynamicOutlierFilter(final EstimatedMeasurement<T> measurement,
+                                                                              final RealMatrix innovationCovarianceMatrix,
+                                                                              final int offset) {
+
+        final ObservedMeasurement<T> observedMeasurement = measurement.getObservedMeasurement();
+
+        for (EstimationModifier<T> modifier : observedMeasurement.getModifiers()) {
+            if (modifier instanceof DynamicOutlierFilter<?>) {
+                final DynamicOutlierFilter<T> dynamicOutlierFilter = (DynamicOutlierFilter<T>) modifier;
+
+                // sigmaDynamic[i] = sqrt(diag(S))*sigma[i], as in the extended filter
+                final double[] sigmaDynamic     = new double[observedMeasurement.getDimension()];
+                final double[] sigmaMeasurement = observedMeasurement.getTheoreticalStandardDeviation();
+                for (int i = 0; i < sigmaDynamic.length; i++) {
+                    sigmaDynamic[i] = FastMath.sqrt(innovationCovarianceMatrix.getEntry(offset + i, offset + i)) *
+                                      sigmaMeasurement[i];
+                }
+                dynamicOutlierFilter.setSigma(sigmaDynamic);
+
+                // Apply the modifier on the estimated measurement
+                modifier.modify(measurement);
+
+                // Re-initialize the value of the filter for the next measurement of the same type
+                dynamicOutlierFilter.setSigma(null);
+            }
+        }
+
+        if (observedMeasurement instanceof MultiplexedMeasurement) {
+            // apply the filters of the underlying measurements, using their own block of the innovation
+            // covariance matrix, rejecting one of them rejects the whole multiplexed measurement
+            int index = offset;
+            for (final EstimatedMeasurement<?> underlying :
+                 ((MultiplexedMeasurement) observedMeasurement).getEstimatedMeasurements()) {
+                applyDynamicOutlierFilter(underlying, innovationCovarianceMatrix, index);
+                if (underlying.getStatus() == EstimatedMeasurement.Status.REJECTED) {
+                    measurement.setStatus(EstimatedMeasurement.Status.REJECTED);
+                }
+                index += underlying.getObservedMeasurement().getDimension();
+            }
+        }
+
+    }
+
+    /** Filter relevant states for a measurement.
+     * @param observedMeasurement measurement to consider
+     * @param allStates all states
+     * @return array containing only the states relevant to the measurement
+     */
+    private SpacecraftState[] filterRelevant(final ObservedMeasurement<?> observedMeasurement,
+                                             final SpacecraftState[] allStates) {
+        final List<ObservableSatellite> satellites = observedMeasurement.getSatellites();
+        final SpacecraftState[] relevantStates = new SpacecraftState[satellites.size()];
+        for (int i = 0; i < relevantStates.length; ++i) {
+            relevantStates[i] = allStates[satellites.get(i).getPropagatorIndex()];
+        }
+        return relevantStates;
+    }
+
+    /** Update the estimated parameters after the correction phase of the filter.
+     * The min/max allowed values are handled by the parameter themselves.
+     */
+    private void updateParameters() {
+        final RealVector correctedState = correctedEstimate.getState();
+        int i = 0;
+        for (final DelegatingDriver driver : getEstimatedOrbitalParameters().getDrivers()) {
+            // let the parameter handle min/max clipping
+            driver.setNormalizedValue(correctedState.getEntry(i));
+            correctedState.setEntry(i++, driver.getNormalizedValue());
+        }
+        for (final DelegatingDriver driver : getEstimatedPropagationParameters().getDrivers()) {
+            // let the parameter handle min/max clipping
+            driver.setNormalizedValue(correctedState.getEntry(i));
+            correctedState.setEntry(i++, driver.getNormalizedValue());
+        }
+        for (final DelegatingDriver driver : getEstimatedMeasurementsParameters().getDrivers()) {
+            // let the parameter handle min/max clipping
+            driver.setNormalizedValue(correctedState.getEntry(i));
+            correctedState.setEntry(i++, driver.getNormalizedValue());
+        }
+    }
+
+}
@@ -26,5 +26,11 @@
  * filter}. For each processed measurement, a fully configured propagator
  * will be available, as well as all estimated parameters individually.
  * </p>
+ * <p>
+ * An {@link org.orekit.estimation.sequential.UnscentedKalmanEstimator unscented
+ * Kalman filter} sharing the same configuration is also available. It replaces the
+ * variational equations by independent propagations of sigma points, which can
+ * be run concurrently.
+ * </p>
  */
 package org.orekit.estimation.sequential;
@@ -0,0 +1,355 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hipparchus.util.FastMath;
+
+/** {@link Appendable} that hands characters to a background thread for output.
+ * <p>
+ * This class is intended to be used as the output of {@link StreamingOemWriter}
+ * or {@link StreamingAemWriter} when ephemerides are generated on the fly during
+ * propagation. The propagation thread only copies the characters into a bounded
+ * ring buffer of fixed size chunks, and a background thread takes care of the
+ * actual (and potentially slow) output to the underlying appendable. The
+ * propagation thread is blocked only if the ring buffer is full.
+ * </p>
+ * <p>
+ * The characters are written to the underlying appendable in the exact
+ * same order, so the output is identical to what would be obtained by writing
+ * directly to the underlying appendable. Errors occurring in the background
+ * thread are reported as {@link IOException} by the next calls to the methods
+ * of this class that need to synchronize with the background thread.
+ * </p>
+ * <p>
+ * The instance must be {@link #close() closed} once all data has been appended,
+ * in order to make sure all chunks have been written and to stop the background
+ * thread. Closing this instance does <em>not</em> close the underlying appendable.
+ * </p>
+ * <pre>{@code
+ * try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+ *      AsynchronousAppendable out = new AsynchronousAppendable(w)) {
+ *     StreamingOemWriter writer = new StreamingOemWriter(out, utc, metadata);
+ *     writer.writeHeader();
+ *     Segment segment = writer.newSegment(frame, Collections.emptyMap());
+ *     propagator.setMasterMode(step, segment);
+ *     propagator.propagate(startDate, stopDate);
+ * }
+ * }</pre>
+ * <p>
+ * This class is intended to be used by one producer thread only.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class AsynchronousAppendable implements Appendable, Flushable, AutoCloseable {
+
+    /** Default number of chunks in the ring buffer. */
+    public static final int DEFAULT_CHUNKS = 16;
+
+    /** Default size of the chunks. */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /** Characters appended for null sequences. */
+    private static final String NULL = "null";
+
+    /** Underlying appendable. */
+    private final Appendable out;
+
+    /** Ring buffer chunks. */
+    private final char[][] chunks;
+
+    /** Number of characters in each chunk. */
+    private final int[] lengths;
+
+    /** Lock protecting ring buffer indices. */
+    private final ReentrantLock lock;
+
+    /** Condition signaled when a chunk becomes available for output. */
+    private final Condition notEmpty;
+
+    /** Condition signaled when a chunk has been output. */
+    private final Condition notFull;
+
+    /** Background output thread. */
+    private final Thread outputThread;
+
+    /** Index of the next chunk to output. */
+    private int head;
+
+    /** Index of the chunk being filled up by producer. */
+    private int tail;
+
+    /** Number of chunks ready for output (or being output). */
+    private int count;
+
+    /** Indicator for closed instance. */
+    private boolean closed;
+
+    /** Failure encountered in background thread. */
+    private Throwable failure;
+
+    /** Simple constructor, using default ring buffer settings.
+     * @param out underlying appendable
+     * @see #DEFAULT_CHUNKS
+     * @see #DEFAULT_CHUNK_SIZE
+     */
+    public AsynchronousAppendable(final Appendable out) {
+        this(out, DEFAULT_CHUNKS, DEFAULT_CHUNK_SIZE);
+    }
+
+    /** Simple constructor.
+     * @param out underlying appendable
+     * @param nbChunks number of chunks in the ring buffer (must be at least 2)
+     * @param chunkSize size of the chunks
+     */
+    public AsynchronousAppendable(final Appendable out, final int nbChunks, final int chunkSize) {
+        this.out      = out;
+        this.chunks   = new char[nbChunks][chunkSize];
+        this.lengths  = new int[nbChunks];
+        this.lock     = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull  = lock.newCondition();
+        this.head     = 0;
+        this.tail     = 0;
+        this.count    = 0;
+        this.closed   = false;
+        this.failure  = null;
+        outputThread = new Thread(this::output, "asynchronous-appendable");
+        outputThread.setDaemon(true);
+        outputThread.setUncaughtExceptionHandler((thread, throwable) -> fail(throwable));
+        outputThread.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AsynchronousAppendable append(final CharSequence csq) throws IOException {
+        final CharSequence s = csq == null ? NULL : csq;
+        return append(s, 0, s.length());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AsynchronousAppendable append(final CharSequence csq, final int start, final int end)
+        throws IOException {
+        ensureOpen();
+        final CharSequence s = csq == null ? NULL : csq;
+        int i = start;
+        while (i < end) {
+            final char[] chunk = chunks[tail];
+            if (lengths[tail] == chunk.length) {
+                publish();
+            } else {
+                final int n = FastMath.min(end - i, chunk.length - lengths[tail]);
+                if (s instanceof String) {
+                    ((String) s).getChars(i, i + n, chunk, lengths[tail]);
+                } else if (s instanceof StringBuilder) {
+                    ((StringBuilder) s).getChars(i, i + n, chunk, lengths[tail]);
+                } else {
+                    for (int k = 0; k < n; ++k) {
+                        chunk[lengths[tail] + k] = s.charAt(i + k);
+                    }
+                }
+                lengths[tail] += n;
+                i += n;
+            }
+        }
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AsynchronousAppendable append(final char c) throws IOException {
+        ensureOpen();
+        if (lengths[tail] == chunks[tail].length) {
+            publish();
+        }
+        chunks[tail][lengths[tail]++] = c;
+        return this;
+    }
+
+    /** Flush the instance.
+     * <p>
+     * This method waits until all characters appended so far have been
+     * written to the underlying appendable, and flushes it if it
+     * implements {@link Flushable}.
+     * </p>
+     * @exception IOException if an error occurred during output
+     */
+    @Override
+    public void flush() throws IOException {
+        if (lengths[tail] > 0) {
+            publish();
+        }
+        lock.lock();
+        try {
+            while (count > 0 && failure == null) {
+                notFull.await();
+            }
+            checkFailure();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            lock.unlock();
+        }
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    /** Close the instance.
+     * <p>
+     * This method {@link #flush() flushes} the instance and stops the
+     * background thread. It does <em>not</em> close the underlying appendable.
+     * </p>
+     * @exception IOException if an error occurred during output
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!closed) {
+                flush();
+            }
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                outputThread.join();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Publish the chunk being filled up and wait for a free chunk.
+     * @exception IOException if an error occurred during output
+     */
+    private void publish() throws IOException {
+        lock.lock();
+        try {
+            checkFailure();
+            ++count;
+            tail = (tail + 1) % chunks.length;
+            notEmpty.signal();
+            while (count == chunks.length && failure == null) {
+                notFull.await();
+            }
+            checkFailure();
+            lengths[tail] = 0;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ensure the instance has not been closed.
+     * @exception IOException if the instance has been closed
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /** Check if a failure occurred in the background thread.
+     * <p>
+     * This method must be called with the lock held.
+     * </p>
+     * @exception IOException if an error occurred during output
+     */
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            // failure may be reported several times, so we wrap it in a new instance each time
+            throw new IOException(failure.getLocalizedMessage(), failure);
+        }
+    }
+
+    /** Register a failure from the background thread.
+     * @param throwable failure
+     */
+    private void fail(final Throwable throwable) {
+        lock.lock();
+        try {
+            failure = throwable;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Output loop, run by the background thread. */
+    private void output() {
+        try {
+            while (true) {
+
+                // wait for a chunk to output
+                final int index;
+                lock.lock();
+                try {
+                    while (count == 0 && !closed) {
+                        notEmpty.await();
+                    }
+                    if (count == 0) {
+                        // the instance has been closed and everything has been output
+                        return;
+                    }
+                    index = head;
+                } finally {
+                    lock.unlock();
+                }
+
+                // output the chunk, without holding the lock
+                if (out instanceof Writer) {
+                    ((Writer) out).write(chunks[index], 0, lengths[index]);
+                } else {
+                    out.append(CharBuffer.wrap(chunks[index], 0, lengths[index]));
+                }
+
+                // release the chunk
+                lock.lock();
+                try {
+                    head = (head + 1) % chunks.length;
+                    --count;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+            }
+        } catch (IOException ioe) {
+            fail(ioe);
+        } catch (InterruptedException ie) {
+            fail(new InterruptedIOException());
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Array-backed list of ephemerides data lines.
+ * <p>
+ * Coordinates are stored in a single flat array of primitive doubles
+ * and dates in a separate array, so each data line costs only a few tens
+ * of bytes instead of the four objects of a {@link TimeStampedPVCoordinates}.
+ * The elements are rebuilt each time they are accessed.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+class CompactDataLines extends AbstractList<TimeStampedPVCoordinates> implements RandomAccess {
+
+    /** Number of coordinates stored for each data line. */
+    private static final int STRIDE = 9;
+
+    /** Initial capacity. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Dates of the data lines. */
+    private AbsoluteDate[] dates;
+
+    /** Position, velocity and acceleration of the data lines. */
+    private double[] coordinates;
+
+    /** Number of data lines. */
+    private int size;
+
+    /** Simple constructor.
+     */
+    CompactDataLines() {
+        dates       = new AbsoluteDate[INITIAL_CAPACITY];
+        coordinates = new double[STRIDE * INITIAL_CAPACITY];
+        size        = 0;
+    }
+
+    /** Append a data line without building intermediate objects.
+     * @param date date of the data line
+     * @param pva position (3 components), velocity (3 components) and
+     * optionally acceleration (3 components), in SI units
+     * @param hasAcceleration if true, acceleration is present in {@code pva}
+     */
+    void append(final AbsoluteDate date, final double[] pva, final boolean hasAcceleration) {
+        ensureCapacity(size + 1);
+        dates[size] = date;
+        final int offset = STRIDE * size;
+        if (hasAcceleration) {
+            System.arraycopy(pva, 0, coordinates, offset, STRIDE);
+        } else {
+            System.arraycopy(pva, 0, coordinates, offset, 6);
+            Arrays.fill(coordinates, offset + 6, offset + STRIDE, 0.0);
+        }
+        ++size;
+        ++modCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates get(final int index) {
+        checkIndex(index, size);
+        final int offset = STRIDE * index;
+        return new TimeStampedPVCoordinates(dates[index],
+                                            new Vector3D(coordinates[offset],     coordinates[offset + 1], coordinates[offset + 2]),
+                                            new Vector3D(coordinates[offset + 3], coordinates[offset + 4], coordinates[offset + 5]),
+                                            new Vector3D(coordinates[offset + 6], coordinates[offset + 7], coordinates[offset + 8]));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates set(final int index, final TimeStampedPVCoordinates element) {
+        final TimeStampedPVCoordinates previous = get(index);
+        store(index, element);
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(final int index, final TimeStampedPVCoordinates element) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(dates, index, dates, index + 1, size - index);
+        System.arraycopy(coordinates, STRIDE * index, coordinates, STRIDE * (index + 1), STRIDE * (size - index));
+        store(index, element);
+        ++size;
+        ++modCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates remove(final int index) {
+        final TimeStampedPVCoordinates previous = get(index);
+        System.arraycopy(dates, index + 1, dates, index, size - index - 1);
+        System.arraycopy(coordinates, STRIDE * (index + 1), coordinates, STRIDE * index, STRIDE * (size - index - 1));
+        --size;
+        dates[size] = null;
+        ++modCount;
+        return previous;
+    }
+
+    /** Store an element.
+     * @param index index at which element should be stored
+     * @param element element to store
+     */
+    private void store(final int index, final TimeStampedPVCoordinates element) {
+        dates[index] = element.getDate();
+        final int offset = STRIDE * index;
+        final Vector3D p = element.getPosition();
+        final Vector3D v = element.getVelocity();
+        final Vector3D a = element.getAcceleration();
+        coordinates[offset]     = p.getX();
+        coordinates[offset + 1] = p.getY();
+        coordinates[offset + 2] = p.getZ();
+        coordinates[offset + 3] = v.getX();
+        coordinates[offset + 4] = v.getY();
+        coordinates[offset + 5] = v.getZ();
+        coordinates[offset + 6] = a.getX();
+        coordinates[offset + 7] = a.getY();
+        coordinates[offset + 8] = a.getZ();
+    }
+
+    /** Check an index.
+     * @param index index to check
+     * @param limit exclusive upper limit for the index
+     */
+    private void checkIndex(final int index, final int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /** Ensure arrays can hold at least the specified number of data lines.
+     * @param capacity required capacity
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > dates.length) {
+            final int newCapacity = FastMath.max(capacity, 2 * dates.length);
+            dates       = Arrays.copyOf(dates, newCapacity);
+            coordinates = Arrays.copyOf(coordinates, STRIDE * newCapacity);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.util.Locale;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.time.DateComponents;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeComponents;
+
+/** Formatter for ephemeris lines in CCSDS streaming writers.
+ * <p>
+ * Lines are built in a reusable buffer and handed to the output in one call.
+ * Numbers are formatted by {@link StringBuilder#append(double)}, which gives
+ * the same characters as {@link Double#toString(double)} without creating
+ * intermediate strings, and dates are formatted using cached formatters, so
+ * the output is identical to {@link StreamingOemWriter#dateToString(DateTimeComponents)}.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+class EphemerisLineFormatter {
+
+    /** Line buffer. */
+    private final StringBuilder line;
+
+    /** Formatter for seconds. */
+    private final DecimalFormat precise;
+
+    /** Buffer for seconds formatting. */
+    private final StringBuffer secondsBuffer;
+
+    /** Field position for seconds formatting. */
+    private final FieldPosition fieldPosition;
+
+    /** Day of the last formatted date. */
+    private DateComponents lastDay;
+
+    /** Formatted day of the last formatted date. */
+    private String lastDayString;
+
+    /** Simple constructor.
+     */
+    EphemerisLineFormatter() {
+        this.line          = new StringBuilder(256);
+        this.precise       = new DecimalFormat("00.0########", new DecimalFormatSymbols(Locale.US));
+        this.secondsBuffer = new StringBuffer();
+        this.fieldPosition = new FieldPosition(0);
+        this.lastDay       = null;
+        this.lastDayString = null;
+    }
+
+    /** Start a new line.
+     * @return this formatter
+     */
+    EphemerisLineFormatter reset() {
+        line.setLength(0);
+        return this;
+    }
+
+    /** Append a date.
+     * @param components date components
+     * @return this formatter
+     */
+    EphemerisLineFormatter appendDate(final DateTimeComponents components) {
+
+        // the day changes slowly in ephemerides, we format it only when it changes
+        final DateComponents day = components.getDate();
+        if (!day.equals(lastDay)) {
+            lastDay       = day;
+            lastDayString = day.toString();
+        }
+        line.append(lastDayString).append('T');
+
+        final TimeComponents time = components.getTime();
+        appendTwoDigits(time.getHour());
+        line.append(':');
+        appendTwoDigits(time.getMinute());
+        line.append(':');
+
+        final double second = time.getSecond();
+        if (second >= 0 && second < 100 && second == FastMath.floor(second)) {
+            // integer number of seconds
+            appendTwoDigits((int) second);
+            line.append(".0");
+        } else {
+            secondsBuffer.setLength(0);
+            line.append(precise.format(second, secondsBuffer, fieldPosition));
+        }
+
+        return this;
+
+    }
+
+    /** Append a number.
+     * @param value number to append
+     * @return this formatter
+     */
+    EphemerisLineFormatter appendDouble(final double value) {
+        line.append(value);
+        return this;
+    }
+
+    /** Append a character.
+     * @param c character to append
+     * @return this formatter
+     */
+    EphemerisLineFormatter append(final char c) {
+        line.append(c);
+        return this;
+    }
+
+    /** Append a string.
+     * @param s string to append
+     * @return this formatter
+     */
+    EphemerisLineFormatter append(final String s) {
+        line.append(s);
+        return this;
+    }
+
+    /** Write the line to an output.
+     * @param out output
+     * @exception IOException if output throws one
+     */
+    void writeTo(final Appendable out) throws IOException {
+        out.append(line);
+    }
+
+    /** Append a two digits number.
+     * @param value number between 0 and 99
+     */
+    private void appendTwoDigits(final int value) {
+        line.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+}
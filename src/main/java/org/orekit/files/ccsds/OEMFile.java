@@ -127,7 +127,7 @@ public class OEMFile extends ODMFile implements EphemerisFile {
         private int interpolationDegree;
 
         /** List of ephemerides data lines. */
-        private List<TimeStampedPVCoordinates> ephemeridesDataLines;
+        private CompactDataLines ephemeridesDataLines;
 
         /** True iff all data points in this block have accelleration data. */
         private boolean hasAcceleration;
@@ -145,7 +145,7 @@ public class OEMFile extends ODMFile implements EphemerisFile {
         /** EphemeridesBlock constructor. */
         public EphemeridesBlock() {
             metaData = new ODMMetaData(OEMFile.this);
-            ephemeridesDataLines = new ArrayList<>();
+            ephemeridesDataLines = new CompactDataLines();
             covarianceMatrices = new ArrayList<CovarianceMatrix>();
             hasAcceleration = true;
         }
@@ -163,6 +163,22 @@ public class OEMFile extends ODMFile implements EphemerisFile {
                     CartesianDerivativesFilter.USE_PV;
         }
 
+        /** Append an ephemerides data line.
+         * <p>
+         * This method is intended for parsers, it avoids building intermediate
+         * objects as data lines are stored in compact arrays.
+         * </p>
+         * @param date date of the data line
+         * @param pva position (3 components), velocity (3 components) and
+         * optionally acceleration (3 components), in SI units
+         * @param pointHasAcceleration if true, acceleration is present in {@code pva}
+         * @since 10.2
+         */
+        void appendDataLine(final AbsoluteDate date, final double[] pva, final boolean pointHasAcceleration) {
+            ephemeridesDataLines.append(date, pva, pointHasAcceleration);
+            updateHasAcceleration(pointHasAcceleration);
+        }
+
         /**
          * Update the value of {@link #hasAcceleration}.
          *
@@ -22,11 +22,15 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.hipparchus.exception.DummyLocalizable;
-import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.orekit.annotation.DefaultDataContext;
@@ -38,7 +42,6 @@ import org.orekit.frames.Frame;
 import org.orekit.frames.LOFType;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.IERSConventions;
-import org.orekit.utils.TimeStampedPVCoordinates;
 
 /**
  * A parser for the CCSDS OEM (Orbit Ephemeris Message).
@@ -47,6 +50,22 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public class OEMParser extends ODMParser implements EphemerisFileParser {
 
+    /** Number of components in a data line (position, velocity and acceleration). */
+    private static final int PVA_COMPONENTS = 9;
+
+    /** Exact powers of ten, for fast numbers parsing. */
+    private static final double[] POWERS_OF_TEN = {
+        1.0e0,  1.0e1,  1.0e2,  1.0e3,  1.0e4,  1.0e5,  1.0e6,  1.0e7,
+        1.0e8,  1.0e9,  1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15,
+        1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20, 1.0e21, 1.0e22
+    };
+
+    /** Maximum number of significant digits for fast numbers parsing. */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /** Executor for decoding ephemerides blocks (null for sequential decoding). */
+    private final ExecutorService executor;
+
     /** Simple constructor.
      * <p>
      * This class is immutable, and hence thread safe. When parts
@@ -120,7 +139,7 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
      * @since 10.1
      */
     public OEMParser(final DataContext dataContext) {
-        this(AbsoluteDate.FUTURE_INFINITY, Double.NaN, null, true, 0, 0, "", dataContext);
+        this(AbsoluteDate.FUTURE_INFINITY, Double.NaN, null, true, 0, 0, "", dataContext, null);
     }
 
     /** Complete constructor.
@@ -132,41 +151,44 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
      * @param launchNumber launch number for TLEs
      * @param launchPiece piece of launch (from "A" to "ZZZ") for TLEs
      * @param dataContext used to retrieve frames, time scales, etc.
+     * @param executor executor for decoding ephemerides blocks (null for sequential decoding)
      */
     private OEMParser(final AbsoluteDate missionReferenceDate, final double mu,
                       final IERSConventions conventions, final boolean simpleEOP,
                       final int launchYear, final int launchNumber,
-                      final String launchPiece, final DataContext dataContext) {
+                      final String launchPiece, final DataContext dataContext,
+                      final ExecutorService executor) {
         super(missionReferenceDate, mu, conventions, simpleEOP, launchYear, launchNumber,
                 launchPiece, dataContext);
+        this.executor = executor;
     }
 
     /** {@inheritDoc} */
     public OEMParser withMissionReferenceDate(final AbsoluteDate newMissionReferenceDate) {
         return new OEMParser(newMissionReferenceDate, getMu(), getConventions(), isSimpleEOP(),
                              getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
-                             getDataContext());
+                             getDataContext(), executor);
     }
 
     /** {@inheritDoc} */
     public OEMParser withMu(final double newMu) {
         return new OEMParser(getMissionReferenceDate(), newMu, getConventions(), isSimpleEOP(),
                              getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
-                             getDataContext());
+                             getDataContext(), executor);
     }
 
     /** {@inheritDoc} */
     public OEMParser withConventions(final IERSConventions newConventions) {
         return new OEMParser(getMissionReferenceDate(), getMu(), newConventions, isSimpleEOP(),
                              getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
-                             getDataContext());
+                             getDataContext(), executor);
     }
 
     /** {@inheritDoc} */
     public OEMParser withSimpleEOP(final boolean newSimpleEOP) {
         return new OEMParser(getMissionReferenceDate(), getMu(), getConventions(), newSimpleEOP,
                              getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
-                             getDataContext());
+                             getDataContext(), executor);
     }
 
     /** {@inheritDoc} */
@@ -175,14 +197,42 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                                                  final String newLaunchPiece) {
         return new OEMParser(getMissionReferenceDate(), getMu(), getConventions(), isSimpleEOP(),
                              newLaunchYear, newLaunchNumber, newLaunchPiece,
-                             getDataContext());
+                             getDataContext(), executor);
     }
 
     @Override
     public OEMParser withDataContext(final DataContext dataContext) {
         return new OEMParser(getMissionReferenceDate(), getMu(), getConventions(), isSimpleEOP(),
                 getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
-                dataContext);
+                dataContext, executor);
+    }
+
+    /** Set up executor for decoding ephemerides blocks in parallel.
+     * <p>
+     * When an executor is set, the ephemerides data lines of each block are only
+     * gathered by the thread reading the file, they are decoded by tasks submitted
+     * to the executor, so independent blocks are decoded in parallel with reading.
+     * The executor is not shut down by the parser.
+     * </p>
+     * @param newExecutor executor to use for decoding ephemerides blocks
+     * (null for sequential decoding)
+     * @return a new instance, with executor replaced
+     * @see #getExecutor()
+     * @since 10.2
+     */
+    public OEMParser withExecutor(final ExecutorService newExecutor) {
+        return new OEMParser(getMissionReferenceDate(), getMu(), getConventions(), isSimpleEOP(),
+                             getLaunchYear(), getLaunchNumber(), getLaunchPiece(),
+                             getDataContext(), newExecutor);
+    }
+
+    /** Get the executor for decoding ephemerides blocks.
+     * @return executor for decoding ephemerides blocks (null for sequential decoding)
+     * @see #withExecutor(ExecutorService)
+     * @since 10.2
+     */
+    public ExecutorService getExecutor() {
+        return executor;
     }
 
     /** {@inheritDoc} */
@@ -295,6 +345,7 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         }
                 }
             }
+            waitForDecoding(pi);
             file.checkTimeSystems();
             return file;
         } catch (IOException ioe) {
@@ -302,9 +353,35 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         }
     }
 
+    /** Wait for all ephemerides blocks decoding tasks to complete.
+     * @param pi the parser info
+     */
+    private void waitForDecoding(final ParseInfo pi) {
+        try {
+            for (final Future<?> future : pi.pending) {
+                future.get();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE,
+                                      ee.getCause().getLocalizedMessage());
+        }
+    }
+
     /**
      * Parse an ephemeris data line and add its content to the ephemerides
      * block.
+     * <p>
+     * Data lines are recognized by their first non-blank character and do
+     * not go through {@link KeyValue} parsing. If an {@link #withExecutor(ExecutorService)
+     * executor} has been set, they are only gathered here and the decoding of the
+     * whole block is submitted to the executor.
+     * </p>
      *
      * @param reader the reader
      * @param pi the parser info
@@ -313,53 +390,39 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
     private void parseEphemeridesDataLines(final BufferedReader reader,  final ParseInfo pi)
         throws IOException {
 
+        final OEMFile.EphemeridesBlock block = pi.lastEphemeridesBlock;
+        final RawDataLines raw = executor == null ? null : new RawDataLines();
+        final double[] pva     = new double[PVA_COMPONENTS];
         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
 
             ++pi.lineNumber;
-            if (line.trim().length() > 0) {
-                pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
-                if (pi.keyValue.getKeyword() == null) {
-                    try (Scanner sc = new Scanner(line)) {
-                        final AbsoluteDate date = parseDate(sc.next(), pi.lastEphemeridesBlock.getMetaData().getTimeSystem());
-                        final Vector3D position = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000);
-                        final Vector3D velocity = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000);
-                        Vector3D acceleration = Vector3D.NaN;
-                        boolean hasAcceleration = false;
-                        if (sc.hasNext()) {
-                            acceleration = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                        Double.parseDouble(sc.next()) * 1000,
-                                                        Double.parseDouble(sc.next()) * 1000);
-                            hasAcceleration = true;
-                        }
-                        final TimeStampedPVCoordinates epDataLine;
-                        if (hasAcceleration) {
-                            epDataLine = new TimeStampedPVCoordinates(date, position, velocity, acceleration);
-                        } else {
-                            epDataLine = new TimeStampedPVCoordinates(date, position, velocity);
-                        }
-                        pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
-                        pi.lastEphemeridesBlock.updateHasAcceleration(hasAcceleration);
-                    } catch (NumberFormatException nfe) {
-                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                                  pi.lineNumber, pi.fileName, line);
+            final int first = firstNonBlank(line, 0, line.length());
+            if (first < line.length()) {
+                if (!isDataLineStart(line.charAt(first))) {
+                    pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
+                }
+                if (isDataLineStart(line.charAt(first)) || pi.keyValue.getKeyword() == null) {
+                    // data line (if it is garbage, decoding will report the error)
+                    if (raw == null) {
+                        decodeDataLine(line, 0, line.length(), pi.lineNumber, pi.fileName, block, pva);
+                    } else {
+                        raw.add(line, pi.lineNumber);
                     }
                 } else {
                     switch (pi.keyValue.getKeyword()) {
                         case META_START:
-                            pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
+                            block.setEphemeridesDataLinesComment(pi.commentTmp);
                             pi.commentTmp.clear();
                             pi.lineNumber--;
                             reader.reset();
+                            submitDecoding(raw, block, pi);
                             return;
                         case COVARIANCE_START:
-                            pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
+                            block.setEphemeridesDataLinesComment(pi.commentTmp);
                             pi.commentTmp.clear();
                             pi.lineNumber--;
                             reader.reset();
+                            submitDecoding(raw, block, pi);
                             return;
                         case COMMENT:
                             pi.commentTmp.add(pi.keyValue.getValue());
@@ -372,6 +435,198 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
             reader.mark(300);
 
         }
+        submitDecoding(raw, block, pi);
+
+    }
+
+    /** Submit decoding of gathered ephemerides data lines.
+     * @param raw gathered data lines (null if data lines have already been decoded)
+     * @param block ephemerides block to fill up
+     * @param pi the parser info
+     */
+    private void submitDecoding(final RawDataLines raw, final OEMFile.EphemeridesBlock block,
+                                final ParseInfo pi) {
+        if (raw != null && raw.size() > 0) {
+            final String fileName = pi.fileName;
+            pi.pending.add(executor.submit(() -> {
+                final double[] pva = new double[PVA_COMPONENTS];
+                for (int i = 0; i < raw.size(); ++i) {
+                    decodeDataLine(raw.text, raw.start(i), raw.end(i), raw.lineNumbers[i],
+                                   fileName, block, pva);
+                }
+            }));
+        }
+    }
+
+    /** Check if a character can start a data line.
+     * @param c character to check
+     * @return true if character can start a data line
+     */
+    private static boolean isDataLineStart(final char c) {
+        return (c >= '0' && c <= '9') || c == '+' || c == '-';
+    }
+
+    /** Decode one ephemeris data line and add its content to an ephemerides block.
+     * @param text text containing the line
+     * @param start start index of the line in text
+     * @param end end index of the line in text
+     * @param lineNumber line number
+     * @param fileName name of the file
+     * @param block ephemerides block to fill up
+     * @param pva placeholder for parsed position, velocity and acceleration
+     */
+    private void decodeDataLine(final CharSequence text, final int start, final int end,
+                                final int lineNumber, final String fileName,
+                                final OEMFile.EphemeridesBlock block, final double[] pva) {
+        try {
+
+            // date
+            int tokenStart = firstNonBlank(text, start, end);
+            int tokenEnd   = firstBlank(text, tokenStart, end);
+            final AbsoluteDate date = parseDate(text.subSequence(tokenStart, tokenEnd).toString(),
+                                                block.getMetaData().getTimeSystem());
+
+            // position, velocity and optional acceleration, converted from km to m
+            int nbComponents = 0;
+            tokenStart = firstNonBlank(text, tokenEnd, end);
+            while (tokenStart < end && nbComponents < PVA_COMPONENTS) {
+                tokenEnd = firstBlank(text, tokenStart, end);
+                pva[nbComponents++] = parseDouble(text, tokenStart, tokenEnd) * 1000;
+                tokenStart = firstNonBlank(text, tokenEnd, end);
+            }
+            if (nbComponents != 6 && nbComponents != PVA_COMPONENTS) {
+                throw new NumberFormatException();
+            }
+
+            block.appendDataLine(date, pva, nbComponents == PVA_COMPONENTS);
+
+        } catch (NumberFormatException nfe) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      lineNumber, fileName, text.subSequence(start, end).toString());
+        }
+    }
+
+    /** Find the first non-blank character in a range.
+     * @param text text to scan
+     * @param start start index of the range
+     * @param end end index of the range
+     * @return index of the first non-blank character, or {@code end} if range is blank
+     */
+    private static int firstNonBlank(final CharSequence text, final int start, final int end) {
+        int i = start;
+        while (i < end && Character.isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    /** Find the first blank character in a range.
+     * @param text text to scan
+     * @param start start index of the range
+     * @param end end index of the range
+     * @return index of the first blank character, or {@code end} if range has no blanks
+     */
+    private static int firstBlank(final CharSequence text, final int start, final int end) {
+        int i = start;
+        while (i < end && !Character.isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    /** Parse a number directly from characters.
+     * <p>
+     * Numbers with at most 15 significant digits and a decimal exponent
+     * within [-22; 22] are converted using a single correctly rounded
+     * floating point operation on exact operands, which gives the same
+     * result as {@link Double#parseDouble(String)}. Other numbers are
+     * delegated to {@link Double#parseDouble(String)}.
+     * </p>
+     * @param text text containing the number
+     * @param start start index of the number
+     * @param end end index of the number
+     * @return parsed number
+     * @exception NumberFormatException if the characters do not represent a number
+     */
+    static double parseDouble(final CharSequence text, final int start, final int end)
+        throws NumberFormatException {
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            negative = text.charAt(i) == '-';
+            ++i;
+        }
+
+        long    mantissa = 0;
+        int     digits   = 0;
+        int     exponent = 0;
+        boolean hasDigit = false;
+        boolean hasPoint = false;
+        while (i < end) {
+            final char c = text.charAt(i++);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // leading zero, not significant
+                    if (hasPoint) {
+                        --exponent;
+                    }
+                } else if (digits == MAX_FAST_DIGITS) {
+                    return slowParseDouble(text, start, end);
+                } else {
+                    mantissa = 10 * mantissa + (c - '0');
+                    ++digits;
+                    if (hasPoint) {
+                        --exponent;
+                    }
+                }
+            } else if (c == '.' && !hasPoint) {
+                hasPoint = true;
+            } else if ((c == 'e' || c == 'E') && hasDigit && i < end) {
+                boolean negativeExponent = false;
+                if (text.charAt(i) == '+' || text.charAt(i) == '-') {
+                    negativeExponent = text.charAt(i) == '-';
+                    ++i;
+                }
+                if (i >= end) {
+                    return slowParseDouble(text, start, end);
+                }
+                int explicit = 0;
+                while (i < end) {
+                    final char e = text.charAt(i++);
+                    if (e < '0' || e > '9' || explicit > POWERS_OF_TEN.length) {
+                        return slowParseDouble(text, start, end);
+                    }
+                    explicit = 10 * explicit + (e - '0');
+                }
+                exponent += negativeExponent ? -explicit : explicit;
+            } else {
+                return slowParseDouble(text, start, end);
+            }
+        }
+
+        if (!hasDigit || exponent < -(POWERS_OF_TEN.length - 1) || exponent > POWERS_OF_TEN.length - 1) {
+            return slowParseDouble(text, start, end);
+        }
+
+        final double value = exponent < 0 ?
+                             mantissa / POWERS_OF_TEN[-exponent] :
+                             mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+
+    }
+
+    /** Parse a number using {@link Double#parseDouble(String)}.
+     * @param text text containing the number
+     * @param start start index of the number
+     * @param end end index of the number
+     * @return parsed number
+     * @exception NumberFormatException if the characters do not represent a number
+     */
+    private static double slowParseDouble(final CharSequence text, final int start, final int end)
+        throws NumberFormatException {
+        return Double.parseDouble(text.subSequence(start, end).toString());
     }
 
     /**
@@ -472,11 +727,79 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         /** Stored comments. */
         private List<String> commentTmp;
 
+        /** Pending ephemerides blocks decoding tasks. */
+        private List<Future<?>> pending;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             lineNumber = 0;
             file = new OEMFile();
             commentTmp = new ArrayList<String>();
+            pending = new ArrayList<>();
         }
     }
+
+    /** Raw ephemerides data lines, gathered before being decoded. */
+    private static class RawDataLines {
+
+        /** Concatenated lines. */
+        private final StringBuilder text;
+
+        /** Start index of each line in text. */
+        private int[] starts;
+
+        /** Line numbers. */
+        private int[] lineNumbers;
+
+        /** Number of lines. */
+        private int size;
+
+        /** Simple constructor.
+         */
+        RawDataLines() {
+            text        = new StringBuilder();
+            starts      = new int[16];
+            lineNumbers = new int[16];
+            size        = 0;
+        }
+
+        /** Add a line.
+         * @param line line to add
+         * @param lineNumber line number
+         */
+        void add(final String line, final int lineNumber) {
+            if (size == starts.length) {
+                starts      = Arrays.copyOf(starts,      2 * size);
+                lineNumbers = Arrays.copyOf(lineNumbers, 2 * size);
+            }
+            starts[size]      = text.length();
+            lineNumbers[size] = lineNumber;
+            text.append(line);
+            ++size;
+        }
+
+        /** Get the number of lines.
+         * @return number of lines
+         */
+        int size() {
+            return size;
+        }
+
+        /** Get the start index of a line.
+         * @param i index of the line
+         * @return start index of the line in text
+         */
+        int start(final int i) {
+            return starts[i];
+        }
+
+        /** Get the end index of a line.
+         * @param i index of the line
+         * @return end index of the line in text
+         */
+        int end(final int i) {
+            return i + 1 < size ? starts[i + 1] : text.length();
+        }
+
+    }
 }
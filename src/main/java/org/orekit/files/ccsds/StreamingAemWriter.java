@@ -206,6 +206,10 @@ import org.orekit.utils.TimeStampedAngularCoordinates;
  * are EME2000, GTOD, ICRF, ITRF2000, ITRF-93, ITRF-97, LVLH, RTN, QSW, TOD, TNW, NTW and RSW.
  * Additionally ITRF followed by a four digit year may be used.
  *
+ * <p> When attitude ephemerides are generated during propagation, output can be delegated
+ * to a background thread by wrapping the output stream in an {@link AsynchronousAppendable}.
+ * The propagation thread then only formats the lines, the output is unchanged.
+ *
  * @author Bryan Cazabonne
  * @see <a href="https://public.ccsds.org/Pubs/504x0b1c1.pdf">CCSDS 504.0-B-1 Attitude Data Messages</a>
  * @see AEMWriter
@@ -237,6 +241,9 @@ public class StreamingAemWriter {
     /** Time scale for all dates except {@link Keyword#CREATION_DATE}. */
     private final TimeScale timeScale;
 
+    /** Formatter for attitude ephemeris lines. */
+    private final EphemerisLineFormatter formatter;
+
     /**
      * Create an AEM writer that streams data to the given output stream.
      *
@@ -251,6 +258,7 @@ public class StreamingAemWriter {
                               final Map<Keyword, String> metadata) {
         this.writer    = writer;
         this.timeScale = timeScale;
+        this.formatter = new EphemerisLineFormatter();
         this.metadata  = new LinkedHashMap<>(metadata);
 
         // Set default metadata
@@ -413,19 +421,19 @@ public class StreamingAemWriter {
                                                final RotationOrder rotationOrder)
             throws IOException {
             // Epoch
-            final String epoch = dateToString(attitude.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            formatter.reset().appendDate(attitude.getDate().getComponents(timeScale)).append(' ');
             // Attitude data in degrees
             final AEMAttitudeType type = AEMAttitudeType.getAttitudeType(attitudeName);
             final double[]        data = type.getAttitudeData(attitude, isFirst, rotationOrder);
             final int             size = data.length;
             for (int index = 0; index < size; index++) {
-                writer.append(Double.toString(data[index]));
-                final String space = (index == size - 1) ? "" : " ";
-                writer.append(space);
+                formatter.appendDouble(data[index]);
+                if (index < size - 1) {
+                    formatter.append(' ');
+                }
             }
             // end the line
-            writer.append(NEW_LINE);
+            formatter.append(NEW_LINE).writeTo(writer);
         }
 
         /**
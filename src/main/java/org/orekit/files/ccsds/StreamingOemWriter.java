@@ -235,6 +235,10 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * }
  * }</pre>
  *
+ * <p> When ephemerides are generated during propagation, output can be delegated to
+ * a background thread by wrapping the output stream in an {@link AsynchronousAppendable}.
+ * The propagation thread then only formats the lines, the output is unchanged.
+ *
  * @author Evan Ward
  * @see <a href="https://public.ccsds.org/Pubs/502x0b2c1.pdf">CCSDS 502.0-B-2 Orbit Data
  *      Messages</a>
@@ -269,6 +273,8 @@ public class StreamingOemWriter {
     private final Map<Keyword, String> metadata;
     /** Time scale for all dates except {@link Keyword#CREATION_DATE}. */
     private final TimeScale timeScale;
+    /** Formatter for ephemeris lines. */
+    private final EphemerisLineFormatter formatter;
 
     /**
      * Create an OEM writer than streams data to the given output stream.
@@ -286,6 +292,7 @@ public class StreamingOemWriter {
 
         this.writer = writer;
         this.timeScale = timeScale;
+        this.formatter = new EphemerisLineFormatter();
         this.metadata = new LinkedHashMap<>(metadata);
         // set default metadata
         this.metadata.putIfAbsent(Keyword.CCSDS_OEM_VERS, CCSDS_OEM_VERS);
@@ -492,16 +499,15 @@ public class StreamingOemWriter {
          */
         public void writeEphemerisLine(final TimeStampedPVCoordinates pv)
                 throws IOException {
-            final String epoch = dateToString(pv.getDate().getComponents(timeScale));
-            writer.append(epoch).append(" ");
+            formatter.reset().appendDate(pv.getDate().getComponents(timeScale)).append(' ');
             // output in km, see Section 6.6.2.1
-            writer.append(Double.toString(pv.getPosition().getX() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getPosition().getY() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getPosition().getZ() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getX() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getY() * M_TO_KM)).append(" ");
-            writer.append(Double.toString(pv.getVelocity().getZ() * M_TO_KM));
-            writer.append(NEW_LINE);
+            formatter.appendDouble(pv.getPosition().getX() * M_TO_KM).append(' ');
+            formatter.appendDouble(pv.getPosition().getY() * M_TO_KM).append(' ');
+            formatter.appendDouble(pv.getPosition().getZ() * M_TO_KM).append(' ');
+            formatter.appendDouble(pv.getVelocity().getX() * M_TO_KM).append(' ');
+            formatter.appendDouble(pv.getVelocity().getY() * M_TO_KM).append(' ');
+            formatter.appendDouble(pv.getVelocity().getZ() * M_TO_KM);
+            formatter.append(NEW_LINE).writeTo(writer);
         }
 
         /**
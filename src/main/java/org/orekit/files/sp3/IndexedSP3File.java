@@ -0,0 +1,595 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisFile;
+import org.orekit.files.sp3.SP3File.SP3Coordinate;
+import org.orekit.files.sp3.SP3File.SP3Ephemeris;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.CartesianDerivativesFilter;
+
+/**
+ * Indexed view of a memory-mapped SP3 orbit file.
+ * <p>
+ * Instances of this class are built by {@link SP3Parser#parseIndexed(String)}.
+ * Only the header and the epochs are decoded when the file is indexed, the
+ * position and velocity records are just located in the mapped data. They
+ * are decoded lazily, each time {@link IndexedSP3Ephemeris#getCoordinates()
+ * coordinates} of a satellite are accessed, so memory consumption only depends
+ * on the satellites that are really used, not on the size of the file.
+ * </p>
+ * <p>
+ * As decoding only relies on absolute reads from the mapped buffer, instances
+ * of this class can be shared between threads.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class IndexedSP3File implements EphemerisFile {
+
+    /** Start of satellite identifier field. */
+    private static final int ID_START = 1;
+
+    /** End of satellite identifier field. */
+    private static final int ID_END = 4;
+
+    /** Start of X field. */
+    private static final int X_START = 4;
+
+    /** Start of Y field. */
+    private static final int Y_START = 18;
+
+    /** Start of Z field. */
+    private static final int Z_START = 32;
+
+    /** Start of clock field. */
+    private static final int CLOCK_START = 46;
+
+    /** End of clock field. */
+    private static final int CLOCK_END = 60;
+
+    /** Initial capacity of per-satellite index arrays. */
+    private static final int INITIAL_CAPACITY = 128;
+
+    /** Mapped file content. */
+    private final ByteBuffer buffer;
+
+    /** Name of the file. */
+    private final String name;
+
+    /** Header of the file (without any coordinates). */
+    private final SP3File header;
+
+    /** Dates of the epochs. */
+    private final AbsoluteDate[] epochs;
+
+    /** Indexed ephemerides, in the order of the header. */
+    private final Map<String, IndexedSP3Ephemeris> satellites;
+
+    /** Index a memory-mapped SP3 file.
+     * @param buffer mapped file content
+     * @param name name of the file
+     * @param header header of the file (without any coordinates)
+     * @param dataStart offset of the first line after header
+     * @param timeScale time scale used for epochs
+     */
+    IndexedSP3File(final ByteBuffer buffer, final String name, final SP3File header,
+                   final int dataStart, final TimeScale timeScale) {
+
+        this.buffer = buffer;
+        this.name   = name;
+        this.header = header;
+
+        // prepare satellites lookup table, sorted by packed identifiers
+        final int n = header.getSatelliteCount();
+        final long[] keysAndRanks = new long[n];
+        int rank = 0;
+        for (final String id : header.getSatellites().keySet()) {
+            keysAndRanks[rank] = (((long) key(id)) << 32) | rank;
+            ++rank;
+        }
+        Arrays.sort(keysAndRanks);
+        final int[]          keys     = new int[n];
+        final SatelliteIndex[] indices = new SatelliteIndex[n];
+        for (int i = 0; i < n; ++i) {
+            keys[i]    = (int) (keysAndRanks[i] >>> 32);
+            indices[i] = new SatelliteIndex();
+        }
+
+        final boolean hasVelocity = buffer.limit() > 2 && buffer.get(2) == 'V';
+        int lineNumber = 0;
+        for (int i = 0; i < dataStart; ++i) {
+            if (buffer.get(i) == '\n') {
+                ++lineNumber;
+            }
+        }
+
+        // scan data section, locating records without decoding them
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        int     lastPosition = -1;
+        boolean done         = false;
+        int     start        = dataStart;
+        while (start < buffer.limit() && !done) {
+
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                ++end;
+            }
+            final int next = end + 1;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                --end;
+            }
+            ++lineNumber;
+
+            final byte first  = end > start     ? buffer.get(start)     : 0;
+            final byte second = end > start + 1 ? buffer.get(start + 1) : 0;
+            if (first == '*' && second == ' ') {
+                dates.add(parseEpoch(start, end, lineNumber, timeScale));
+            } else if (first == 'P' || first == 'V') {
+                if (end - start < CLOCK_END || dates.isEmpty()) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              lineNumber, name, line(start, end));
+                }
+                final int i = Arrays.binarySearch(keys, key(start + ID_START, start + ID_END));
+                if (first == 'P') {
+                    lastPosition = start;
+                    if (i >= 0 && !hasVelocity) {
+                        indices[i].add(dates.size() - 1, start, -1);
+                    }
+                } else if (i >= 0) {
+                    indices[i].add(dates.size() - 1, lastPosition, start);
+                }
+            } else if (first == 'E' && (second == 'P' || second == 'V')) {
+                // correlation records are ignored for now
+            } else if (isEOF(start, end)) {
+                done = true;
+            } else {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                          lineNumber, name, line(start, end));
+            }
+
+            start = next;
+
+        }
+
+        if (!done) {
+            // we never reached the EOF marker
+            throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
+        }
+        if (dates.size() != header.getNumberOfEpochs()) {
+            throw new OrekitException(OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH,
+                                      dates.size(), name, header.getNumberOfEpochs());
+        }
+        this.epochs = dates.toArray(new AbsoluteDate[dates.size()]);
+
+        // build the indexed ephemerides, preserving header order
+        final IndexedSP3Ephemeris[] ordered = new IndexedSP3Ephemeris[n];
+        final List<SP3Ephemeris> headerEphemerides = new ArrayList<>(header.getSatellites().values());
+        for (int i = 0; i < n; ++i) {
+            final int r = (int) (keysAndRanks[i] & 0xFFFFFFFFL);
+            ordered[r] = new IndexedSP3Ephemeris(headerEphemerides.get(r), indices[i]);
+        }
+        final Map<String, IndexedSP3Ephemeris> map = new LinkedHashMap<>();
+        for (final IndexedSP3Ephemeris ephemeris : ordered) {
+            map.put(ephemeris.getId(), ephemeris);
+        }
+        this.satellites = Collections.unmodifiableMap(map);
+
+    }
+
+    /** Get the name of the file.
+     * @return name of the file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /** Get the header of the file.
+     * <p>
+     * The satellites ephemerides in the header do not contain any coordinates,
+     * they are available from {@link #getSatellites()}.
+     * </p>
+     * @return header of the file
+     */
+    public SP3File getHeader() {
+        return header;
+    }
+
+    /** Get the number of epochs in the file.
+     * @return number of epochs in the file
+     */
+    public int getNumberOfEpochs() {
+        return epochs.length;
+    }
+
+    /** Get the date of an epoch.
+     * @param index index of the epoch
+     * @return date of the epoch
+     */
+    public AbsoluteDate getEpoch(final int index) {
+        return epochs[index];
+    }
+
+    /** Tests whether a satellite with the given id is contained in this orbit
+     * file.
+     * @param satId the satellite id
+     * @return {@code true} if the satellite is contained in the file,
+     *         {@code false} otherwise
+     */
+    public boolean containsSatellite(final String satId) {
+        return satellites.containsKey(satId);
+    }
+
+    @Override
+    public Map<String, IndexedSP3Ephemeris> getSatellites() {
+        return satellites;
+    }
+
+    /** Pack a satellite identifier into an int.
+     * @param id satellite identifier
+     * @return packed identifier, or -1 if identifier cannot appear in data records
+     */
+    private static int key(final String id) {
+        if (id.length() > ID_END - ID_START) {
+            return -1;
+        }
+        int k = 0;
+        for (int i = 0; i < id.length(); ++i) {
+            k = (k << 8) | (id.charAt(i) & 0xFF);
+        }
+        return k;
+    }
+
+    /** Pack a satellite identifier from the mapped data into an int.
+     * @param start start of the identifier field
+     * @param end end of the identifier field
+     * @return packed trimmed identifier
+     */
+    private int key(final int start, final int end) {
+        int s = start;
+        while (s < end && buffer.get(s) == ' ') {
+            ++s;
+        }
+        int e = end;
+        while (e > s && buffer.get(e - 1) == ' ') {
+            --e;
+        }
+        int k = 0;
+        for (int i = s; i < e; ++i) {
+            k = (k << 8) | (buffer.get(i) & 0xFF);
+        }
+        return k;
+    }
+
+    /** Check if a line is an end of file marker.
+     * @param start start of the line
+     * @param end end of the line
+     * @return true if line is an end of file marker
+     */
+    private boolean isEOF(final int start, final int end) {
+        if (end - start < 3 ||
+            Character.toUpperCase(buffer.get(start))     != 'E' ||
+            Character.toUpperCase(buffer.get(start + 1)) != 'O' ||
+            Character.toUpperCase(buffer.get(start + 2)) != 'F') {
+            return false;
+        }
+        for (int i = start + 3; i < end; ++i) {
+            if (!Character.isWhitespace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parse an epoch line.
+     * @param start start of the line
+     * @param end end of the line
+     * @param lineNumber line number
+     * @param timeScale time scale used for epochs
+     * @return parsed epoch
+     */
+    private AbsoluteDate parseEpoch(final int start, final int end,
+                                    final int lineNumber, final TimeScale timeScale) {
+        final String line = line(start, end);
+        try {
+            final int    year   = Integer.parseInt(line.substring(3, 7).trim());
+            final int    month  = Integer.parseInt(line.substring(8, 10).trim());
+            final int    day    = Integer.parseInt(line.substring(11, 13).trim());
+            final int    hour   = Integer.parseInt(line.substring(14, 16).trim());
+            final int    minute = Integer.parseInt(line.substring(17, 19).trim());
+            final double second = Double.parseDouble(line.substring(20, 31).trim());
+            return new AbsoluteDate(year, month, day, hour, minute, second, timeScale);
+        } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
+            throw new OrekitException(e, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      lineNumber, name, line);
+        }
+    }
+
+    /** Parse a numeric field from a data record.
+     * @param lineStart start of the line
+     * @param fieldStart start of the field, relative to line start
+     * @param fieldEnd end of the field, relative to line start
+     * @return parsed value
+     */
+    private double parseField(final int lineStart, final int fieldStart, final int fieldEnd) {
+        final String field = line(lineStart + fieldStart, lineStart + fieldEnd).trim();
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException nfe) {
+            // this is an error path, we can afford counting lines
+            int lineNumber = 1;
+            for (int i = 0; i < lineStart; ++i) {
+                if (buffer.get(i) == '\n') {
+                    ++lineNumber;
+                }
+            }
+            int lineEnd = lineStart;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r') {
+                ++lineEnd;
+            }
+            throw new OrekitException(nfe, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      lineNumber, name, line(lineStart, lineEnd));
+        }
+    }
+
+    /** Extract a part of the mapped data.
+     * @param start start of the part
+     * @param end end of the part
+     * @return extracted part
+     */
+    private String line(final int start, final int end) {
+        final byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /** Growable index of the records for one satellite. */
+    private static class SatelliteIndex {
+
+        /** Indices of the epochs. */
+        private int[] epochIndices;
+
+        /** Offsets of the position records. */
+        private int[] positionOffsets;
+
+        /** Offsets of the velocity records (-1 if there are no velocities). */
+        private int[] velocityOffsets;
+
+        /** Number of records. */
+        private int size;
+
+        /** Simple constructor.
+         */
+        SatelliteIndex() {
+            epochIndices    = new int[INITIAL_CAPACITY];
+            positionOffsets = new int[INITIAL_CAPACITY];
+            velocityOffsets = new int[INITIAL_CAPACITY];
+            size            = 0;
+        }
+
+        /** Add a record.
+         * @param epochIndex index of the epoch
+         * @param positionOffset offset of the position record
+         * @param velocityOffset offset of the velocity record (-1 if there are no velocities)
+         */
+        void add(final int epochIndex, final int positionOffset, final int velocityOffset) {
+            if (size == epochIndices.length) {
+                final int capacity = 2 * size;
+                epochIndices    = Arrays.copyOf(epochIndices,    capacity);
+                positionOffsets = Arrays.copyOf(positionOffsets, capacity);
+                velocityOffsets = Arrays.copyOf(velocityOffsets, capacity);
+            }
+            epochIndices[size]    = epochIndex;
+            positionOffsets[size] = positionOffset;
+            velocityOffsets[size] = velocityOffset;
+            ++size;
+        }
+
+    }
+
+    /** An ephemeris for a single satellite, decoded lazily from the mapped SP3 file. */
+    public class IndexedSP3Ephemeris implements SatelliteEphemeris, EphemerisSegment {
+
+        /** Ephemeris from header, providing metadata. */
+        private final SP3Ephemeris metadata;
+
+        /** Indices of the epochs. */
+        private final int[] epochIndices;
+
+        /** Offsets of the position records. */
+        private final int[] positionOffsets;
+
+        /** Offsets of the velocity records (-1 if there are no velocities). */
+        private final int[] velocityOffsets;
+
+        /** Lazy view of the coordinates. */
+        private final List<SP3Coordinate> coordinates;
+
+        /** Simple constructor.
+         * @param metadata ephemeris from header, providing metadata
+         * @param index records index
+         */
+        IndexedSP3Ephemeris(final SP3Ephemeris metadata, final SatelliteIndex index) {
+            this.metadata        = metadata;
+            this.epochIndices    = Arrays.copyOf(index.epochIndices,    index.size);
+            this.positionOffsets = Arrays.copyOf(index.positionOffsets, index.size);
+            this.velocityOffsets = Arrays.copyOf(index.velocityOffsets, index.size);
+            this.coordinates     = new LazyCoordinates();
+        }
+
+        @Override
+        public String getId() {
+            return metadata.getId();
+        }
+
+        @Override
+        public double getMu() {
+            return metadata.getMu();
+        }
+
+        @Override
+        public String getFrameCenterString() {
+            return metadata.getFrameCenterString();
+        }
+
+        @Override
+        public String getFrameString() {
+            return metadata.getFrameString();
+        }
+
+        @Override
+        public Frame getFrame() {
+            return metadata.getFrame();
+        }
+
+        @Override
+        public String getTimeScaleString() {
+            return metadata.getTimeScaleString();
+        }
+
+        @Override
+        public TimeScale getTimeScale() {
+            return metadata.getTimeScale();
+        }
+
+        @Override
+        public int getInterpolationSamples() {
+            return metadata.getInterpolationSamples();
+        }
+
+        @Override
+        public CartesianDerivativesFilter getAvailableDerivatives() {
+            return metadata.getAvailableDerivatives();
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The returned list is a view on the mapped file, each
+         * coordinate is decoded when accessed.
+         * </p>
+         */
+        @Override
+        public List<SP3Coordinate> getCoordinates() {
+            return coordinates;
+        }
+
+        /** Returns a list containing only {@code this}. */
+        @Override
+        public List<IndexedSP3Ephemeris> getSegments() {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        public AbsoluteDate getStart() {
+            return epochs[epochIndices[0]];
+        }
+
+        @Override
+        public AbsoluteDate getStop() {
+            return epochs[epochIndices[epochIndices.length - 1]];
+        }
+
+        @Override
+        public BoundedPropagator getPropagator() {
+            return EphemerisSegment.super.getPropagator();
+        }
+
+        /**
+         * Get the formal accuracy for this satellite.
+         *
+         * <p>The accuracy is limited by the SP3 standard to be a power of 2 in mm.
+         * The value returned here is in meters.</p>
+         *
+         * @return magnitude of one standard deviation, in m.
+         */
+        public double getAccuracy() {
+            return metadata.getAccuracy();
+        }
+
+        /** Decode one coordinate.
+         * @param index index of the coordinate
+         * @return decoded coordinate
+         */
+        private SP3Coordinate decode(final int index) {
+
+            final AbsoluteDate date = epochs[epochIndices[index]];
+
+            // the position values are in km and have to be converted to m
+            final int      p        = positionOffsets[index];
+            final Vector3D position = new Vector3D(parseField(p, X_START, Y_START) * 1000,
+                                                   parseField(p, Y_START, Z_START) * 1000,
+                                                   parseField(p, Z_START, CLOCK_START) * 1000);
+
+            // clock (microsec)
+            final double clock = parseField(p, CLOCK_START, CLOCK_END) * 1e-6;
+
+            final int v = velocityOffsets[index];
+            if (v < 0) {
+                return new SP3Coordinate(date, position, clock);
+            }
+
+            // the velocity values are in dm/s and have to be converted to m/s
+            final Vector3D velocity = new Vector3D(parseField(v, X_START, Y_START) / 10d,
+                                                   parseField(v, Y_START, Z_START) / 10d,
+                                                   parseField(v, Z_START, CLOCK_START) / 10d);
+
+            // clock rate in file is 1e-4 us / s
+            final double clockRateChange = parseField(v, CLOCK_START, CLOCK_END) * 1e-4;
+
+            return new SP3Coordinate(date, position, velocity, clock, clockRateChange);
+
+        }
+
+        /** Lazy view of the coordinates. */
+        private class LazyCoordinates extends AbstractList<SP3Coordinate> implements RandomAccess {
+
+            /** {@inheritDoc} */
+            @Override
+            public SP3Coordinate get(final int index) {
+                return decode(index);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int size() {
+                return epochIndices.length;
+            }
+
+        }
+
+    }
+
+}
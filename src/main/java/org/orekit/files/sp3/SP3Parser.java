@@ -20,9 +20,13 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Scanner;
@@ -179,6 +183,71 @@ public class SP3Parser implements EphemerisFileParser {
     @Override
     public SP3File parse(final BufferedReader reader,
                          final String fileName) throws IOException {
+        return parse(reader, fileName, false);
+    }
+
+    /**
+     * Parse a SP3 file through a memory-mapped index.
+     *
+     * <p>The file is mapped in memory and scanned only once to locate epochs
+     * and satellite records, without decoding them. Coordinates are decoded
+     * lazily from the mapped data, only for the satellites that are requested,
+     * which is much lighter than {@link #parse(String)} when only a few satellites
+     * from large multi-constellation files are needed.</p>
+     *
+     * <p>As files are mapped using a single buffer, their size is limited
+     * to 2GB.</p>
+     *
+     * @param fileName name of the file to parse
+     * @return an indexed view of the SP3 file
+     * @throws IOException if file cannot be mapped
+     * @since 10.2
+     */
+    public IndexedSP3File parseIndexed(final String fileName) throws IOException {
+
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // the header ends at the first epoch line (or at the end of file marker)
+        int dataStart = 0;
+        while (dataStart < buffer.limit() &&
+               buffer.get(dataStart) != '*' &&
+               buffer.get(dataStart) != 'E' && buffer.get(dataStart) != 'e') {
+            while (dataStart < buffer.limit() && buffer.get(dataStart++) != '\n') {
+                // skip current header line
+            }
+        }
+
+        // parse header using the regular line parsers
+        final byte[] headerBytes = new byte[dataStart];
+        for (int i = 0; i < dataStart; ++i) {
+            headerBytes[i] = buffer.get(i);
+        }
+        final SP3File header;
+        try (BufferedReader reader = new BufferedReader(new StringReader(new String(headerBytes,
+                                                                                   StandardCharsets.US_ASCII)))) {
+            header = parse(reader, fileName, true);
+        }
+
+        final TimeScale timeScale = header.getSatellites().isEmpty() ?
+                                    timeScales.getGPS() :
+                                    header.getSatellites().values().iterator().next().getTimeScale();
+        return new IndexedSP3File(buffer, fileName, header, dataStart, timeScale);
+
+    }
+
+    /** Parse a SP3 file.
+     * @param reader containing the text data in the SP3 file
+     * @param fileName name of the file to be read
+     * @param headerOnly if true, parsing stops at the first epoch line
+     * @return parsed SP3 file (without any coordinates if {@code headerOnly} is true)
+     * @throws IOException if {@code reader} throws one
+     */
+    private SP3File parse(final BufferedReader reader,
+                          final String fileName,
+                          final boolean headerOnly) throws IOException {
 
         // initialize internal data structures
         final ParseInfo pi = new ParseInfo();
@@ -189,6 +258,10 @@ public class SP3Parser implements EphemerisFileParser {
             ++lineNumber;
             final String l = line;
             final Optional<LineParser> selected = candidateParsers.filter(p -> p.canHandle(l)).findFirst();
+            if (headerOnly && selected.isPresent() &&
+                (selected.get() == LineParser.DATA_EPOCH || selected.get() == LineParser.EOF)) {
+                return pi.file;
+            }
             if (selected.isPresent()) {
                 try {
                     selected.get().parse(line, pi);
@@ -211,6 +284,10 @@ public class SP3Parser implements EphemerisFileParser {
             }
         }
 
+        if (headerOnly) {
+            return pi.file;
+        }
+
         // we never reached the EOF marker
         throw new OrekitException(OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, lineNumber);
 
@@ -28,6 +28,7 @@ import org.hipparchus.util.MathArrays;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.AbstractForceModel;
+import org.orekit.frames.Frame;
 import org.orekit.propagation.FieldSpacecraftState;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.AbstractDetector;
@@ -36,6 +37,7 @@ import org.orekit.propagation.events.FieldAbstractDetector;
 import org.orekit.propagation.events.FieldEventDetector;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.FieldEventHandler;
+import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.Constants;
 import org.orekit.utils.ExtendedPVCoordinatesProvider;
 
@@ -84,6 +86,23 @@ public abstract class AbstractRadiationForceModel extends AbstractForceModel {
         return Stream.of(new FieldUmbraDetector<>(field), new FieldPenumbraDetector<>(field));
     }
 
+    /**
+     * Get the Sun position used by umbra and penumbra detectors.
+     * <p>
+     * The default implementation computes it directly from the Sun model.
+     * Models that compute lighting ratio from another source of Sun
+     * positions must override this method so events and lighting ratio
+     * remain consistent.
+     * </p>
+     * @param date date
+     * @param frame frame in which position should be defined
+     * @return Sun position
+     * @since 10.2
+     */
+    protected Vector3D getSunPosition(final AbsoluteDate date, final Frame frame) {
+        return sun.getPVCoordinates(date, frame).getPosition();
+    }
+
     /**
      * Get the useful angles for eclipse computation.
      * @param sunPosition Sun position in the selected frame
@@ -187,7 +206,7 @@ public abstract class AbstractRadiationForceModel extends AbstractForceModel {
          * @return value of the g function
          */
         public double g(final SpacecraftState s) {
-            final double[] angle = getEclipseAngles(sun.getPVCoordinates(s.getDate(), s.getFrame()).getPosition(),
+            final double[] angle = getEclipseAngles(getSunPosition(s.getDate(), s.getFrame()),
                                                     s.getPVCoordinates().getPosition());
             return angle[0] - angle[1] + angle[2] - ANGULAR_MARGIN;
         }
@@ -240,7 +259,7 @@ public abstract class AbstractRadiationForceModel extends AbstractForceModel {
          * @return value of the g function
          */
         public double g(final SpacecraftState s) {
-            final double[] angle = getEclipseAngles(sun.getPVCoordinates(s.getDate(), s.getFrame()).getPosition(),
+            final double[] angle = getEclipseAngles(getSunPosition(s.getDate(), s.getFrame()),
                                                     s.getPVCoordinates().getPosition());
             return angle[0] - angle[1] - angle[2] + ANGULAR_MARGIN;
         }
@@ -21,6 +21,7 @@ import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.bodies.EclipsePredictor;
 import org.orekit.frames.Frame;
 import org.orekit.propagation.FieldSpacecraftState;
 import org.orekit.propagation.SpacecraftState;
@@ -31,6 +32,11 @@ import org.orekit.utils.ExtendedPVCoordinatesProvider;
 import org.orekit.utils.ParameterDriver;
 
 /** Solar radiation pressure force model.
+ * <p>
+ * The lighting ratio is retrieved from the cones crossings predicted by the
+ * {@link #getEclipsePredictor() eclipse predictor} when the spacecraft is far
+ * from the umbra and penumbra boundaries, and computed only close to them.
+ * </p>
  *
  * @author Fabien Maussion
  * @author &Eacute;douard Delente
@@ -57,6 +63,9 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
     /** Spacecraft. */
     private final RadiationSensitive spacecraft;
 
+    /** Eclipse geometry service. */
+    private final EclipsePredictor predictor;
+
     /** Simple constructor with default reference values.
      * <p>When this constructor is used, the reference values are:</p>
      * <ul>
@@ -90,10 +99,54 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
                                   final ExtendedPVCoordinatesProvider sun,
                                   final double equatorialRadius,
                                   final RadiationSensitive spacecraft) {
-        super(sun, equatorialRadius);
-        this.kRef = pRef * dRef * dRef;
-        this.sun  = sun;
+        this(dRef, pRef, new EclipsePredictor(sun, Constants.SUN_RADIUS, equatorialRadius, 0.0), spacecraft);
+    }
+
+    /** Simple constructor with default reference values and shared eclipse service.
+     * <p>When this constructor is used, the reference values are:</p>
+     * <ul>
+     *   <li>d<sub>ref</sub> = 149597870000.0 m</li>
+     *   <li>p<sub>ref</sub> = 4.56 10<sup>-6</sup> N/m²</li>
+     * </ul>
+     * <p>
+     * The Sun model and central body radius are retrieved from the eclipse
+     * predictor, which may be shared with other force models and detectors.
+     * </p>
+     * @param predictor eclipse geometry service for Sun occultation by central body
+     * @param spacecraft the object physical and geometrical information
+     * @since 10.2
+     */
+    public SolarRadiationPressure(final EclipsePredictor predictor, final RadiationSensitive spacecraft) {
+        this(D_REF, P_REF, predictor, spacecraft);
+    }
+
+    /** Complete constructor with shared eclipse service.
+     * <p>
+     * The Sun model and central body radius are retrieved from the eclipse
+     * predictor, which may be shared with other force models and detectors.
+     * </p>
+     * @param dRef reference distance for the solar radiation pressure (m)
+     * @param pRef reference solar radiation pressure at dRef (N/m²)
+     * @param predictor eclipse geometry service for Sun occultation by central body
+     * @param spacecraft the object physical and geometrical information
+     * @since 10.2
+     */
+    public SolarRadiationPressure(final double dRef, final double pRef,
+                                  final EclipsePredictor predictor,
+                                  final RadiationSensitive spacecraft) {
+        super(predictor.getOcculted(), predictor.getOccultingRadius());
+        this.kRef       = pRef * dRef * dRef;
+        this.sun        = predictor.getOcculted();
         this.spacecraft = spacecraft;
+        this.predictor  = predictor;
+    }
+
+    /** Get the eclipse geometry service.
+     * @return eclipse geometry service
+     * @since 10.2
+     */
+    public EclipsePredictor getEclipsePredictor() {
+        return predictor;
     }
 
     /** {@inheritDoc} */
@@ -103,11 +156,21 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
         final AbsoluteDate date         = s.getDate();
         final Frame        frame        = s.getFrame();
         final Vector3D     position     = s.getPVCoordinates().getPosition();
-        final Vector3D     sunSatVector = position.subtract(sun.getPVCoordinates(date, frame).getPosition());
+        final Vector3D     sunSatVector = position.subtract(predictor.getOccultedPosition(date, frame));
         final double       r2           = sunSatVector.getNormSq();
 
         // compute flux
-        final double   ratio = getLightingRatio(position, frame, date);
+        final double   ratio;
+        switch (predictor.getPredictedLighting(s.getPVCoordinates(), frame, date, s.getMu(), 0.0)) {
+            case LIT :
+                ratio = 1.0;
+                break;
+            case UMBRA :
+                ratio = 0.0;
+                break;
+            default :
+                ratio = getLightingRatio(position, frame, date);
+        }
         final double   rawP  = ratio  * kRef / r2;
         final Vector3D flux  = new Vector3D(rawP / FastMath.sqrt(r2), sunSatVector);
 
@@ -128,7 +191,18 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
         final T                    r2           = sunSatVector.getNormSq();
 
         // compute flux
-        final T                ratio = getLightingRatio(position, frame, date);
+        final T                ratio;
+        switch (predictor.getPredictedLighting(s.getPVCoordinates().toPVCoordinates(), frame,
+                                               date.toAbsoluteDate(), s.getMu().getReal(), 0.0)) {
+            case LIT :
+                ratio = date.getField().getOne();
+                break;
+            case UMBRA :
+                ratio = date.getField().getZero();
+                break;
+            default :
+                ratio = getLightingRatio(position, frame, date);
+        }
         final T                rawP  = ratio.divide(r2).multiply(kRef);
         final FieldVector3D<T> flux  = new FieldVector3D<>(rawP.divide(r2.sqrt()), sunSatVector);
 
@@ -137,6 +211,17 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The Sun position is retrieved from the {@link #getEclipsePredictor()
+     * eclipse predictor}, as for the lighting ratio.
+     * </p>
+     */
+    @Override
+    protected Vector3D getSunPosition(final AbsoluteDate date, final Frame frame) {
+        return predictor.getOccultedPosition(date, frame);
+    }
+
     /** Get the lighting ratio ([0-1]).
      * @param position the satellite's position in the selected frame.
      * @param frame in which is defined the position
@@ -145,58 +230,7 @@ public class SolarRadiationPressure extends AbstractRadiationForceModel {
           * @since 7.1
      */
     public double getLightingRatio(final Vector3D position, final Frame frame, final AbsoluteDate date) {
-
-        final Vector3D sunPosition = sun.getPVCoordinates(date, frame).getPosition();
-        if (sunPosition.getNorm() < 2 * Constants.SUN_RADIUS) {
-            // we are in fact computing a trajectory around Sun (or solar system barycenter),
-            // not around a planet,we consider lighting ratio is always 1
-            return 1.0;
-        }
-
-        // Compute useful angles
-        final double[] angle = getEclipseAngles(sunPosition, position);
-
-        // Sat-Sun / Sat-CentralBody angle
-        final double sunSatCentralBodyAngle = angle[0];
-
-        // Central Body apparent radius
-        final double alphaCentral = angle[1];
-
-        // Sun apparent radius
-        final double alphaSun = angle[2];
-
-        double result = 1.0;
-
-        // Is the satellite in complete umbra ?
-        if (sunSatCentralBodyAngle - alphaCentral + alphaSun <= ANGULAR_MARGIN) {
-            result = 0.0;
-        } else if (sunSatCentralBodyAngle - alphaCentral - alphaSun < -ANGULAR_MARGIN) {
-            // Compute a lighting ratio in penumbra
-            final double sEA2    = sunSatCentralBodyAngle * sunSatCentralBodyAngle;
-            final double oo2sEA  = 1.0 / (2. * sunSatCentralBodyAngle);
-            final double aS2     = alphaSun * alphaSun;
-            final double aE2     = alphaCentral * alphaCentral;
-            final double aE2maS2 = aE2 - aS2;
-
-            final double alpha1  = (sEA2 - aE2maS2) * oo2sEA;
-            final double alpha2  = (sEA2 + aE2maS2) * oo2sEA;
-
-            // Protection against numerical inaccuracy at boundaries
-            final double almost0 = Precision.SAFE_MIN;
-            final double almost1 = FastMath.nextDown(1.0);
-            final double a1oaS   = FastMath.min(almost1, FastMath.max(-almost1, alpha1 / alphaSun));
-            final double aS2ma12 = FastMath.max(almost0, aS2 - alpha1 * alpha1);
-            final double a2oaE   = FastMath.min(almost1, FastMath.max(-almost1, alpha2 / alphaCentral));
-            final double aE2ma22 = FastMath.max(almost0, aE2 - alpha2 * alpha2);
-
-            final double P1 = aS2 * FastMath.acos(a1oaS) - alpha1 * FastMath.sqrt(aS2ma12);
-            final double P2 = aE2 * FastMath.acos(a2oaE) - alpha2 * FastMath.sqrt(aE2ma22);
-
-            result = 1. - (P1 + P2) / (FastMath.PI * aS2);
-        }
-
-        return result;
-
+        return predictor.getLightingRatio(position, frame, date);
     }
 
     /** Get the lighting ratio ([0-1]).
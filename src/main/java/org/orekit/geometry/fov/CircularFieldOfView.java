@@ -16,7 +16,10 @@
  */
 package org.orekit.geometry.fov;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.SinCos;
 import org.orekit.propagation.events.VisibilityTrigger;
@@ -40,6 +43,9 @@ public class CircularFieldOfView extends SmoothFieldOfView {
     /** Scaled Z axis defining FoV boundary. */
     private final Vector3D scaledZ;
 
+    /** Spherical cap surrounding the zone. */
+    private final EnclosingBall<Sphere2D, S2Point> cap;
+
     /** Build a new instance.
      * @param center direction of the FOV center, in spacecraft frame
      * @param halfAperture FOV half aperture angle
@@ -59,6 +65,9 @@ public class CircularFieldOfView extends SmoothFieldOfView {
         scaledY   = new Vector3D(sc.sin(), getY());
         scaledZ   = new Vector3D(sc.cos(), getZ());
 
+        // the Field Of View is its own enclosing cap
+        cap = new EnclosingBall<>(new S2Point(center), halfAperture);
+
     }
 
     /** get the FOV half aperture angle.
@@ -68,6 +77,12 @@ public class CircularFieldOfView extends SmoothFieldOfView {
         return halfAperture;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public EnclosingBall<Sphere2D, S2Point> getEnclosingCap() {
+        return cap;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetFromBoundary(final Vector3D lineOfSight, final double angularRadius,
@@ -19,8 +19,11 @@ package org.orekit.geometry.fov;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.SinCos;
 import org.orekit.propagation.events.VisibilityTrigger;
@@ -155,6 +158,9 @@ public class EllipticalFieldOfView extends SmoothFieldOfView {
     /** Angular semi major axis. */
     private double a;
 
+    /** Spherical cap surrounding the zone. */
+    private final EnclosingBall<Sphere2D, S2Point> cap;
+
     /** Build a new instance.
      * <p>
      * Using a suitable rotation, an elliptical Field Of View can be oriented such
@@ -213,6 +219,7 @@ public class EllipticalFieldOfView extends SmoothFieldOfView {
         this.dotF1F2            = 2 * cos * cos - 1;
         this.gamma              = FastMath.acos(cos);
         this.d                  = 1.0 / (1 - dotF1F2 * dotF1F2);
+        this.cap                = new EnclosingBall<>(new S2Point(getZ()), a);
 
     }
 
@@ -244,6 +251,12 @@ public class EllipticalFieldOfView extends SmoothFieldOfView {
         return focus2;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public EnclosingBall<Sphere2D, S2Point> getEnclosingCap() {
+        return cap;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetFromBoundary(final Vector3D lineOfSight, final double angularRadius,
@@ -255,7 +268,7 @@ public class EllipticalFieldOfView extends SmoothFieldOfView {
 
         // for faster computation, we start using only the surrounding cap, to filter out
         // far away points (which correspond to most of the points if the Field Of View is small)
-        final double crudeDistance = Vector3D.angle(getZ(), lineOfSight) - a;
+        final double crudeDistance = Vector3D.angle(cap.getCenter().getVector(), lineOfSight) - cap.getRadius();
         if (crudeDistance > deadBand + 0.01) {
             // we know we are strictly outside of the zone,
             // use the crude distance to compute the (positive) return value
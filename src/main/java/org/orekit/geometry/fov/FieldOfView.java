@@ -18,7 +18,11 @@ package org.orekit.geometry.fov;
 
 import java.util.List;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
+import org.hipparchus.util.FastMath;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.frames.Transform;
@@ -43,6 +47,24 @@ public interface FieldOfView {
      */
     double getMargin();
 
+    /** Get a cap enclosing the raw Field Of View.
+     * <p>
+     * The cap is a cheap bounding cone that allows targets far away from the
+     * Field Of View to be filtered out before calling the potentially expensive
+     * {@link #offsetFromBoundary(Vector3D, double, VisibilityTrigger)} method.
+     * The {@link #getMargin() margin} is ignored here.
+     * </p>
+     * <p>
+     * The default implementation returns the whole sphere, which is a valid
+     * but useless cap. All Fields Of View provided by Orekit override it.
+     * </p>
+     * @return cap enclosing the raw Field Of View
+     * @since 10.2
+     */
+    default EnclosingBall<Sphere2D, S2Point> getEnclosingCap() {
+        return new EnclosingBall<>(S2Point.PLUS_K, FastMath.PI);
+    }
+
     /** Get the offset of target body with respect to the Field Of View Boundary.
      * <p>
      * The offset is the signed angular distance between target body and closest boundary
@@ -132,6 +132,12 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
         return zone;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public EnclosingBall<Sphere2D, S2Point> getEnclosingCap() {
+        return cap;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetFromBoundary(final Vector3D lineOfSight, final double angularRadius,
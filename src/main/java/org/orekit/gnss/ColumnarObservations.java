@@ -0,0 +1,518 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.estimation.measurements.GroundStation;
+import org.orekit.estimation.measurements.ObservableSatellite;
+import org.orekit.estimation.measurements.Range;
+import org.orekit.estimation.measurements.gnss.Phase;
+import org.orekit.time.AbsoluteDate;
+
+/** Observations from one Rinex file, stored in columns.
+ * <p>
+ * Contrary to the list of {@link ObservationDataSet} built by {@link RinexLoader},
+ * which holds one object per observation, this store holds one primitive array
+ * per satellite and observation type, indexed by epoch. This reduces memory
+ * consumption considerably for large files and allows fast sequential access to
+ * all observations of one type for one satellite, for example when building
+ * {@link #createRanges range} or {@link #createPhases phase} measurements.
+ * </p>
+ * <p>
+ * If the file contains several concatenated Rinex headers, each epoch
+ * remains associated with the header it was read under.
+ * </p>
+ * <p>
+ * Instances of this class are built by {@link ColumnarRinexLoader}. They are
+ * immutable once built.
+ * </p>
+ * @see ColumnarRinexLoader
+ * @author agent
+ * @since 10.2
+ */
+public class ColumnarObservations {
+
+    /** Initial capacity of columns. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Name of the file. */
+    private final String name;
+
+    /** Rinex headers, in file order. */
+    private final List<RinexHeader> headers;
+
+    /** Reference date for epochs offsets (first epoch in the file). */
+    private AbsoluteDate reference;
+
+    /** Columns for each satellite. */
+    private final Map<SatelliteSystem, SortedMap<Integer, SatelliteColumns>> satellites;
+
+    /** Simple constructor.
+     * @param name name of the file
+     */
+    ColumnarObservations(final String name) {
+        this.name       = name;
+        this.headers    = new ArrayList<>();
+        this.reference  = null;
+        this.satellites = new EnumMap<>(SatelliteSystem.class);
+    }
+
+    /** Add an observations data set.
+     * @param dataSet observations data set to add
+     */
+    void add(final ObservationDataSet dataSet) {
+        if (reference == null) {
+            reference = dataSet.getDate();
+        }
+        if (headers.isEmpty() || headers.get(headers.size() - 1) != dataSet.getHeader()) {
+            // data sets are added in file order, so a new header supersedes the previous ones
+            headers.add(dataSet.getHeader());
+        }
+        satellites.
+            computeIfAbsent(dataSet.getSatelliteSystem(), s -> new TreeMap<>()).
+            computeIfAbsent(dataSet.getPrnNumber(), p -> new SatelliteColumns()).
+            add(dataSet.getDate().durationFrom(reference), headers.size() - 1, dataSet);
+    }
+
+    /** Release unused memory once all data sets have been added.
+     */
+    void trim() {
+        for (final SortedMap<Integer, SatelliteColumns> map : satellites.values()) {
+            for (final SatelliteColumns columns : map.values()) {
+                columns.trim();
+            }
+        }
+    }
+
+    /** Get the name of the file.
+     * @return name of the file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /** Get the first Rinex header.
+     * @return first Rinex header (null if file did not contain any observation)
+     * @see #getHeaders()
+     * @see #getHeader(SatelliteSystem, int, int)
+     */
+    public RinexHeader getHeader() {
+        return headers.isEmpty() ? null : headers.get(0);
+    }
+
+    /** Get all the Rinex headers.
+     * @return Rinex headers, in file order (several headers are
+     * present only for concatenated files)
+     */
+    public List<RinexHeader> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /** Get the Rinex header of an observation epoch.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return Rinex header the epoch was read under
+     */
+    public RinexHeader getHeader(final SatelliteSystem system, final int prn, final int index) {
+        return headers.get(getExistingColumns(system, prn, index).headerIndices[index]);
+    }
+
+    /** Get the satellite systems observed.
+     * @return satellite systems observed
+     */
+    public Set<SatelliteSystem> getSatelliteSystems() {
+        return Collections.unmodifiableSet(satellites.keySet());
+    }
+
+    /** Get the PRN numbers of the satellites observed for one system.
+     * @param system satellite system
+     * @return PRN numbers of the satellites observed (empty if system was not observed)
+     */
+    public SortedSet<Integer> getPrnNumbers(final SatelliteSystem system) {
+        final SortedMap<Integer, SatelliteColumns> map = satellites.get(system);
+        return map == null ?
+               Collections.emptySortedSet() :
+               Collections.unmodifiableSortedSet(new TreeSet<>(map.keySet()));
+    }
+
+    /** Get the number of epochs at which a satellite has been observed.
+     * @param system satellite system
+     * @param prn PRN number
+     * @return number of epochs at which a satellite has been observed
+     */
+    public int getNbEpochs(final SatelliteSystem system, final int prn) {
+        final SatelliteColumns columns = getColumns(system, prn);
+        return columns == null ? 0 : columns.size;
+    }
+
+    /** Get the observation types available for a satellite.
+     * @param system satellite system
+     * @param prn PRN number
+     * @return observation types available for the satellite, in file order
+     */
+    public List<ObservationType> getObservationTypes(final SatelliteSystem system, final int prn) {
+        final SatelliteColumns columns = getColumns(system, prn);
+        return columns == null ?
+               Collections.emptyList() :
+               Collections.unmodifiableList(columns.types);
+    }
+
+    /** Get the date of an observation epoch.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return date of the epoch
+     */
+    public AbsoluteDate getDate(final SatelliteSystem system, final int prn, final int index) {
+        return reference.shiftedBy(getExistingColumns(system, prn, index).offsets[index]);
+    }
+
+    /** Get the receiver clock offset at an observation epoch.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return receiver clock offset (s)
+     */
+    public double getReceiverClockOffset(final SatelliteSystem system, final int prn, final int index) {
+        return getExistingColumns(system, prn, index).clockOffsets[index];
+    }
+
+    /** Get an observed value.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type observation type
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return observed value ({@code Double.NaN} if not observed at this epoch)
+     */
+    public double getValue(final SatelliteSystem system, final int prn,
+                           final ObservationType type, final int index) {
+        final Column column = getExistingColumns(system, prn, index).columns.get(type);
+        return column == null ? Double.NaN : column.values[index];
+    }
+
+    /** Get all observed values of one type for a satellite.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type observation type
+     * @return observed values, indexed by epoch ({@code Double.NaN} for epochs without
+     * observation of this type)
+     */
+    public double[] getValues(final SatelliteSystem system, final int prn, final ObservationType type) {
+        final SatelliteColumns columns = getColumns(system, prn);
+        if (columns == null) {
+            return new double[0];
+        }
+        final Column column = columns.columns.get(type);
+        if (column == null) {
+            final double[] values = new double[columns.size];
+            Arrays.fill(values, Double.NaN);
+            return values;
+        }
+        return column.values.clone();
+    }
+
+    /** Get a loss of lock indicator.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type observation type
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return loss of lock indicator
+     */
+    public int getLossOfLockIndicator(final SatelliteSystem system, final int prn,
+                                      final ObservationType type, final int index) {
+        final Column column = getExistingColumns(system, prn, index).columns.get(type);
+        return column == null ? 0 : column.lli[index];
+    }
+
+    /** Get a signal strength.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type observation type
+     * @param index index of the epoch (between 0 and {@link #getNbEpochs(SatelliteSystem, int)} - 1)
+     * @return signal strength
+     */
+    public int getSignalStrength(final SatelliteSystem system, final int prn,
+                                 final ObservationType type, final int index) {
+        final Column column = getExistingColumns(system, prn, index).columns.get(type);
+        return column == null ? 0 : column.signalStrength[index];
+    }
+
+    /** Rebuild the observations data sets for one satellite.
+     * <p>
+     * This method allows to use the columnar store with algorithms expecting
+     * {@link ObservationDataSet} instances, like {@link
+     * org.orekit.estimation.measurements.gnss.MeasurementCombination measurements
+     * combinations} or cycle-slip detectors. The data sets are built on the fly.
+     * </p>
+     * @param system satellite system
+     * @param prn PRN number
+     * @return observations data sets for the satellite, in chronological order
+     */
+    public List<ObservationDataSet> getObservationDataSets(final SatelliteSystem system, final int prn) {
+        final SatelliteColumns columns = getColumns(system, prn);
+        if (columns == null) {
+            return Collections.emptyList();
+        }
+        final List<ObservationDataSet> dataSets = new ArrayList<>(columns.size);
+        for (int i = 0; i < columns.size; ++i) {
+            final List<ObservationData> observationData = new ArrayList<>(columns.types.size());
+            for (final ObservationType type : columns.types) {
+                final Column column = columns.columns.get(type);
+                observationData.add(new ObservationData(type, column.values[i],
+                                                        column.lli[i], column.signalStrength[i]));
+            }
+            dataSets.add(new ObservationDataSet(headers.get(columns.headerIndices[i]), system, prn,
+                                                reference.shiftedBy(columns.offsets[i]),
+                                                columns.clockOffsets[i], observationData));
+        }
+        return dataSets;
+    }
+
+    /** Create range measurements from pseudo-range observations of one satellite.
+     * <p>
+     * Epochs at which the observation type is not available are skipped.
+     * </p>
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type pseudo-range observation type
+     * @param station ground station from which measurements are performed
+     * @param sigma theoretical standard deviation
+     * @param baseWeight base weight
+     * @param satellite satellite related to these measurements
+     * @return one-way range measurements, in chronological order
+     */
+    public List<Range> createRanges(final SatelliteSystem system, final int prn, final ObservationType type,
+                                    final GroundStation station, final double sigma, final double baseWeight,
+                                    final ObservableSatellite satellite) {
+        checkMeasurementType(type, MeasurementType.PSEUDO_RANGE, "createRanges");
+        final List<Range> ranges = new ArrayList<>();
+        final SatelliteColumns columns = getColumns(system, prn);
+        final Column column = columns == null ? null : columns.columns.get(type);
+        if (column != null) {
+            for (int i = 0; i < columns.size; ++i) {
+                if (!Double.isNaN(column.values[i])) {
+                    ranges.add(new Range(station, false, reference.shiftedBy(columns.offsets[i]),
+                                         column.values[i], sigma, baseWeight, satellite));
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /** Create phase measurements from carrier phase observations of one satellite.
+     * <p>
+     * Epochs at which the observation type is not available are skipped.
+     * </p>
+     * @param system satellite system
+     * @param prn PRN number
+     * @param type carrier phase observation type
+     * @param station ground station from which measurements are performed
+     * @param sigma theoretical standard deviation
+     * @param baseWeight base weight
+     * @param satellite satellite related to these measurements
+     * @return phase measurements, in chronological order
+     */
+    public List<Phase> createPhases(final SatelliteSystem system, final int prn, final ObservationType type,
+                                    final GroundStation station, final double sigma, final double baseWeight,
+                                    final ObservableSatellite satellite) {
+        checkMeasurementType(type, MeasurementType.CARRIER_PHASE, "createPhases");
+        final List<Phase> phases = new ArrayList<>();
+        final SatelliteColumns columns = getColumns(system, prn);
+        final Column column = columns == null ? null : columns.columns.get(type);
+        if (column != null) {
+            final double wavelength = type.getFrequency(system).getWavelength();
+            for (int i = 0; i < columns.size; ++i) {
+                if (!Double.isNaN(column.values[i])) {
+                    phases.add(new Phase(station, reference.shiftedBy(columns.offsets[i]),
+                                         column.values[i], wavelength, sigma, baseWeight, satellite));
+                }
+            }
+        }
+        return phases;
+    }
+
+    /** Check the measurement type of an observation type.
+     * @param type observation type
+     * @param expected expected measurement type
+     * @param function name of the calling function
+     */
+    private static void checkMeasurementType(final ObservationType type, final MeasurementType expected,
+                                             final String function) {
+        if (type.getMeasurementType() != expected) {
+            throw new OrekitException(OrekitMessages.INVALID_TYPE_FOR_FUNCTION,
+                                      function, "type", type.toString());
+        }
+    }
+
+    /** Get the columns for one satellite.
+     * @param system satellite system
+     * @param prn PRN number
+     * @return columns for the satellite (null if satellite was not observed)
+     */
+    private SatelliteColumns getColumns(final SatelliteSystem system, final int prn) {
+        final SortedMap<Integer, SatelliteColumns> map = satellites.get(system);
+        return map == null ? null : map.get(prn);
+    }
+
+    /** Get the columns for one satellite, checking epoch index.
+     * @param system satellite system
+     * @param prn PRN number
+     * @param index index of the epoch
+     * @return columns for the satellite
+     */
+    private SatelliteColumns getExistingColumns(final SatelliteSystem system, final int prn, final int index) {
+        final SatelliteColumns columns = getColumns(system, prn);
+        if (columns == null || index < 0 || index >= columns.size) {
+            throw new IndexOutOfBoundsException(system + " " + prn + ": " + index);
+        }
+        return columns;
+    }
+
+    /** Columns for one satellite. */
+    private static class SatelliteColumns {
+
+        /** Number of epochs. */
+        private int size;
+
+        /** Epochs offsets with respect to reference date. */
+        private double[] offsets;
+
+        /** Receiver clock offsets. */
+        private double[] clockOffsets;
+
+        /** Indices of the Rinex headers. */
+        private int[] headerIndices;
+
+        /** Observation types, in file order. */
+        private final List<ObservationType> types;
+
+        /** Columns for each observation type. */
+        private final Map<ObservationType, Column> columns;
+
+        /** Simple constructor.
+         */
+        SatelliteColumns() {
+            this.size          = 0;
+            this.offsets       = new double[INITIAL_CAPACITY];
+            this.clockOffsets  = new double[INITIAL_CAPACITY];
+            this.headerIndices = new int[INITIAL_CAPACITY];
+            this.types         = new ArrayList<>();
+            this.columns       = new EnumMap<>(ObservationType.class);
+        }
+
+        /** Add an observations data set.
+         * @param offset epoch offset with respect to reference date
+         * @param headerIndex index of the Rinex header
+         * @param dataSet observations data set to add
+         */
+        void add(final double offset, final int headerIndex, final ObservationDataSet dataSet) {
+
+            if (size == offsets.length) {
+                // grow all columns
+                final int capacity = 2 * size;
+                offsets       = Arrays.copyOf(offsets, capacity);
+                clockOffsets  = Arrays.copyOf(clockOffsets, capacity);
+                headerIndices = Arrays.copyOf(headerIndices, capacity);
+                for (final Column column : columns.values()) {
+                    column.resize(capacity);
+                }
+            }
+
+            offsets[size]       = offset;
+            clockOffsets[size]  = dataSet.getRcvrClkOffset();
+            headerIndices[size] = headerIndex;
+            for (final ObservationData data : dataSet.getObservationData()) {
+                Column column = columns.get(data.getObservationType());
+                if (column == null) {
+                    // new observation type, previous epochs did not observe it
+                    column = new Column(offsets.length);
+                    types.add(data.getObservationType());
+                    columns.put(data.getObservationType(), column);
+                }
+                column.values[size]         = data.getValue();
+                column.lli[size]            = (byte) data.getLossOfLockIndicator();
+                column.signalStrength[size] = (byte) data.getSignalStrength();
+            }
+            ++size;
+
+        }
+
+        /** Release unused memory.
+         */
+        void trim() {
+            offsets       = Arrays.copyOf(offsets, size);
+            clockOffsets  = Arrays.copyOf(clockOffsets, size);
+            headerIndices = Arrays.copyOf(headerIndices, size);
+            for (final Column column : columns.values()) {
+                column.resize(size);
+            }
+        }
+
+    }
+
+    /** Column for one observation type. */
+    private static class Column {
+
+        /** Observed values. */
+        private double[] values;
+
+        /** Loss of lock indicators. */
+        private byte[] lli;
+
+        /** Signal strengths. */
+        private byte[] signalStrength;
+
+        /** Simple constructor.
+         * @param capacity initial capacity
+         */
+        Column(final int capacity) {
+            values         = new double[capacity];
+            lli            = new byte[capacity];
+            signalStrength = new byte[capacity];
+            Arrays.fill(values, Double.NaN);
+        }
+
+        /** Resize the column.
+         * @param capacity new capacity
+         */
+        void resize(final int capacity) {
+            final int old  = values.length;
+            values         = Arrays.copyOf(values, capacity);
+            lli            = Arrays.copyOf(lli, capacity);
+            signalStrength = Arrays.copyOf(signalStrength, capacity);
+            if (capacity > old) {
+                Arrays.fill(values, old, capacity, Double.NaN);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.data.NamedData;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.TimeScales;
+
+/** Loader for many Rinex measurements files at once, into columnar stores.
+ * <p>
+ * This loader is intended for processing whole networks of stations. Each file is
+ * parsed by its own task, the tasks being run concurrently by a user-provided
+ * executor service. The observations are not stored as {@link ObservationDataSet}
+ * lists but directly into {@link ColumnarObservations columnar stores}, so the
+ * memory consumption is much lower than with {@link RinexLoader}.
+ * </p>
+ * <p>
+ * The data sources must provide uncompressed Rinex files, so compression filters
+ * like {@link HatanakaCompressFilter} must be applied beforehand, for example using
+ * {@link org.orekit.data.DataProvidersManager#applyAllFilters(NamedData)}. As the
+ * filters decompress data progressively, the compressed files are never fully
+ * decompressed in memory.
+ * </p>
+ * @see ColumnarObservations
+ * @author agent
+ * @since 10.2
+ */
+public class ColumnarRinexLoader {
+
+    /** Executor for parsing tasks. */
+    private final ExecutorService executor;
+
+    /** Set of time scales. */
+    private final TimeScales timeScales;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses the {@link DataContext#getDefault() default data context}.
+     * </p>
+     * @param executor executor for parsing tasks (one task per file)
+     * @see #ColumnarRinexLoader(ExecutorService, TimeScales)
+     */
+    @DefaultDataContext
+    public ColumnarRinexLoader(final ExecutorService executor) {
+        this(executor, DataContext.getDefault().getTimeScales());
+    }
+
+    /** Simple constructor.
+     * @param executor executor for parsing tasks (one task per file)
+     * @param timeScales the set of time scales to use when parsing dates.
+     */
+    public ColumnarRinexLoader(final ExecutorService executor, final TimeScales timeScales) {
+        this.executor   = executor;
+        this.timeScales = timeScales;
+    }
+
+    /** Load Rinex files.
+     * <p>
+     * This method waits until all files have been loaded. If several files
+     * cannot be parsed, the error of the first one (in sources order) is thrown.
+     * </p>
+     * @param sources data sources for uncompressed Rinex files
+     * @return columnar stores, in the same order as the sources
+     */
+    public List<ColumnarObservations> load(final List<NamedData> sources) {
+
+        // prepare one task per file
+        final List<Callable<ColumnarObservations>> tasks = new ArrayList<>(sources.size());
+        for (final NamedData source : sources) {
+            tasks.add(() -> load(source));
+        }
+
+        try {
+            final List<ColumnarObservations> loaded = new ArrayList<>(sources.size());
+            for (final Future<ColumnarObservations> future : executor.invokeAll(tasks)) {
+                loaded.add(future.get());
+            }
+            return loaded;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OrekitException(cause, LocalizedCoreFormats.SIMPLE_MESSAGE, cause.getLocalizedMessage());
+        }
+
+    }
+
+    /** Load one Rinex file.
+     * @param source data source for uncompressed Rinex file
+     * @return columnar store
+     * @exception IOException if file cannot be read
+     */
+    private ColumnarObservations load(final NamedData source) throws IOException {
+        final ColumnarObservations observations = new ColumnarObservations(source.getName());
+        try (InputStream input = source.getStreamOpener().openStream()) {
+            new RinexLoader(input, source.getName(), timeScales, observations::add);
+        }
+        observations.trim();
+        return observations;
+    }
+
+}
@@ -19,9 +19,9 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +90,9 @@ public class HatanakaCompressFilter implements DataFilter {
         /** Number of characters already output in pending lines. */
         private int countOut;
 
+        /** Buffer for single byte reads. */
+        private final byte[] single;
+
         /** Simple constructor.
          * @param name file name
          * @param input underlying compressed stream
@@ -104,14 +107,14 @@ public class HatanakaCompressFilter implements DataFilter {
             format = CompactRinexFormat.getFormat(name, reader);
 
             pending  = null;
+            single   = new byte[1];
 
         }
 
         /** {@inheritDoc} */
         @Override
         public int read() throws IOException {
-            final byte[] b = new byte[1];
-            return read(b, 0, 1) < 0 ? -1 : b[0];
+            return read(single, 0, 1) < 0 ? -1 : single[0];
         }
 
         /** {@inheritDoc} */
@@ -156,6 +159,43 @@ public class HatanakaCompressFilter implements DataFilter {
 
     }
 
+    /** Parse a long integer without intermediate objects.
+     * @param sequence sequence containing the value to parse
+     * @param start start index of the value in the sequence
+     * @param end end index of the value in the sequence (excluded)
+     * @return parsed value
+     * @exception NumberFormatException if the value is empty, contains
+     * characters that are not digits or overflows a long integer
+     */
+    static long parseLong(final CharSequence sequence, final int start, final int end) {
+        int     i        = start;
+        boolean negative = false;
+        if (i < end && (sequence.charAt(i) == '-' || sequence.charAt(i) == '+')) {
+            negative = sequence.charAt(i++) == '-';
+        }
+        if (i >= end) {
+            throw new NumberFormatException(sequence.subSequence(start, end).toString());
+        }
+
+        // accumulate negatively, as the negative range is larger than the positive one
+        final long limit    = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long minTimes = limit / 10;
+        long value = 0;
+        while (i < end) {
+            final int digit = sequence.charAt(i++) - '0';
+            if (digit < 0 || digit > 9 || value < minTimes) {
+                throw new NumberFormatException(sequence.subSequence(start, end).toString());
+            }
+            value *= 10;
+            if (value < limit + digit) {
+                throw new NumberFormatException(sequence.subSequence(start, end).toString());
+            }
+            value -= digit;
+        }
+        return negative ? value : -value;
+
+    }
+
     /** Processor handling differential compression for one numerical data field. */
     private static class NumericDifferential {
 
@@ -171,8 +211,11 @@ public class HatanakaCompressFilter implements DataFilter {
         /** Number of components in the state vector. */
         private int nbComponents;
 
-        /** Uncompressed value. */
-        private String uncompressed;
+        /** Buffer for uncompressed value (right-aligned). */
+        private final char[] uncompressed;
+
+        /** Start index of uncompressed value in buffer. */
+        private int uncompressedStart;
 
         /** Simple constructor.
          * @param fieldLength length of the uncompressed text field
@@ -184,15 +227,26 @@ public class HatanakaCompressFilter implements DataFilter {
             this.decimalPlaces = decimalPlaces;
             this.state         = new long[order + 1];
             this.nbComponents  = 0;
+            // the buffer is large enough for any long value, even if it overflows the field
+            this.uncompressed  = new char[FastMath.max(fieldLength, decimalPlaces + 22)];
         }
 
         /** Handle a new compressed value.
          * @param sequence sequence containing the value to consider
          */
         public void accept(final CharSequence sequence) {
+            accept(sequence, 0, sequence.length());
+        }
+
+        /** Handle a new compressed value.
+         * @param sequence sequence containing the value to consider
+         * @param start start index of the value in the sequence
+         * @param end end index of the value in the sequence (excluded)
+         */
+        public void accept(final CharSequence sequence, final int start, final int end) {
 
             // store the value as the last component of state vector
-            state[nbComponents] = Long.parseLong(sequence.toString());
+            state[nbComponents] = parseLong(sequence, start, end);
 
             // update state vector
             for (int i = nbComponents; i > 0; --i) {
@@ -204,35 +258,42 @@ public class HatanakaCompressFilter implements DataFilter {
                 --nbComponents;
             }
 
-            // output uncompressed value
-            final String unscaled = Long.toString(FastMath.abs(state[0]));
-            final int    length   = unscaled.length();
-            final int    digits   = FastMath.max(length, decimalPlaces);
-            final int    padding  = fieldLength - (digits + (state[0] < 0 ? 2 : 1));
-            final StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < padding; ++i) {
-                builder.append(' ');
+            // output uncompressed value, filling the buffer from right to left
+            // (there is no leading zero before the decimal separator)
+            long remaining = state[0];
+            int  index     = uncompressed.length;
+            for (int i = 0; i < decimalPlaces; ++i) {
+                uncompressed[--index] = (char) ('0' + FastMath.abs(remaining % 10));
+                remaining /= 10;
             }
-            if (state[0] < 0) {
-                builder.append('-');
+            uncompressed[--index] = '.';
+            while (remaining != 0) {
+                uncompressed[--index] = (char) ('0' + FastMath.abs(remaining % 10));
+                remaining /= 10;
             }
-            if (length > decimalPlaces) {
-                builder.append(unscaled, 0, length - decimalPlaces);
+            if (state[0] < 0) {
+                uncompressed[--index] = '-';
             }
-            builder.append('.');
-            for (int i = decimalPlaces; i > 0; --i) {
-                builder.append(i > length ? '0' : unscaled.charAt(length - i));
+            final int fieldStart = uncompressed.length - fieldLength;
+            while (index > fieldStart) {
+                uncompressed[--index] = ' ';
             }
+            uncompressedStart = index;
 
-            uncompressed = builder.toString();
+        }
 
+        /** Append the uncompressed value to a builder.
+         * @param builder builder where to append the uncompressed value
+         */
+        public void appendUncompressed(final StringBuilder builder) {
+            builder.append(uncompressed, uncompressedStart, uncompressed.length - uncompressedStart);
         }
 
         /** Get a string representation of the uncompressed value.
          * @return string representation of the uncompressed value
          */
         public String getUncompressed() {
-            return uncompressed;
+            return new String(uncompressed, uncompressedStart, uncompressed.length - uncompressedStart);
         }
 
     }
@@ -241,43 +302,74 @@ public class HatanakaCompressFilter implements DataFilter {
     private static class TextDifferential {
 
         /** Buffer holding the current state. */
-        private CharBuffer state;
+        private final char[] state;
+
+        /** Cached string representation of the current state (null if state has changed). */
+        private String cached;
 
         /** Simple constructor.
          * @param fieldLength length of the uncompressed text field
          */
         TextDifferential(final int fieldLength) {
-            this.state = CharBuffer.allocate(fieldLength);
-            for (int i = 0; i < fieldLength; ++i) {
-                state.put(i, ' ');
-            }
+            this.state = new char[fieldLength];
+            Arrays.fill(state, ' ');
+            this.cached = null;
         }
 
         /** Handle a new compressed value.
          * @param sequence sequence containing the value to consider
          */
         public void accept(final CharSequence sequence) {
+            accept(sequence, 0, sequence.length());
+        }
+
+        /** Handle a new compressed value.
+         * @param sequence sequence containing the value to consider
+         * @param start start index of the value in the sequence
+         * @param end end index of the value in the sequence (excluded)
+         */
+        public void accept(final CharSequence sequence, final int start, final int end) {
 
             // update state
-            final int length = FastMath.min(state.capacity(), sequence.length());
+            final int length = FastMath.min(state.length, end - start);
             for (int i = 0; i < length; ++i) {
-                final char c = sequence.charAt(i);
+                final char c = sequence.charAt(start + i);
                 if (c == '&') {
                     // update state with disappearing character
-                    state.put(i, ' ');
+                    state[i] = ' ';
+                    cached   = null;
                 } else if (c != ' ') {
                     // update state with changed character
-                    state.put(i, c);
+                    state[i] = c;
+                    cached   = null;
                 }
             }
 
         }
 
+        /** Get the length of the uncompressed value.
+         * @return length of the uncompressed value
+         */
+        public int length() {
+            return state.length;
+        }
+
+        /** Get one character of the uncompressed value.
+         * @param index index of the character
+         * @return character at specified index
+         */
+        public char charAt(final int index) {
+            return state[index];
+        }
+
         /** Get a string representation of the uncompressed value.
          * @return string representation of the uncompressed value
          */
         public String getUncompressed() {
-            return state.toString();
+            if (cached == null) {
+                cached = new String(state);
+            }
+            return cached;
         }
 
     }
@@ -488,8 +580,8 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
 
                 // check for special events
-                epochDifferential.accept(loopEpochLine.subSequence(epochStart,
-                                                                   FastMath.min(loopEpochLine.length(), epochStart + epochLength)));
+                epochDifferential.accept(loopEpochLine, epochStart,
+                                         FastMath.min(loopEpochLine.length(), epochStart + epochLength));
                 if (parseInt(epochDifferential.getUncompressed(), eventStart, 1) > 1) {
                     // this was not really the epoch, but rather a special event
                     // we just copy the lines and skip to real epoch and clock lines
@@ -514,7 +606,7 @@ public class HatanakaCompressFilter implements DataFilter {
                     final int n = parseInt(epochDifferential.getUncompressed(), nbSatStart, 3);
                     satellites = new ArrayList<>(n);
                     if (satListStart < loopEpochLine.length()) {
-                        satListDifferential.accept(loopEpochLine.subSequence(satListStart, loopEpochLine.length()));
+                        satListDifferential.accept(loopEpochLine, satListStart, loopEpochLine.length());
                     }
                     final String satListPart = satListDifferential.getUncompressed();
                     for (int i = 0; i < n; ++i) {
@@ -525,12 +617,12 @@ public class HatanakaCompressFilter implements DataFilter {
                     if (!loopClockLine.isEmpty()) {
                         if (loopClockLine.length() > 2 && loopClockLine.charAt(1) == '&') {
                             clockDifferential = new NumericDifferential(clockLength, clockDecimalPlaces, parseInt(loopClockLine, 0, 1));
-                            clockDifferential.accept(loopClockLine.subSequence(2, loopClockLine.length()));
+                            clockDifferential.accept(loopClockLine, 2, loopClockLine.length());
                         } else if (clockDifferential == null) {
                             throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                       lineNumber, name, loopClockLine);
                         } else {
-                            clockDifferential.accept(loopClockLine);
+                            clockDifferential.accept(loopClockLine, 0, loopClockLine.length());
                         }
                     }
                 }
@@ -619,7 +711,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             ++k;
                         }
                         try {
-                            satDiffs.observations[j].accept(line.subSequence(start, k));
+                            satDiffs.observations[j].accept(line, start, k);
                         } catch (NumberFormatException nfe) {
                             throw new OrekitException(nfe,
                                                       OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
@@ -635,7 +727,7 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
 
                 if (k < line.length()) {
-                    satDiffs.flags.accept(line.subSequence(k, line.length()));
+                    satDiffs.flags.accept(line, k, line.length());
                 }
 
             }
@@ -752,9 +844,11 @@ public class HatanakaCompressFilter implements DataFilter {
          * @param builder builder to trim
          */
         public static void trimTrailingSpaces(final StringBuilder builder) {
-            for (int i = builder.length() - 1; i >= 0 && builder.charAt(i) == ' '; --i) {
-                builder.deleteCharAt(i);
+            int length = builder.length();
+            while (length > 0 && builder.charAt(length - 1) == ' ') {
+                --length;
             }
+            builder.setLength(length);
         }
 
         /** Enumerate for parsing sections. */
@@ -894,7 +988,7 @@ public class HatanakaCompressFilter implements DataFilter {
                     builder.append('\n');
                 }
                 final CombinedDifferentials cd    = getCombinedDifferentials(sat);
-                final String                flags = cd.flags.getUncompressed();
+                final TextDifferential      flags = cd.flags;
                 for (int i = 0; i < cd.observations.length; ++i) {
                     if (i > 0 && i % 5 == 0) {
                         trimTrailingSpaces(builder);
@@ -906,7 +1000,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendUncompressed(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
@@ -1024,7 +1118,7 @@ public class HatanakaCompressFilter implements DataFilter {
                 }
                 builder.append(sat);
                 final CombinedDifferentials cd    = getCombinedDifferentials(sat);
-                final String                flags = cd.flags.getUncompressed();
+                final TextDifferential      flags = cd.flags;
                 for (int i = 0; i < cd.observations.length; ++i) {
                     if (cd.observations[i] == null) {
                         // missing observation
@@ -1032,7 +1126,7 @@ public class HatanakaCompressFilter implements DataFilter {
                             builder.append(' ');
                         }
                     } else {
-                        builder.append(cd.observations[i].getUncompressed());
+                        cd.observations[i].appendUncompressed(builder);
                         if (2 * i < flags.length()) {
                             builder.append(flags.charAt(2 * i));
                         }
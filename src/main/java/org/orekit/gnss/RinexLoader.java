@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.hipparchus.exception.DummyLocalizable;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -115,6 +116,9 @@ public class RinexLoader {
     /** Rinex Observations. */
     private final List<ObservationDataSet> observationDataSets;
 
+    /** Consumer for parsed observations data sets. */
+    private final Consumer<ObservationDataSet> consumer;
+
     /** Set of time scales. */
     private final TimeScales timeScales;
 
@@ -148,6 +152,7 @@ public class RinexLoader {
                        final DataProvidersManager dataProvidersManager,
                        final TimeScales timeScales) {
         observationDataSets = new ArrayList<>();
+        consumer            = observationDataSets::add;
         this.timeScales = timeScales;
         dataProvidersManager.feed(supportedNames, new Parser());
     }
@@ -175,9 +180,31 @@ public class RinexLoader {
     public RinexLoader(final InputStream input,
                        final String name,
                        final TimeScales timeScales) {
+        this(input, name, timeScales, null);
+    }
+
+    /**
+     * Loads RINEX from the given input stream, passing observations to a consumer.
+     * <p>
+     * If the consumer is not null, the observations data sets are passed to it as
+     * soon as they are parsed and they are not kept in the loader.
+     * </p>
+     * @param input data input stream
+     * @param name name of the file (or zip entry)
+     * @param timeScales the set of time scales to use when parsing dates.
+     * @param consumer consumer for parsed observations data sets (if null,
+     * the data sets are stored and available from {@link #getObservationDataSets()})
+     * @since 10.2
+     */
+    RinexLoader(final InputStream input,
+                final String name,
+                final TimeScales timeScales,
+                final Consumer<ObservationDataSet> consumer) {
         try {
-            this.timeScales = timeScales;
-            observationDataSets = new ArrayList<>();
+            final List<ObservationDataSet> list = new ArrayList<>();
+            this.timeScales          = timeScales;
+            this.observationDataSets = list;
+            this.consumer            = (consumer == null) ? list::add : consumer;
             new Parser().loadData(input, name);
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
@@ -639,7 +666,7 @@ public class RinexLoader {
                                                                           lineNumber, name, line);
                                         }
 
-                                        observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                        consumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
                                                                                        tObs, rcvrClkOffset, observationData));
 
                                     }
@@ -1069,7 +1096,7 @@ public class RinexLoader {
                                                                                         parseInt(17 + j * 16, 1),
                                                                                         parseInt(18 + j * 16, 1)));
                                             }
-                                            observationDataSets.add(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
+                                            consumer.accept(new ObservationDataSet(rinexHeader, satelliteSystemSat, prnNumber,
                                                                                            tObs, rcvrClkOffset, observationData));
 
                                         }
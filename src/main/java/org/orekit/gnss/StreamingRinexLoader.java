@@ -0,0 +1,303 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.TimeScales;
+
+/** Pull-based loader for Rinex measurements files.
+ * <p>
+ * Contrary to {@link RinexLoader}, this loader does not keep all observations
+ * data sets in memory. The file is parsed in a background thread that hands the
+ * data sets over to the consumer thread through a bounded buffer, and stops
+ * parsing whenever the buffer is full. Memory consumption is therefore bounded
+ * regardless of the file size, and the file is read only as fast as the data
+ * sets are consumed. As the input stream is read progressively, the loader can
+ * be chained directly after a {@link HatanakaCompressFilter}, which also
+ * decompresses data progressively.
+ * </p>
+ * <p>
+ * The data sets are available either one at a time through the {@link Iterator}
+ * methods or as a sequential {@link #stream() stream}. The loader must be {@link
+ * #close() closed} if the data sets are not all consumed, in order to stop the
+ * background thread.
+ * </p>
+ * <pre>
+ *   try (StreamingRinexLoader loader = new StreamingRinexLoader(input, name, 1024)) {
+ *       loader.stream().forEach(dataSet -&gt; process(dataSet));
+ *       System.out.format("%.1f MB/s%n", loader.getThroughput());
+ *   }
+ * </pre>
+ * @see RinexLoader
+ * @author agent
+ * @since 10.2
+ */
+public class StreamingRinexLoader implements Iterator<ObservationDataSet>, AutoCloseable {
+
+    /** Marker for end of parsing. */
+    private static final Object END = new Object();
+
+    /** Buffer between parsing thread and consumer thread. */
+    private final BlockingQueue<Object> buffer;
+
+    /** Parsing thread. */
+    private final Thread parsingThread;
+
+    /** Number of bytes read. */
+    private final AtomicLong bytesRead;
+
+    /** Start time of parsing (nanoseconds). */
+    private final long start;
+
+    /** End time of parsing (nanoseconds). */
+    private volatile long end;
+
+    /** Error that interrupted parsing. */
+    private volatile Throwable failure;
+
+    /** Next data set (null if not retrieved yet from the buffer). */
+    private ObservationDataSet next;
+
+    /** Indicator for exhausted data sets. */
+    private boolean exhausted;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses the {@link DataContext#getDefault() default data context}.
+     * </p>
+     * @param input data input stream (will be closed at the end of parsing)
+     * @param name name of the file (or zip entry)
+     * @param bufferSize maximum number of data sets parsed in advance
+     * @see #StreamingRinexLoader(InputStream, String, int, TimeScales)
+     */
+    @DefaultDataContext
+    public StreamingRinexLoader(final InputStream input, final String name, final int bufferSize) {
+        this(input, name, bufferSize, DataContext.getDefault().getTimeScales());
+    }
+
+    /** Simple constructor.
+     * <p>
+     * Parsing starts immediately in a background daemon thread.
+     * </p>
+     * @param input data input stream (will be closed at the end of parsing)
+     * @param name name of the file (or zip entry)
+     * @param bufferSize maximum number of data sets parsed in advance
+     * @param timeScales the set of time scales to use when parsing dates.
+     */
+    public StreamingRinexLoader(final InputStream input, final String name, final int bufferSize,
+                                final TimeScales timeScales) {
+
+        this.buffer    = new ArrayBlockingQueue<>(bufferSize);
+        this.bytesRead = new AtomicLong(0L);
+        this.start     = System.nanoTime();
+        this.end       = -1L;
+        this.failure   = null;
+        this.next      = null;
+        this.exhausted = false;
+
+        final InputStream counting = new FilterInputStream(input) {
+
+            /** {@inheritDoc} */
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b >= 0) {
+                    bytesRead.incrementAndGet();
+                }
+                return b;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytesRead.addAndGet(n);
+                }
+                return n;
+            }
+
+        };
+
+        parsingThread = new Thread(() -> parse(counting, name, timeScales), "rinex-" + name);
+        parsingThread.setDaemon(true);
+        parsingThread.setUncaughtExceptionHandler((thread, throwable) -> failure = throwable);
+        parsingThread.start();
+
+    }
+
+    /** Parse the file, in the background thread.
+     * @param input data input stream
+     * @param name name of the file (or zip entry)
+     * @param timeScales the set of time scales to use when parsing dates.
+     */
+    private void parse(final InputStream input, final String name, final TimeScales timeScales) {
+        boolean aborted = false;
+        try {
+            new RinexLoader(input, name, timeScales, dataSet -> put(dataSet));
+        } catch (Aborted a) {
+            // the consumer has closed the loader
+            aborted = true;
+        } finally {
+            end = System.nanoTime();
+            if (!aborted) {
+                try {
+                    buffer.put(END);
+                } catch (InterruptedException ie) {
+                    // the consumer has closed the loader
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /** Put an element in the buffer, waiting for space if needed.
+     * @param element element to put
+     */
+    private void put(final Object element) {
+        try {
+            buffer.put(element);
+        } catch (InterruptedException ie) {
+            throw new Aborted();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+
+        if (next == null && !exhausted) {
+
+            final Object element;
+            try {
+                element = buffer.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+
+            if (element == END) {
+                exhausted = true;
+                try {
+                    // wait for the failure (if any) to be registered
+                    parsingThread.join();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+                }
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                } else if (failure != null) {
+                    throw new OrekitException(failure, LocalizedCoreFormats.SIMPLE_MESSAGE, failure.getLocalizedMessage());
+                }
+            } else {
+                next = (ObservationDataSet) element;
+            }
+
+        }
+
+        return next != null;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ObservationDataSet next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final ObservationDataSet dataSet = next;
+        next = null;
+        return dataSet;
+    }
+
+    /** Get the remaining observations data sets as a sequential stream.
+     * <p>
+     * Closing the stream closes the loader.
+     * </p>
+     * @return stream of the remaining observations data sets
+     */
+    public Stream<ObservationDataSet> stream() {
+        return StreamSupport.
+               stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).
+               onClose(this::close);
+    }
+
+    /** Get the number of bytes read so far from the input stream.
+     * <p>
+     * If the loader is chained after a {@link HatanakaCompressFilter}, this is
+     * the number of decompressed bytes.
+     * </p>
+     * @return number of bytes read so far
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /** Get the parsing throughput.
+     * <p>
+     * The throughput is computed from the start of parsing until either
+     * now or the end of parsing if it has already been reached. As parsing
+     * is blocked when the buffer is full, it reflects the speed of the
+     * slowest among the parser and the consumer.
+     * </p>
+     * @return parsing throughput in MB/s (1 MB = 10⁶ bytes)
+     */
+    public double getThroughput() {
+        final long stop = (end < 0) ? System.nanoTime() : end;
+        return 1.0e3 * getBytesRead() / FastMath.max(1L, stop - start);
+    }
+
+    /** Stop parsing.
+     * <p>
+     * The remaining data sets that have not been consumed yet are discarded.
+     * </p>
+     */
+    @Override
+    public void close() {
+        exhausted = true;
+        next      = null;
+        parsingThread.interrupt();
+        buffer.clear();
+    }
+
+    /** Local exception to abort parsing when loader is closed. */
+    private static class Aborted extends RuntimeException {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200601L;
+
+    }
+
+}
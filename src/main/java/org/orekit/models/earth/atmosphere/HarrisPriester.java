@@ -25,8 +25,10 @@ import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.PVCoordinatesProvider;
 
 
@@ -42,6 +44,11 @@ import org.orekit.utils.PVCoordinatesProvider;
  * <i>Oliver Montenbruck, Eberhard Gill</i><br>
  * Springer 2005
  * </p>
+ * <p>
+ * The Sun position and the frames transforms only depend on date. They are cached
+ * for the last date used, so evaluating density at many positions for the same date,
+ * as done for example by numerical averaging in semi-analytical propagation, is cheap.
+ * </p>
  * @author Pascal Parraud
  */
 public class HarrisPriester implements Atmosphere {
@@ -133,6 +140,9 @@ public class HarrisPriester implements Atmosphere {
     /** Density table. */
     private double[][] tabAltRho;
 
+    /** Date-dependent data for last date used. */
+    private transient volatile DateData lastDateData;
+
     /** Simple constructor for Modified Harris-Priester atmosphere model.
      *  <p>The cosine exponent value is set to 4 by default.</p>
      *  <p>The default embedded density table is the one given in the referenced
@@ -382,13 +392,12 @@ public class HarrisPriester implements Atmosphere {
      */
     public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
 
-        // Sun position in earth frame
-        final Vector3D sunInEarth = sun.getPVCoordinates(date, earth.getBodyFrame()).getPosition();
+        final DateData dateData = getDateData(date, frame);
 
         // Target position in earth frame
-        final Vector3D posInEarth = frame.getTransformTo(earth.getBodyFrame(), date).transformPosition(position);
+        final Vector3D posInEarth = dateData.frameToEarth.transformPosition(position);
 
-        return getDensity(sunInEarth, posInEarth);
+        return getDensity(dateData.sunInEarth, posInEarth);
     }
 
     /** Get the local density at some position.
@@ -402,13 +411,36 @@ public class HarrisPriester implements Atmosphere {
     public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
                                                         final FieldVector3D<T> position,
                                                         final Frame frame) {
-        // Sun position in earth frame
-        final Vector3D sunInEarth = sun.getPVCoordinates(date.toAbsoluteDate(), earth.getBodyFrame()).getPosition();
+        final DateData dateData = getDateData(date.toAbsoluteDate(), frame);
 
         // Target position in earth frame
-        final FieldVector3D<T> posInEarth = frame.getTransformTo(earth.getBodyFrame(), date.toAbsoluteDate()).transformPosition(position);
+        final FieldVector3D<T> posInEarth = dateData.frameToEarth.transformPosition(position);
+
+        return getDensity(dateData.sunInEarth, posInEarth);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D getVelocity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+        final Transform     earthToFrame = getDateData(date, frame).getEarthToFrame();
+        final Vector3D      posInBody    = earthToFrame.getInverse().transformPosition(position);
+        final PVCoordinates pvBody       = new PVCoordinates(posInBody, Vector3D.ZERO);
+        final PVCoordinates pvFrame      = earthToFrame.transformPVCoordinates(pvBody);
+        return pvFrame.getVelocity();
+    }
 
-        return getDensity(sunInEarth, posInEarth);
+    /** Get the date-dependent data.
+     * @param date current date
+     * @param frame the frame in which positions are defined
+     * @return date-dependent data
+     */
+    private DateData getDateData(final AbsoluteDate date, final Frame frame) {
+        DateData dateData = lastDateData;
+        if (dateData == null || dateData.frame != frame || !dateData.date.equals(date)) {
+            dateData     = new DateData(date, frame);
+            lastDateData = dateData;
+        }
+        return dateData;
     }
 
     /** Get the height above the Earth for the given position.
@@ -450,4 +482,52 @@ public class HarrisPriester implements Atmosphere {
         return r.subtract(coef.multiply(a));
     }
 
+    /** Container for date-dependent data. */
+    private class DateData {
+
+        /** Date. */
+        private final AbsoluteDate date;
+
+        /** Frame in which positions are defined. */
+        private final Frame frame;
+
+        /** Sun position in Earth frame. */
+        private final Vector3D sunInEarth;
+
+        /** Transform from position frame to Earth frame. */
+        private final Transform frameToEarth;
+
+        /** Transform from Earth frame to position frame (computed only if needed). */
+        private Transform earthToFrame;
+
+        /** Simple constructor.
+         * @param date date
+         * @param frame frame in which positions are defined
+         */
+        DateData(final AbsoluteDate date, final Frame frame) {
+            this.date         = date;
+            this.frame        = frame;
+            this.sunInEarth   = sun.getPVCoordinates(date, earth.getBodyFrame()).getPosition();
+            this.frameToEarth = frame.getTransformTo(earth.getBodyFrame(), date);
+        }
+
+        /** Get the transform from Earth frame to position frame.
+         * <p>
+         * The transform is only needed for velocity, so it is computed
+         * on first call. Concurrent first calls may compute it twice,
+         * which is harmless as transforms are immutable.
+         * </p>
+         * @return transform from Earth frame to position frame
+         */
+        Transform getEarthToFrame() {
+            Transform transform = earthToFrame;
+            if (transform == null) {
+                transform    = getFrame().getTransformTo(frame, date);
+                earthToFrame = transform;
+            }
+            return transform;
+        }
+
+    }
+
 }
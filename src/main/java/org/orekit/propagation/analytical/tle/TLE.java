@@ -74,6 +74,16 @@ public class TLE implements TimeStamped, Serializable {
     /** Identifier for SDP8 type of ephemeris. */
     public static final int SDP8 = 5;
 
+    /** Pattern for line 1. */
+    static final Pattern LINE_1_PATTERN =
+        Pattern.compile("1 [ 0-9]{5}[A-Z] [ 0-9]{5}[ A-Z]{3} [ 0-9]{5}[.][ 0-9]{8} (?:(?:[ 0+-][.][ 0-9]{8})|(?: [ +-][.][ 0-9]{7})) " +
+                        "[ +-][ 0-9]{5}[+-][ 0-9] [ +-][ 0-9]{5}[+-][ 0-9] [ 0-9] [ 0-9]{4}[ 0-9]");
+
+    /** Pattern for line 2. */
+    static final Pattern LINE_2_PATTERN =
+        Pattern.compile("2 [ 0-9]{5} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{7} " +
+                        "[ 0-9]{3}[.][ 0-9]{4} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{2}[.][ 0-9]{13}[ 0-9]");
+
     /** Name of the mean motion parameter. */
     private static final String MEAN_MOTION = "meanMotion";
 
@@ -83,16 +93,6 @@ public class TLE implements TimeStamped, Serializable {
     /** Name of the eccentricity parameter. */
     private static final String ECCENTRICITY = "eccentricity";
 
-    /** Pattern for line 1. */
-    private static final Pattern LINE_1_PATTERN =
-        Pattern.compile("1 [ 0-9]{5}[A-Z] [ 0-9]{5}[ A-Z]{3} [ 0-9]{5}[.][ 0-9]{8} (?:(?:[ 0+-][.][ 0-9]{8})|(?: [ +-][.][ 0-9]{7})) " +
-                        "[ +-][ 0-9]{5}[+-][ 0-9] [ +-][ 0-9]{5}[+-][ 0-9] [ 0-9] [ 0-9]{4}[ 0-9]");
-
-    /** Pattern for line 2. */
-    private static final Pattern LINE_2_PATTERN =
-        Pattern.compile("2 [ 0-9]{5} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{7} " +
-                        "[ 0-9]{3}[.][ 0-9]{4} [ 0-9]{3}[.][ 0-9]{4} [ 0-9]{2}[.][ 0-9]{13}[ 0-9]");
-
     /** International symbols for parsing. */
     private static final DecimalFormatSymbols SYMBOLS =
         new DecimalFormatSymbols(Locale.US);
@@ -0,0 +1,360 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.TimeScale;
+
+/** Parser for catalogues of Two-Line Elements.
+ * <p>
+ * The catalogue files may contain either bare two lines elements sets (TLE) or
+ * three lines elements sets (3LE), where each set is preceded by a line holding
+ * the object name, which is available from {@link #parseEntries(BufferedReader, String)
+ * catalogue entries}. Lines starting with "1 " or "2 " are elements sets lines,
+ * they must come in pairs and have the proper format, otherwise an error is triggered.
+ * Other lines (names, comments, empty lines...) are ignored.
+ * </p>
+ * <p>
+ * The parser does not load the whole file in memory. It reads the lines lazily
+ * as the returned stream is consumed and only pairs them sequentially. The costly
+ * part of the parsing (format and checksums validation, fields decoding and dates
+ * building) is performed in the stream mapping stage, so it is automatically
+ * distributed among several threads if the stream is turned into a {@link
+ * Stream#parallel() parallel stream}, as in:
+ * </p>
+ * <pre>
+ *   try (Stream&lt;TLE&gt; stream = parser.parse(fileName)) {
+ *       final List&lt;TLE&gt; catalogue = stream.parallel().collect(Collectors.toList());
+ *   }
+ * </pre>
+ * <p>
+ * This parser is thread-safe, so calling {@link #parse} from different threads is allowed.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class TLECatalogueParser {
+
+    /** UTC time scale. */
+    private final TimeScale utc;
+
+    /** Simple constructor.
+     * <p>This constructor uses the {@link DataContext#getDefault() default data context}.</p>
+     * @see #TLECatalogueParser(TimeScale)
+     */
+    @DefaultDataContext
+    public TLECatalogueParser() {
+        this(DataContext.getDefault().getTimeScales().getUTC());
+    }
+
+    /** Simple constructor.
+     * @param utc UTC time scale
+     */
+    public TLECatalogueParser(final TimeScale utc) {
+        this.utc = utc;
+    }
+
+    /** Parse a catalogue file.
+     * <p>
+     * The returned stream must be closed in order to close the underlying file.
+     * </p>
+     * @param fileName name of the file to parse
+     * @return stream of elements sets, in file order
+     * @exception IOException if file cannot be opened
+     */
+    public Stream<TLE> parse(final String fileName) throws IOException {
+        return parseEntries(fileName).map(Entry::getTLE);
+    }
+
+    /** Parse a catalogue stream.
+     * <p>
+     * The input stream is not closed by this method nor by the returned stream.
+     * </p>
+     * @param stream stream to parse
+     * @param name name of the stream (for error messages)
+     * @return stream of elements sets, in file order
+     */
+    public Stream<TLE> parse(final InputStream stream, final String name) {
+        return parseEntries(stream, name).map(Entry::getTLE);
+    }
+
+    /** Parse a catalogue reader.
+     * <p>
+     * The reader is not closed by this method nor by the returned stream.
+     * </p>
+     * @param reader reader to parse
+     * @param name name of the reader (for error messages)
+     * @return stream of elements sets, in file order
+     */
+    public Stream<TLE> parse(final BufferedReader reader, final String name) {
+        return parseEntries(reader, name).map(Entry::getTLE);
+    }
+
+    /** Parse a catalogue file, keeping objects names.
+     * <p>
+     * The returned stream must be closed in order to close the underlying file.
+     * </p>
+     * @param fileName name of the file to parse
+     * @return stream of catalogue entries, in file order
+     * @exception IOException if file cannot be opened
+     */
+    public Stream<Entry> parseEntries(final String fileName) throws IOException {
+        final BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8);
+        return parseEntries(reader, fileName).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+            }
+        });
+    }
+
+    /** Parse a catalogue stream, keeping objects names.
+     * <p>
+     * The input stream is not closed by this method nor by the returned stream.
+     * </p>
+     * @param stream stream to parse
+     * @param name name of the stream (for error messages)
+     * @return stream of catalogue entries, in file order
+     */
+    public Stream<Entry> parseEntries(final InputStream stream, final String name) {
+        return parseEntries(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)), name);
+    }
+
+    /** Parse a catalogue reader, keeping objects names.
+     * <p>
+     * The reader is not closed by this method nor by the returned stream.
+     * </p>
+     * @param reader reader to parse
+     * @param name name of the reader (for error messages)
+     * @return stream of catalogue entries, in file order
+     */
+    public Stream<Entry> parseEntries(final BufferedReader reader, final String name) {
+        return StreamSupport.stream(new RawElementsSpliterator(reader, name), false).
+               map(raw -> raw.build(utc));
+    }
+
+    /** Check if a line is the first line of an elements set.
+     * @param line line to check
+     * @return true if line is the first line of an elements set
+     */
+    private static boolean isLine1(final String line) {
+        return line.startsWith("1 ");
+    }
+
+    /** Check if a line is the second line of an elements set.
+     * @param line line to check
+     * @return true if line is the second line of an elements set
+     */
+    private static boolean isLine2(final String line) {
+        return line.startsWith("2 ");
+    }
+
+    /** Catalogue entry. */
+    public static class Entry {
+
+        /** Object name (null for bare two lines elements sets). */
+        private final String name;
+
+        /** Elements set. */
+        private final TLE tle;
+
+        /** Simple constructor.
+         * @param name object name (null for bare two lines elements sets)
+         * @param tle elements set
+         */
+        Entry(final String name, final TLE tle) {
+            this.name = name;
+            this.tle  = tle;
+        }
+
+        /** Get the object name.
+         * <p>
+         * The name is the line preceding the elements set, if it is neither
+         * empty nor a comment starting with '#', trimmed and without the "0 "
+         * prefix used by some catalogues.
+         * </p>
+         * @return object name, or null for bare two lines elements sets
+         */
+        public String getName() {
+            return name;
+        }
+
+        /** Get the elements set.
+         * @return elements set
+         */
+        public TLE getTLE() {
+            return tle;
+        }
+
+    }
+
+    /** Raw elements set, not decoded yet. */
+    private static class RawElements {
+
+        /** Name of the file. */
+        private final String name;
+
+        /** Number of the first line in the file. */
+        private final int lineNumber;
+
+        /** Line preceding the first line (null if none). */
+        private final String previous;
+
+        /** First line. */
+        private final String line1;
+
+        /** Second line. */
+        private final String line2;
+
+        /** Simple constructor.
+         * @param name name of the file
+         * @param lineNumber number of the first line in the file
+         * @param previous line preceding the first line (null if none)
+         * @param line1 first line
+         * @param line2 second line
+         */
+        RawElements(final String name, final int lineNumber, final String previous,
+                    final String line1, final String line2) {
+            this.name       = name;
+            this.lineNumber = lineNumber;
+            this.previous   = previous;
+            this.line1      = line1;
+            this.line2      = line2;
+        }
+
+        /** Decode the elements set.
+         * @param utc UTC time scale
+         * @return decoded entry
+         */
+        Entry build(final TimeScale utc) {
+            if (!TLE.LINE_1_PATTERN.matcher(line1).matches()) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                          lineNumber, name, line1);
+            }
+            if (!TLE.LINE_2_PATTERN.matcher(line2).matches()) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                          lineNumber + 1, name, line2);
+            }
+            // as lines match the patterns, this only checks the checksums,
+            // throwing an exception in case of mismatch
+            TLE.isFormatOK(line1, line2);
+            return new Entry(objectName(), new TLE(line1, line2, utc));
+        }
+
+        /** Extract the object name from the preceding line.
+         * @return object name, or null if there are no name
+         */
+        private String objectName() {
+            if (previous == null || previous.startsWith("#")) {
+                return null;
+            }
+            final String trimmed = previous.startsWith("0 ") ? previous.substring(2).trim() : previous.trim();
+            return trimmed.isEmpty() ? null : trimmed;
+        }
+
+    }
+
+    /** Spliterator pairing lines into raw elements sets. */
+    private static class RawElementsSpliterator extends Spliterators.AbstractSpliterator<RawElements> {
+
+        /** Reader for the lines. */
+        private final BufferedReader reader;
+
+        /** Name of the file. */
+        private final String name;
+
+        /** Number of the last line read. */
+        private int lineNumber;
+
+        /** Last line read that was not part of an elements set (null if none). */
+        private String previous;
+
+        /** Simple constructor.
+         * @param reader reader for the lines
+         * @param name name of the file
+         */
+        RawElementsSpliterator(final BufferedReader reader, final String name) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.reader     = reader;
+            this.name       = name;
+            this.lineNumber = 0;
+            this.previous   = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAdvance(final Consumer<? super RawElements> action) {
+            for (String line = nextLine(); line != null; line = nextLine()) {
+                if (isLine1(line)) {
+                    final int    number = lineNumber;
+                    final String line2  = nextLine();
+                    if (line2 == null) {
+                        throw new OrekitException(OrekitMessages.UNEXPECTED_END_OF_FILE_AFTER_LINE,
+                                                  name, number);
+                    }
+                    if (!isLine2(line2)) {
+                        throw new OrekitException(OrekitMessages.MISSING_SECOND_TLE_LINE, number, line);
+                    }
+                    action.accept(new RawElements(name, number, previous, line, line2));
+                    previous = null;
+                    return true;
+                } else if (isLine2(line)) {
+                    // second line without first line
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              lineNumber, name, line);
+                }
+                previous = line;
+            }
+            return false;
+        }
+
+        /** Get next line.
+         * @return next line, or null if end of file has been reached
+         */
+        private String nextLine() {
+            try {
+                final String line = reader.readLine();
+                if (line != null) {
+                    ++lineNumber;
+                }
+                return line;
+            } catch (IOException ioe) {
+                throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+            }
+        }
+
+    }
+
+}
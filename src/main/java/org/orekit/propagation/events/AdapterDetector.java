@@ -16,6 +16,8 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.ode.events.Action;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
@@ -73,6 +75,24 @@ public class AdapterDetector implements EventDetector {
         return detector.getMaxCheckInterval();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double getMaxGRate() {
+        return detector.getMaxGRate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+        return detector.getSolver();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventMetrics getMetrics() {
+        return detector.getMetrics();
+    }
+
     /** {@inheritDoc} */
     @Override
     public int getMaxIterationCount() {
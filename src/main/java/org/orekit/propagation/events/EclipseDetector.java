@@ -19,7 +19,9 @@ package org.orekit.propagation.events;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
+import org.orekit.bodies.EclipsePredictor;
 import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Transform;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnIncreasing;
@@ -50,6 +52,9 @@ import org.orekit.utils.PVCoordinatesProvider;
  */
 public class EclipseDetector extends AbstractDetector<EclipseDetector> {
 
+    /** Saturation value of the switching function when sharing an eclipse geometry service (rad). */
+    private static final double G_SATURATION = 0.01;
+
     /** Occulting body. */
     private final OneAxisEllipsoid occulting;
 
@@ -62,6 +67,9 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     /** Umbra, if true, or penumbra, if false, detection flag. */
     private final boolean totalEclipse;
 
+    /** Eclipse geometry service providing occulted body position (may be null). */
+    private final EclipsePredictor predictor;
+
     /** Build a new eclipse detector.
      * <p>The new instance is a total eclipse (umbra) detector with default
      * values for maximal checking interval ({@link #DEFAULT_MAXCHECK})
@@ -75,7 +83,32 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
                            final OneAxisEllipsoid occulting) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<EclipseDetector>(),
-             occulted, occultedRadius, occulting, true);
+             occulted, occultedRadius, occulting, true, null);
+    }
+
+    /** Build a new eclipse detector sharing an eclipse geometry service.
+     * <p>The new instance is a total eclipse (umbra) detector with default
+     * values for maximal checking interval ({@link #DEFAULT_MAXCHECK})
+     * and convergence threshold ({@link #DEFAULT_THRESHOLD}).</p>
+     * <p>The occulted body and its radius are retrieved from the predictor, which
+     * also provides the occulted body positions, thus avoiding recomputing them
+     * from ephemerides at each switching function evaluation. The occulting body
+     * shape is still the ellipsoid specified here, not the spherical model of
+     * the predictor.</p>
+     * <p>The switching function is then saturated far from the shadow boundaries,
+     * where the lighting conditions are known from the {@link
+     * EclipsePredictor#getPredictedLighting(org.orekit.utils.PVCoordinates,
+     * org.orekit.frames.Frame, org.orekit.time.AbsoluteDate, double, double)
+     * predicted cones crossings}, thus avoiding the occulting body limb
+     * computation. This does not change the events.</p>
+     * @param predictor eclipse geometry service
+     * @param occulting the occulting body
+     * @since 10.2
+     */
+    public EclipseDetector(final EclipsePredictor predictor, final OneAxisEllipsoid occulting) {
+        this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
+             new StopOnIncreasing<EclipseDetector>(),
+             predictor.getOcculted(), predictor.getOccultedRadius(), occulting, true, predictor);
     }
 
     /** Private constructor with full parameters.
@@ -92,17 +125,20 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      * @param occultedRadius the radius of the body to be occulted in meters
      * @param occulting the occulting body
      * @param totalEclipse umbra (true) or penumbra (false) detection flag
-     * @since 10.0
+     * @param predictor eclipse geometry service providing occulted body position (may be null)
+     * @since 10.2
      */
     private EclipseDetector(final double maxCheck, final double threshold,
                             final int maxIter, final EventHandler<? super EclipseDetector> handler,
                             final PVCoordinatesProvider occulted,  final double occultedRadius,
-                            final OneAxisEllipsoid occulting, final boolean totalEclipse) {
+                            final OneAxisEllipsoid occulting, final boolean totalEclipse,
+                            final EclipsePredictor predictor) {
         super(maxCheck, threshold, maxIter, handler);
         this.occulted       = occulted;
         this.occultedRadius = FastMath.abs(occultedRadius);
         this.occulting      = occulting;
         this.totalEclipse   = totalEclipse;
+        this.predictor      = predictor;
     }
 
     /** {@inheritDoc} */
@@ -110,7 +146,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     protected EclipseDetector create(final double newMaxCheck, final double newThreshold,
                                      final int nawMaxIter, final EventHandler<? super EclipseDetector> newHandler) {
         return new EclipseDetector(newMaxCheck, newThreshold, nawMaxIter, newHandler,
-                                   occulted, occultedRadius, occulting, totalEclipse);
+                                   occulted, occultedRadius, occulting, totalEclipse, predictor);
     }
 
     /**
@@ -124,7 +160,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      */
     public EclipseDetector withUmbra() {
         return new EclipseDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                   occulted, occultedRadius, occulting, true);
+                                   occulted, occultedRadius, occulting, true, predictor);
     }
 
     /**
@@ -138,7 +174,7 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      */
     public EclipseDetector withPenumbra() {
         return new EclipseDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                   occulted, occultedRadius, occulting, false);
+                                   occulted, occultedRadius, occulting, false, predictor);
     }
 
     /** Getter for the occulting body.
@@ -162,6 +198,15 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
         return occultedRadius;
     }
 
+    /** Get the eclipse geometry service.
+     * @return eclipse geometry service (null if occulted body positions
+     * are computed directly)
+     * @since 10.2
+     */
+    public EclipsePredictor getEclipsePredictor() {
+        return predictor;
+    }
+
     /** Get the total eclipse detection flag.
      * @return the total eclipse detection flag (true for umbra events detection,
      * false for penumbra events detection)
@@ -173,12 +218,53 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
     /** Compute the value of the switching function.
      * This function becomes negative when entering the region of shadow
      * and positive when exiting.
+     * <p>
+     * When an {@link #getEclipsePredictor() eclipse predictor} is shared,
+     * the function is saturated far from the shadow boundaries.
+     * </p>
      * @param s the current state information: date, kinematics, attitude
      * @return value of the switching function
      */
     public double g(final SpacecraftState s) {
-        final Vector3D pted  = occulted.getPVCoordinates(s.getDate(), occulting.getBodyFrame()).getPosition();
-        final Vector3D psat  = s.getPVCoordinates(occulting.getBodyFrame()).getPosition();
+
+        if (predictor == null) {
+            return offset(occulted.getPVCoordinates(s.getDate(), occulting.getBodyFrame()).getPosition(),
+                          s.getPVCoordinates(occulting.getBodyFrame()).getPosition());
+        }
+
+        // the predicted crossings use a spherical occulting body,
+        // take the difference with the ellipsoid into account
+        final double r     = s.getPVCoordinates().getPosition().getNorm();
+        final double outer = FastMath.max(predictor.getOccultingRadius(), occulting.getEquatorialRadius());
+        final double inner = FastMath.min(predictor.getOccultingRadius(),
+                                          occulting.getEquatorialRadius() * (1 - occulting.getFlattening()));
+        if (r > outer) {
+            final double margin = G_SATURATION + (outer - inner) / FastMath.sqrt((r - outer) * (r + outer));
+            switch (predictor.getPredictedLighting(s.getPVCoordinates(), s.getFrame(), s.getDate(),
+                                                   s.getMu(), margin)) {
+                case LIT :
+                    return G_SATURATION;
+                case UMBRA :
+                    return -G_SATURATION;
+                default :
+                    // we are close to the shadow boundaries, we need to compute the geometry
+            }
+        }
+
+        // use the same transform for both occulted body and spacecraft
+        final Transform toBody = s.getFrame().getTransformTo(occulting.getBodyFrame(), s.getDate());
+        final double    g      = offset(toBody.transformPosition(predictor.getOccultedPosition(s.getDate(), s.getFrame())),
+                                        toBody.transformPosition(s.getPVCoordinates().getPosition()));
+        return FastMath.max(-G_SATURATION, FastMath.min(G_SATURATION, g));
+
+    }
+
+    /** Compute the angular offset with respect to the shadow boundary.
+     * @param pted occulted body position in occulting body frame
+     * @param psat spacecraft position in occulting body frame
+     * @return angular offset (negative in shadow)
+     */
+    private double offset(final Vector3D pted, final Vector3D psat) {
         final Vector3D plimb = occulting.pointOnLimb(psat, pted);
         final Vector3D ps    = psat.subtract(pted);
         final Vector3D pi    = psat.subtract(plimb);
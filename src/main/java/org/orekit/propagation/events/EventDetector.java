@@ -16,6 +16,9 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
 import org.hipparchus.ode.events.Action;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
@@ -80,6 +83,66 @@ public interface EventDetector {
      */
     double getMaxCheckInterval();
 
+    /** Get the upper bound of the switching function variation rate.
+     * <p>
+     * If the rate of change of the switching function is known to be bounded
+     * by some constant \(\dot{g}_{max}\), then the switching function cannot
+     * vanish before \(|g(t)| / \dot{g}_{max}\) has elapsed since time \(t\).
+     * The {@link EventState event state} uses this property to skip switching
+     * function checks and root finding when the detector is far from its event,
+     * even with a small {@link #getMaxCheckInterval() maximal checking interval}.
+     * The maximal checking interval is then only used as the smallest interval
+     * between checks when the switching function is close to zero.
+     * </p>
+     * <p>
+     * The bound must hold for all states that can be encountered during propagation,
+     * otherwise events may be missed. The default implementation returns
+     * {@code Double.POSITIVE_INFINITY}, which disables events skipping.
+     * </p>
+     * @return upper bound of |dg/dt|, in switching function units per second
+     * @since 10.2
+     */
+    default double getMaxGRate() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /** Get the root solver to use for locating events.
+     * <p>
+     * The solver is retrieved once when the detector is set up and then
+     * reused for all root searches. Analytical propagators and ephemerides
+     * retrieve it when the detector is {@link
+     * org.orekit.propagation.Propagator#addEventDetector(EventDetector) added},
+     * integration-based propagators retrieve it at the start of each propagation.
+     * It may therefore be a costly object, but it must not be shared with other
+     * detectors that could be used in parallel propagations. Its absolute
+     * accuracy should be consistent with the {@link #getThreshold() convergence
+     * threshold}, its maximal number of evaluations is set by {@link
+     * #getMaxIterationCount()}.
+     * </p>
+     * <p>
+     * The default implementation returns a new 5th order {@link
+     * BracketingNthOrderBrentSolver} with absolute accuracy set to the
+     * convergence threshold.
+     * </p>
+     * @return root solver to use for locating events
+     * @since 10.2
+     */
+    default BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+        return new BracketingNthOrderBrentSolver(0, getThreshold(), 0, 5);
+    }
+
+    /** Get the metrics to notify about events detection.
+     * <p>
+     * The default implementation returns null, which disables metrics gathering.
+     * </p>
+     * @return metrics to notify about events detection (may be null)
+     * @see EventStatistics
+     * @since 10.2
+     */
+    default EventMetrics getMetrics() {
+        return null;
+    }
+
     /** Get maximal number of iterations in the event time search.
      * @return maximal number of iterations in the event time search
      */
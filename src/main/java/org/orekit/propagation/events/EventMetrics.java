@@ -0,0 +1,74 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+/** Interface for gathering metrics about events detection.
+ * <p>
+ * An instance of this interface can be associated with an {@link EventDetector
+ * event detector} by overriding its {@link EventDetector#getMetrics() getMetrics}
+ * method. It is then notified by the {@link EventState event state} each time
+ * a propagation step has been checked for events and each time a root search
+ * has been performed. This is intended to help tuning the {@link
+ * EventDetector#getMaxCheckInterval() maximal checking interval} and the
+ * {@link EventDetector#getThreshold() convergence threshold} of detectors
+ * in operational contexts.
+ * </p>
+ * <p>
+ * Analytical propagators and ephemerides notify metrics from their {@link
+ * EventState event state}. Integration-based propagators delegate events
+ * handling to the underlying Hipparchus integrator, so they notify metrics
+ * from the wrapper around the detector and its solver: step notifications
+ * are sent when the integrator hands the step over to step handlers and
+ * elapsed times only cover switching function evaluations. As the integrator
+ * does not report sign changes that turn out to be spurious, each root search
+ * is reported as one notification per solver call, always flagged as found.
+ * </p>
+ * <p>
+ * Root searches are characterized by the number of switching function
+ * evaluations they need, which is what drives their cost. The number of
+ * iterations of the underlying solver is not reported, as Hipparchus
+ * solvers only expose evaluations counts.
+ * </p>
+ * <p>
+ * Metrics are notified from the propagation thread, so implementations shared
+ * among several propagators running in parallel must be thread-safe.
+ * </p>
+ * @see EventStatistics
+ * @author agent
+ * @since 10.2
+ */
+public interface EventMetrics {
+
+    /** Notify that a step has been checked for events.
+     * <p>
+     * The counts and time spent include the root searches that were
+     * triggered during the check, if any.
+     * </p>
+     * @param gEvaluations number of switching function evaluations
+     * @param elapsed time spent checking the step (ns)
+     */
+    void stepChecked(int gEvaluations, long elapsed);
+
+    /** Notify that a root search has been performed.
+     * @param gEvaluations number of switching function evaluations
+     * @param elapsed time spent in the root search (ns)
+     * @param found if true, a root was found, otherwise the sign change
+     * was spurious and the search gave up
+     */
+    void rootSearched(int gEvaluations, long elapsed, boolean found);
+
+}
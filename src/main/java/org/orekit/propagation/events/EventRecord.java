@@ -0,0 +1,108 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Compact record of an event occurrence.
+ * <p>
+ * Contrary to {@link EventsLogger.LoggedEvent}, this record retains
+ * neither the triggering {@link org.orekit.propagation.SpacecraftState
+ * spacecraft state} nor the detector itself, but only a detector identifier
+ * and a few selected values extracted from the state. It is intended to be
+ * streamed out during propagation by {@link StreamingEventsLogger}.
+ * </p>
+ * @see StreamingEventsLogger
+ * @see EventRecordSink
+ * @author agent
+ * @since 10.2
+ */
+public class EventRecord implements TimeStamped {
+
+    /** Event date. */
+    private final AbsoluteDate date;
+
+    /** Identifier of the detector that triggered the event. */
+    private final String detectorId;
+
+    /** Increasing/decreasing status. */
+    private final boolean increasing;
+
+    /** Values extracted from the triggering state. */
+    private final double[] values;
+
+    /** Simple constructor.
+     * @param date event date
+     * @param detectorId identifier of the detector that triggered the event
+     * @param increasing indicator if the event switching function was increasing
+     * or decreasing at event occurrence date
+     * @param values values extracted from the triggering state (the array is stored
+     * as is, it is <em>not</em> copied)
+     */
+    public EventRecord(final AbsoluteDate date, final String detectorId,
+                       final boolean increasing, final double... values) {
+        this.date       = date;
+        this.detectorId = detectorId;
+        this.increasing = increasing;
+        this.values     = values;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getDate() {
+        return date;
+    }
+
+    /** Get the identifier of the detector that triggered the event.
+     * @return identifier of the detector that triggered the event
+     */
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    /** Get the Increasing/decreasing status of the event.
+     * @return increasing/decreasing status of the event
+     */
+    public boolean isIncreasing() {
+        return increasing;
+    }
+
+    /** Get the number of values extracted from the triggering state.
+     * @return number of values extracted from the triggering state
+     */
+    public int getValuesCount() {
+        return values.length;
+    }
+
+    /** Get one value extracted from the triggering state.
+     * @param index index of the value (in the order of the fields
+     * specified to the {@link StreamingEventsLogger})
+     * @return value extracted from the triggering state
+     */
+    public double getValue(final int index) {
+        return values[index];
+    }
+
+    /** Get the values extracted from the triggering state.
+     * @return copy of the values extracted from the triggering state
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+}
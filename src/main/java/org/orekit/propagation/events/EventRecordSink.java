@@ -0,0 +1,53 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.io.IOException;
+
+/** Destination for {@link EventRecord event records} streamed by {@link StreamingEventsLogger}.
+ * <p>
+ * Sinks are called from a single background thread, in the order the events
+ * were logged, so implementations do not need to be thread-safe with respect
+ * to the logger. A sink may be a file writer (see {@link EventRecordWriter}),
+ * a queue consumed by another part of the application, a database connection...
+ * </p>
+ * @see StreamingEventsLogger
+ * @author agent
+ * @since 10.2
+ */
+@FunctionalInterface
+public interface EventRecordSink {
+
+    /** Consume one event record.
+     * @param record event record to consume
+     * @exception IOException if record cannot be consumed
+     */
+    void accept(EventRecord record) throws IOException;
+
+    /** Flush pending records.
+     * <p>
+     * This method is called once when the {@link StreamingEventsLogger logger}
+     * is {@link StreamingEventsLogger#close() closed}, after all records have
+     * been consumed. The default implementation does nothing.
+     * </p>
+     * @exception IOException if records cannot be flushed
+     */
+    default void flush() throws IOException {
+        // nothing by default
+    }
+
+}
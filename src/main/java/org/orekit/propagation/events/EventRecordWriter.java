@@ -0,0 +1,81 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+import org.orekit.time.TimeScale;
+
+/** {@link EventRecordSink Sink} writing event records as text lines.
+ * <p>
+ * Each record is written on one line, with space-separated fields: event
+ * date in the specified time scale, detector identifier, {@code true}/{@code false}
+ * for increasing/decreasing events, and the values extracted from the state.
+ * </p>
+ * <p>
+ * The underlying output is flushed (if it is {@link Flushable}) when the logger
+ * is closed, but it is not closed, this remains the responsibility of the caller.
+ * </p>
+ * @see StreamingEventsLogger
+ * @author agent
+ * @since 10.2
+ */
+public class EventRecordWriter implements EventRecordSink {
+
+    /** Fields separator. */
+    private static final char SEPARATOR = ' ';
+
+    /** New line separator for output file. */
+    private static final char NEW_LINE = '\n';
+
+    /** Output. */
+    private final Appendable output;
+
+    /** Time scale for dates. */
+    private final TimeScale timeScale;
+
+    /** Simple constructor.
+     * @param output output where records should be written
+     * @param timeScale time scale for dates
+     */
+    public EventRecordWriter(final Appendable output, final TimeScale timeScale) {
+        this.output    = output;
+        this.timeScale = timeScale;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void accept(final EventRecord record) throws IOException {
+        output.append(record.getDate().toString(timeScale));
+        output.append(SEPARATOR).append(record.getDetectorId());
+        output.append(SEPARATOR).append(Boolean.toString(record.isIncreasing()));
+        for (int i = 0; i < record.getValuesCount(); ++i) {
+            output.append(SEPARATOR).append(Double.toString(record.getValue(i)));
+        }
+        output.append(NEW_LINE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
 import org.orekit.propagation.SpacecraftState;
@@ -141,6 +143,30 @@ public class EventShifter<T extends EventDetector> extends AbstractDetector<Even
                FastMath.max(incShiftedG, decShiftedG) : FastMath.min(incShiftedG, decShiftedG);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The extremum of two time-shifted versions of the raw switching
+     * function has the same variation rate bound as the raw function.
+     * </p>
+     * @since 10.2
+     */
+    @Override
+    public double getMaxGRate() {
+        return detector.getMaxGRate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+        return detector.getSolver();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventMetrics getMetrics() {
+        return detector.getMetrics();
+    }
+
     /** Local class for handling events. */
     private static class LocalHandler<T extends EventDetector> implements EventHandler<EventShifter<T>> {
 
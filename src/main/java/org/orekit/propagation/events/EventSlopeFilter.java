@@ -19,6 +19,8 @@ package org.orekit.propagation.events;
 
 import java.util.Arrays;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.ode.events.Action;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
@@ -230,6 +232,31 @@ public class EventSlopeFilter<T extends EventDetector> extends AbstractDetector<
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The filtered switching function is built from the raw function, its
+     * opposite and its absolute value, so it has the same variation rate bound
+     * as the raw function.
+     * </p>
+     * @since 10.2
+     */
+    @Override
+    public double getMaxGRate() {
+        return rawDetector.getMaxGRate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+        return rawDetector.getSolver();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventMetrics getMetrics() {
+        return rawDetector.getMetrics();
+    }
+
     /** Local handler. */
     private static class LocalHandler<T extends EventDetector> implements EventHandler<EventSlopeFilter<T>> {
 
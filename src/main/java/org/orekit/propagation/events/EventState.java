@@ -19,7 +19,6 @@ package org.orekit.propagation.events;
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.analysis.solvers.BracketedUnivariateSolver.Interval;
-import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
@@ -95,11 +94,27 @@ public class EventState<T extends EventDetector> {
      */
     private boolean increasing;
 
+    /** Root solver, reused for all searches. */
+    private final BracketedUnivariateSolver<UnivariateFunction> solver;
+
+    /** Switching function as a function of time offset, reused for all searches. */
+    private final OffsetFunction offsetFunction;
+
+    /** Metrics to notify (may be null). */
+    private final EventMetrics metrics;
+
+    /** Number of switching function evaluations. */
+    private int evaluations;
+
     /** Simple constructor.
      * @param detector monitored event detector
      */
     public EventState(final T detector) {
-        this.detector     = detector;
+        this.detector       = detector;
+        this.solver         = detector.getSolver();
+        this.offsetFunction = new OffsetFunction();
+        this.metrics        = detector.getMetrics();
+        this.evaluations    = 0;
 
         // some dummy values ...
         lastT                  = AbsoluteDate.PAST_INFINITY;
@@ -151,6 +166,7 @@ public class EventState<T extends EventDetector> {
         if (!s.getDate().equals(lastT)) {
             lastT = s.getDate();
             lastG = detector.g(s);
+            ++evaluations;
         }
         return lastG;
     }
@@ -190,6 +206,28 @@ public class EventState<T extends EventDetector> {
      */
     public boolean evaluateStep(final OrekitStepInterpolator interpolator)
         throws MathRuntimeException {
+        if (metrics == null) {
+            return checkStep(interpolator);
+        } else {
+            final long start  = System.nanoTime();
+            final int  before = evaluations;
+            try {
+                return checkStep(interpolator);
+            } finally {
+                metrics.stepChecked(evaluations - before, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** Check the proposed step for events.
+     * @param interpolator step interpolator for the proposed step
+     * @return true if the event detector triggers an event before
+     * the end of the proposed step (this implies the step should be
+     * rejected)
+     * @exception MathRuntimeException if an event cannot be located
+     */
+    private boolean checkStep(final OrekitStepInterpolator interpolator)
+        throws MathRuntimeException {
 
         forward = interpolator.isForward();
         final SpacecraftState s1 = interpolator.getCurrentState();
@@ -199,6 +237,14 @@ public class EventState<T extends EventDetector> {
             // we cannot do anything on such a small step, don't trigger any events
             return false;
         }
+
+        final double maxGRate = detector.getMaxGRate();
+        if (maxGRate < Double.POSITIVE_INFINITY) {
+            // the detector knows how fast its g function can change,
+            // we can skip checks when we are far from any event
+            return evaluateStepSkipping(interpolator, t1, maxGRate);
+        }
+
         // number of points to check in the current step
         final int n = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / detector.getMaxCheckInterval()));
         final double h = dt / n;
@@ -233,6 +279,76 @@ public class EventState<T extends EventDetector> {
 
     }
 
+    /** Evaluate the impact of the proposed step on a detector with bounded g function rate.
+     * <p>
+     * The switching function cannot vanish before |g(t)| / maxGRate has elapsed
+     * since t, so the checks are spread accordingly, using the maximum checking
+     * interval only as the smallest interval between checks. When the distance
+     * to the closest possible event is larger than the remaining part of the step,
+     * the step is accepted without even evaluating the switching function at step end.
+     * </p>
+     * @param interpolator step interpolator for the proposed step
+     * @param t1 end of the proposed step
+     * @param maxGRate upper bound of |dg/dt|
+     * @return true if the event detector triggers an event before
+     * the end of the proposed step (this implies the step should be
+     * rejected)
+     * @exception MathRuntimeException if an event cannot be located
+     */
+    private boolean evaluateStepSkipping(final OrekitStepInterpolator interpolator,
+                                         final AbsoluteDate t1, final double maxGRate)
+        throws MathRuntimeException {
+
+        // last checked point
+        AbsoluteDate tc = t0;
+        double gc = g0;
+
+        // last checked point without sign change
+        AbsoluteDate ta = t0;
+        double ga = g0;
+
+        while (true) {
+
+            final double remaining = FastMath.abs(t1.durationFrom(tc));
+            final double skip      = FastMath.abs(gc) / maxGRate;
+            if (skip >= remaining) {
+                // no event can occur in the remaining part of the step
+                break;
+            }
+
+            // evaluate handler value at next check point
+            final double       interval = FastMath.max(skip, detector.getMaxCheckInterval());
+            final boolean      last     = interval >= remaining;
+            final AbsoluteDate tb       = last ? t1 : tc.shiftedBy(forward ? interval : -interval);
+            final double       gb       = g(interpolator.getInterpolatedState(tb));
+
+            // check events occurrence
+            if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
+                // there is a sign change: an event is expected during this step
+                if (findRoot(interpolator, ta, ga, tb, gb)) {
+                    return true;
+                }
+            } else {
+                // no sign change: there is no event for now
+                ta = tb;
+                ga = gb;
+            }
+
+            if (last) {
+                break;
+            }
+            tc = tb;
+            gc = gb;
+
+        }
+
+        // no event during the whole step
+        pendingEvent     = false;
+        pendingEventTime = null;
+        return false;
+
+    }
+
     /**
      * Find a root in a bracketing interval.
      *
@@ -249,13 +365,42 @@ public class EventState<T extends EventDetector> {
     private boolean findRoot(final OrekitStepInterpolator interpolator,
                              final AbsoluteDate ta, final double ga,
                              final AbsoluteDate tb, final double gb) {
+        if (metrics == null) {
+            return searchRoot(interpolator, ta, ga, tb, gb);
+        } else {
+            final long start  = System.nanoTime();
+            final int  before = evaluations;
+            boolean found     = false;
+            try {
+                found = searchRoot(interpolator, ta, ga, tb, gb);
+                return found;
+            } finally {
+                metrics.rootSearched(evaluations - before, System.nanoTime() - start, found);
+            }
+        }
+    }
+
+    /**
+     * Search a root in a bracketing interval.
+     *
+     * <p> When calling this method one of the following must be true. Either ga == 0, gb
+     * == 0, (ga < 0  and gb > 0), or (ga > 0 and gb < 0).
+     *
+     * @param interpolator that covers the interval.
+     * @param ta           earliest possible time for root.
+     * @param ga           g(ta).
+     * @param tb           latest possible time for root.
+     * @param gb           g(tb).
+     * @return if a zero crossing was found.
+     */
+    private boolean searchRoot(final OrekitStepInterpolator interpolator,
+                               final AbsoluteDate ta, final double ga,
+                               final AbsoluteDate tb, final double gb) {
         // check there appears to be a root in [ta, tb]
         check(ga == 0.0 || gb == 0.0 || (ga > 0.0 && gb < 0.0) || (ga < 0.0 && gb > 0.0));
 
         final double convergence = detector.getThreshold();
         final int maxIterationCount = detector.getMaxIterationCount();
-        final BracketedUnivariateSolver<UnivariateFunction> solver =
-                new BracketingNthOrderBrentSolver(0, convergence, 0, 5);
 
         // event time, just at or before the actual root.
         AbsoluteDate beforeRootT = null;
@@ -308,11 +453,9 @@ public class EventState<T extends EventDetector> {
                 afterRootG = g(interpolator.getInterpolatedState(afterRootT));
             } else {
                 // both non-zero, the usual case, use a root finder.
-                // time zero for evaluating the function f. Needs to be final
+                // time zero for evaluating the function f
                 final AbsoluteDate fT0 = loopT;
-                final UnivariateFunction f = dt -> {
-                    return g(interpolator.getInterpolatedState(fT0.shiftedBy(dt)));
-                };
+                final UnivariateFunction f = offsetFunction.reset(interpolator, fT0);
                 // tb as a double for use in f
                 final double tbDouble = tb.durationFrom(fT0);
                 if (forward) {
@@ -544,6 +687,40 @@ public class EventState<T extends EventDetector> {
         }
     }
 
+    /** Switching function as a function of time offset with respect to a reference date.
+     * <p>
+     * A single instance is reset before each root search, thus avoiding creating
+     * new lambda wrappers for each search.
+     * </p>
+     */
+    private class OffsetFunction implements UnivariateFunction {
+
+        /** Interpolator for the current step. */
+        private OrekitStepInterpolator interpolator;
+
+        /** Reference date. */
+        private AbsoluteDate reference;
+
+        /** Reset the function.
+         * @param stepInterpolator interpolator for the current step
+         * @param referenceDate reference date
+         * @return the instance itself, for convenience
+         */
+        public OffsetFunction reset(final OrekitStepInterpolator stepInterpolator,
+                                    final AbsoluteDate referenceDate) {
+            this.interpolator = stepInterpolator;
+            this.reference    = referenceDate;
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double value(final double dt) {
+            return g(interpolator.getInterpolatedState(reference.shiftedBy(dt)));
+        }
+
+    }
+
     /**
      * Class to hold the data related to an event occurrence that is needed to decide how
      * to modify integration.
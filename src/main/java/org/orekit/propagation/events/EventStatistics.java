@@ -0,0 +1,150 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+/** Simple {@link EventMetrics metrics} implementation accumulating counters.
+ * <p>
+ * This class is <em>not</em> thread-safe, one instance should be used for
+ * each propagator.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class EventStatistics implements EventMetrics {
+
+    /** Conversion factor from nanoseconds to seconds. */
+    private static final double NS_TO_S = 1.0e-9;
+
+    /** Number of checked steps. */
+    private long checkedSteps;
+
+    /** Number of switching function evaluations during steps checks. */
+    private long stepsEvaluations;
+
+    /** Time spent checking steps (ns). */
+    private long stepsTime;
+
+    /** Number of root searches. */
+    private long rootSearches;
+
+    /** Number of roots found. */
+    private long rootsFound;
+
+    /** Number of switching function evaluations during root searches. */
+    private long rootsEvaluations;
+
+    /** Time spent searching roots (ns). */
+    private long rootsTime;
+
+    /** Simple constructor.
+     * <p>
+     * All counters are initialized to zero.
+     * </p>
+     */
+    public EventStatistics() {
+        reset();
+    }
+
+    /** Reset all counters to zero.
+     */
+    public void reset() {
+        checkedSteps     = 0;
+        stepsEvaluations = 0;
+        stepsTime        = 0;
+        rootSearches     = 0;
+        rootsFound       = 0;
+        rootsEvaluations = 0;
+        rootsTime        = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void stepChecked(final int gEvaluations, final long elapsed) {
+        ++checkedSteps;
+        stepsEvaluations += gEvaluations;
+        stepsTime        += elapsed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void rootSearched(final int gEvaluations, final long elapsed, final boolean found) {
+        ++rootSearches;
+        if (found) {
+            ++rootsFound;
+        }
+        rootsEvaluations += gEvaluations;
+        rootsTime        += elapsed;
+    }
+
+    /** Get the number of checked steps.
+     * @return number of checked steps
+     */
+    public long getCheckedSteps() {
+        return checkedSteps;
+    }
+
+    /** Get the number of switching function evaluations during steps checks.
+     * <p>
+     * This count includes the evaluations performed by root searches
+     * triggered during steps checks.
+     * </p>
+     * @return number of switching function evaluations during steps checks
+     */
+    public long getStepsEvaluations() {
+        return stepsEvaluations;
+    }
+
+    /** Get the time spent checking steps.
+     * <p>
+     * This time includes the root searches triggered during steps checks.
+     * </p>
+     * @return time spent checking steps (s)
+     */
+    public double getStepsTime() {
+        return NS_TO_S * stepsTime;
+    }
+
+    /** Get the number of root searches.
+     * @return number of root searches
+     */
+    public long getRootSearches() {
+        return rootSearches;
+    }
+
+    /** Get the number of roots found.
+     * @return number of roots found (may be lower than {@link #getRootSearches()}
+     * if some sign changes were spurious)
+     */
+    public long getRootsFound() {
+        return rootsFound;
+    }
+
+    /** Get the number of switching function evaluations during root searches.
+     * @return number of switching function evaluations during root searches
+     */
+    public long getRootsEvaluations() {
+        return rootsEvaluations;
+    }
+
+    /** Get the time spent searching roots.
+     * @return time spent searching roots (s)
+     */
+    public double getRootsTime() {
+        return NS_TO_S * rootsTime;
+    }
+
+}
@@ -19,6 +19,8 @@ package org.orekit.propagation.events;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.ode.events.Action;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
@@ -214,6 +216,24 @@ public class EventsLogger {
             return detector.g(s);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public double getMaxGRate() {
+            return detector.getMaxGRate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return detector.getSolver();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public EventMetrics getMetrics() {
+            return detector.getMetrics();
+        }
+
     }
 
     /** Local class for handling events.
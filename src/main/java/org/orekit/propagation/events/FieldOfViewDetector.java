@@ -16,7 +16,10 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
 import org.orekit.geometry.fov.FieldOfView;
@@ -40,6 +43,9 @@ import org.orekit.utils.PVCoordinatesProvider;
  */
 public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
 
+    /** Saturation value of the g function far from the Field Of View (rad). */
+    private static final double G_SATURATION = 0.5;
+
     /** Position/velocity provider of the considered target. */
     private final PVCoordinatesProvider targetPVProvider;
 
@@ -52,6 +58,12 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
     /** Field of view. */
     private final FieldOfView fov;
 
+    /** Upper bound of line of sight angular rate in spacecraft frame (rad/s). */
+    private final double maxAngularRate;
+
+    /** Cap enclosing the Field Of View. */
+    private final EnclosingBall<Sphere2D, S2Point> cap;
+
     /** Build a new instance.
      * <p>The maximal interval between distance to FOV boundary checks should
      * be smaller than the half duration of the minimal pass to handle,
@@ -91,7 +103,7 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
                                final VisibilityTrigger trigger, final FieldOfView fov) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<FieldOfViewDetector>(),
-             pvTarget, radiusTarget, trigger, fov);
+             pvTarget, radiusTarget, trigger, fov, Double.POSITIVE_INFINITY);
     }
 
     /** Build a new instance.
@@ -110,7 +122,7 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
                                final VisibilityTrigger trigger, final org.orekit.propagation.events.FieldOfView fov) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<FieldOfViewDetector>(),
-             pvTarget, radiusTarget, trigger, fov);
+             pvTarget, radiusTarget, trigger, fov, Double.POSITIVE_INFINITY);
     }
 
     /** Private constructor with full parameters.
@@ -127,16 +139,20 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
      * @param radiusTarget radius of the target, considered to be a spherical body (m)
      * @param trigger visibility trigger for spherical bodies
      * @param fov Field Of View
+     * @param maxAngularRate upper bound of line of sight angular rate in spacecraft frame (rad/s)
      */
     private FieldOfViewDetector(final double maxCheck, final double threshold, final int maxIter,
                                 final EventHandler<? super FieldOfViewDetector> handler,
                                 final PVCoordinatesProvider pvTarget, final double radiusTarget,
-                                final VisibilityTrigger trigger, final FieldOfView fov) {
+                                final VisibilityTrigger trigger, final FieldOfView fov,
+                                final double maxAngularRate) {
         super(maxCheck, threshold, maxIter, handler);
         this.targetPVProvider = pvTarget;
         this.radiusTarget     = radiusTarget;
         this.trigger          = trigger;
         this.fov              = fov;
+        this.maxAngularRate   = maxAngularRate;
+        this.cap              = fov.getEnclosingCap();
     }
 
     /** {@inheritDoc} */
@@ -145,7 +161,43 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
                                          final int newMaxIter,
                                          final EventHandler<? super FieldOfViewDetector> newHandler) {
         return new FieldOfViewDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
-                                       targetPVProvider, radiusTarget, trigger, fov);
+                                       targetPVProvider, radiusTarget, trigger, fov, maxAngularRate);
+    }
+
+    /**
+     * Setup an upper bound for the line of sight angular rate, enabling events skipping.
+     * <p>
+     * When this bound is set, the g function value is known to vary slowly enough
+     * that checks can be skipped as long as the target is far from the Field Of
+     * View boundary, so whole integration steps can be accepted without any root
+     * finding. The {@link #getMaxCheckInterval() maximum checking interval} is then
+     * only used close to the boundary and can be set to a small value without
+     * significant performance penalty. The bound must include the angular rate of
+     * the spacecraft attitude, the apparent angular rate of the target as seen
+     * from the spacecraft and the rate of change of the target angular radius.
+     * For a spacecraft pointing to Earth center and looking at the Sun, twice the
+     * orbital mean motion is a safe choice.
+     * </p>
+     * @param newMaxAngularRate upper bound of line of sight angular rate in spacecraft
+     * frame (rad/s), {@code Double.POSITIVE_INFINITY} disables events skipping
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @since 10.2
+     */
+    public FieldOfViewDetector withMaxAngularRate(final double newMaxAngularRate) {
+        return new FieldOfViewDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                       targetPVProvider, radiusTarget, trigger, fov, newMaxAngularRate);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The g function being an angle, its rate is bounded by the
+     * {@link #withMaxAngularRate(double) maximum angular rate}.
+     * </p>
+     * @since 10.2
+     */
+    @Override
+    public double getMaxGRate() {
+        return maxAngularRate;
     }
 
     /** Get the position/velocity provider of the target .
@@ -191,6 +243,13 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
      * View, a decreasing event is generated, and when the target leaves
      * the Field Of View, an increasing event is generated.
      * </p>
+     * <p>
+     * The value is saturated to a fixed positive value far from the Field Of View.
+     * This keeps the function continuous and its rate bounded, and allows to use
+     * the angular distance to the {@link FieldOfView#getEnclosingCap() cap enclosing
+     * the Field Of View}, which is a lower bound of the offset, to avoid the potentially
+     * expensive boundary computation when the saturation is reached anyway.
+     * </p>
      */
     public double g(final SpacecraftState s) {
 
@@ -200,7 +259,15 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
         final Vector3D lineOfSightSC = s.toTransform().transformPosition(targetPosInert);
 
         final double angularRadius = FastMath.asin(radiusTarget / lineOfSightSC.getNorm());
-        return fov.offsetFromBoundary(lineOfSightSC, angularRadius, trigger);
+
+        // filter out targets far away from the Field Of View using only the enclosing cap
+        final double lowerBound = Vector3D.angle(cap.getCenter().getVector(), lineOfSightSC) - cap.getRadius() +
+                                  trigger.radiusCorrection(angularRadius) - fov.getMargin();
+        if (lowerBound >= G_SATURATION) {
+            return G_SATURATION;
+        }
+
+        return FastMath.min(fov.offsetFromBoundary(lineOfSightSC, angularRadius, trigger), G_SATURATION);
 
     }
 
@@ -16,8 +16,12 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.ode.events.Action;
+import org.hipparchus.util.FastMath;
 import org.orekit.frames.Frame;
 import org.orekit.geometry.fov.FieldOfView;
 import org.orekit.propagation.SpacecraftState;
@@ -45,12 +49,21 @@ import org.orekit.propagation.events.handlers.StopOnIncreasing;
  */
 public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfViewDetector> {
 
+    /** Saturation value of the g function far from the Field Of View (rad). */
+    private static final double G_SATURATION = 0.5;
+
     /** the reference frame attached to the sensor. */
     private final Frame frame;
 
     /** Field of view of the sensor. */
     private final FieldOfView fov;
 
+    /** Upper bound of line of sight angular rate in sensor frame (rad/s). */
+    private final double maxAngularRate;
+
+    /** Cap enclosing the Field Of View. */
+    private final EnclosingBall<Sphere2D, S2Point> cap;
+
     /**
      * Build a new instance.
      *
@@ -67,7 +80,7 @@ public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfVie
                                      final org.orekit.propagation.events.FieldOfView fov) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
                 new StopOnIncreasing<GroundFieldOfViewDetector>(),
-                frame, fov);
+                frame, fov, Double.POSITIVE_INFINITY);
     }
 
     /**
@@ -85,7 +98,7 @@ public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfVie
                                      final FieldOfView fov) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
                 new StopOnIncreasing<GroundFieldOfViewDetector>(),
-                frame, fov);
+                frame, fov, Double.POSITIVE_INFINITY);
     }
 
     /**
@@ -101,16 +114,20 @@ public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfVie
      * @param handler   event handler to call at event occurrences
      * @param frame     the reference frame attached to the sensor.
      * @param fov       Field Of View of the sensor.
+     * @param maxAngularRate upper bound of line of sight angular rate in sensor frame (rad/s)
      */
     private GroundFieldOfViewDetector(final double maxCheck,
                                       final double threshold,
                                       final int maxIter,
                                       final EventHandler<? super GroundFieldOfViewDetector> handler,
                                       final Frame frame,
-                                      final FieldOfView fov) {
+                                      final FieldOfView fov,
+                                      final double maxAngularRate) {
         super(maxCheck, threshold, maxIter, handler);
         this.frame = frame;
         this.fov = fov;
+        this.maxAngularRate = maxAngularRate;
+        this.cap            = fov.getEnclosingCap();
     }
 
     /** {@inheritDoc} */
@@ -120,7 +137,40 @@ public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfVie
                                                final int newMaxIter,
                                                final EventHandler<? super GroundFieldOfViewDetector> newHandler) {
         return new GroundFieldOfViewDetector(newMaxCheck, newThreshold,
-                newMaxIter, newHandler, this.frame, this.fov);
+                newMaxIter, newHandler, this.frame, this.fov, this.maxAngularRate);
+    }
+
+    /**
+     * Setup an upper bound for the line of sight angular rate, enabling events skipping.
+     * <p>
+     * When this bound is set, the g function value is known to vary slowly enough
+     * that checks can be skipped as long as the spacecraft is far from the Field Of
+     * View boundary, so whole integration steps can be accepted without any root
+     * finding. The {@link #getMaxCheckInterval() maximum checking interval} is then
+     * only used close to the boundary. For a sensor on ground looking at a low Earth
+     * orbit spacecraft, the spacecraft velocity divided by its altitude is a safe
+     * choice, if the sensor frame is not moving with respect to the Earth.
+     * </p>
+     * @param newMaxAngularRate upper bound of line of sight angular rate in sensor
+     * frame (rad/s), {@code Double.POSITIVE_INFINITY} disables events skipping
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @since 10.2
+     */
+    public GroundFieldOfViewDetector withMaxAngularRate(final double newMaxAngularRate) {
+        return new GroundFieldOfViewDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(),
+                                             getHandler(), this.frame, this.fov, newMaxAngularRate);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The g function being an angle, its rate is bounded by the
+     * {@link #withMaxAngularRate(double) maximum angular rate}.
+     * </p>
+     * @since 10.2
+     */
+    @Override
+    public double getMaxGRate() {
+        return maxAngularRate;
     }
 
     /**
@@ -165,12 +215,26 @@ public class GroundFieldOfViewDetector extends AbstractDetector<GroundFieldOfVie
      * <p> As per the previous definition, when the satellite enters the Field
      * Of View, a decreasing event is generated, and when the satellite leaves
      * the Field Of View, an increasing event is generated. </p>
+     *
+     * <p> The value is saturated to a fixed positive value far from the Field Of View.
+     * This keeps the function continuous and its rate bounded, and allows to use
+     * the angular distance to the {@link FieldOfView#getEnclosingCap() cap enclosing
+     * the Field Of View}, which is a lower bound of the offset, to avoid the potentially
+     * expensive boundary computation when the saturation is reached anyway. </p>
      */
     public double g(final SpacecraftState s) {
 
         // get line of sight in sensor frame
         final Vector3D los = s.getPVCoordinates(this.frame).getPosition();
-        return this.fov.offsetFromBoundary(los, 0.0, VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV);
+
+        // filter out satellites far away from the Field Of View using only the enclosing cap
+        final double lowerBound = Vector3D.angle(cap.getCenter().getVector(), los) - cap.getRadius() - fov.getMargin();
+        if (lowerBound >= G_SATURATION) {
+            return G_SATURATION;
+        }
+
+        return FastMath.min(this.fov.offsetFromBoundary(los, 0.0, VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV),
+                            G_SATURATION);
 
     }
 
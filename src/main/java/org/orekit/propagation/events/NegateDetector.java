@@ -16,6 +16,8 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.events.handlers.EventHandler;
@@ -89,6 +91,29 @@ public class NegateDetector extends AbstractDetector<NegateDetector> {
         return -this.original.g(s);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * Negating the switching function does not change its variation rate.
+     * </p>
+     * @since 10.2
+     */
+    @Override
+    public double getMaxGRate() {
+        return original.getMaxGRate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+        return original.getSolver();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventMetrics getMetrics() {
+        return original.getMetrics();
+    }
+
     @Override
     protected NegateDetector create(
             final double newMaxCheck,
@@ -0,0 +1,349 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.ode.events.Action;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.time.AbsoluteDate;
+
+/** This class streams events detectors events during propagation.
+ *
+ * <p>This class is a bounded memory alternative to {@link EventsLogger}.
+ * Instead of storing all events with their full {@link SpacecraftState states}
+ * until the end of propagation, it converts each event into a compact
+ * {@link EventRecord} holding only the event date, a detector identifier,
+ * the increasing/decreasing status and some user-selected values extracted
+ * from the state. These records are pushed into a bounded buffer and consumed
+ * asynchronously by a background thread that forwards them to an {@link
+ * EventRecordSink}, which may write them to a file, put them in a queue...</p>
+ *
+ * <p>If the sink does not keep up with the propagation, the buffer fills up
+ * and the propagation thread blocks when logging new events until space is
+ * available again, hence memory consumption is bounded by the buffer capacity
+ * regardless of the propagation duration. If the sink fails, the error is
+ * reported to the propagation thread at next logged event or when the logger
+ * is {@link #close() closed}.</p>
+ *
+ * <p>The logger must be {@link #close() closed} after propagation in order to
+ * ensure all records have reached the sink. It cannot be reused afterwards:</p>
+ * <pre>
+ * try (StreamingEventsLogger logger = new StreamingEventsLogger(sink, fields)) {
+ *     propagator.addEventDetector(logger.monitorDetector("eclipse", eclipseDetector));
+ *     propagator.addEventDetector(logger.monitorDetector("station", elevationDetector));
+ *     propagator.propagate(target);
+ * }
+ * </pre>
+ *
+ * @see EventsLogger
+ * @author agent
+ * @since 10.2
+ */
+public class StreamingEventsLogger implements AutoCloseable {
+
+    /** Default capacity of the buffer. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** Period for checking sink health while waiting for buffer space (ms). */
+    private static final long POLL_PERIOD = 100;
+
+    /** Marker for end of records. */
+    private static final EventRecord END = new EventRecord(AbsoluteDate.PAST_INFINITY, "", false);
+
+    /** Fields to extract from states. */
+    private final List<ToDoubleFunction<SpacecraftState>> fields;
+
+    /** Buffer between propagation thread and sink thread. */
+    private final BlockingQueue<EventRecord> buffer;
+
+    /** Executor running the sink thread. */
+    private final ExecutorService executorService;
+
+    /** Sink task. */
+    private final Future<Void> sinkTask;
+
+    /** Indicator for closed logger. */
+    private boolean closed;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses a buffer with {@link #DEFAULT_CAPACITY} records.
+     * </p>
+     * @param sink sink for event records
+     * @param fields fields to extract from states at event occurrences
+     * (may be empty if only dates are needed)
+     */
+    public StreamingEventsLogger(final EventRecordSink sink,
+                                 final List<ToDoubleFunction<SpacecraftState>> fields) {
+        this(sink, fields, DEFAULT_CAPACITY);
+    }
+
+    /** Simple constructor.
+     * @param sink sink for event records
+     * @param fields fields to extract from states at event occurrences
+     * (may be empty if only dates are needed)
+     * @param capacity capacity of the buffer between propagation and sink
+     */
+    public StreamingEventsLogger(final EventRecordSink sink,
+                                 final List<ToDoubleFunction<SpacecraftState>> fields,
+                                 final int capacity) {
+        this.fields          = new ArrayList<>(fields);
+        this.buffer          = new ArrayBlockingQueue<>(capacity);
+        this.executorService = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, StreamingEventsLogger.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sinkTask        = executorService.submit(() -> {
+            for (EventRecord record = buffer.take(); record != END; record = buffer.take()) {
+                sink.accept(record);
+            }
+            sink.flush();
+            return null;
+        });
+        this.closed          = false;
+    }
+
+    /** Monitor an event detector.
+     * <p>
+     * In order to monitor an event detector, it must be wrapped thanks to
+     * this method as follows:
+     * </p>
+     * <pre>
+     * Propagator propagator = new XyzPropagator(...);
+     * EventDetector detector = new UvwDetector(...);
+     * propagator.addEventDetector(logger.monitorDetector("uvw", detector));
+     * </pre>
+     * @param detectorId identifier of the detector in the event records
+     * @param monitoredDetector event detector to monitor
+     * @return the wrapping detector to add to the propagator
+     * @param <T> class type for the generic version
+     */
+    public <T extends EventDetector> EventDetector monitorDetector(final String detectorId,
+                                                                   final T monitoredDetector) {
+        return new StreamingWrapper<T>(detectorId, monitoredDetector);
+    }
+
+    /** Close the logger.
+     * <p>
+     * This method waits until all pending records have been consumed and
+     * the sink has been {@link EventRecordSink#flush() flushed}. Calling
+     * it several times is allowed, only the first call has an effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            try {
+                publish(END);
+                waitForSink();
+            } finally {
+                closed = true;
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    /** Push a record into the buffer.
+     * <p>
+     * This method blocks while the buffer is full.
+     * </p>
+     * @param record record to push
+     */
+    private void publish(final EventRecord record) {
+        try {
+            while (!buffer.offer(record, POLL_PERIOD, TimeUnit.MILLISECONDS)) {
+                if (sinkTask.isDone()) {
+                    // the sink will never consume the buffer again, it probably failed
+                    waitForSink();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        }
+    }
+
+    /** Wait for sink task completion.
+     */
+    private void waitForSink() {
+        try {
+            sinkTask.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) e.getCause();
+            } else {
+                throw new OrekitException(e.getCause(),
+                                          LocalizedCoreFormats.SIMPLE_MESSAGE, e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /** Log an event.
+     * @param detectorId identifier of the detector that triggered the event
+     * @param state state at event trigger date
+     * @param increasing indicator if the event switching function was increasing
+     */
+    private void logEvent(final String detectorId, final SpacecraftState state, final boolean increasing) {
+
+        if (closed) {
+            throw new OrekitIllegalStateException(OrekitMessages.STREAMING_LOGGER_CLOSED);
+        }
+        if (sinkTask.isDone()) {
+            // report sink failure as early as possible
+            waitForSink();
+        }
+
+        final double[] values = new double[fields.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = fields.get(i).applyAsDouble(state);
+        }
+        publish(new EventRecord(state.getDate(), detectorId, increasing, values));
+
+    }
+
+    /** Internal wrapper for events detectors.
+     * @param <T> class type for the generic version
+     */
+    private class StreamingWrapper<T extends EventDetector> extends AbstractDetector<StreamingWrapper<T>> {
+
+        /** Identifier of the wrapped detector. */
+        private final String detectorId;
+
+        /** Wrapped events detector. */
+        private final T detector;
+
+        /** Simple constructor.
+         * @param detectorId identifier of the detector in the event records
+         * @param detector events detector to wrap
+         */
+        StreamingWrapper(final String detectorId, final T detector) {
+            this(detector.getMaxCheckInterval(), detector.getThreshold(),
+                 detector.getMaxIterationCount(), new LocalHandler<T>(),
+                 detectorId, detector);
+        }
+
+        /** Private constructor with full parameters.
+         * <p>
+         * This constructor is private as users are expected to use the builder
+         * API with the various {@code withXxx()} methods to set up the instance
+         * in a readable manner without using a huge amount of parameters.
+         * </p>
+         * @param maxCheck maximum checking interval (s)
+         * @param threshold convergence threshold (s)
+         * @param maxIter maximum number of iterations in the event time search
+         * @param handler event handler to call at event occurrences
+         * @param detectorId identifier of the detector in the event records
+         * @param detector events detector to wrap
+         */
+        private StreamingWrapper(final double maxCheck, final double threshold,
+                                 final int maxIter, final EventHandler<? super StreamingWrapper<T>> handler,
+                                 final String detectorId, final T detector) {
+            super(maxCheck, threshold, maxIter, handler);
+            this.detectorId = detectorId;
+            this.detector   = detector;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected StreamingWrapper<T> create(final double newMaxCheck, final double newThreshold,
+                                             final int newMaxIter,
+                                             final EventHandler<? super StreamingWrapper<T>> newHandler) {
+            return new StreamingWrapper<T>(newMaxCheck, newThreshold, newMaxIter, newHandler, detectorId, detector);
+        }
+
+        /** Log an event.
+         * @param state state at event trigger date
+         * @param increasing indicator if the event switching function was increasing
+         */
+        public void logEvent(final SpacecraftState state, final boolean increasing) {
+            StreamingEventsLogger.this.logEvent(detectorId, state, increasing);
+        }
+
+        /** {@inheritDoc} */
+        public void init(final SpacecraftState s0,
+                         final AbsoluteDate t) {
+            super.init(s0, t);
+            detector.init(s0, t);
+        }
+
+        /** {@inheritDoc} */
+        public double g(final SpacecraftState s) {
+            return detector.g(s);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMaxGRate() {
+            return detector.getMaxGRate();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return detector.getSolver();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public EventMetrics getMetrics() {
+            return detector.getMetrics();
+        }
+
+    }
+
+    /** Local class for handling events.
+     * @param <T> class type for the generic version
+     */
+    private static class LocalHandler<T extends EventDetector> implements EventHandler<StreamingWrapper<T>> {
+
+        /** {@inheritDoc} */
+        public Action eventOccurred(final SpacecraftState s, final StreamingWrapper<T> wrapper, final boolean increasing) {
+            wrapper.logEvent(s, increasing);
+            return wrapper.detector.eventOccurred(s, increasing);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState resetState(final StreamingWrapper<T> wrapper, final SpacecraftState oldState) {
+            return wrapper.detector.resetState(oldState);
+        }
+
+    }
+
+}
@@ -23,6 +23,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.ode.DenseOutputModel;
 import org.hipparchus.ode.EquationsMapper;
@@ -51,6 +54,7 @@ import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.PropagationType;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.events.EventMetrics;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
@@ -71,6 +75,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
     /** Mode handler. */
     private ModeHandler modeHandler;
 
+    /** Step handler notifying events detection metrics. */
+    private final MetricsStepHandler metricsHandler;
+
     /** Additional equations. */
     private List<AdditionalEquations> additionalEquations;
 
@@ -104,6 +111,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         this.integrator      = integrator;
         this.propagationType = propagationType;
         this.resetAtEnd      = true;
+        this.metricsHandler  = new MetricsStepHandler();
     }
 
     /** Allow/disallow resetting the initial state at end of propagation.
@@ -287,10 +295,19 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      * @param detector event detector to wrap
      */
     protected void setUpEventDetector(final ODEIntegrator integ, final EventDetector detector) {
-        integ.addEventHandler(new AdaptedEventDetector(detector),
+        final AdaptedEventDetector adapted = new AdaptedEventDetector(detector);
+        final BracketedUnivariateSolver<UnivariateFunction> solver;
+        if (adapted.metrics == null) {
+            solver = detector.getSolver();
+        } else {
+            metricsHandler.monitored.add(adapted);
+            solver = new MonitoredSolver(detector.getSolver(), adapted);
+        }
+        integ.addEventHandler(adapted,
                               detector.getMaxCheckInterval(),
                               detector.getThreshold(),
-                              detector.getMaxIterationCount());
+                              detector.getMaxIterationCount(),
+                              solver);
     }
 
     /** {@inheritDoc}
@@ -360,6 +377,25 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         return ((EphemerisModeHandler) modeHandler).getEphemeris();
     }
 
+    /** Get the raw mathematical model underlying the generated ephemeris.
+     * <p>
+     * The returned model is the one referenced by the {@link #getGeneratedEphemeris()
+     * generated ephemeris}, it is not a copy.
+     * </p>
+     * @return dense output of the last propagation performed in ephemeris generation
+     * mode (null if no propagation has been completed yet)
+     * @exception IllegalStateException if the propagator was not set in ephemeris
+     * generation mode before propagation
+     * @since 10.2
+     */
+    protected DenseOutputModel getGeneratedModel()
+        throws IllegalStateException {
+        if (getMode() != EPHEMERIS_GENERATION_MODE) {
+            throw new OrekitIllegalStateException(OrekitMessages.PROPAGATOR_NOT_IN_EPHEMERIS_GENERATION_MODE);
+        }
+        return ((EphemerisModeHandler) modeHandler).getModel();
+    }
+
     /** Create a mapper between raw double components and spacecraft state.
     /** Simple constructor.
      * <p>
@@ -446,6 +482,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             }
 
             integrator.clearEventHandlers();
+            metricsHandler.monitored.clear();
 
             // set up events added by user, only if handlers are activated
             if (activateHandlers) {
@@ -466,8 +503,20 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             // mathematical integration
             final ODEStateAndDerivative mathFinalState;
             beforeIntegration(initialIntegrationState, tEnd);
-            mathFinalState = integrator.integrate(mathODE, mathInitialState,
-                                                  tEnd.durationFrom(getInitialState().getDate()));
+            final boolean monitoring = !metricsHandler.monitored.isEmpty();
+            if (monitoring) {
+                // some detectors need metrics notifications at each step
+                integrator.addStepHandler(metricsHandler);
+            }
+            try {
+                mathFinalState = integrator.integrate(mathODE, mathInitialState,
+                                                      tEnd.durationFrom(getInitialState().getDate()));
+            } finally {
+                if (monitoring) {
+                    // don't leave our own handler in the user integrator
+                    removeMetricsHandler();
+                }
+            }
             afterIntegration();
 
             // get final state
@@ -496,6 +545,21 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         }
     }
 
+    /** Remove the metrics step handler from the integrator.
+     * <p>
+     * The other step handlers are preserved, in the same order.
+     * </p>
+     */
+    private void removeMetricsHandler() {
+        final List<ODEStepHandler> handlers = new ArrayList<>(integrator.getStepHandlers());
+        integrator.clearStepHandlers();
+        for (final ODEStepHandler handler : handlers) {
+            if (handler != metricsHandler) {
+                integrator.addStepHandler(handler);
+            }
+        }
+    }
+
     /** Get the initial state for integration.
      * @return initial state for integration
      */
@@ -755,6 +819,15 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         /** Underlying event detector. */
         private final EventDetector detector;
 
+        /** Metrics to notify (may be null). */
+        private final EventMetrics metrics;
+
+        /** Number of g function evaluations since last step notification. */
+        private int evaluations;
+
+        /** Time spent in g function evaluations since last step notification (ns). */
+        private long elapsed;
+
         /** Time of the previous call to g. */
         private double lastT;
 
@@ -765,9 +838,12 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
          * @param detector event detector to wrap
         */
         AdaptedEventDetector(final EventDetector detector) {
-            this.detector = detector;
-            this.lastT    = Double.NaN;
-            this.lastG    = Double.NaN;
+            this.detector    = detector;
+            this.metrics     = detector.getMetrics();
+            this.evaluations = 0;
+            this.elapsed     = 0L;
+            this.lastT       = Double.NaN;
+            this.lastG       = Double.NaN;
         }
 
         /** {@inheritDoc} */
@@ -782,11 +858,26 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public double g(final ODEStateAndDerivative s) {
             if (!Precision.equals(lastT, s.getTime(), 0)) {
                 lastT = s.getTime();
-                lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative()));
+                if (metrics == null) {
+                    lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative()));
+                } else {
+                    final long start = System.nanoTime();
+                    lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState(), s.getCompleteDerivative()));
+                    elapsed += System.nanoTime() - start;
+                    ++evaluations;
+                }
             }
             return lastG;
         }
 
+        /** Notify metrics that a step has been checked.
+         */
+        void notifyStepChecked() {
+            metrics.stepChecked(evaluations, elapsed);
+            evaluations = 0;
+            elapsed     = 0L;
+        }
+
         /** {@inheritDoc} */
         public Action eventOccurred(final ODEStateAndDerivative s, final boolean increasing) {
             return detector.eventOccurred(
@@ -821,6 +912,141 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Root solver wrapper notifying events detection metrics.
+     * @since 10.2
+     */
+    private static class MonitoredSolver implements BracketedUnivariateSolver<UnivariateFunction> {
+
+        /** Underlying solver. */
+        private final BracketedUnivariateSolver<UnivariateFunction> solver;
+
+        /** Monitored detector. */
+        private final AdaptedEventDetector adapted;
+
+        /** Simple constructor.
+         * @param solver underlying solver
+         * @param adapted monitored detector
+         */
+        MonitoredSolver(final BracketedUnivariateSolver<UnivariateFunction> solver,
+                        final AdaptedEventDetector adapted) {
+            this.solver  = solver;
+            this.adapted = adapted;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getMaxEvaluations() {
+            return solver.getMaxEvaluations();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getEvaluations() {
+            return solver.getEvaluations();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getAbsoluteAccuracy() {
+            return solver.getAbsoluteAccuracy();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getRelativeAccuracy() {
+            return solver.getRelativeAccuracy();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getFunctionValueAccuracy() {
+            return solver.getFunctionValueAccuracy();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double solve(final int maxEval, final UnivariateFunction f,
+                            final double min, final double max) {
+            return solver.solve(maxEval, f, min, max);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double solve(final int maxEval, final UnivariateFunction f,
+                            final double min, final double max, final double startValue) {
+            return solver.solve(maxEval, f, min, max, startValue);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double solve(final int maxEval, final UnivariateFunction f, final double startValue) {
+            return solver.solve(maxEval, f, startValue);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double solve(final int maxEval, final UnivariateFunction f,
+                            final double min, final double max, final AllowedSolution allowedSolution) {
+            return solver.solve(maxEval, f, min, max, allowedSolution);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double solve(final int maxEval, final UnivariateFunction f,
+                            final double min, final double max, final double startValue,
+                            final AllowedSolution allowedSolution) {
+            return solver.solve(maxEval, f, min, max, startValue, allowedSolution);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Interval solveInterval(final int maxEval, final UnivariateFunction f,
+                                      final double min, final double max) {
+            return solveInterval(maxEval, f, min, max, min + 0.5 * (max - min));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Interval solveInterval(final int maxEval, final UnivariateFunction f,
+                                      final double min, final double max, final double startValue) {
+            final long start  = System.nanoTime();
+            final int  before = adapted.evaluations;
+            boolean    found  = false;
+            try {
+                final Interval interval = solver.solveInterval(maxEval, f, min, max, startValue);
+                found = true;
+                return interval;
+            } finally {
+                adapted.metrics.rootSearched(adapted.evaluations - before, System.nanoTime() - start, found);
+            }
+        }
+
+    }
+
+    /** Step handler notifying events detection metrics at each step end.
+     * @since 10.2
+     */
+    private static class MetricsStepHandler implements ODEStepHandler {
+
+        /** Monitored detectors. */
+        private final List<AdaptedEventDetector> monitored;
+
+        /** Simple constructor.
+         */
+        MetricsStepHandler() {
+            this.monitored = new ArrayList<>();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final ODEStateInterpolator interpolator, final boolean isLast) {
+            for (final AdaptedEventDetector adapted : monitored) {
+                adapted.notifyStepChecked();
+            }
+        }
+
+    }
+
     /** Adapt an {@link org.orekit.propagation.sampling.OrekitStepHandler}
      * to Hipparchus {@link ODEStepHandler} interface.
      * @author Luc Maisonobe
@@ -1029,6 +1255,14 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             return ephemeris;
         }
 
+        /** Get the underlying raw mathematical model.
+         * @return underlying raw mathematical model (null if the ephemeris
+         * has not been generated yet)
+         */
+        public DenseOutputModel getModel() {
+            return ephemeris == null ? null : model;
+        }
+
         /** {@inheritDoc} */
         public void handleStep(final ODEStateInterpolator interpolator, final boolean isLast) {
             if (activate) {
@@ -0,0 +1,476 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
+
+/** Batch conversion between mean and osculating states in a DSST sense.
+ * <p>
+ * This class is intended for catalogue processing, where a large number of
+ * states must be converted with the same force models. It performs the same
+ * computation as {@link DSSTPropagator#computeMeanState(SpacecraftState,
+ * AttitudeProvider, Collection, double, int)} and {@link
+ * DSSTPropagator#computeOsculatingState(SpacecraftState, AttitudeProvider,
+ * Collection)}, with the following differences:
+ * </p>
+ * <ul>
+ *   <li>states are split in chunks of consecutive states, and force models
+ *   are built only once per chunk, so precomputations that do not depend on
+ *   the orbit are shared by all states of the chunk,</li>
+ *   <li>in osculating to mean conversion, the fixed-point iteration for each
+ *   state is warm-started from the short periodic correction found for the
+ *   previous state of the same chunk, if this previous state has a similar
+ *   orbit (same frame, close semi-major axis, eccentricity and orbital plane);
+ *   this is efficient when states of the same object are consecutive in the
+ *   input list, and a change of object is detected as a change of orbit,</li>
+ *   <li>chunks can be converted concurrently if an {@link
+ *   #setExecutor(ExecutorService) executor} is set,</li>
+ *   <li>convergence statistics are reported.</li>
+ * </ul>
+ * <p>
+ * As DSST force models are not thread-safe, they cannot be shared between
+ * chunks. They are therefore built by a user-provided supplier, that must
+ * return new instances at each call.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class DSSTBatchConverter {
+
+    /** Default number of states per chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /** Default convergence threshold for mean parameters conversion. */
+    public static final double DEFAULT_EPSILON = 1.0e-13;
+
+    /** Default maximum number of iterations for mean parameters conversion. */
+    public static final int DEFAULT_MAX_ITERATIONS = 200;
+
+    /** Tolerance for considering two consecutive orbits are similar enough for warm start.
+     * <p>
+     * This tolerance applies to relative semi-major axis, eccentricity and angle between
+     * orbital planes (rad).
+     * </p>
+     */
+    private static final double WARM_START_TOLERANCE = 1.0e-2;
+
+    /** Supplier for force models. */
+    private final Supplier<? extends Collection<DSSTForceModel>> forceModelsSupplier;
+
+    /** Attitude provider (may be null). */
+    private final AttitudeProvider attitudeProvider;
+
+    /** Convergence threshold for mean parameters conversion. */
+    private final double epsilon;
+
+    /** Maximum number of iterations for mean parameters conversion. */
+    private final int maxIterations;
+
+    /** Number of states per chunk. */
+    private int chunkSize;
+
+    /** Executor for concurrent conversion (null for sequential conversion). */
+    private ExecutorService executor;
+
+    /** Simple constructor, with default convergence settings.
+     * @param forceModelsSupplier supplier for force models (must return new instances at each call)
+     * @param attitudeProvider attitude provider (may be null if there are no Gaussian force models
+     * like atmospheric drag, radiation pressure or specific user-defined models)
+     */
+    public DSSTBatchConverter(final Supplier<? extends Collection<DSSTForceModel>> forceModelsSupplier,
+                              final AttitudeProvider attitudeProvider) {
+        this(forceModelsSupplier, attitudeProvider, DEFAULT_EPSILON, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /** Simple constructor.
+     * @param forceModelsSupplier supplier for force models (must return new instances at each call)
+     * @param attitudeProvider attitude provider (may be null if there are no Gaussian force models
+     * like atmospheric drag, radiation pressure or specific user-defined models)
+     * @param epsilon convergence threshold for mean parameters conversion
+     * @param maxIterations maximum iterations for mean parameters conversion
+     */
+    public DSSTBatchConverter(final Supplier<? extends Collection<DSSTForceModel>> forceModelsSupplier,
+                              final AttitudeProvider attitudeProvider,
+                              final double epsilon, final int maxIterations) {
+        this.forceModelsSupplier = forceModelsSupplier;
+        this.attitudeProvider    = attitudeProvider;
+        this.epsilon             = epsilon;
+        this.maxIterations       = maxIterations;
+        this.chunkSize           = DEFAULT_CHUNK_SIZE;
+        this.executor            = null;
+    }
+
+    /** Set the number of states per chunk.
+     * @param chunkSize number of states per chunk (default is {@link #DEFAULT_CHUNK_SIZE})
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, chunkSize, 1);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /** Get the number of states per chunk.
+     * @return number of states per chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /** Set the executor for concurrent conversion.
+     * <p>
+     * The executor is neither started nor shut down by the converter, it is
+     * the responsibility of the caller to manage its life cycle.
+     * </p>
+     * @param executor executor for concurrent conversion (null for sequential
+     * conversion in the caller thread, which is the default)
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /** Get the executor for concurrent conversion.
+     * @return executor for concurrent conversion (null for sequential
+     * conversion in the caller thread)
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /** Convert osculating states to mean states.
+     * @param osculating osculating states to convert
+     * @return conversion result, with mean states in the same order as input states
+     */
+    public Result toMean(final List<SpacecraftState> osculating) {
+        return convert(osculating, true);
+    }
+
+    /** Convert mean states to osculating states.
+     * @param mean mean states to convert
+     * @return conversion result, with osculating states in the same order as input states
+     */
+    public Result toOsculating(final List<SpacecraftState> mean) {
+        return convert(mean, false);
+    }
+
+    /** Convert states.
+     * @param states states to convert
+     * @param toMean if true, conversion is from osculating to mean, otherwise from mean to osculating
+     * @return conversion result
+     */
+    private Result convert(final List<SpacecraftState> states, final boolean toMean) {
+
+        // split the states in chunks
+        final List<List<SpacecraftState>> chunks = new ArrayList<>();
+        for (int start = 0; start < states.size(); start += chunkSize) {
+            chunks.add(states.subList(start, FastMath.min(start + chunkSize, states.size())));
+        }
+
+        // convert the chunks
+        final List<Result> results = new ArrayList<>(chunks.size());
+        if (executor == null || chunks.size() < 2) {
+            for (final List<SpacecraftState> chunk : chunks) {
+                results.add(toMean ? convertChunkToMean(chunk) : convertChunkToOsculating(chunk));
+            }
+        } else {
+            final List<Callable<Result>> tasks = new ArrayList<>(chunks.size());
+            for (final List<SpacecraftState> chunk : chunks) {
+                tasks.add(() -> toMean ? convertChunkToMean(chunk) : convertChunkToOsculating(chunk));
+            }
+            try {
+                for (final Future<Result> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof RuntimeException) {
+                    // propagate errors from force models as is
+                    throw (RuntimeException) ee.getCause();
+                }
+                throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+        }
+
+        // merge the chunks results
+        final List<SpacecraftState> converted = new ArrayList<>(states.size());
+        int warmStarts      = 0;
+        int totalIterations = 0;
+        int maxIter         = 0;
+        for (final Result result : results) {
+            converted.addAll(result.getStates());
+            warmStarts      += result.getWarmStarts();
+            totalIterations += result.getTotalIterations();
+            maxIter          = FastMath.max(maxIter, result.getMaxIterations());
+        }
+        return new Result(converted, warmStarts, totalIterations, maxIter);
+
+    }
+
+    /** Build the force models for one chunk.
+     * @return force models, with attitude provider registered
+     */
+    private Collection<DSSTForceModel> buildForceModels() {
+        final Collection<DSSTForceModel> forceModels = forceModelsSupplier.get();
+        for (final DSSTForceModel force : forceModels) {
+            force.registerAttitudeProvider(attitudeProvider);
+        }
+        return forceModels;
+    }
+
+    /** Convert one chunk of osculating states to mean states.
+     * @param chunk osculating states
+     * @return conversion result for the chunk
+     */
+    private Result convertChunkToMean(final List<SpacecraftState> chunk) {
+
+        final Collection<DSSTForceModel> forceModels = buildForceModels();
+        final List<SpacecraftState>      converted   = new ArrayList<>(chunk.size());
+        final int[]                      iterations  = new int[1];
+        int warmStarts      = 0;
+        int totalIterations = 0;
+        int maxIter         = 0;
+
+        // short periodic correction (mean - osculating) of the previous state
+        double[] correction = null;
+        EquinoctialOrbit previous = null;
+
+        for (final SpacecraftState osculating : chunk) {
+
+            final EquinoctialOrbit coldStart =
+                            (EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(osculating.getOrbit());
+            final EquinoctialOrbit warmStart = isSimilar(previous, coldStart) ?
+                                               applyCorrection(coldStart, correction) : null;
+
+            Orbit meanOrbit = null;
+            if (warmStart != null) {
+                try {
+                    meanOrbit = DSSTPropagator.computeMeanOrbit(osculating, warmStart, forceModels,
+                                                                epsilon, maxIterations, iterations);
+                    ++warmStarts;
+                } catch (OrekitException oe) {
+                    if (oe.getSpecifier() != OrekitMessages.UNABLE_TO_COMPUTE_DSST_MEAN_PARAMETERS) {
+                        throw oe;
+                    }
+                    // the warm start was not suitable, we will restart from scratch
+                    totalIterations += iterations[0];
+                }
+            }
+            if (meanOrbit == null) {
+                meanOrbit = DSSTPropagator.computeMeanOrbit(osculating, coldStart, forceModels,
+                                                            epsilon, maxIterations, iterations);
+            }
+            totalIterations += iterations[0];
+            maxIter          = FastMath.max(maxIter, iterations[0]);
+
+            final SpacecraftState mean = new SpacecraftState(meanOrbit, osculating.getAttitude(),
+                                                             osculating.getMass(), osculating.getAdditionalStates());
+            converted.add(mean);
+
+            // store correction for next state
+            correction = getCorrection(coldStart, (EquinoctialOrbit) meanOrbit);
+            previous   = coldStart;
+
+        }
+
+        return new Result(converted, warmStarts, totalIterations, maxIter);
+
+    }
+
+    /** Convert one chunk of mean states to osculating states.
+     * @param chunk mean states
+     * @return conversion result for the chunk
+     */
+    private Result convertChunkToOsculating(final List<SpacecraftState> chunk) {
+        final Collection<DSSTForceModel> forceModels = buildForceModels();
+        final List<SpacecraftState>      converted   = new ArrayList<>(chunk.size());
+        for (final SpacecraftState mean : chunk) {
+            converted.add(DSSTPropagator.computeOsculatingState(mean, attitudeProvider, forceModels));
+        }
+        return new Result(converted, 0, 0, 0);
+    }
+
+    /** Check if an orbit is similar enough to the previous one for warm start.
+     * <p>
+     * States do not carry an object identifier, so a change of object between
+     * consecutive states is detected as a change of orbit. The short periodic
+     * correction of the previous state is reused only if both orbits are defined
+     * in the same frame and have close semi-major axes, eccentricities and
+     * orbital planes.
+     * </p>
+     * @param previous previous osculating orbit (may be null)
+     * @param current current osculating orbit
+     * @return true if the correction found for previous orbit can be used
+     * as a warm start for current orbit
+     */
+    private static boolean isSimilar(final EquinoctialOrbit previous, final EquinoctialOrbit current) {
+        if (previous == null || previous.getFrame() != current.getFrame()) {
+            return false;
+        }
+        return FastMath.abs(current.getA() - previous.getA()) <= WARM_START_TOLERANCE * previous.getA() &&
+               FastMath.abs(current.getE() - previous.getE()) <= WARM_START_TOLERANCE &&
+               Vector3D.angle(getPlaneNormal(previous), getPlaneNormal(current)) <= WARM_START_TOLERANCE;
+    }
+
+    /** Get the normal to the orbital plane.
+     * @param orbit orbit
+     * @return normal to the orbital plane (not normalized)
+     */
+    private static Vector3D getPlaneNormal(final EquinoctialOrbit orbit) {
+        final double hx = orbit.getHx();
+        final double hy = orbit.getHy();
+        return new Vector3D(2 * hy, -2 * hx, 1 - hx * hx - hy * hy);
+    }
+
+    /** Compute the short periodic correction between osculating and mean orbits.
+     * @param osculating osculating orbit
+     * @param mean mean orbit
+     * @return correction (mean - osculating) on a, ex, ey, hx, hy, lv
+     */
+    private static double[] getCorrection(final EquinoctialOrbit osculating, final EquinoctialOrbit mean) {
+        return new double[] {
+            mean.getA()             - osculating.getA(),
+            mean.getEquinoctialEx() - osculating.getEquinoctialEx(),
+            mean.getEquinoctialEy() - osculating.getEquinoctialEy(),
+            mean.getHx()            - osculating.getHx(),
+            mean.getHy()            - osculating.getHy(),
+            MathUtils.normalizeAngle(mean.getLv() - osculating.getLv(), 0.0)
+        };
+    }
+
+    /** Apply a short periodic correction to an osculating orbit.
+     * @param osculating osculating orbit
+     * @param correction correction (mean - osculating) on a, ex, ey, hx, hy, lv
+     * @return corrected orbit, or null if the corrected elements are not a valid elliptic orbit
+     */
+    private static EquinoctialOrbit applyCorrection(final EquinoctialOrbit osculating, final double[] correction) {
+        final double a  = osculating.getA()             + correction[0];
+        final double ex = osculating.getEquinoctialEx() + correction[1];
+        final double ey = osculating.getEquinoctialEy() + correction[2];
+        if (a <= 0 || ex * ex + ey * ey >= 1) {
+            return null;
+        }
+        return new EquinoctialOrbit(a, ex, ey,
+                                    osculating.getHx() + correction[3],
+                                    osculating.getHy() + correction[4],
+                                    osculating.getLv() + correction[5],
+                                    PositionAngle.TRUE, osculating.getFrame(),
+                                    osculating.getDate(), osculating.getMu());
+    }
+
+    /** Container for conversion results and convergence statistics. */
+    public static class Result {
+
+        /** Converted states. */
+        private final List<SpacecraftState> states;
+
+        /** Number of warm-started fixed-point iterations that converged. */
+        private final int warmStarts;
+
+        /** Total number of fixed-point iterations. */
+        private final int totalIterations;
+
+        /** Maximum number of fixed-point iterations for one state. */
+        private final int maxIterations;
+
+        /** Simple constructor.
+         * @param states converted states
+         * @param warmStarts number of warm-started fixed-point iterations that converged
+         * @param totalIterations total number of fixed-point iterations
+         * @param maxIterations maximum number of fixed-point iterations for one state
+         */
+        Result(final List<SpacecraftState> states, final int warmStarts,
+               final int totalIterations, final int maxIterations) {
+            this.states          = states;
+            this.warmStarts      = warmStarts;
+            this.totalIterations = totalIterations;
+            this.maxIterations   = maxIterations;
+        }
+
+        /** Get the converted states.
+         * @return converted states, in the same order as input states
+         */
+        public List<SpacecraftState> getStates() {
+            return Collections.unmodifiableList(states);
+        }
+
+        /** Get the number of warm-started fixed-point iterations that converged.
+         * <p>
+         * This is always 0 for mean to osculating conversions.
+         * </p>
+         * @return number of warm-started fixed-point iterations that converged
+         */
+        public int getWarmStarts() {
+            return warmStarts;
+        }
+
+        /** Get the total number of fixed-point iterations.
+         * <p>
+         * Iterations performed in warm starts that did not converge are included.
+         * This is always 0 for mean to osculating conversions.
+         * </p>
+         * @return total number of fixed-point iterations
+         */
+        public int getTotalIterations() {
+            return totalIterations;
+        }
+
+        /** Get the maximum number of fixed-point iterations for one state.
+         * <p>
+         * This is always 0 for mean to osculating conversions.
+         * </p>
+         * @return maximum number of fixed-point iterations for one state
+         */
+        public int getMaxIterations() {
+            return maxIterations;
+        }
+
+        /** Get the mean number of fixed-point iterations per state.
+         * @return mean number of fixed-point iterations per state
+         * (0 if there are no states)
+         */
+        public double getMeanIterations() {
+            return states.isEmpty() ? 0.0 : ((double) totalIterations) / states.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,212 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.hipparchus.ode.DenseOutputModel;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.AdditionalStateProvider;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.PropagationType;
+import org.orekit.propagation.integration.IntegratedEphemeris;
+import org.orekit.propagation.semianalytical.dsst.forces.ShortPeriodTerms;
+import org.orekit.time.AbsoluteDate;
+
+/** Storage for ephemerides generated by {@link DSSTPropagator}.
+ * <p>
+ * Instances of this class contain the mean elements as integrated by the
+ * propagator and the interpolated short periodic coefficients computed
+ * along the way. They are obtained by calling {@link
+ * DSSTPropagator#getGeneratedStorage()} after a propagation performed in
+ * {@link org.orekit.propagation.Propagator#setEphemerisMode() ephemeris
+ * generation mode}. They can be written to a stream and read back later on,
+ * possibly in another JVM, in order to replay long propagations such as
+ * multi-year lifetime studies without integrating again.
+ * </p>
+ * <p>
+ * States are not precomputed: the {@link #getEphemeris(PropagationType,
+ * AttitudeProvider) ephemeris} rebuilt from storage only interpolates the mean
+ * elements and evaluates the short periodic terms at the requested dates.
+ * </p>
+ * <p>
+ * The stored form relies on plain Java serialization, compressed with gzip.
+ * It is therefore neither a compact nor a stable exchange format: it stores
+ * full interpolation models and it can only be read back with the same
+ * version of the library that wrote it. It is intended for replaying
+ * ephemerides within one project, not for archiving or data exchange. As
+ * with any serialized data, only streams from trusted sources should be read.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class DSSTEphemerisStorage implements Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20200624L;
+
+    /** Reference date for integration time. */
+    private final AbsoluteDate referenceDate;
+
+    /** Central attraction coefficient (m³/s²). */
+    private final double mu;
+
+    /** Inertial frame. */
+    private final Frame frame;
+
+    /** Dense output of mean elements. */
+    private final DenseOutputModel model;
+
+    /** Short period terms. */
+    private final List<ShortPeriodTerms> shortPeriodTerms;
+
+    /** Simple constructor.
+     * @param referenceDate reference date for integration time
+     * @param mu central attraction coefficient (m³/s²)
+     * @param frame inertial frame
+     * @param model dense output of mean elements
+     * @param shortPeriodTerms short period terms
+     */
+    DSSTEphemerisStorage(final AbsoluteDate referenceDate, final double mu, final Frame frame,
+                         final DenseOutputModel model, final List<ShortPeriodTerms> shortPeriodTerms) {
+        this.referenceDate    = referenceDate;
+        this.mu               = mu;
+        this.frame            = frame;
+        this.model            = model;
+        this.shortPeriodTerms = new ArrayList<>(shortPeriodTerms);
+    }
+
+    /** Get the first date of the range.
+     * @return first date of the range
+     */
+    public AbsoluteDate getMinDate() {
+        final AbsoluteDate start = getStartDate();
+        final AbsoluteDate end   = getEndDate();
+        return start.compareTo(end) <= 0 ? start : end;
+    }
+
+    /** Get the last date of the range.
+     * @return last date of the range
+     */
+    public AbsoluteDate getMaxDate() {
+        final AbsoluteDate start = getStartDate();
+        final AbsoluteDate end   = getEndDate();
+        return start.compareTo(end) <= 0 ? end : start;
+    }
+
+    /** Get the stored short period terms.
+     * @return stored short period terms (empty if propagation was performed
+     * in {@link PropagationType#MEAN mean} mode)
+     */
+    public List<ShortPeriodTerms> getShortPeriodTerms() {
+        return Collections.unmodifiableList(shortPeriodTerms);
+    }
+
+    /** Get the date at which integration started.
+     * @return date at which integration started
+     */
+    private AbsoluteDate getStartDate() {
+        return referenceDate.shiftedBy(model.getInitialTime());
+    }
+
+    /** Get the date at which integration ended.
+     * @return date at which integration ended
+     */
+    private AbsoluteDate getEndDate() {
+        return referenceDate.shiftedBy(model.getFinalTime());
+    }
+
+    /** Rebuild the ephemeris from storage.
+     * <p>
+     * Osculating states can be rebuilt only if the stored propagation was
+     * itself performed in {@link PropagationType#OSCULATING osculating} mode,
+     * otherwise no short period terms are available and osculating states
+     * are equal to mean states.
+     * </p>
+     * @param type type of orbit to output (mean or osculating)
+     * @param attitudeProvider attitude provider to use for rebuilt states
+     * @return ephemeris rebuilt from storage
+     */
+    public BoundedPropagator getEphemeris(final PropagationType type,
+                                          final AttitudeProvider attitudeProvider) {
+
+        final DSSTPropagator.MeanPlusShortPeriodicMapper mapper =
+                        new DSSTPropagator.MeanPlusShortPeriodicMapper(referenceDate, mu, attitudeProvider, frame);
+        mapper.setShortPeriodTerms(shortPeriodTerms);
+
+        return new IntegratedEphemeris(getStartDate(), getMinDate(), getMaxDate(),
+                                       mapper, type, model,
+                                       Collections.emptyMap(),
+                                       Collections.<AdditionalStateProvider>emptyList(),
+                                       new String[0]);
+
+    }
+
+    /** Write the storage to a stream.
+     * <p>
+     * The stream is not closed by this method.
+     * </p>
+     * @param out output stream
+     * @exception IOException if storage cannot be written
+     * @see #read(InputStream, String)
+     */
+    public void write(final OutputStream out) throws IOException {
+        final GZIPOutputStream   gzip   = new GZIPOutputStream(out);
+        final ObjectOutputStream stream = new ObjectOutputStream(gzip);
+        stream.writeObject(this);
+        stream.flush();
+        gzip.finish();
+    }
+
+    /** Read a storage from a stream.
+     * <p>
+     * The stream is not closed by this method.
+     * </p>
+     * @param in input stream
+     * @param name name of the stream (for error messages)
+     * @return storage read from stream
+     * @exception IOException if storage cannot be read
+     * @see #write(OutputStream)
+     */
+    public static DSSTEphemerisStorage read(final InputStream in, final String name)
+        throws IOException {
+        final ObjectInputStream stream = new ObjectInputStream(new GZIPInputStream(in));
+        try {
+            final Object read = stream.readObject();
+            if (!(read instanceof DSSTEphemerisStorage)) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, name);
+            }
+            return (DSSTEphemerisStorage) read;
+        } catch (ClassNotFoundException cnfe) {
+            throw new OrekitException(cnfe, OrekitMessages.UNSUPPORTED_FILE_FORMAT, name);
+        }
+    }
+
+}
@@ -25,7 +25,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.ode.DenseOutputModel;
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.ODEStateAndDerivative;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
@@ -37,6 +43,7 @@ import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalStateException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
@@ -160,6 +167,9 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
     /** Generator for the interpolation grid. */
     private InterpolationGrid interpolationgrid;
 
+    /** Executor for short periodic terms computation (null for sequential computation). */
+    private ExecutorService shortPeriodTermsExecutor;
+
     /** Create a new instance of DSSTPropagator.
      *  <p>
      *  After creation, there are no perturbing forces at all.
@@ -315,6 +325,67 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         return set == null ? null : Collections.unmodifiableSet(set);
     }
 
+    /** Set the executor for short periodic terms computation.
+     * <p>
+     * In {@link PropagationType#OSCULATING osculating} mode, the short periodic
+     * coefficients of all force models are updated at each interpolation grid point.
+     * As these updates are independent from one force model to another, they can
+     * be run concurrently, one task per force model, on the specified executor.
+     * The propagation thread waits for all tasks to complete at each step. The
+     * executor is neither started nor shut down by the propagator, it is the
+     * responsibility of the caller to manage its life cycle.
+     * </p>
+     * <p>
+     * By default, no executor is set and short periodic terms are computed
+     * sequentially in the propagation thread.
+     * </p>
+     * @param executor executor for short periodic terms computation
+     * (null for sequential computation in the propagation thread)
+     * @since 10.2
+     */
+    public void setShortPeriodTermsExecutor(final ExecutorService executor) {
+        this.shortPeriodTermsExecutor = executor;
+    }
+
+    /** Get the executor for short periodic terms computation.
+     * @return executor for short periodic terms computation
+     * (null for sequential computation in the propagation thread)
+     * @see #setShortPeriodTermsExecutor(ExecutorService)
+     * @since 10.2
+     */
+    public ExecutorService getShortPeriodTermsExecutor() {
+        return shortPeriodTermsExecutor;
+    }
+
+    /** Get the generated ephemeris in a form suitable for long term storage.
+     * <p>
+     * The returned storage contains the mean elements as integrated during last
+     * propagation and the short periodic coefficients computed along the way,
+     * so that both mean and osculating states can be replayed later on, possibly
+     * in another JVM, without integrating the mean elements again nor recomputing
+     * the short periodic coefficients. Only orbit and mass are stored, additional
+     * states are not.
+     * </p>
+     * <p>
+     * The storage shares the mean elements model and the short periodic terms with
+     * the {@link #getGeneratedEphemeris() generated ephemeris}, no data is copied.
+     * </p>
+     * @return storage for the ephemeris generated during last propagation
+     * @exception IllegalStateException if the propagator was not set in ephemeris
+     * generation mode before propagation
+     * @see #getGeneratedEphemeris()
+     * @since 10.2
+     */
+    public DSSTEphemerisStorage getGeneratedStorage()
+        throws IllegalStateException {
+        final DenseOutputModel model = getGeneratedModel();
+        if (model == null) {
+            throw new OrekitIllegalStateException(OrekitMessages.PROPAGATOR_NOT_IN_EPHEMERIS_GENERATION_MODE);
+        }
+        return new DSSTEphemerisStorage(mapper.getReferenceDate(), mapper.getMu(), mapper.getFrame(),
+                                        model, mapper.getShortPeriodTerms());
+    }
+
     /** Check if the initial state is provided in osculating elements.
      * @return true if initial state is provided in osculating elements
      */
@@ -600,9 +671,7 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         if (type == PropagationType.OSCULATING) {
             final ShortPeriodicsHandler spHandler = new ShortPeriodicsHandler(forceModels);
             // Compute short periodic coefficients for this point
-            for (DSSTForceModel forceModel : forceModels) {
-                forceModel.updateShortPeriodTerms(forceModel.getParameters(), initialState);
-            }
+            updateShortPeriodTerms(forceModels, initialState);
             final Collection<ODEStepHandler> stepHandlers = new ArrayList<ODEStepHandler>();
             stepHandlers.add(spHandler);
             final ODEIntegrator integrator = getIntegrator();
@@ -659,22 +728,46 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
                                           final AttitudeProvider attitudeProvider,
                                           final Collection<DSSTForceModel> forceModels, final double epsilon, final int maxIterations) {
 
-        // rough initialization of the mean parameters
-        EquinoctialOrbit meanOrbit = (EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(osculating.getOrbit());
-
-        // threshold for each parameter
-        final double thresholdA = epsilon * (1 + FastMath.abs(meanOrbit.getA()));
-        final double thresholdE = epsilon * (1 + meanOrbit.getE());
-        final double thresholdI = epsilon * (1 + meanOrbit.getI());
-        final double thresholdL = epsilon * FastMath.PI;
-
         // ensure all Gaussian force models can rely on attitude
         for (final DSSTForceModel force : forceModels) {
             force.registerAttitudeProvider(attitudeProvider);
         }
 
+        // rough initialization of the mean parameters
+        return computeMeanOrbit(osculating, (EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(osculating.getOrbit()),
+                                forceModels, epsilon, maxIterations, new int[1]);
+
+    }
+
+    /** Compute mean orbit from osculating state, starting from an initial guess.
+     * <p>
+     * The attitude provider must already have been registered in the force models.
+     * </p>
+     * @param osculating initial osculating state
+     * @param initialGuess initial guess for the mean orbit
+     * @param forceModels force models
+     * @param epsilon convergence threshold for mean parameters conversion
+     * @param maxIterations maximum iterations for mean parameters conversion
+     * @param iterations placeholder where to put the number of iterations performed
+     * (must be an array of length at least 1)
+     * @return mean orbit
+     * @since 10.2
+     */
+    static Orbit computeMeanOrbit(final SpacecraftState osculating, final EquinoctialOrbit initialGuess,
+                                  final Collection<DSSTForceModel> forceModels, final double epsilon,
+                                  final int maxIterations, final int[] iterations) {
+
+        // threshold for each parameter
+        final EquinoctialOrbit reference = (EquinoctialOrbit) OrbitType.EQUINOCTIAL.convertType(osculating.getOrbit());
+        final double thresholdA = epsilon * (1 + FastMath.abs(reference.getA()));
+        final double thresholdE = epsilon * (1 + reference.getE());
+        final double thresholdI = epsilon * (1 + reference.getI());
+        final double thresholdL = epsilon * FastMath.PI;
+
+        EquinoctialOrbit meanOrbit = initialGuess;
         int i = 0;
         while (i++ < maxIterations) {
+            iterations[0] = i;
 
             final SpacecraftState meanState = new SpacecraftState(meanOrbit, osculating.getAttitude(), osculating.getMass());
 
@@ -792,7 +885,7 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
     }
 
     /** Internal mapper using mean parameters plus short periodic terms. */
-    private static class MeanPlusShortPeriodicMapper extends StateMapper {
+    static class MeanPlusShortPeriodicMapper extends StateMapper {
 
         /** Short periodic coefficients that must be stored as additional states. */
         private Set<String>                selectedCoefficients;
@@ -1032,6 +1125,51 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
 
     }
 
+    /** Update the short periodic terms of all force models.
+     * <p>
+     * If an executor has been {@link #setShortPeriodTermsExecutor(ExecutorService) set},
+     * force models are updated concurrently, otherwise they are updated sequentially.
+     * </p>
+     * @param models force models to update
+     * @param meanStates mean states at which short periodic terms should be computed
+     */
+    private void updateShortPeriodTerms(final List<DSSTForceModel> models,
+                                        final SpacecraftState... meanStates) {
+
+        if (shortPeriodTermsExecutor == null || models.size() < 2) {
+            // sequential computation
+            for (final DSSTForceModel forceModel : models) {
+                forceModel.updateShortPeriodTerms(forceModel.getParameters(), meanStates);
+            }
+            return;
+        }
+
+        // concurrent computation, one task per force model
+        final List<Callable<Void>> tasks = new ArrayList<>(models.size());
+        for (final DSSTForceModel forceModel : models) {
+            tasks.add(() -> {
+                forceModel.updateShortPeriodTerms(forceModel.getParameters(), meanStates);
+                return null;
+            });
+        }
+
+        try {
+            for (final Future<Void> future : shortPeriodTermsExecutor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                // propagate errors from force models as is
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new OrekitException(ee.getCause(), LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        }
+
+    }
+
     /** Step handler used to compute the parameters for the short periodic contributions.
      * @author Lucian Barbulescu
      */
@@ -1069,9 +1207,7 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
             }
 
             // Computate short periodic coefficients for this step
-            for (DSSTForceModel forceModel : forceModels) {
-                forceModel.updateShortPeriodTerms(forceModel.getParameters(), meanStates);
-            }
+            updateShortPeriodTerms(forceModels, meanStates);
 
         }
     }
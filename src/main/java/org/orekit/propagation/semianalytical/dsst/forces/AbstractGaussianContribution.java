@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.forces;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -116,6 +117,9 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
     /** Max rank in Gauss quadrature orders array. */
     private static final int MAX_ORDER_RANK = GAUSS_ORDER.length - 1;
 
+    /** Gauss quadratures for all available orders (nodes and weights do not depend on date). */
+    private static final GaussQuadrature[] QUADRATURES = createQuadratures();
+
     /** Number of points for interpolation. */
     private static final int INTERPOLATION_POINTS = 3;
 
@@ -134,6 +138,15 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
     /** Flag for Gauss order computation. */
     private boolean isDirty;
 
+    /** Maximum relative change of perigee or apogee radius before Gauss order is selected again. */
+    private double reselectionThreshold;
+
+    /** Perigee radius at last Gauss order selection. */
+    private double selectionPerigee;
+
+    /** Apogee radius at last Gauss order selection. */
+    private double selectionApogee;
+
     /** Attitude provider. */
     private AttitudeProvider attitudeProvider;
 
@@ -167,12 +180,80 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         this.coefficientsKeyPrefix = coefficientsKeyPrefix;
         this.contribution          = contribution;
         this.threshold             = threshold;
-        this.integrator            = new GaussQuadrature(GAUSS_ORDER[MAX_ORDER_RANK]);
+        this.integrator            = QUADRATURES[MAX_ORDER_RANK];
         this.isDirty               = true;
+        this.reselectionThreshold  = Double.POSITIVE_INFINITY;
+        this.selectionPerigee      = Double.NaN;
+        this.selectionApogee       = Double.NaN;
 
         gaussianFieldSPCoefs       = new HashMap<>();
     }
 
+    /** Create the Gauss quadratures for all available orders.
+     * @return Gauss quadratures, in increasing order
+     */
+    private static GaussQuadrature[] createQuadratures() {
+        final GaussQuadrature[] quadratures = new GaussQuadrature[GAUSS_ORDER.length];
+        for (int i = 0; i < quadratures.length; ++i) {
+            quadratures[i] = new GaussQuadrature(GAUSS_ORDER[i]);
+        }
+        return quadratures;
+    }
+
+    /** Set the threshold for adaptive selection of the Gauss quadrature order.
+     * <p>
+     * The order of the Gauss quadrature used for mean elements rates is selected
+     * at first call, as the lowest order that matches the highest order within
+     * the tolerance of the force model. By default, this order is kept for the
+     * whole propagation. This may be either too costly or not accurate enough
+     * when the shape of the orbit evolves a lot during propagation, for example
+     * during long-term orbit decay due to drag, as the integrand variation along
+     * the orbit is mainly driven by perigee and apogee radii.
+     * </p>
+     * <p>
+     * Setting a finite threshold enables adaptive selection: the order is selected
+     * again each time the relative change of either perigee radius or apogee radius
+     * since the last selection exceeds the threshold. The selection can then raise
+     * the order as well as lower it.
+     * </p>
+     * @param relativeChange maximum relative change of perigee or apogee radius
+     * before the order is selected again ({@code Double.POSITIVE_INFINITY}
+     * to select the order only once, which is the default)
+     * @since 10.2
+     */
+    public void setQuadratureReselectionThreshold(final double relativeChange) {
+        this.reselectionThreshold = relativeChange;
+    }
+
+    /** Get the threshold for adaptive selection of the Gauss quadrature order.
+     * @return maximum relative change of perigee or apogee radius before
+     * the order is selected again
+     * @see #setQuadratureReselectionThreshold(double)
+     * @since 10.2
+     */
+    public double getQuadratureReselectionThreshold() {
+        return reselectionThreshold;
+    }
+
+    /** Get the number of points of the currently selected Gauss quadrature.
+     * @return number of points of the currently selected Gauss quadrature
+     * @since 10.2
+     */
+    public int getQuadratureOrder() {
+        return integrator.numberOfPoints;
+    }
+
+    /** Check if Gauss quadrature order must be selected.
+     * @param sma semi-major axis
+     * @param ecc eccentricity
+     * @return true if Gauss quadrature order must be selected
+     */
+    private boolean needsOrderSelection(final double sma, final double ecc) {
+        return isDirty ||
+               FastMath.abs(sma * (1 - ecc) - selectionPerigee) > reselectionThreshold * selectionPerigee ||
+               FastMath.abs(sma * (1 + ecc) - selectionApogee)  > reselectionThreshold * selectionApogee;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ParameterDriver[] getParametersDrivers() {
@@ -275,17 +356,30 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         final double[] ll = getLLimits(state, auxiliaryElements);
         // Computes integrated mean element rates if Llow < Lhigh
         if (ll[0] < ll[1]) {
-            meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
-            if (isDirty) {
+            final double sma = auxiliaryElements.getSma();
+            final double ecc = auxiliaryElements.getEcc();
+            if (needsOrderSelection(sma, ecc)) {
+                // reference rates are computed with the highest order
+                final boolean firstSelection = isDirty;
+                integrator      = QUADRATURES[MAX_ORDER_RANK];
+                meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
                 boolean next = true;
                 for (int i = 0; i < MAX_ORDER_RANK && next; i++) {
-                    final double[] meanRates = getMeanElementRate(state, new GaussQuadrature(GAUSS_ORDER[i]), ll[0], ll[1], context, parameters);
+                    final double[] meanRates = getMeanElementRate(state, QUADRATURES[i], ll[0], ll[1], context, parameters);
                     if (getRatesDiff(meanElementRate, meanRates, context) < threshold) {
-                        integrator = new GaussQuadrature(GAUSS_ORDER[i]);
+                        integrator = QUADRATURES[i];
                         next = false;
+                        if (!firstSelection) {
+                            // keep rates consistent with the ones computed between selections
+                            meanElementRate = meanRates;
+                        }
                     }
                 }
-                isDirty = false;
+                isDirty          = false;
+                selectionPerigee = sma * (1 - ecc);
+                selectionApogee  = sma * (1 + ecc);
+            } else {
+                meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
             }
         }
         return meanElementRate;
@@ -306,17 +400,30 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         final T[] ll = getLLimits(state, auxiliaryElements);
         // Computes integrated mean element rates if Llow < Lhigh
         if (ll[0].getReal() < ll[1].getReal()) {
-            meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
-            if (isDirty) {
+            final double sma = auxiliaryElements.getSma().getReal();
+            final double ecc = auxiliaryElements.getEcc().getReal();
+            if (needsOrderSelection(sma, ecc)) {
+                // reference rates are computed with the highest order
+                final boolean firstSelection = isDirty;
+                integrator      = QUADRATURES[MAX_ORDER_RANK];
+                meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
                 boolean next = true;
                 for (int i = 0; i < MAX_ORDER_RANK && next; i++) {
-                    final T[] meanRates = getMeanElementRate(state, new GaussQuadrature(GAUSS_ORDER[i]), ll[0], ll[1], context, parameters);
+                    final T[] meanRates = getMeanElementRate(state, QUADRATURES[i], ll[0], ll[1], context, parameters);
                     if (getRatesDiff(meanElementRate, meanRates, context).getReal() < threshold) {
-                        integrator = new GaussQuadrature(GAUSS_ORDER[i]);
+                        integrator = QUADRATURES[i];
                         next = false;
+                        if (!firstSelection) {
+                            // keep rates consistent with the ones computed between selections
+                            meanElementRate = meanRates;
+                        }
                     }
                 }
-                isDirty = false;
+                isDirty          = false;
+                selectionPerigee = sma * (1 - ecc);
+                selectionApogee  = sma * (1 + ecc);
+            } else {
+                meanElementRate = getMeanElementRate(state, integrator, ll[0], ll[1], context, parameters);
             }
         }
 
@@ -1978,6 +2085,9 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
      */
     private static class GaussianShortPeriodicCoefficients implements ShortPeriodTerms {
 
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
+
         /** Maximum value for j index. */
         private final int jMax;
 
@@ -1988,7 +2098,7 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
         private final String coefficientsKeyPrefix;
 
         /** All coefficients slots. */
-        private final transient TimeSpanMap<Slot> slots;
+        private final TimeSpanMap<Slot> slots;
 
         /** Constructor.
          *  @param coefficientsKeyPrefix prefix for coefficients keys
@@ -2187,12 +2297,12 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             final Slot slot = slots.get(date);
 
             final Map<String, double[]> coefficients = new HashMap<String, double[]>(2 * JMAX + 3);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "d", 0);
-            storeIfSelected(coefficients, selected, slot.dij[1].value(date), "d", 1);
-            storeIfSelected(coefficients, selected, slot.dij[2].value(date), "d", 2);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "d", 0);
+            storeIfSelected(coefficients, selected, slot.dij[1], date, "d", 1);
+            storeIfSelected(coefficients, selected, slot.dij[2], date, "d", 2);
             for (int j = 1; j <= JMAX; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
 
             return coefficients;
@@ -2203,12 +2313,14 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, double[]> map, final Set<String> selected,
-                                     final double[] value, final String id, final int... indices) {
+                                     final ShortPeriodicsInterpolatedCoefficient coefficient,
+                                     final AbsoluteDate date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -2216,7 +2328,8 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -2451,12 +2564,12 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             final FieldSlot<T> slot = slots.get(date);
 
             final Map<String, T[]> coefficients = new HashMap<String, T[]>(2 * JMAX + 3);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "d", 0);
-            storeIfSelected(coefficients, selected, slot.dij[1].value(date), "d", 1);
-            storeIfSelected(coefficients, selected, slot.dij[2].value(date), "d", 2);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "d", 0);
+            storeIfSelected(coefficients, selected, slot.dij[1], date, "d", 1);
+            storeIfSelected(coefficients, selected, slot.dij[2], date, "d", 2);
             for (int j = 1; j <= JMAX; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
 
             return coefficients;
@@ -2467,12 +2580,14 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, T[]> map, final Set<String> selected,
-                                     final T[] value, final String id, final int... indices) {
+                                     final FieldShortPeriodicsInterpolatedCoefficient<T> coefficient,
+                                     final FieldAbsoluteDate<T> date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -2480,7 +2595,8 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -3062,7 +3178,10 @@ public abstract class AbstractGaussianContribution implements DSSTForceModel {
     }
 
     /** Coefficients valid for one time slot. */
-    private static class Slot {
+    private static class Slot implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
 
         /**The coefficients D<sub>i</sub><sup>j</sup>.
          * <p>
@@ -24,6 +24,7 @@ import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 import org.hipparchus.util.MathUtils;
 import org.hipparchus.util.Precision;
+import org.orekit.bodies.EclipsePredictor;
 import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
 import org.orekit.forces.radiation.RadiationSensitive;
 import org.orekit.forces.radiation.SolarRadiationPressure;
@@ -33,6 +34,7 @@ import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.events.FieldEventDetector;
 import org.orekit.propagation.semianalytical.dsst.utilities.AuxiliaryElements;
 import org.orekit.propagation.semianalytical.dsst.utilities.FieldAuxiliaryElements;
+import org.orekit.utils.Constants;
 import org.orekit.utils.ExtendedPVCoordinatesProvider;
 import org.orekit.utils.ParameterDriver;
 
@@ -72,6 +74,9 @@ public class DSSTSolarRadiationPressure extends AbstractGaussianContribution {
     /** Spacecraft model for radiation acceleration computation. */
     private final RadiationSensitive spacecraft;
 
+    /** Eclipse geometry service. */
+    private final EclipsePredictor predictor;
+
     /**
      * Simple constructor with default reference values and spherical spacecraft.
      * <p>
@@ -176,13 +181,57 @@ public class DSSTSolarRadiationPressure extends AbstractGaussianContribution {
                                       final RadiationSensitive spacecraft,
                                       final double mu) {
 
+        this(dRef, pRef, new EclipsePredictor(sun, Constants.SUN_RADIUS, equatorialRadius, 0.0), spacecraft, mu);
+    }
+
+    /**
+     * Simple constructor with default reference values and shared eclipse service.
+     * <p>
+     * The Sun model and central body radius are retrieved from the eclipse
+     * predictor, which may be shared with other force models and detectors.
+     * The lighting ratio at the quadrature nodes is retrieved from the cones
+     * crossings predicted by the predictor, as positions along the same orbit
+     * at the same date share the same prediction.
+     * </p>
+     *
+     * @param predictor eclipse geometry service for Sun occultation by central body
+     * @param spacecraft spacecraft model
+     * @param mu central attraction coefficient
+     * @since 10.2
+     */
+    public DSSTSolarRadiationPressure(final EclipsePredictor predictor,
+                                      final RadiationSensitive spacecraft,
+                                      final double mu) {
+        this(D_REF, P_REF, predictor, spacecraft, mu);
+    }
+
+    /**
+     * Complete constructor with shared eclipse service.
+     * <p>
+     * The Sun model and central body radius are retrieved from the eclipse
+     * predictor, which may be shared with other force models and detectors.
+     * </p>
+     *
+     * @param dRef reference distance for the solar radiation pressure (m)
+     * @param pRef reference solar radiation pressure at dRef (N/m²)
+     * @param predictor eclipse geometry service for Sun occultation by central body
+     * @param spacecraft spacecraft model
+     * @param mu central attraction coefficient
+     * @since 10.2
+     */
+    public DSSTSolarRadiationPressure(final double dRef, final double pRef,
+                                      final EclipsePredictor predictor,
+                                      final RadiationSensitive spacecraft,
+                                      final double mu) {
+
         //Call to the constructor from superclass using the numerical SRP model as ForceModel
         super(PREFIX, GAUSS_THRESHOLD,
-              new SolarRadiationPressure(dRef, pRef, sun, equatorialRadius, spacecraft), mu);
+              new SolarRadiationPressure(dRef, pRef, predictor, spacecraft), mu);
 
-        this.sun  = sun;
-        this.ae   = equatorialRadius;
+        this.sun        = predictor.getOcculted();
+        this.ae         = predictor.getOccultingRadius();
         this.spacecraft = spacecraft;
+        this.predictor  = predictor;
     }
 
     /** Get spacecraft shape.
@@ -216,7 +265,7 @@ public class DSSTSolarRadiationPressure extends AbstractGaussianContribution {
                              FastMath.PI + MathUtils.normalizeAngle(state.getLv(), 0)};
 
         // Direction cosines of the Sun in the equinoctial frame
-        final Vector3D sunDir = sun.getPVCoordinates(state.getDate(), state.getFrame()).getPosition().normalize();
+        final Vector3D sunDir = predictor.getOccultedPosition(state.getDate(), state.getFrame()).normalize();
         final double alpha = sunDir.dotProduct(auxiliaryElements.getVectorF());
         final double beta  = sunDir.dotProduct(auxiliaryElements.getVectorG());
         final double gamma = sunDir.dotProduct(auxiliaryElements.getVectorW());
@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.forces;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -63,6 +64,7 @@ import org.orekit.propagation.semianalytical.dsst.utilities.GammaMnsFunction;
 import org.orekit.propagation.semianalytical.dsst.utilities.JacobiPolynomials;
 import org.orekit.propagation.semianalytical.dsst.utilities.ShortPeriodicsInterpolatedCoefficient;
 import org.orekit.propagation.semianalytical.dsst.utilities.hansen.FieldHansenTesseralLinear;
+import org.orekit.propagation.semianalytical.dsst.utilities.hansen.HansenTesseralCache;
 import org.orekit.propagation.semianalytical.dsst.utilities.hansen.HansenTesseralLinear;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
@@ -191,6 +193,9 @@ public class DSSTTesseral implements DSSTForceModel {
     /** Flag for force model initialization with field elements. */
     private boolean pendingInitialization;
 
+    /** Cache for Hansen kernels (null if kernels are not shared). */
+    private HansenTesseralCache hansenCache;
+
     /** Simple constructor with default reference values.
      * <p>
      * When this constructor is used, maximum allowed values are used
@@ -300,6 +305,33 @@ public class DSSTTesseral implements DSSTForceModel {
 
     }
 
+    /** Set a cache for Hansen kernels.
+     * <p>
+     * Hansen kernels are rebuilt each time the force model is initialized. Their
+     * polynomials only depend on the selected terms, so they can be shared between
+     * several tesseral force models, typically when propagating many satellites on
+     * similar orbits. By default, no cache is used and kernels are not shared.
+     * </p>
+     * <p>
+     * This setting applies only to computations using primitive double numbers.
+     * </p>
+     * @param hansenCache cache for Hansen kernels, may be shared between
+     * several force models (null to disable sharing)
+     * @since 10.2
+     */
+    public void setHansenCache(final HansenTesseralCache hansenCache) {
+        this.hansenCache = hansenCache;
+    }
+
+    /** Get the cache for Hansen kernels.
+     * @return cache for Hansen kernels (null if kernels are not shared)
+     * @see #setHansenCache(HansenTesseralCache)
+     * @since 10.2
+     */
+    public HansenTesseralCache getHansenCache() {
+        return hansenCache;
+    }
+
     /** Check an index range.
      * @param index index value
      * @param min minimum value for index
@@ -1650,6 +1682,9 @@ public class DSSTTesseral implements DSSTForceModel {
      */
     private static class TesseralShortPeriodicCoefficients implements ShortPeriodTerms {
 
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
+
         /** Retrograde factor I.
          *  <p>
          *  DSST model needs equinoctial orbit as internal representation.
@@ -1687,7 +1722,7 @@ public class DSSTTesseral implements DSSTForceModel {
         private final int interpolationPoints;
 
         /** All coefficients slots. */
-        private final transient TimeSpanMap<Slot> slots;
+        private final TimeSpanMap<Slot> slots;
 
         /** Constructor.
          * @param bodyFrame central body rotating frame
@@ -1824,8 +1859,8 @@ public class DSSTTesseral implements DSSTForceModel {
                                                               12 * nonResOrders.size());
 
                 for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
-                    storeIfSelected(coefficients, selected, slot.getCijm(0, m, date), DSSTTesseral.CM_COEFFICIENTS, m);
-                    storeIfSelected(coefficients, selected, slot.getSijm(0, m, date), DSSTTesseral.SM_COEFFICIENTS, m);
+                    storeIfSelected(coefficients, selected, slot.getCijmCoefficient(0, m), date, DSSTTesseral.CM_COEFFICIENTS, m);
+                    storeIfSelected(coefficients, selected, slot.getSijmCoefficient(0, m), date, DSSTTesseral.SM_COEFFICIENTS, m);
                 }
 
                 for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
@@ -1833,10 +1868,8 @@ public class DSSTTesseral implements DSSTForceModel {
                     final List<Integer> listJ = entry.getValue();
 
                     for (int j : listJ) {
-                        for (int i = 0; i < 6; ++i) {
-                            storeIfSelected(coefficients, selected, slot.getCijm(j, m, date), "c", j, m);
-                            storeIfSelected(coefficients, selected, slot.getSijm(j, m, date), "s", j, m);
-                        }
+                        storeIfSelected(coefficients, selected, slot.getCijmCoefficient(j, m), date, "c", j, m);
+                        storeIfSelected(coefficients, selected, slot.getSijmCoefficient(j, m), date, "s", j, m);
                     }
                 }
 
@@ -1852,12 +1885,14 @@ public class DSSTTesseral implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, double[]> map, final Set<String> selected,
-                                     final double[] value, final String id, final int... indices) {
+                                     final ShortPeriodicsInterpolatedCoefficient coefficient,
+                                     final AbsoluteDate date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -1865,7 +1900,8 @@ public class DSSTTesseral implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -2057,8 +2093,8 @@ public class DSSTTesseral implements DSSTForceModel {
                                                          12 * nonResOrders.size());
 
                 for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
-                    storeIfSelected(coefficients, selected, slot.getCijm(0, m, date), DSSTTesseral.CM_COEFFICIENTS, m);
-                    storeIfSelected(coefficients, selected, slot.getSijm(0, m, date), DSSTTesseral.SM_COEFFICIENTS, m);
+                    storeIfSelected(coefficients, selected, slot.getCijmCoefficient(0, m), date, DSSTTesseral.CM_COEFFICIENTS, m);
+                    storeIfSelected(coefficients, selected, slot.getSijmCoefficient(0, m), date, DSSTTesseral.SM_COEFFICIENTS, m);
                 }
 
                 for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
@@ -2066,10 +2102,8 @@ public class DSSTTesseral implements DSSTForceModel {
                     final List<Integer> listJ = entry.getValue();
 
                     for (int j : listJ) {
-                        for (int i = 0; i < 6; ++i) {
-                            storeIfSelected(coefficients, selected, slot.getCijm(j, m, date), "c", j, m);
-                            storeIfSelected(coefficients, selected, slot.getSijm(j, m, date), "s", j, m);
-                        }
+                        storeIfSelected(coefficients, selected, slot.getCijmCoefficient(j, m), date, "c", j, m);
+                        storeIfSelected(coefficients, selected, slot.getSijmCoefficient(j, m), date, "s", j, m);
                     }
                 }
 
@@ -2085,12 +2119,14 @@ public class DSSTTesseral implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, T[]> map, final Set<String> selected,
-                                     final T[] value, final String id, final int... indices) {
+                                     final FieldShortPeriodicsInterpolatedCoefficient<T> coefficient,
+                                     final FieldAbsoluteDate<T> date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -2098,13 +2134,17 @@ public class DSSTTesseral implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
     }
 
     /** Coefficients valid for one time slot. */
-    private static class Slot {
+    private static class Slot implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
 
         /** The coefficients C<sub>i</sub><sup>j</sup><sup>m</sup>.
          * <p>
@@ -2162,8 +2202,18 @@ public class DSSTTesseral implements DSSTForceModel {
          * @return C<sub>i</sub><sup>j</sup><sup>m</sup>
          */
         double[] getCijm(final int j, final int m, final AbsoluteDate date) {
+            return getCijmCoefficient(j, m).value(date);
+        }
+
+        /** Get the interpolated coefficient for C<sub>i</sub><sup>j</sup><sup>m</sup>.
+         *
+         * @param j j index
+         * @param m m index
+         * @return interpolated coefficient for C<sub>i</sub><sup>j</sup><sup>m</sup>
+         */
+        ShortPeriodicsInterpolatedCoefficient getCijmCoefficient(final int j, final int m) {
             final int jMax = (cijm[m].length - 1) / 2;
-            return cijm[m][j + jMax].value(date);
+            return cijm[m][j + jMax];
         }
 
         /** Get S<sub>i</sub><sup>j</sup><sup>m</sup>.
@@ -2174,8 +2224,18 @@ public class DSSTTesseral implements DSSTForceModel {
          * @return S<sub>i</sub><sup>j</sup><sup>m</sup>
          */
         double[] getSijm(final int j, final int m, final AbsoluteDate date) {
+            return getSijmCoefficient(j, m).value(date);
+        }
+
+        /** Get the interpolated coefficient for S<sub>i</sub><sup>j</sup><sup>m</sup>.
+         *
+         * @param j j index
+         * @param m m index
+         * @return interpolated coefficient for S<sub>i</sub><sup>j</sup><sup>m</sup>
+         */
+        ShortPeriodicsInterpolatedCoefficient getSijmCoefficient(final int j, final int m) {
             final int jMax = (cijm[m].length - 1) / 2;
-            return sijm[m][j + jMax].value(date);
+            return sijm[m][j + jMax];
         }
 
     }
@@ -2240,8 +2300,18 @@ public class DSSTTesseral implements DSSTForceModel {
          * @return C<sub>i</sub><sup>j</sup><sup>m</sup>
          */
         T[] getCijm(final int j, final int m, final FieldAbsoluteDate<T> date) {
+            return getCijmCoefficient(j, m).value(date);
+        }
+
+        /** Get the interpolated coefficient for C<sub>i</sub><sup>j</sup><sup>m</sup>.
+         *
+         * @param j j index
+         * @param m m index
+         * @return interpolated coefficient for C<sub>i</sub><sup>j</sup><sup>m</sup>
+         */
+        FieldShortPeriodicsInterpolatedCoefficient<T> getCijmCoefficient(final int j, final int m) {
             final int jMax = (cijm[m].length - 1) / 2;
-            return cijm[m][j + jMax].value(date);
+            return cijm[m][j + jMax];
         }
 
         /** Get S<sub>i</sub><sup>j</sup><sup>m</sup>.
@@ -2252,8 +2322,18 @@ public class DSSTTesseral implements DSSTForceModel {
          * @return S<sub>i</sub><sup>j</sup><sup>m</sup>
          */
         T[] getSijm(final int j, final int m, final FieldAbsoluteDate<T> date) {
+            return getSijmCoefficient(j, m).value(date);
+        }
+
+        /** Get the interpolated coefficient for S<sub>i</sub><sup>j</sup><sup>m</sup>.
+         *
+         * @param j j index
+         * @param m m index
+         * @return interpolated coefficient for S<sub>i</sub><sup>j</sup><sup>m</sup>
+         */
+        FieldShortPeriodicsInterpolatedCoefficient<T> getSijmCoefficient(final int j, final int m) {
             final int jMax = (cijm[m].length - 1) / 2;
-            return sijm[m][j + jMax].value(date);
+            return sijm[m][j + jMax];
         }
 
     }
@@ -2748,11 +2828,11 @@ public class DSSTTesseral implements DSSTForceModel {
                             final int n0 = FastMath.max(FastMath.max(2, m), s);
 
                             //Create the object for the pair j, s
-                            this.hansenObjects[s + maxDegree][j] = new HansenTesseralLinear(maxDegree, s, j, n0, maxHansen);
+                            this.hansenObjects[s + maxDegree][j] = createHansenObject(s, j, n0);
 
                             if (s > 0 && s <= sMin) {
                                 //Also create the object for the pair j, -s
-                                this.hansenObjects[maxDegree - s][j] =  new HansenTesseralLinear(maxDegree, -s, j, n0, maxHansen);
+                                this.hansenObjects[maxDegree - s][j] =  createHansenObject(-s, j, n0);
                             }
                         }
                     }
@@ -2764,7 +2844,7 @@ public class DSSTTesseral implements DSSTForceModel {
                         for (int s = -maxDegree; s <= maxDegree; s++) {
                             //Compute the n0 value
                             final int n0 = FastMath.max(2, FastMath.abs(s));
-                            this.hansenObjects[s + maxDegree][j] = new HansenTesseralLinear(maxDegree, s, j, n0, maxHansen);
+                            this.hansenObjects[s + maxDegree][j] = createHansenObject(s, j, n0);
                         }
                     }
                     break;
@@ -2775,6 +2855,18 @@ public class DSSTTesseral implements DSSTForceModel {
 
         }
 
+        /** Create a Hansen object, sharing its polynomials through cache if available.
+         * @param s s parameter
+         * @param j j parameter
+         * @param n0 the minimum (absolute) value of n
+         * @return Hansen object
+         */
+        private HansenTesseralLinear createHansenObject(final int s, final int j, final int n0) {
+            return hansenCache == null ?
+                   new HansenTesseralLinear(maxDegree, s, j, n0, maxHansen) :
+                   hansenCache.getHansenTesseralLinear(maxDegree, s, j, n0, maxHansen);
+        }
+
         /** Compute init values for hansen objects.
          * @param context container for attributes
          * @param rows number of rows of the hansen matrix
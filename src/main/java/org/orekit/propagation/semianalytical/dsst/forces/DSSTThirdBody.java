@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.forces;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -3049,6 +3050,9 @@ public class DSSTThirdBody implements DSSTForceModel {
      */
     private static class ThirdBodyShortPeriodicCoefficients implements ShortPeriodTerms {
 
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
+
         /** Maximal value for j. */
         private final int jMax;
 
@@ -3062,7 +3066,7 @@ public class DSSTThirdBody implements DSSTForceModel {
         private final String prefix;
 
         /** All coefficients slots. */
-        private final transient TimeSpanMap<Slot> slots;
+        private final TimeSpanMap<Slot> slots;
 
         /**
          * Standard constructor.
@@ -3149,10 +3153,10 @@ public class DSSTThirdBody implements DSSTForceModel {
             final Slot slot = slots.get(date);
 
             final Map<String, double[]> coefficients = new HashMap<String, double[]>(2 * maxFreqF + 1);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "c", 0);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "c", 0);
             for (int j = 1; j <= maxFreqF; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
             return coefficients;
 
@@ -3162,12 +3166,14 @@ public class DSSTThirdBody implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, double[]> map, final Set<String> selected,
-                                     final double[] value, final String id, final int... indices) {
+                                     final ShortPeriodicsInterpolatedCoefficient coefficient,
+                                     final AbsoluteDate date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -3175,7 +3181,8 @@ public class DSSTThirdBody implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -3293,10 +3300,10 @@ public class DSSTThirdBody implements DSSTForceModel {
             final FieldSlot<T> slot = slots.get(date);
 
             final Map<String, T[]> coefficients = new HashMap<String, T[]>(2 * maxFreqF + 1);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "c", 0);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "c", 0);
             for (int j = 1; j <= maxFreqF; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
             return coefficients;
 
@@ -3306,12 +3313,14 @@ public class DSSTThirdBody implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, T[]> map, final Set<String> selected,
-                                     final T[] value, final String id, final int... indices) {
+                                     final FieldShortPeriodicsInterpolatedCoefficient<T> coefficient,
+                                     final FieldAbsoluteDate<T> date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -3319,14 +3328,18 @@ public class DSSTThirdBody implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
     }
 
     /** Coefficients valid for one time slot. */
-    private static class Slot {
+    private static class Slot implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
 
         /** The coefficients C<sub>i</sub><sup>j</sup>.
          * <p>
@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.forces;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -1449,6 +1450,9 @@ public class DSSTZonal implements DSSTForceModel {
      */
     private static class ZonalShortPeriodicCoefficients implements ShortPeriodTerms {
 
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
+
         /** Maximum value for j index. */
         private final int maxFrequencyShortPeriodics;
 
@@ -1456,7 +1460,7 @@ public class DSSTZonal implements DSSTForceModel {
         private final int interpolationPoints;
 
         /** All coefficients slots. */
-        private final transient TimeSpanMap<Slot> slots;
+        private final TimeSpanMap<Slot> slots;
 
         /** Constructor.
          * @param maxFrequencyShortPeriodics maximum value for j index
@@ -1546,11 +1550,11 @@ public class DSSTZonal implements DSSTForceModel {
             final Slot slot = slots.get(date);
 
             final Map<String, double[]> coefficients = new HashMap<String, double[]>(2 * maxFrequencyShortPeriodics + 2);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "d", 0);
-            storeIfSelected(coefficients, selected, slot.di.value(date), "d", 1);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "d", 0);
+            storeIfSelected(coefficients, selected, slot.di, date, "d", 1);
             for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
             return coefficients;
 
@@ -1560,12 +1564,14 @@ public class DSSTZonal implements DSSTForceModel {
          * @param map map to populate
          * @param selected set of coefficients that should be put in the map
          * (empty set means all coefficients are selected)
-         * @param value coefficient value
+         * @param coefficient interpolated coefficient
+         * @param date date at which the coefficient should be evaluated
          * @param id coefficient identifier
          * @param indices list of coefficient indices
          */
         private void storeIfSelected(final Map<String, double[]> map, final Set<String> selected,
-                                     final double[] value, final String id, final int... indices) {
+                                     final ShortPeriodicsInterpolatedCoefficient coefficient,
+                                     final AbsoluteDate date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -1573,7 +1579,8 @@ public class DSSTZonal implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -1693,11 +1700,11 @@ public class DSSTZonal implements DSSTForceModel {
             final FieldSlot<T> slot = slots.get(date);
 
             final Map<String, T[]> coefficients = new HashMap<String, T[]>(2 * maxFrequencyShortPeriodics + 2);
-            storeIfSelected(coefficients, selected, slot.cij[0].value(date), "d", 0);
-            storeIfSelected(coefficients, selected, slot.di.value(date), "d", 1);
+            storeIfSelected(coefficients, selected, slot.cij[0], date, "d", 0);
+            storeIfSelected(coefficients, selected, slot.di, date, "d", 1);
             for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
-                storeIfSelected(coefficients, selected, slot.cij[j].value(date), "c", j);
-                storeIfSelected(coefficients, selected, slot.sij[j].value(date), "s", j);
+                storeIfSelected(coefficients, selected, slot.cij[j], date, "c", j);
+                storeIfSelected(coefficients, selected, slot.sij[j], date, "s", j);
             }
             return coefficients;
 
@@ -1707,12 +1714,14 @@ public class DSSTZonal implements DSSTForceModel {
         * @param map map to populate
         * @param selected set of coefficients that should be put in the map
         * (empty set means all coefficients are selected)
-        * @param value coefficient value
+        * @param coefficient interpolated coefficient
+        * @param date date at which the coefficient should be evaluated
         * @param id coefficient identifier
         * @param indices list of coefficient indices
         */
         private void storeIfSelected(final Map<String, T[]> map, final Set<String> selected,
-                                     final T[] value, final String id, final int... indices) {
+                                     final FieldShortPeriodicsInterpolatedCoefficient<T> coefficient,
+                                     final FieldAbsoluteDate<T> date, final String id, final int... indices) {
             final StringBuilder keyBuilder = new StringBuilder(getCoefficientsKeyPrefix());
             keyBuilder.append(id);
             for (int index : indices) {
@@ -1720,7 +1729,8 @@ public class DSSTZonal implements DSSTForceModel {
             }
             final String key = keyBuilder.toString();
             if (selected.isEmpty() || selected.contains(key)) {
-                map.put(key, value);
+                // interpolate only the selected coefficients
+                map.put(key, coefficient.value(date));
             }
         }
 
@@ -3356,7 +3366,10 @@ public class DSSTZonal implements DSSTForceModel {
     }
 
     /** Coefficients valid for one time slot. */
-    private static class Slot {
+    private static class Slot implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
 
         /**The coefficients D<sub>i</sub>.
          * <p>
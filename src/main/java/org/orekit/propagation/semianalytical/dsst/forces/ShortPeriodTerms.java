@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.forces;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,11 +27,16 @@ import org.orekit.time.AbsoluteDate;
  * <p>
  * Each instance contains a set of several terms that are computed together.
  * </p>
+ * <p>
+ * Since 10.2, short period terms are {@link Serializable}, so they can be stored
+ * together with a mean elements ephemeris (see {@link
+ * org.orekit.propagation.semianalytical.dsst.DSSTEphemerisStorage}).
+ * </p>
  * @see DSSTForceModel
  * @author Luc Maisonobe
  * @since 7.1
  */
-public interface ShortPeriodTerms {
+public interface ShortPeriodTerms extends Serializable {
 
     /** Evaluate the contributions of the short period terms.
      * @param meanOrbit mean orbit to which the short period contribution applies
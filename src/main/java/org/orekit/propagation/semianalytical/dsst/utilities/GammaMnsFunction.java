@@ -17,18 +17,25 @@
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.hipparchus.fraction.BigFraction;
 import org.hipparchus.util.FastMath;
 
 /** Compute the &Gamma;<sup>m</sup><sub>n,s</sub>(γ) function from equation 2.7.1-(13).
+ *
+ * <p> The factorial ratios involved are shared by all instances in an immutable
+ * array that is read without locking and replaced by a larger one when a higher
+ * degree is needed. They can also be computed beforehand up to
+ * some degree using {@link #precompute(int)}.
  *
  *  @author Romain Di Costanzo
  */
 public class GammaMnsFunction {
 
     /** Factorial ratios. */
-    private static double[] PRECOMPUTED_RATIOS;
+    private static final AtomicReference<double[]> PRECOMPUTED_RATIOS =
+            new AtomicReference<double[]>(new double[0]);
 
     /** Factorial ratios. */
     private final double[] ratios;
@@ -68,44 +75,85 @@ public class GammaMnsFunction {
                s + n;                          // index for m, n, s
     }
 
+    /** Precompute the factorial ratios up to some degree.
+     * <p>
+     * Calling this method is not mandatory, as ratios are computed lazily
+     * when needed, but it allows to perform all the computation at once during
+     * initialization, before several propagators start sharing the ratios.
+     * </p>
+     * <p>
+     * This method is guaranteed to be thread-safe
+     * </p>
+     * @param nMax max value for n
+     * @since 10.2
+     */
+    public static void precompute(final int nMax) {
+        getRatios(nMax, (nMax + 1) * (nMax + 2) * (4 * nMax + 3) / 6);
+    }
+
     /** Get the ratios for the given size.
+     * <p>
+     * The shared array is never modified once published, it is only replaced
+     * by a larger one, using compare-and-set. Concurrent threads may compute the
+     * same ratios, but a smaller array never replaces a larger one.
+     * </p>
      * @param nMax max value for n
      * @param size ratio size array
-     * @return factorial ratios
+     * @return factorial ratios (may be larger than size)
      */
     private static double[] getRatios(final int nMax, final int size) {
-        synchronized (GammaMnsFunction.class) {
-            if (PRECOMPUTED_RATIOS == null || PRECOMPUTED_RATIOS.length < size) {
-                // we need to compute a larger reference array
-
-                final BigFraction[] bF = new BigFraction[size];
-                for (int n = 0; n <= nMax; ++n) {
-
-                    // populate ratios for s = 0
-                    bF[index(0, n, 0)] = BigFraction.ONE;
-                    for (int m = 1; m <= n; ++m) {
-                        bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
-                    }
-
-                    // populate ratios for s != 0
-                    for (int absS = 1; absS <= n; ++absS) {
-                        for (int m = 0; m <= n; ++m) {
-                            bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
-                            bF[index(m, n, -absS)] = bF[index(m, n, absS)];
-                        }
-                    }
 
-                }
+        while (true) {
 
-                // convert to double
-                PRECOMPUTED_RATIOS = new double[size];
-                for (int i = 0; i < bF.length; ++i) {
-                    PRECOMPUTED_RATIOS[i] = bF[i].doubleValue();
-                }
+            final double[] current = PRECOMPUTED_RATIOS.get();
+            if (current.length >= size) {
+                return current;
+            }
 
+            // we need to compute a larger reference array
+            final double[] computed = computeRatios(nMax, size);
+            if (PRECOMPUTED_RATIOS.compareAndSet(current, computed)) {
+                return computed;
             }
-            return PRECOMPUTED_RATIOS;
+
         }
+
+    }
+
+    /** Compute the ratios for the given size.
+     * @param nMax max value for n
+     * @param size ratio size array
+     * @return factorial ratios
+     */
+    private static double[] computeRatios(final int nMax, final int size) {
+
+        final BigFraction[] bF = new BigFraction[size];
+        for (int n = 0; n <= nMax; ++n) {
+
+            // populate ratios for s = 0
+            bF[index(0, n, 0)] = BigFraction.ONE;
+            for (int m = 1; m <= n; ++m) {
+                bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
+            }
+
+            // populate ratios for s != 0
+            for (int absS = 1; absS <= n; ++absS) {
+                for (int m = 0; m <= n; ++m) {
+                    bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
+                    bF[index(m, n, -absS)] = bF[index(m, n, absS)];
+                }
+            }
+
+        }
+
+        // convert to double
+        final double[] computed = new double[size];
+        for (int i = 0; i < bF.length; ++i) {
+            computed[i] = bF[i].doubleValue();
+        }
+
+        return computed;
+
     }
 
     /** Get &Gamma; function value.
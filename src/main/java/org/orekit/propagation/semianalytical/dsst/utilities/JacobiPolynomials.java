@@ -16,10 +16,9 @@
  */
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
@@ -35,6 +34,12 @@ import org.hipparchus.analysis.polynomials.PolynomialsUtils;
  * org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral
  * tesseral contribution} computation.
  * </p>
+ * <p>
+ * The polynomials are stored in a concurrent cache that is read without locking,
+ * so many propagators can share it. They are computed lazily on first use, but
+ * they can also be computed beforehand up to some bounds using {@link
+ * #precompute(int, int, int)}.
+ * </p>
  *
  * @author Nicolas Bernard
  * @since 6.1
@@ -42,13 +47,35 @@ import org.hipparchus.analysis.polynomials.PolynomialsUtils;
 public class JacobiPolynomials {
 
     /** Storage map. */
-    private static final Map<JacobiKey, List<PolynomialFunction>> MAP =
-            new HashMap<JacobiPolynomials.JacobiKey, List<PolynomialFunction>>();
+    private static final ConcurrentMap<JacobiKey, AtomicReference<PolynomialFunction[]>> MAP =
+            new ConcurrentHashMap<JacobiPolynomials.JacobiKey, AtomicReference<PolynomialFunction[]>>();
 
     /** Private constructor as class is a utility. */
     private JacobiPolynomials() {
     }
 
+    /** Precompute the Jacobi polynomials up to some bounds.
+     * <p>
+     * Calling this method is not mandatory, as polynomials are computed lazily
+     * when needed, but it allows to perform all the computation at once during
+     * initialization, before several propagators start sharing the cache.
+     * </p>
+     * <p>
+     * This method is guaranteed to be thread-safe
+     * </p>
+     * @param lMax maximum degree of the polynomials
+     * @param vMax maximum v value
+     * @param wMax maximum w value
+     * @since 10.2
+     */
+    public static void precompute(final int lMax, final int vMax, final int wMax) {
+        for (int v = 0; v <= vMax; ++v) {
+            for (int w = 0; w <= wMax; ++w) {
+                getPolynomial(lMax, v, w);
+            }
+        }
+    }
+
     /** Returns the value and derivatives of the Jacobi polynomial P<sub>l</sub><sup>v,w</sup> evaluated at γ.
      * <p>
      * This method is guaranteed to be thread-safe
@@ -63,29 +90,7 @@ public class JacobiPolynomials {
     @Deprecated
     public static DerivativeStructure getValue(final int l, final int v, final int w, final DerivativeStructure gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
+        final PolynomialFunction polynomial = getPolynomial(l, v, w);
 
         // compute value and derivative
         return polynomial.value(gamma);
@@ -105,29 +110,7 @@ public class JacobiPolynomials {
      */
     public static Gradient getValue(final int l, final int v, final int w, final Gradient gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
+        final PolynomialFunction polynomial = getPolynomial(l, v, w);
 
         // compute value and derivative
         return polynomial.value(gamma);
@@ -150,29 +133,7 @@ public class JacobiPolynomials {
     public static <T extends RealFieldElement<T>> FieldDerivativeStructure<T> getValue(final int l, final int v, final int w,
                                                                                        final FieldDerivativeStructure<T> gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
-        }
+        final PolynomialFunction polynomial = getPolynomial(l, v, w);
 
         // compute value and derivative
         return polynomial.value(gamma);
@@ -194,32 +155,53 @@ public class JacobiPolynomials {
     public static <T extends RealFieldElement<T>> FieldGradient<T> getValue(final int l, final int v, final int w,
                                                                             final FieldGradient<T> gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
+        final PolynomialFunction polynomial = getPolynomial(l, v, w);
 
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
+        // compute value and derivative
+        return polynomial.value(gamma);
 
-            polyList = MAP.get(key);
+    }
 
+    /** Get the Jacobi polynomial P<sub>l</sub><sup>v,w</sup>.
+     * <p>
+     * The polynomials for one (v, w) couple are stored in an immutable array
+     * that is replaced atomically by a larger copy when a higher degree is needed.
+     * Concurrent threads may compute the same polynomials, only one array is kept.
+     * </p>
+     * @param l degree of the polynomial
+     * @param v v value
+     * @param w w value
+     * @return Jacobi polynomial P<sub>l</sub><sup>v,w</sup>
+     */
+    private static PolynomialFunction getPolynomial(final int l, final int v, final int w) {
+
+        final JacobiKey key = new JacobiKey(v, w);
+        AtomicReference<PolynomialFunction[]> reference = MAP.get(key);
+        if (reference == null) {
+            final AtomicReference<PolynomialFunction[]> created =
+                            new AtomicReference<PolynomialFunction[]>(new PolynomialFunction[0]);
+            final AtomicReference<PolynomialFunction[]> previous = MAP.putIfAbsent(key, created);
+            reference = (previous == null) ? created : previous;
         }
 
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
+        while (true) {
+            final PolynomialFunction[] polynomials = reference.get();
+            if (l < polynomials.length) {
+                return polynomials[l];
+            }
+
             // If the l-th degree polynomial has not been computed yet, the polynomials
             // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
+            final PolynomialFunction[] extended = new PolynomialFunction[l + 1];
+            System.arraycopy(polynomials, 0, extended, 0, polynomials.length);
+            for (int degree = polynomials.length; degree <= l; degree++) {
+                extended[degree] = PolynomialsUtils.createJacobiPolynomial(degree, v, w);
+            }
+            if (reference.compareAndSet(polynomials, extended)) {
+                return extended[l];
             }
-            polynomial = polyList.get(l);
-        }
 
-        // compute value and derivative
-        return polynomial.value(gamma);
+        }
 
     }
 
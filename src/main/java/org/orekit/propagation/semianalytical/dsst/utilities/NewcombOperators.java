@@ -17,10 +17,12 @@
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hipparchus.analysis.polynomials.PolynomialFunction;
 import org.hipparchus.util.FastMath;
@@ -49,19 +51,45 @@ import org.hipparchus.util.FastMath;
  *
  * <p> P<sub>kj</sub> = ∑<sub>j=0;ρ</sub> a<sub>j</sub>s<sup>j</sup>
  *
+ * <p> Both polynomials and values are stored in concurrent caches that are
+ * read without locking, so many propagators can share them. Entries are computed
+ * lazily on first use, but the polynomials can also be computed beforehand up to
+ * some bounds using {@link #precompute(int, int)}.
+ *
  * @author Romain Di Costanzo
  * @author Pascal Parraud
  */
 public class NewcombOperators {
 
     /** Storage map. */
-    private static final Map<NewKey, Double> MAP = new TreeMap<NewKey, Double>();
+    private static final ConcurrentMap<NewKey, Double> MAP = new ConcurrentHashMap<NewKey, Double>();
 
     /** Private constructor as class is a utility.
      */
     private NewcombOperators() {
     }
 
+    /** Precompute the Newcomb polynomials up to some bounds.
+     * <p>
+     * Calling this method is not mandatory, as polynomials are computed lazily
+     * when needed, but it allows to perform all the computation at once during
+     * initialization, before several propagators start sharing the cache.
+     * </p>
+     * <p>
+     * This method is guaranteed to be thread-safe
+     * </p>
+     * @param rhoMax maximum value for ρ index
+     * @param sigmaMax maximum value for σ index
+     * @since 10.2
+     */
+    public static void precompute(final int rhoMax, final int sigmaMax) {
+        for (int rho = 0; rho <= rhoMax; ++rho) {
+            for (int sigma = 0; sigma <= sigmaMax; ++sigma) {
+                PolynomialsGenerator.getPolynomials(rho, sigma);
+            }
+        }
+    }
+
     /** Get the Newcomb operator evaluated at n, s, ρ, σ.
      * <p>
      * This method is guaranteed to be thread-safe
@@ -75,10 +103,9 @@ public class NewcombOperators {
     public static double getValue(final int rho, final int sigma, final int n, final int s) {
 
         final NewKey key = new NewKey(n, s, rho, sigma);
-        synchronized (MAP) {
-            if (MAP.containsKey(key)) {
-                return MAP.get(key);
-            }
+        final Double cached = MAP.get(key);
+        if (cached != null) {
+            return cached;
         }
 
         // Get the Newcomb polynomials for the given rho and sigma
@@ -91,9 +118,9 @@ public class NewcombOperators {
             value += polynomial.value(s) * nPower;
             nPower = n * nPower;
         }
-        synchronized (MAP) {
-            MAP.put(key, value);
-        }
+
+        // concurrent threads may have computed the same value, they are all equal
+        MAP.putIfAbsent(key, value);
 
         return value;
 
@@ -103,8 +130,8 @@ public class NewcombOperators {
     private static class PolynomialsGenerator {
 
         /** Polynomials storage. */
-        private static final SortedMap<Couple, List<PolynomialFunction>> POLYNOMIALS =
-                new TreeMap<Couple, List<PolynomialFunction>>();
+        private static final ConcurrentMap<Couple, List<PolynomialFunction>> POLYNOMIALS =
+                new ConcurrentHashMap<Couple, List<PolynomialFunction>>();
 
         /** Private constructor as class is a utility.
          */
@@ -123,60 +150,67 @@ public class NewcombOperators {
 
             final Couple couple = new Couple(rho, sigma);
 
-            synchronized (POLYNOMIALS) {
-
-                if (POLYNOMIALS.isEmpty()) {
-                    // Initialize lists
-                    final List<PolynomialFunction> l00 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l01 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l10 = new ArrayList<PolynomialFunction>();
-                    final List<PolynomialFunction> l11 = new ArrayList<PolynomialFunction>();
-
-                    // Y(rho = 0, sigma = 0) = 1
-                    l00.add(new PolynomialFunction(new double[] {
-                        1.
-                    }));
-                    // Y(rho = 0, sigma = 1) =  -s - n/2
-                    l01.add(new PolynomialFunction(new double[] {
-                        0, -1.
-                    }));
-                    l01.add(new PolynomialFunction(new double[] {
-                        -0.5
-                    }));
-                    // Y(rho = 1, sigma = 0) =  s - n/2
-                    l10.add(new PolynomialFunction(new double[] {
-                        0, 1.
-                    }));
-                    l10.add(new PolynomialFunction(new double[] {
-                        -0.5
-                    }));
-                    // Y(rho = 1, sigma = 1) = 3/2 - s² + 5n/4 + n²/4
-                    l11.add(new PolynomialFunction(new double[] {
-                        1.5, 0., -1.
-                    }));
-                    l11.add(new PolynomialFunction(new double[] {
-                        1.25
-                    }));
-                    l11.add(new PolynomialFunction(new double[] {
-                        0.25
-                    }));
-
-                    // Initialize polynomials
-                    POLYNOMIALS.put(new Couple(0, 0), l00);
-                    POLYNOMIALS.put(new Couple(0, 1), l01);
-                    POLYNOMIALS.put(new Couple(1, 0), l10);
-                    POLYNOMIALS.put(new Couple(1, 1), l11);
+            final List<PolynomialFunction> cached = POLYNOMIALS.get(couple);
+            if (cached != null) {
+                return cached;
+            }
 
-                }
+            // If order hasn't been computed yet, update the Newcomb polynomials
+            // (concurrent threads may compute the same polynomials, only the first one is kept)
+            final List<PolynomialFunction> computed =
+                    Collections.unmodifiableList((rho <= 1 && sigma <= 1) ?
+                                                 initialPolynomials(rho, sigma) :
+                                                 computeFor(rho, sigma));
+            final List<PolynomialFunction> previous = POLYNOMIALS.putIfAbsent(couple, computed);
+            return (previous == null) ? computed : previous;
 
-                // If order hasn't been computed yet, update the Newcomb polynomials
-                if (!POLYNOMIALS.containsKey(couple)) {
-                    PolynomialsGenerator.computeFor(rho, sigma);
-                }
+        }
 
-                return POLYNOMIALS.get(couple);
+        /** Get the initial Modified Newcomb Operators, for ρ and σ up to 1.
+         *  @param rho ρ value (0 or 1)
+         *  @param sigma σ value (0 or 1)
+         *  @return polynomials representing the Newcomb Operator for the (ρ,σ) couple
+         */
+        private static List<PolynomialFunction> initialPolynomials(final int rho, final int sigma) {
+
+            final List<PolynomialFunction> result = new ArrayList<PolynomialFunction>();
 
+            if (rho == 0 && sigma == 0) {
+                // Y(rho = 0, sigma = 0) = 1
+                result.add(new PolynomialFunction(new double[] {
+                    1.
+                }));
+            } else if (rho == 0) {
+                // Y(rho = 0, sigma = 1) =  -s - n/2
+                result.add(new PolynomialFunction(new double[] {
+                    0, -1.
+                }));
+                result.add(new PolynomialFunction(new double[] {
+                    -0.5
+                }));
+            } else if (sigma == 0) {
+                // Y(rho = 1, sigma = 0) =  s - n/2
+                result.add(new PolynomialFunction(new double[] {
+                    0, 1.
+                }));
+                result.add(new PolynomialFunction(new double[] {
+                    -0.5
+                }));
+            } else {
+                // Y(rho = 1, sigma = 1) = 3/2 - s² + 5n/4 + n²/4
+                result.add(new PolynomialFunction(new double[] {
+                    1.5, 0., -1.
+                }));
+                result.add(new PolynomialFunction(new double[] {
+                    1.25
+                }));
+                result.add(new PolynomialFunction(new double[] {
+                    0.25
+                }));
             }
+
+            return result;
+
         }
 
         /** Compute the Modified Newcomb Operators up to a given (ρ, σ) couple.
@@ -185,8 +219,9 @@ public class NewcombOperators {
          *  </p>
          *  @param rho ρ value to reach
          *  @param sigma σ value to reach
+         *  @return polynomials representing the Newcomb Operator for the (ρ,σ) couple
          */
-        private static void computeFor(final int rho, final int sigma) {
+        private static List<PolynomialFunction> computeFor(final int rho, final int sigma) {
 
             // Initialize result :
             List<PolynomialFunction> result = new ArrayList<PolynomialFunction>();
@@ -229,9 +264,8 @@ public class NewcombOperators {
                 result = sumPolynomialList(result, multiplyPolynomialList(poly, shiftList(list, -1)));
             }
 
-            // Save polynomials for current (rho, sigma) couple
-            final Couple couple = new Couple(rho, sigma);
-            POLYNOMIALS.put(couple, result);
+            return result;
+
         }
 
         /** Multiply two lists of polynomials defined as the internal representation of the Newcomb Operator.
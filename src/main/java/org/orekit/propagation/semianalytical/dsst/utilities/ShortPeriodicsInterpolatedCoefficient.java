@@ -16,6 +16,7 @@
  */
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 import org.hipparchus.analysis.interpolation.HermiteInterpolator;
@@ -34,7 +35,10 @@ import org.orekit.time.AbsoluteDate;
  * @author Nicolas Bernard
  *
  */
-public class ShortPeriodicsInterpolatedCoefficient {
+public class ShortPeriodicsInterpolatedCoefficient implements Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20200624L;
 
     /**Values of the already computed coefficients.*/
     private ArrayList<double[]> values;
@@ -54,6 +54,16 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
     /** The second vector of polynomials associated only to derivatives. */
     private PolynomialFunction[][] mpvecDeriv;
 
+    /** Values of the first vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecValues;
+
+    /** Values of the second vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecDerivValues;
+
     /** The Hansen coefficients used as roots. */
     private T[][] hansenRoot;
 
@@ -122,6 +132,8 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
 
             // Prepare the database of the associated polynomials
             generatePolynomials();
+            mpvecValues      = new FieldPolynomialsValues<>(mpvec, field);
+            mpvecDerivValues = new FieldPolynomialsValues<>(mpvecDeriv, field);
         }
 
     }
@@ -340,22 +352,22 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
 
         for (int i = 1; i < numSlices; i++) {
             for (int k = 0; k < 4; k++) {
-                final PolynomialFunction[] mv = mpvec[N0 - (i * SLICE) - k + 3 + offset];
-                final PolynomialFunction[] sv = mpvecDeriv[N0 - (i * SLICE) - k + 3 + offset];
-
-                hansenDerivRoot[i][k] = mv[3].value(chi).multiply(hansenDerivRoot[i - 1][3]).
-                                        add(mv[2].value(chi).multiply(hansenDerivRoot[i - 1][2])).
-                                        add(mv[1].value(chi).multiply(hansenDerivRoot[i - 1][1])).
-                                        add(mv[0].value(chi).multiply(hansenDerivRoot[i - 1][0])).
-                                        add(sv[3].value(chi).multiply(hansenRoot[i - 1][3])).
-                                        add(sv[2].value(chi).multiply(hansenRoot[i - 1][2])).
-                                        add(sv[1].value(chi).multiply(hansenRoot[i - 1][1])).
-                                        add(sv[0].value(chi).multiply(hansenRoot[i - 1][0]));
-
-                hansenRoot[i][k] =  mv[3].value(chi).multiply(hansenRoot[i - 1][3]).
-                                    add(mv[2].value(chi).multiply(hansenRoot[i - 1][2])).
-                                    add(mv[1].value(chi).multiply(hansenRoot[i - 1][1])).
-                                    add(mv[0].value(chi).multiply(hansenRoot[i - 1][0]));
+                final T[] mv = mpvecValues.getValues(N0 - (i * SLICE) - k + 3 + offset, chi);
+                final T[] sv = mpvecDerivValues.getValues(N0 - (i * SLICE) - k + 3 + offset, chi);
+
+                hansenDerivRoot[i][k] = mv[3].multiply(hansenDerivRoot[i - 1][3]).
+                                        add(mv[2].multiply(hansenDerivRoot[i - 1][2])).
+                                        add(mv[1].multiply(hansenDerivRoot[i - 1][1])).
+                                        add(mv[0].multiply(hansenDerivRoot[i - 1][0])).
+                                        add(sv[3].multiply(hansenRoot[i - 1][3])).
+                                        add(sv[2].multiply(hansenRoot[i - 1][2])).
+                                        add(sv[1].multiply(hansenRoot[i - 1][1])).
+                                        add(sv[0].multiply(hansenRoot[i - 1][0]));
+
+                hansenRoot[i][k] =  mv[3].multiply(hansenRoot[i - 1][3]).
+                                    add(mv[2].multiply(hansenRoot[i - 1][2])).
+                                    add(mv[1].multiply(hansenRoot[i - 1][1])).
+                                    add(mv[0].multiply(hansenRoot[i - 1][0]));
             }
         }
     }
@@ -389,11 +401,11 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
 
         // Computes the coefficient by linear transformation
         // Danielson 2.7.3-(9) or Collins 4-236 and Petre's paper
-        final PolynomialFunction[] v = mpvec[mnm1 + offset];
-        return v[3].value(chi).multiply(hansenRoot[sliceNo][3]).
-               add(v[2].value(chi).multiply(hansenRoot[sliceNo][2])).
-               add(v[1].value(chi).multiply(hansenRoot[sliceNo][1])).
-               add(v[0].value(chi).multiply(hansenRoot[sliceNo][0]));
+        final T[] v = mpvecValues.getValues(mnm1 + offset, chi);
+        return v[3].multiply(hansenRoot[sliceNo][3]).
+               add(v[2].multiply(hansenRoot[sliceNo][2])).
+               add(v[1].multiply(hansenRoot[sliceNo][1])).
+               add(v[0].multiply(hansenRoot[sliceNo][0]));
 
     }
 
@@ -427,17 +439,17 @@ public class FieldHansenTesseralLinear <T extends RealFieldElement<T>> {
 
         // Computes the coefficient by linear transformation
         // Danielson 2.7.3-(9) or Collins 4-236 and Petre's paper
-        final PolynomialFunction[] v = mpvec[mnm1 + this.offset];
-        final PolynomialFunction[] vv = mpvecDeriv[mnm1 + this.offset];
-
-        return v[3].value(chi).multiply(hansenDerivRoot[sliceNo][3]).
-               add(v[2].value(chi).multiply(hansenDerivRoot[sliceNo][2])).
-               add(v[1].value(chi).multiply(hansenDerivRoot[sliceNo][1])).
-               add(v[0].value(chi).multiply(hansenDerivRoot[sliceNo][0])).
-               add(vv[3].value(chi).multiply(hansenRoot[sliceNo][3])).
-               add(vv[2].value(chi).multiply(hansenRoot[sliceNo][2])).
-               add( vv[1].value(chi).multiply(hansenRoot[sliceNo][1])).
-               add(vv[0].value(chi).multiply(hansenRoot[sliceNo][0]));
+        final T[] v  = mpvecValues.getValues(mnm1 + this.offset, chi);
+        final T[] vv = mpvecDerivValues.getValues(mnm1 + this.offset, chi);
+
+        return v[3].multiply(hansenDerivRoot[sliceNo][3]).
+               add(v[2].multiply(hansenDerivRoot[sliceNo][2])).
+               add(v[1].multiply(hansenDerivRoot[sliceNo][1])).
+               add(v[0].multiply(hansenDerivRoot[sliceNo][0])).
+               add(vv[3].multiply(hansenRoot[sliceNo][3])).
+               add(vv[2].multiply(hansenRoot[sliceNo][2])).
+               add(vv[1].multiply(hansenRoot[sliceNo][1])).
+               add(vv[0].multiply(hansenRoot[sliceNo][0]));
 
     }
 
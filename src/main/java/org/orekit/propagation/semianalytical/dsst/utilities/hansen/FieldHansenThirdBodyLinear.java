@@ -48,6 +48,16 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
     /** The second vector of polynomials associated only to derivatives. */
     private PolynomialFunction[][] mpvecDeriv;
 
+    /** Values of the first vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecValues;
+
+    /** Values of the second vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecDerivValues;
+
     /** The Hansen coefficients used as roots. */
     private T[][] hansenRoot;
 
@@ -116,6 +126,8 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
 
         // Prepare the database of the associated polynomials
         generatePolynomials();
+        mpvecValues      = new FieldPolynomialsValues<>(mpvec, field);
+        mpvecDerivValues = new FieldPolynomialsValues<>(mpvecDeriv, field);
 
     }
 
@@ -292,18 +304,18 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
         for (int i = 1; i < numSlices; i++) {
             for (int j = 0; j < 2; j++) {
                 // Get the required polynomials
-                final PolynomialFunction[] mv = mpvec[s + (i * SLICE) + j];
-                final PolynomialFunction[] sv = mpvecDeriv[s + (i * SLICE) + j];
+                final T[] mv = mpvecValues.getValues(s + (i * SLICE) + j, chitm1);
+                final T[] sv = mpvecDerivValues.getValues(s + (i * SLICE) + j, chitm1);
 
                 //Compute the root derivatives
-                hansenDerivRoot[i][j] = mv[1].value(chitm1).multiply(hansenDerivRoot[i - 1][1]).
-                                    add(mv[0].value(chitm1).multiply(hansenDerivRoot[i - 1][0])).
-                                    add(sv[1].value(chitm1).multiply(hansenRoot[i - 1][1])).
-                                    add(sv[0].value(chitm1).multiply(hansenRoot[i - 1][0]));
+                hansenDerivRoot[i][j] = mv[1].multiply(hansenDerivRoot[i - 1][1]).
+                                    add(mv[0].multiply(hansenDerivRoot[i - 1][0])).
+                                    add(sv[1].multiply(hansenRoot[i - 1][1])).
+                                    add(sv[0].multiply(hansenRoot[i - 1][0]));
 
                 //Compute the root Hansen coefficients
-                hansenRoot[i][j] =  mv[1].value(chitm1).multiply(hansenRoot[i - 1][1]).
-                                add(mv[0].value(chitm1).multiply(hansenRoot[i - 1][0]));
+                hansenRoot[i][j] =  mv[1].multiply(hansenRoot[i - 1][1]).
+                                add(mv[0].multiply(hansenRoot[i - 1][0]));
             }
         }
     }
@@ -333,10 +345,10 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
         }
 
         // Danielson 2.7.3-(6c)/Collins 4-242 and Petre's paper
-        final PolynomialFunction[] v = mpvec[n];
-        T ret = v[1].value(chitm1).multiply(hansenRoot[sliceNo][1]);
+        final T[] v = mpvecValues.getValues(n, chitm1);
+        T ret = v[1].multiply(hansenRoot[sliceNo][1]);
         if (hansenRoot[sliceNo][0].getReal() != 0) {
-            ret = ret.add(v[0].value(chitm1).multiply(hansenRoot[sliceNo][0]));
+            ret = ret.add(v[0].multiply(hansenRoot[sliceNo][0]));
         }
 
         return ret;
@@ -367,17 +379,17 @@ public class FieldHansenThirdBodyLinear <T extends RealFieldElement<T>> {
             sliceNo--;
         }
 
-        final PolynomialFunction[] v = mpvec[n];
-        T ret = v[1].value(chitm1).multiply(hansenDerivRoot[sliceNo][1]);
+        final T[] v = mpvecValues.getValues(n, chitm1);
+        T ret = v[1].multiply(hansenDerivRoot[sliceNo][1]);
         if (hansenDerivRoot[sliceNo][0].getReal() != 0) {
-            ret = ret.add(v[0].value(chitm1).multiply(hansenDerivRoot[sliceNo][0]));
+            ret = ret.add(v[0].multiply(hansenDerivRoot[sliceNo][0]));
         }
 
         // Danielson 2.7.3-(7c)/Collins 4-254 and Petre's paper
-        final PolynomialFunction[] v1 = mpvecDeriv[n];
-        ret = ret.add(v1[1].value(chitm1).multiply(hansenRoot[sliceNo][1]));
+        final T[] v1 = mpvecDerivValues.getValues(n, chitm1);
+        ret = ret.add(v1[1].multiply(hansenRoot[sliceNo][1]));
         if (hansenRoot[sliceNo][0].getReal() != 0) {
-            ret = ret.add(v1[0].value(chitm1).multiply(hansenRoot[sliceNo][0]));
+            ret = ret.add(v1[0].multiply(hansenRoot[sliceNo][0]));
         }
         return ret;
 
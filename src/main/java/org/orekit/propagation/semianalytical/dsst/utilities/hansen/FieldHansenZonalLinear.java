@@ -48,6 +48,16 @@ public class FieldHansenZonalLinear <T extends RealFieldElement<T>> {
     /** The second vector of polynomials associated only to derivatives. */
     private PolynomialFunction[][] mpvecDeriv;
 
+    /** Values of the first vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecValues;
+
+    /** Values of the second vector of polynomials at current argument.
+     * @since 10.2
+     */
+    private FieldPolynomialsValues<T> mpvecDerivValues;
+
     /** The Hansen coefficients used as roots. */
     private T[][] hansenRoot;
 
@@ -114,6 +124,8 @@ public class FieldHansenZonalLinear <T extends RealFieldElement<T>> {
 
         // Prepare the data base of associated polynomials
         generatePolynomials();
+        mpvecValues      = new FieldPolynomialsValues<>(mpvec, field);
+        mpvecDerivValues = new FieldPolynomialsValues<>(mpvecDeriv, field);
 
     }
 
@@ -248,17 +260,17 @@ public class FieldHansenZonalLinear <T extends RealFieldElement<T>> {
         for (int i = 1; i < numSlices; i++) {
             for (int j = 0; j < 2; j++) {
                 // Get the required polynomials
-                final PolynomialFunction[] mv = mpvec[st - (i * SLICE) - j + offset];
-                final PolynomialFunction[] sv = mpvecDeriv[st - (i * SLICE) - j + offset];
+                final T[] mv = mpvecValues.getValues(st - (i * SLICE) - j + offset, chi);
+                final T[] sv = mpvecDerivValues.getValues(st - (i * SLICE) - j + offset, chi);
 
                 //Compute the root derivatives
-                hansenDerivRoot[i][j] = mv[1].value(chi).multiply(hansenDerivRoot[i - 1][1]).
-                                        add(mv[0].value(chi).multiply(hansenDerivRoot[i - 1][0])).
-                                        add((sv[1].value(chi).multiply(hansenRoot[i - 1][1]).
-                                        add(sv[0].value(chi).multiply(hansenRoot[i - 1][0]))
+                hansenDerivRoot[i][j] = mv[1].multiply(hansenDerivRoot[i - 1][1]).
+                                        add(mv[0].multiply(hansenDerivRoot[i - 1][0])).
+                                        add((sv[1].multiply(hansenRoot[i - 1][1]).
+                                        add(sv[0].multiply(hansenRoot[i - 1][0]))
                                         ).divide(chi));
-                hansenRoot[i][j] =     mv[1].value(chi).multiply(hansenRoot[i - 1][1]).
-                                       add(mv[0].value(chi).multiply(hansenRoot[i - 1][0]));
+                hansenRoot[i][j] =     mv[1].multiply(hansenRoot[i - 1][1]).
+                                       add(mv[0].multiply(hansenRoot[i - 1][0]));
 
             }
 
@@ -295,10 +307,10 @@ public class FieldHansenZonalLinear <T extends RealFieldElement<T>> {
         }
 
         // Danielson 2.7.3-(6c)/Collins 4-242 and Petre's paper
-        final PolynomialFunction[] v = mpvec[mnm1 + offset];
-        T ret = v[1].value(chi).multiply(hansenRoot[sliceNo][1]);
+        final T[] v = mpvecValues.getValues(mnm1 + offset, chi);
+        T ret = v[1].multiply(hansenRoot[sliceNo][1]);
         if (hansenRoot[sliceNo][0].getReal() != 0) {
-            ret = ret.add(v[0].value(chi).multiply(hansenRoot[sliceNo][0]));
+            ret = ret.add(v[0].multiply(hansenRoot[sliceNo][0]));
         }
         return  ret;
     }
@@ -333,17 +345,17 @@ public class FieldHansenZonalLinear <T extends RealFieldElement<T>> {
         }
 
         // Danielson 3.1-(7c) and Petre's paper
-        final PolynomialFunction[] v = mpvec[mnm1 + offset];
-        T ret = v[1].value(chi).multiply(hansenDerivRoot[sliceNo][1]);
+        final T[] v = mpvecValues.getValues(mnm1 + offset, chi);
+        T ret = v[1].multiply(hansenDerivRoot[sliceNo][1]);
         if (hansenDerivRoot[sliceNo][0].getReal() != 0) {
-            ret = ret.add(v[0].value(chi).multiply(hansenDerivRoot[sliceNo][0]));
+            ret = ret.add(v[0].multiply(hansenDerivRoot[sliceNo][0]));
         }
 
         // Danielson 2.7.3-(6b)
-        final PolynomialFunction[] v1 = mpvecDeriv[mnm1 + offset];
-        T hret = v1[1].value(chi).multiply(hansenRoot[sliceNo][1]);
+        final T[] v1 = mpvecDerivValues.getValues(mnm1 + offset, chi);
+        T hret = v1[1].multiply(hansenRoot[sliceNo][1]);
         if (hansenRoot[sliceNo][0].getReal() != 0) {
-            hret = hret.add(v1[0].value(chi).multiply(hansenRoot[sliceNo][0]));
+            hret = hret.add(v1[0].multiply(hansenRoot[sliceNo][0]));
         }
         ret = ret.add(hret.divide(chi));
 
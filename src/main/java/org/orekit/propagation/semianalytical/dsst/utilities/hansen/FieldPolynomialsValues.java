@@ -0,0 +1,105 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
+
+import org.hipparchus.Field;
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.polynomials.PolynomialFunction;
+import org.hipparchus.util.MathArrays;
+
+/**
+ * Workspace holding the values of the Hansen associated polynomials at the current argument.
+ * <p>
+ * The linear Hansen recursions evaluate the same polynomials several times for
+ * the same argument (once for the root coefficients, once for their derivatives,
+ * and again each time a coefficient or its derivative is requested). Evaluating a
+ * polynomial at a field element creates one new element per degree, which is
+ * expensive for derivative-based fields. This workspace evaluates each polynomial
+ * line at most once per argument and reuses the preallocated arrays afterwards.
+ * </p>
+ * <p>
+ * The argument is compared by reference: the stored values are reset as soon as
+ * a different instance is used, which is the case each time the Hansen objects
+ * are initialized for a new orbit.
+ * </p>
+ * @param <T> type of the field elements
+ * @author agent
+ * @since 10.2
+ */
+class FieldPolynomialsValues<T extends RealFieldElement<T>> {
+
+    /** Polynomials lines. */
+    private final PolynomialFunction[][] polynomials;
+
+    /** Values of the polynomials (lazily allocated lines). */
+    private final T[][] values;
+
+    /** Generation at which each line was evaluated. */
+    private final int[] stamps;
+
+    /** Field to which the elements belong. */
+    private final Field<T> field;
+
+    /** Current argument. */
+    private T argument;
+
+    /** Current generation. */
+    private int generation;
+
+    /** Simple constructor.
+     * @param polynomials polynomials lines (some lines may be null)
+     * @param field field to which the elements belong
+     */
+    FieldPolynomialsValues(final PolynomialFunction[][] polynomials, final Field<T> field) {
+        this.polynomials = polynomials;
+        this.values      = MathArrays.buildArray(field, polynomials.length, -1);
+        this.stamps      = new int[polynomials.length];
+        this.field       = field;
+        this.argument    = null;
+        this.generation  = 0;
+    }
+
+    /** Get the values of one polynomials line.
+     * @param index index of the line
+     * @param x argument of the polynomials
+     * @return values of the polynomials of the line at x (the array is reused
+     * between calls and must not be modified)
+     */
+    T[] getValues(final int index, final T x) {
+
+        if (x != argument) {
+            // new argument, all stored values are obsolete
+            argument = x;
+            ++generation;
+        }
+
+        if (stamps[index] != generation) {
+            final PolynomialFunction[] line = polynomials[index];
+            if (values[index] == null) {
+                values[index] = MathArrays.buildArray(field, line.length);
+            }
+            for (int k = 0; k < line.length; ++k) {
+                values[index][k] = line[k].value(x);
+            }
+            stamps[index] = generation;
+        }
+
+        return values[index];
+
+    }
+
+}
@@ -0,0 +1,178 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for Hansen kernels used by tesseral harmonics.
+ * <p>
+ * Building a {@link HansenTesseralLinear} involves generating series from Newcomb
+ * operators and composing polynomial matrices. These polynomials only depend on
+ * the indices of the term, not on the orbit, so satellites with similar orbits,
+ * for example in a geostationary belt or a Walker constellation, select the same
+ * terms and build the same polynomials again and again. This cache allows to
+ * share these polynomials between all the {@link
+ * org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral DSSTTesseral}
+ * force models it is registered to.
+ * </p>
+ * <p>
+ * The cache is thread-safe. The instances it returns are not shared, only their
+ * polynomials are, so each force model still uses its own instances.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+public class HansenTesseralCache {
+
+    /** Template instances, from which polynomials are shared. */
+    private final ConcurrentMap<Key, HansenTesseralLinear> kernels;
+
+    /** Number of requests served from the cache. */
+    private final AtomicLong hits;
+
+    /** Number of requests that required building new polynomials. */
+    private final AtomicLong misses;
+
+    /** Simple constructor.
+     */
+    public HansenTesseralCache() {
+        this.kernels = new ConcurrentHashMap<>();
+        this.hits    = new AtomicLong();
+        this.misses  = new AtomicLong();
+    }
+
+    /** Get a Hansen kernel for tesseral terms.
+     * @param nMax the maximum (absolute) value of n parameter
+     * @param s s parameter
+     * @param j j parameter
+     * @param n0 the minimum (absolute) value of n
+     * @param maxHansen maximum power of e2 in Hansen expansion
+     * @return new Hansen kernel, sharing its polynomials with other kernels with the same indices
+     * @see HansenTesseralLinear#HansenTesseralLinear(int, int, int, int, int)
+     */
+    public HansenTesseralLinear getHansenTesseralLinear(final int nMax, final int s, final int j,
+                                                        final int n0, final int maxHansen) {
+        final Key key = new Key(nMax, s, j, n0, maxHansen);
+        HansenTesseralLinear kernel = kernels.get(key);
+        if (kernel == null) {
+            misses.incrementAndGet();
+            final HansenTesseralLinear created = new HansenTesseralLinear(nMax, s, j, n0, maxHansen);
+            final HansenTesseralLinear existing = kernels.putIfAbsent(key, created);
+            kernel = (existing == null) ? created : existing;
+        } else {
+            hits.incrementAndGet();
+        }
+        return new HansenTesseralLinear(kernel);
+    }
+
+    /** Get the number of kernels stored in the cache.
+     * @return number of kernels stored in the cache
+     */
+    public int size() {
+        return kernels.size();
+    }
+
+    /** Get the number of requests served from the cache.
+     * @return number of requests served from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Get the number of requests that required building new polynomials.
+     * @return number of requests that required building new polynomials
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Get the hit rate.
+     * @return ratio of requests served from the cache (0 if no requests have been made)
+     */
+    public double getHitRate() {
+        final long h     = hits.get();
+        final long total = h + misses.get();
+        return total == 0 ? 0.0 : ((double) h) / total;
+    }
+
+    /** Clear the cache and reset statistics.
+     */
+    public void clear() {
+        kernels.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /** Key for Hansen kernels. */
+    private static class Key {
+
+        /** Maximum (absolute) value of n parameter. */
+        private final int nMax;
+
+        /** s parameter. */
+        private final int s;
+
+        /** j parameter. */
+        private final int j;
+
+        /** Minimum (absolute) value of n. */
+        private final int n0;
+
+        /** Maximum power of e2 in Hansen expansion. */
+        private final int maxHansen;
+
+        /** Simple constructor.
+         * @param nMax the maximum (absolute) value of n parameter
+         * @param s s parameter
+         * @param j j parameter
+         * @param n0 the minimum (absolute) value of n
+         * @param maxHansen maximum power of e2 in Hansen expansion
+         */
+        Key(final int nMax, final int s, final int j, final int n0, final int maxHansen) {
+            this.nMax      = nMax;
+            this.s         = s;
+            this.j         = j;
+            this.n0        = n0;
+            this.maxHansen = maxHansen;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return (((nMax * 31 + s) * 31 + j) * 31 + n0) * 31 + maxHansen;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return nMax == key.nMax && s == key.s && j == key.j &&
+                       n0 == key.n0 && maxHansen == key.maxHansen;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -117,6 +117,31 @@ public class HansenTesseralLinear {
 
     }
 
+    /**
+     * Constructor sharing the polynomials of another instance.
+     * <p>
+     * The polynomials built at construction only depend on the indices, so they can
+     * be shared between several instances. The initial values, which depend on the
+     * orbit, are specific to each instance.
+     * </p>
+     *
+     * @param kernel instance whose polynomials should be shared
+     * @since 10.2
+     */
+    HansenTesseralLinear(final HansenTesseralLinear kernel) {
+        this.offset          = kernel.offset;
+        this.Nmin            = kernel.Nmin;
+        this.N0              = kernel.N0;
+        this.s               = kernel.s;
+        this.j               = kernel.j;
+        this.numSlices       = kernel.numSlices;
+        this.hansenInit      = kernel.hansenInit;
+        this.mpvec           = kernel.mpvec;
+        this.mpvecDeriv      = kernel.mpvecDeriv;
+        this.hansenRoot      = new double[numSlices][4];
+        this.hansenDerivRoot = new double[numSlices][4];
+    }
+
     /**
      * Compute polynomial coefficient a.
      *
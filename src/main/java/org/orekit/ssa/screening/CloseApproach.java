@@ -0,0 +1,116 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.screening;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Close approach between two screened objects.
+ * @see ConjunctionScreener
+ * @author agent
+ * @since 10.2
+ */
+public class CloseApproach implements TimeStamped {
+
+    /** Primary object. */
+    private final ScreenedObject primary;
+
+    /** Secondary object. */
+    private final ScreenedObject secondary;
+
+    /** Time of closest approach. */
+    private final AbsoluteDate tca;
+
+    /** Relative position of secondary with respect to primary at time of closest approach. */
+    private final Vector3D relativePosition;
+
+    /** Relative velocity of secondary with respect to primary at time of closest approach. */
+    private final Vector3D relativeVelocity;
+
+    /** Simple constructor.
+     * @param primary primary object
+     * @param secondary secondary object
+     * @param tca time of closest approach
+     * @param relativePosition relative position of secondary with respect
+     * to primary at time of closest approach
+     * @param relativeVelocity relative velocity of secondary with respect
+     * to primary at time of closest approach
+     */
+    public CloseApproach(final ScreenedObject primary, final ScreenedObject secondary,
+                         final AbsoluteDate tca,
+                         final Vector3D relativePosition, final Vector3D relativeVelocity) {
+        this.primary          = primary;
+        this.secondary        = secondary;
+        this.tca              = tca;
+        this.relativePosition = relativePosition;
+        this.relativeVelocity = relativeVelocity;
+    }
+
+    /** Get the primary object.
+     * @return primary object
+     */
+    public ScreenedObject getPrimary() {
+        return primary;
+    }
+
+    /** Get the secondary object.
+     * @return secondary object
+     */
+    public ScreenedObject getSecondary() {
+        return secondary;
+    }
+
+    /** Get the time of closest approach.
+     * @return time of closest approach
+     */
+    @Override
+    public AbsoluteDate getDate() {
+        return tca;
+    }
+
+    /** Get the relative position of secondary with respect to primary at time of closest approach.
+     * @return relative position of secondary with respect to primary at time of closest approach
+     * (in screening frame)
+     */
+    public Vector3D getRelativePosition() {
+        return relativePosition;
+    }
+
+    /** Get the relative velocity of secondary with respect to primary at time of closest approach.
+     * @return relative velocity of secondary with respect to primary at time of closest approach
+     * (in screening frame)
+     */
+    public Vector3D getRelativeVelocity() {
+        return relativeVelocity;
+    }
+
+    /** Get the miss distance.
+     * @return miss distance (m)
+     */
+    public double getMissDistance() {
+        return relativePosition.getNorm();
+    }
+
+    /** Get the relative speed at time of closest approach.
+     * @return relative speed at time of closest approach (m/s)
+     */
+    public double getRelativeSpeed() {
+        return relativeVelocity.getNorm();
+    }
+
+}
@@ -0,0 +1,616 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.screening;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+/** Screening engine for close approaches within a catalogue of objects.
+ * <p>
+ * The screening is performed in several stages:
+ * </p>
+ * <ol>
+ *   <li>all objects are sampled on a common time grid, by chunks
+ *   of a few epochs so the memory footprint remains bounded whatever
+ *   the screening duration, the catalogue being split between
+ *   several threads,</li>
+ *   <li>at each epoch, sampled positions are binned into a spatial hash
+ *   whose cells size is the screening distance, i.e. the sum of the reporting
+ *   threshold and the largest distance the objects can drift from each other in
+ *   half a step, so only objects in neighbouring cells are compared,</li>
+ *   <li>the pairs of objects close enough are then checked against the classical
+ *   apogee/perigee and orbit path prefilters, using osculating elements at sample
+ *   epoch and a radial margin to take perturbations into account,</li>
+ *   <li>the remaining pairs are refined by finding the roots of the relative
+ *   range rate in the sampling intervals surrounding the epoch, using
+ *   Hermite interpolation of the sampled states,</li>
+ *   <li>close approaches with miss distance below reporting threshold
+ *   are finally reported.</li>
+ * </ol>
+ * <p>
+ * The epochs are processed in parallel, using the same thread pool as
+ * the sampling.
+ * </p>
+ * <p>
+ * Objects for which propagation fails during screening (typically TLE
+ * for decayed objects) are silently ignored from the failure date on.
+ * </p>
+ * <p>
+ * Only close approaches that occur strictly inside the screening time range
+ * are reported, i.e. range rate must change sign from negative to positive.
+ * </p>
+ * @see ScreenedObject
+ * @see CloseApproach
+ * @author agent
+ * @since 10.2
+ */
+public class ConjunctionScreener {
+
+    /** Default maximum relative velocity between objects (m/s). */
+    public static final double DEFAULT_MAX_RELATIVE_VELOCITY = 16000.0;
+
+    /** Default radial margin for prefilters (m). */
+    public static final double DEFAULT_MARGIN = 10000.0;
+
+    /** Default number of epochs sampled at once. */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /** Largest half-width of orbit path filter windows. */
+    private static final double MAX_PATH_WINDOW = 0.25 * FastMath.PI;
+
+    /** Absolute accuracy for time of closest approach (s). */
+    private static final double TCA_ACCURACY = 1.0e-6;
+
+    /** Maximum number of evaluations for time of closest approach refinement. */
+    private static final int MAX_EVAL = 100;
+
+    /** Inertial frame in which screening is performed. */
+    private final Frame frame;
+
+    /** Reporting threshold (m). */
+    private final double threshold;
+
+    /** Sampling step (s). */
+    private final double step;
+
+    /** Maximum relative velocity between objects (m/s). */
+    private final double maxRelativeVelocity;
+
+    /** Radial margin for prefilters (m). */
+    private final double margin;
+
+    /** Number of threads to use. */
+    private final int parallelism;
+
+    /** Number of epochs sampled at once. */
+    private final int chunkSize;
+
+    /** Simple constructor with default settings.
+     * <p>
+     * This constructor uses {@link #DEFAULT_MAX_RELATIVE_VELOCITY},
+     * {@link #DEFAULT_MARGIN}, {@link #DEFAULT_CHUNK_SIZE} and one
+     * thread per available processor.
+     * </p>
+     * @param frame inertial frame in which screening is performed
+     * @param threshold reporting threshold (m)
+     * @param step sampling step (s)
+     */
+    public ConjunctionScreener(final Frame frame, final double threshold, final double step) {
+        this(frame, threshold, step, DEFAULT_MAX_RELATIVE_VELOCITY, DEFAULT_MARGIN,
+             Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /** Simple constructor.
+     * <p>
+     * The screening distance at sample epochs is {@code threshold + 0.5 * maxRelativeVelocity * step},
+     * so the sampling step should be reduced as the catalogue density increases.
+     * </p>
+     * @param frame inertial frame in which screening is performed
+     * @param threshold reporting threshold (m)
+     * @param step sampling step (s)
+     * @param maxRelativeVelocity maximum relative velocity between objects (m/s)
+     * @param margin radial margin for apogee/perigee and orbit path prefilters (m),
+     * accounting for osculating elements variations within one sampling step
+     * @param parallelism number of threads to use
+     * @param chunkSize number of epochs sampled at once
+     */
+    public ConjunctionScreener(final Frame frame, final double threshold, final double step,
+                               final double maxRelativeVelocity, final double margin,
+                               final int parallelism, final int chunkSize) {
+        if (!frame.isPseudoInertial()) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME,
+                                                     frame.getName());
+        }
+        if (step <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0.0);
+        }
+        this.frame               = frame;
+        this.threshold           = threshold;
+        this.step                = step;
+        this.maxRelativeVelocity = maxRelativeVelocity;
+        this.margin              = margin;
+        this.parallelism         = FastMath.max(1, parallelism);
+        this.chunkSize           = FastMath.max(1, chunkSize);
+    }
+
+    /** Get the screening distance at sample epochs.
+     * @return screening distance at sample epochs (m)
+     */
+    public double getScreeningDistance() {
+        return threshold + 0.5 * maxRelativeVelocity * step;
+    }
+
+    /** Screen a catalogue for close approaches.
+     * @param catalogue objects to screen
+     * @param start start of screening time range
+     * @param end end of screening time range
+     * @return close approaches with miss distance below threshold,
+     * sorted by time of closest approach
+     */
+    public List<CloseApproach> screen(final List<ScreenedObject> catalogue,
+                                      final AbsoluteDate start, final AbsoluteDate end) {
+
+        // set up sampling grid
+        final double duration = end.durationFrom(start);
+        final int    nbSteps  = FastMath.max(1, (int) FastMath.ceil(duration / step));
+        final Grid   grid     = new Grid(catalogue, start, duration / nbSteps, nbSteps);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<CloseApproach> approaches = new ArrayList<>();
+            for (int k0 = 0; k0 <= nbSteps; k0 += chunkSize) {
+
+                // sample all epochs needed for the current chunk
+                final int k1 = FastMath.min(k0 + chunkSize, nbSteps + 1);
+                grid.sample(k0 == 0 ? 0 : k0 + 1, FastMath.min(k1, nbSteps), executorService);
+
+                // look for close approaches around each epoch of the chunk
+                final List<Future<List<CloseApproach>>> futures = new ArrayList<>(k1 - k0);
+                for (int k = k0; k < k1; ++k) {
+                    final int epoch = k;
+                    futures.add(executorService.submit(() -> grid.detect(epoch)));
+                }
+                for (final Future<List<CloseApproach>> future : futures) {
+                    approaches.addAll(get(future));
+                }
+
+                // release samples that are not needed anymore
+                grid.release(FastMath.max(0, k0 - 1), k1 - 1);
+
+            }
+
+            Collections.sort(approaches,
+                (ca1, ca2) -> {
+                    final int c = ca1.getDate().compareTo(ca2.getDate());
+                    return c != 0 ? c : ca1.getPrimary().getId().compareTo(ca2.getPrimary().getId());
+                });
+            return approaches;
+
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    /** Wait for a task completion.
+     * @param future task
+     * @param <T> type of the task result
+     * @return task result
+     */
+    private static <T> T get(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof OrekitException) {
+                // unwrap the original exception
+                throw (OrekitException) ee.getCause();
+            } else {
+                throw new OrekitException(ee.getCause(),
+                                          LocalizedCoreFormats.SIMPLE_MESSAGE, ee.getLocalizedMessage());
+            }
+        }
+    }
+
+    /** Check a pair against apogee/perigee and orbit path prefilters.
+     * @param pv1 position-velocity of first object
+     * @param mu1 central attraction coefficient of first object
+     * @param pv2 position-velocity of second object
+     * @param mu2 central attraction coefficient of second object
+     * @return true if the pair may lead to a close approach
+     */
+    private boolean passPrefilters(final PVCoordinates pv1, final double mu1,
+                                   final PVCoordinates pv2, final double mu2) {
+
+        final double distance = threshold + margin;
+
+        final Vector3D h1 = pv1.getMomentum();
+        final Vector3D h2 = pv2.getMomentum();
+        final Vector3D e1 = eccentricityVector(pv1, h1, mu1);
+        final Vector3D e2 = eccentricityVector(pv2, h2, mu2);
+        final double   p1 = h1.getNormSq() / mu1;
+        final double   p2 = h2.getNormSq() / mu2;
+        final double   ecc1 = e1.getNorm();
+        final double   ecc2 = e2.getNorm();
+        if (ecc1 >= 1 || ecc2 >= 1) {
+            // prefilters are not applicable to hyperbolic orbits
+            return true;
+        }
+
+        // apogee/perigee filter
+        final double rp1 = p1 / (1 + ecc1);
+        final double ra1 = p1 / (1 - ecc1);
+        final double rp2 = p2 / (1 + ecc2);
+        final double ra2 = p2 / (1 - ecc2);
+        if (FastMath.max(rp1, rp2) - FastMath.min(ra1, ra2) > distance) {
+            return false;
+        }
+
+        // orbit path filter
+        final Vector3D n1   = h1.normalize();
+        final Vector3D n2   = h2.normalize();
+        final Vector3D k    = Vector3D.crossProduct(n1, n2);
+        final double   sinI = k.getNorm();
+        final double   sin1 = distance / (rp1 * sinI);
+        final double   sin2 = distance / (rp2 * sinI);
+        if (sin1 >= FastMath.sin(MAX_PATH_WINDOW) || sin2 >= FastMath.sin(MAX_PATH_WINDOW)) {
+            // orbital planes are too close to each other for the filter to be useful
+            return true;
+        }
+
+        // close approaches can occur only near the mutual nodes line,
+        // where radial distance must be compatible between both orbits
+        final double delta1 = FastMath.asin(sin1);
+        final double delta2 = FastMath.asin(sin2);
+        for (final Vector3D node : new Vector3D[] { k, k.negate() }) {
+            final double[] range1 = radialRange(n1, e1, ecc1, p1, node, delta1);
+            final double[] range2 = radialRange(n2, e2, ecc2, p2, node, delta2);
+            if (range1[0] - distance <= range2[1] && range2[0] - distance <= range1[1]) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+    /** Compute eccentricity vector.
+     * @param pv position-velocity
+     * @param h orbital momentum
+     * @param mu central attraction coefficient
+     * @return eccentricity vector
+     */
+    private static Vector3D eccentricityVector(final PVCoordinates pv, final Vector3D h, final double mu) {
+        final Vector3D p = pv.getPosition();
+        return new Vector3D(1.0 / mu, Vector3D.crossProduct(pv.getVelocity(), h), -1.0 / p.getNorm(), p);
+    }
+
+    /** Compute the radial range of an orbit within an angular window.
+     * @param n orbital plane normal
+     * @param e eccentricity vector
+     * @param ecc eccentricity
+     * @param p orbit parameter
+     * @param center direction of window center
+     * @param delta half-width of the window
+     * @return minimum and maximum radius within the window
+     */
+    private static double[] radialRange(final Vector3D n, final Vector3D e, final double ecc, final double p,
+                                        final Vector3D center, final double delta) {
+
+        if (ecc < 1.0e-12) {
+            // circular orbit
+            return new double[] {
+                p, p
+            };
+        }
+
+        // true anomaly of window center
+        final Vector3D u     = e.normalize();
+        final Vector3D v     = Vector3D.crossProduct(n, u);
+        final double   theta = FastMath.atan2(Vector3D.dotProduct(center, v), Vector3D.dotProduct(center, u));
+
+        // extreme values of true anomaly cosine within the window
+        final double cosA = FastMath.cos(theta - delta);
+        final double cosB = FastMath.cos(theta + delta);
+        final double cosMax = FastMath.abs(MathUtils.normalizeAngle(0.0, theta) - theta) <= delta ?
+                              1.0 : FastMath.max(cosA, cosB);
+        final double cosMin = FastMath.abs(MathUtils.normalizeAngle(FastMath.PI, theta) - theta) <= delta ?
+                              -1.0 : FastMath.min(cosA, cosB);
+
+        return new double[] {
+            p / (1 + ecc * cosMax), p / (1 + ecc * cosMin)
+        };
+
+    }
+
+    /** Sampling grid. */
+    private class Grid {
+
+        /** Catalogue. */
+        private final List<ScreenedObject> catalogue;
+
+        /** Central attraction coefficients. */
+        private final double[] mu;
+
+        /** Flags for objects that could not be propagated. */
+        private final boolean[] failed;
+
+        /** Start of screening time range. */
+        private final AbsoluteDate start;
+
+        /** Adjusted sampling step. */
+        private final double h;
+
+        /** Sampled positions (one array of x, y, z per epoch). */
+        private final double[][] positions;
+
+        /** Sampled velocities (one array of x, y, z per epoch). */
+        private final double[][] velocities;
+
+        /** Simple constructor.
+         * @param catalogue objects to screen
+         * @param start start of screening time range
+         * @param h adjusted sampling step
+         * @param nbSteps number of sampling steps
+         */
+        Grid(final List<ScreenedObject> catalogue, final AbsoluteDate start,
+             final double h, final int nbSteps) {
+            this.catalogue  = catalogue;
+            this.mu         = new double[catalogue.size()];
+            this.failed     = new boolean[catalogue.size()];
+            this.start      = start;
+            this.h          = h;
+            this.positions  = new double[nbSteps + 1][];
+            this.velocities = new double[nbSteps + 1][];
+            for (int i = 0; i < mu.length; ++i) {
+                mu[i] = catalogue.get(i).getPropagator().getInitialState().getMu();
+            }
+        }
+
+        /** Sample all objects.
+         * @param first index of first epoch to sample
+         * @param last index of last epoch to sample (included)
+         * @param executorService executor to use
+         */
+        public void sample(final int first, final int last, final ExecutorService executorService) {
+
+            final int n = catalogue.size();
+            for (int k = first; k <= last; ++k) {
+                positions[k]  = new double[3 * n];
+                velocities[k] = new double[3 * n];
+            }
+
+            // split the catalogue in contiguous slices, one per thread
+            final List<Future<?>> futures = new ArrayList<>(parallelism);
+            final int sliceSize = (n + parallelism - 1) / parallelism;
+            for (int s = 0; s < n; s += sliceSize) {
+                final int sliceStart = s;
+                final int sliceEnd   = FastMath.min(s + sliceSize, n);
+                futures.add(executorService.submit(() -> {
+                    for (int i = sliceStart; i < sliceEnd; ++i) {
+                        sample(i, first, last);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                get(future);
+            }
+
+        }
+
+        /** Sample one object.
+         * @param i index of the object
+         * @param first index of first epoch to sample
+         * @param last index of last epoch to sample (included)
+         */
+        private void sample(final int i, final int first, final int last) {
+            for (int k = first; k <= last; ++k) {
+                PVCoordinates pv = null;
+                if (!failed[i]) {
+                    try {
+                        pv = catalogue.get(i).getPropagator().getPVCoordinates(start.shiftedBy(k * h), frame);
+                    } catch (OrekitException oe) {
+                        // the object cannot be propagated anymore, we ignore it from now on
+                        failed[i] = true;
+                    }
+                }
+                final Vector3D p = pv == null ? Vector3D.NaN : pv.getPosition();
+                final Vector3D v = pv == null ? Vector3D.NaN : pv.getVelocity();
+                positions[k][3 * i]      = p.getX();
+                positions[k][3 * i + 1]  = p.getY();
+                positions[k][3 * i + 2]  = p.getZ();
+                velocities[k][3 * i]     = v.getX();
+                velocities[k][3 * i + 1] = v.getY();
+                velocities[k][3 * i + 2] = v.getZ();
+            }
+        }
+
+        /** Release samples.
+         * @param first index of first epoch to release
+         * @param last index of last epoch to release (excluded)
+         */
+        public void release(final int first, final int last) {
+            for (int k = first; k < last; ++k) {
+                positions[k]  = null;
+                velocities[k] = null;
+            }
+        }
+
+        /** Get a sampled state.
+         * @param k epoch index
+         * @param i object index
+         * @return sampled state
+         */
+        private PVCoordinates getPV(final int k, final int i) {
+            return new PVCoordinates(new Vector3D(positions[k][3 * i],
+                                                  positions[k][3 * i + 1],
+                                                  positions[k][3 * i + 2]),
+                                     new Vector3D(velocities[k][3 * i],
+                                                  velocities[k][3 * i + 1],
+                                                  velocities[k][3 * i + 2]));
+        }
+
+        /** Check if a pair is a candidate at some epoch.
+         * @param k epoch index
+         * @param i index of first object
+         * @param j index of second object
+         * @return true if pair is closer than screening distance and passes prefilters
+         */
+        private boolean isCandidate(final int k, final int i, final int j) {
+            final PVCoordinates pvI = getPV(k, i);
+            final PVCoordinates pvJ = getPV(k, j);
+            return Vector3D.distance(pvI.getPosition(), pvJ.getPosition()) <= getScreeningDistance() &&
+                   passPrefilters(pvI, mu[i], pvJ, mu[j]);
+        }
+
+        /** Detect close approaches around one epoch.
+         * <p>
+         * Each sampling interval is handled only once, by its first
+         * epoch if the pair is a candidate there, by its last epoch
+         * otherwise.
+         * </p>
+         * @param k epoch index
+         * @return close approaches found
+         */
+        public List<CloseApproach> detect(final int k) {
+            final List<CloseApproach> approaches = new ArrayList<>();
+            final BracketingNthOrderBrentSolver solver =
+                            new BracketingNthOrderBrentSolver(0, TCA_ACCURACY, 0, 5);
+            final double screeningDistance = getScreeningDistance();
+            new SpatialHashGrid(screeningDistance, positions[k]).forEachPair(screeningDistance, (i, j) -> {
+                if (passPrefilters(getPV(k, i), mu[i], getPV(k, j), mu[j])) {
+                    if (k > 0 && !isCandidate(k - 1, i, j)) {
+                        // previous interval has not been handled yet
+                        refine(k - 1, i, j, solver, approaches);
+                    }
+                    if (k < positions.length - 1) {
+                        refine(k, i, j, solver, approaches);
+                    }
+                }
+            });
+            return approaches;
+        }
+
+        /** Refine a close approach within one sampling interval.
+         * @param k index of interval start epoch
+         * @param i index of first object
+         * @param j index of second object
+         * @param solver solver to use
+         * @param approaches list where to add close approach, if found
+         */
+        private void refine(final int k, final int i, final int j,
+                            final BracketingNthOrderBrentSolver solver,
+                            final List<CloseApproach> approaches) {
+
+            final RelativeMotion motion = new RelativeMotion(k, i, j);
+            if (motion.value(0) < 0 && motion.value(h) >= 0) {
+                // range rate changes sign, there is a minimum distance within the interval
+                final double tau = solver.solve(MAX_EVAL, motion, 0, h, AllowedSolution.ANY_SIDE);
+                final PVCoordinates relative = motion.relative(tau);
+                if (relative.getPosition().getNorm() <= threshold) {
+                    approaches.add(new CloseApproach(catalogue.get(i), catalogue.get(j),
+                                                     start.shiftedBy(k * h + tau),
+                                                     relative.getPosition(), relative.getVelocity()));
+                }
+            }
+
+        }
+
+        /** Cubic Hermite model for relative motion within one sampling interval. */
+        private class RelativeMotion implements UnivariateFunction {
+
+            /** Relative position at interval start. */
+            private final Vector3D p0;
+
+            /** Relative velocity at interval start. */
+            private final Vector3D v0;
+
+            /** Relative position at interval end. */
+            private final Vector3D p1;
+
+            /** Relative velocity at interval end. */
+            private final Vector3D v1;
+
+            /** Simple constructor.
+             * @param k index of interval start epoch
+             * @param i index of first object
+             * @param j index of second object
+             */
+            RelativeMotion(final int k, final int i, final int j) {
+                final PVCoordinates start0 = getPV(k, i);
+                final PVCoordinates end0   = getPV(k, j);
+                final PVCoordinates start1 = getPV(k + 1, i);
+                final PVCoordinates end1   = getPV(k + 1, j);
+                p0 = end0.getPosition().subtract(start0.getPosition());
+                v0 = end0.getVelocity().subtract(start0.getVelocity());
+                p1 = end1.getPosition().subtract(start1.getPosition());
+                v1 = end1.getVelocity().subtract(start1.getVelocity());
+            }
+
+            /** Compute relative position-velocity.
+             * @param tau time offset since interval start
+             * @return relative position-velocity
+             */
+            public PVCoordinates relative(final double tau) {
+                final double s   = tau / h;
+                final double s2  = s * s;
+                final double s3  = s2 * s;
+                final Vector3D p = new Vector3D(2 * s3 - 3 * s2 + 1, p0,
+                                                h * (s3 - 2 * s2 + s), v0,
+                                                3 * s2 - 2 * s3, p1,
+                                                h * (s3 - s2), v1);
+                final Vector3D v = new Vector3D(6 * (s2 - s) / h, p0,
+                                                3 * s2 - 4 * s + 1, v0,
+                                                6 * (s - s2) / h, p1,
+                                                3 * s2 - 2 * s, v1);
+                return new PVCoordinates(p, v);
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public double value(final double tau) {
+                final PVCoordinates relative = relative(tau);
+                return Vector3D.dotProduct(relative.getPosition(), relative.getVelocity());
+            }
+
+        }
+
+    }
+
+}
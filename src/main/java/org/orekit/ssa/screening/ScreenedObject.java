@@ -0,0 +1,62 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.screening;
+
+import org.orekit.propagation.Propagator;
+
+/** Container for one object of a catalogue to be screened.
+ * <p>
+ * Each object must have its own dedicated {@link Propagator propagator},
+ * as catalogue propagation is split between several threads.
+ * </p>
+ * @see ConjunctionScreener
+ * @author agent
+ * @since 10.2
+ */
+public class ScreenedObject {
+
+    /** Object identifier. */
+    private final String id;
+
+    /** Propagator for the object. */
+    private final Propagator propagator;
+
+    /** Simple constructor.
+     * @param id object identifier (typically a catalogue number)
+     * @param propagator propagator for the object (must not be shared
+     * with any other object)
+     */
+    public ScreenedObject(final String id, final Propagator propagator) {
+        this.id         = id;
+        this.propagator = propagator;
+    }
+
+    /** Get the object identifier.
+     * @return object identifier
+     */
+    public String getId() {
+        return id;
+    }
+
+    /** Get the propagator for the object.
+     * @return propagator for the object
+     */
+    public Propagator getPropagator() {
+        return propagator;
+    }
+
+}
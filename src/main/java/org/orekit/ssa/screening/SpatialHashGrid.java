@@ -0,0 +1,238 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.screening;
+
+import org.hipparchus.util.FastMath;
+
+/** Spatial hash of sampled positions at one epoch.
+ * <p>
+ * Positions are binned in cubic cells whose size is at least
+ * the screening distance, so all pairs of objects closer than this
+ * distance are necessarily in the same cell or in neighbouring cells.
+ * The cells are not stored in a hash map but in a flat array of cell keys
+ * sorted together with the object indices, which avoids boxing and allows
+ * neighbouring cells to be found by binary search.
+ * </p>
+ * @author agent
+ * @since 10.2
+ */
+class SpatialHashGrid {
+
+    /** Number of bits used for each cell coordinate in the key. */
+    private static final int BITS = 21;
+
+    /** Offset for cell coordinates (to have only non-negative values in keys). */
+    private static final long OFFSET = 1L << (BITS - 1);
+
+    /** Largest allowed cell coordinate. */
+    private static final long MAX_COORDINATE = OFFSET - 1;
+
+    /** Size of the cubic cells. */
+    private final double cellSize;
+
+    /** Sampled positions (x, y, z for each object, NaN for unavailable objects). */
+    private final double[] positions;
+
+    /** Cell keys, sorted. */
+    private final long[] keys;
+
+    /** Object indices, in the same order as the keys. */
+    private final int[] indices;
+
+    /** Simple constructor.
+     * @param cellSize size of the cubic cells
+     * @param positions sampled positions (x, y, z for each object,
+     * NaN for unavailable objects)
+     */
+    SpatialHashGrid(final double cellSize, final double[] positions) {
+
+        this.cellSize  = cellSize;
+        this.positions = positions;
+
+        // count available objects
+        final int n = positions.length / 3;
+        int available = 0;
+        for (int i = 0; i < n; ++i) {
+            if (!Double.isNaN(positions[3 * i])) {
+                ++available;
+            }
+        }
+
+        // compute cell keys
+        final long[] unsortedKeys    = new long[available];
+        final int[]  unsortedIndices = new int[available];
+        int k = 0;
+        for (int i = 0; i < n; ++i) {
+            if (!Double.isNaN(positions[3 * i])) {
+                unsortedKeys[k]    = key(cell(positions[3 * i]),
+                                         cell(positions[3 * i + 1]),
+                                         cell(positions[3 * i + 2]));
+                unsortedIndices[k] = i;
+                ++k;
+            }
+        }
+
+        // sort objects by cell
+        keys    = unsortedKeys.clone();
+        indices = unsortedIndices.clone();
+        mergeSort(unsortedKeys, unsortedIndices, keys, indices, 0, available);
+
+    }
+
+    /** Call a handler for each pair of objects closer than a maximum distance.
+     * <p>
+     * The handler is called only once per pair, with first index
+     * lower than second index.
+     * </p>
+     * @param maxDistance maximum distance (must be smaller than or equal to cell size)
+     * @param handler handler to call
+     */
+    void forEachPair(final double maxDistance, final PairHandler handler) {
+        final double maxDistance2 = maxDistance * maxDistance;
+        for (int k = 0; k < indices.length; ++k) {
+            final int    i  = indices[k];
+            final double xi = positions[3 * i];
+            final double yi = positions[3 * i + 1];
+            final double zi = positions[3 * i + 2];
+            final long   cx = cell(xi);
+            final long   cy = cell(yi);
+            final long   cz = cell(zi);
+            for (long dx = -1; dx <= 1; ++dx) {
+                for (long dy = -1; dy <= 1; ++dy) {
+                    for (long dz = -1; dz <= 1; ++dz) {
+                        final long neighbour = key(cx + dx, cy + dy, cz + dz);
+                        for (int l = first(neighbour); l < keys.length && keys[l] == neighbour; ++l) {
+                            final int j = indices[l];
+                            if (j > i) {
+                                final double deltaX = positions[3 * j]     - xi;
+                                final double deltaY = positions[3 * j + 1] - yi;
+                                final double deltaZ = positions[3 * j + 2] - zi;
+                                if (deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ <= maxDistance2) {
+                                    handler.handle(i, j);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Compute cell coordinate.
+     * @param x Cartesian coordinate
+     * @return cell coordinate
+     */
+    private long cell(final double x) {
+        final long c = (long) FastMath.floor(x / cellSize);
+        return FastMath.max(-OFFSET, FastMath.min(MAX_COORDINATE, c));
+    }
+
+    /** Compute cell key.
+     * <p>
+     * Out of range cell coordinates (i.e. neighbours of boundary cells)
+     * are mapped to an impossible key.
+     * </p>
+     * @param cx cell coordinate along x
+     * @param cy cell coordinate along y
+     * @param cz cell coordinate along z
+     * @return cell key
+     */
+    private static long key(final long cx, final long cy, final long cz) {
+        if (cx < -OFFSET || cx > MAX_COORDINATE ||
+            cy < -OFFSET || cy > MAX_COORDINATE ||
+            cz < -OFFSET || cz > MAX_COORDINATE) {
+            return -1L;
+        }
+        return ((cx + OFFSET) << (2 * BITS)) | ((cy + OFFSET) << BITS) | (cz + OFFSET);
+    }
+
+    /** Find the first occurrence of a key.
+     * @param key key to search for
+     * @return index of first occurrence of key (or index of insertion point if key is absent)
+     */
+    private int first(final long key) {
+        int low  = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Sort keys and indices together.
+     * <p>
+     * This is a top-down merge sort, which is stable and therefore
+     * preserves increasing objects indices within each cell.
+     * </p>
+     * @param srcKeys source keys (will be overwritten)
+     * @param srcIndices source indices (will be overwritten)
+     * @param dstKeys destination keys, must contain a copy of source keys on entry
+     * @param dstIndices destination indices, must contain a copy of source indices on entry
+     * @param start start of the range to sort (included)
+     * @param end end of the range to sort (excluded)
+     */
+    private static void mergeSort(final long[] srcKeys, final int[] srcIndices,
+                                  final long[] dstKeys, final int[] dstIndices,
+                                  final int start, final int end) {
+        if (end - start < 2) {
+            return;
+        }
+        final int mid = (start + end) >>> 1;
+
+        // sort both halves of destination arrays into source arrays
+        mergeSort(dstKeys, dstIndices, srcKeys, srcIndices, start, mid);
+        mergeSort(dstKeys, dstIndices, srcKeys, srcIndices, mid, end);
+
+        // merge source halves into destination
+        int i = start;
+        int j = mid;
+        for (int k = start; k < end; ++k) {
+            if (i < mid && (j >= end || srcKeys[i] <= srcKeys[j])) {
+                dstKeys[k]    = srcKeys[i];
+                dstIndices[k] = srcIndices[i++];
+            } else {
+                dstKeys[k]    = srcKeys[j];
+                dstIndices[k] = srcIndices[j++];
+            }
+        }
+
+    }
+
+    /** Get the number of objects in the grid.
+     * @return number of objects in the grid
+     */
+    int size() {
+        return indices.length;
+    }
+
+    /** Interface for handling close pairs. */
+    interface PairHandler {
+
+        /** Handle a pair of close objects.
+         * @param i index of first object
+         * @param j index of second object (always larger than i)
+         */
+        void handle(int i, int j);
+
+    }
+
+}
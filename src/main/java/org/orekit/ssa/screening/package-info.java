@@ -0,0 +1,34 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ *
+ * This package provides tools for screening a catalogue of space objects
+ * for close approaches.
+ *
+ * <p>
+ * The {@link org.orekit.ssa.screening.ConjunctionScreener ConjunctionScreener}
+ * samples all objects on a common time grid, bins the sampled positions
+ * into a spatial hash at each epoch so only neighbouring objects are compared,
+ * applies classical apogee/perigee and orbit path prefilters to the remaining
+ * pairs and finally refines times of closest approach by finding the roots
+ * of the relative range rate.
+ * </p>
+ *
+ * @author agent
+ * @since 10.2
+ */
+package org.orekit.ssa.screening;
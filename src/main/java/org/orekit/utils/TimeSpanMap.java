@@ -16,6 +16,7 @@
  */
 package org.orekit.utils;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.NavigableSet;
 import java.util.TreeSet;
@@ -25,13 +26,20 @@ import org.orekit.time.ChronologicalComparator;
 import org.orekit.time.TimeStamped;
 
 /** Container for objects that apply to spans of time.
+ * <p>
+ * Since 10.2, this class is {@link Serializable}, but instances can be
+ * serialized only if the data they contain are serializable too.
+ * </p>
 
  * @param <T> Type of the data.
 
  * @author Luc Maisonobe
  * @since 7.1
  */
-public class TimeSpanMap<T> {
+public class TimeSpanMap<T> implements Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20200624L;
 
     /** Container for the data. */
     private final NavigableSet<Transition<T>> data;
@@ -234,7 +242,10 @@ public class TimeSpanMap<T> {
      * </p>
      * @param <S> Type of the data.
      */
-    public static class Transition<S> implements TimeStamped {
+    public static class Transition<S> implements TimeStamped, Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20200624L;
 
         /** Transition date. */
         private final AbsoluteDate date;
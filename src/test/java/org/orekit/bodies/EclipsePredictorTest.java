@@ -0,0 +1,254 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
+import org.orekit.forces.radiation.SolarRadiationPressure;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.events.EventDetector;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class EclipsePredictorTest {
+
+    private CelestialBody  sun;
+    private Frame          gcrf;
+    private AbsoluteDate   t0;
+    private KeplerianOrbit orbit;
+
+    @Test
+    public void testExtrapolatedPosition() {
+        final EclipsePredictor cached = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                             Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+        Assert.assertEquals(EclipsePredictor.DEFAULT_VALIDITY, cached.getValidity(), 1.0e-15);
+        double maxError = 0;
+        for (double dt = 0; dt < 86400; dt += 60) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            final Vector3D reference = sun.getPVCoordinates(date, gcrf).getPosition();
+            maxError = FastMath.max(maxError,
+                                    Vector3D.distance(reference, cached.getOccultedPosition(date, gcrf)));
+        }
+        Assert.assertTrue(maxError > 0);
+        Assert.assertEquals(0.0, maxError, 10.0);
+    }
+
+    @Test
+    public void testNoCache() {
+        final EclipsePredictor direct = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                             Constants.WGS84_EARTH_EQUATORIAL_RADIUS, 0.0);
+        for (double dt = 0; dt < 7200; dt += 600) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(sun.getPVCoordinates(date, gcrf).getPosition(),
+                                                  direct.getOccultedPosition(date, gcrf)),
+                                1.0e-15);
+        }
+    }
+
+    @Test
+    public void testLightingRatioSharedWithSRP() {
+        final EclipsePredictor direct = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                             Constants.WGS84_EARTH_EQUATORIAL_RADIUS, 0.0);
+        final SolarRadiationPressure srp =
+                        new SolarRadiationPressure(sun, Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                   new IsotropicRadiationSingleCoefficient(1.0, 1.5));
+        boolean umbra    = false;
+        boolean penumbra = false;
+        for (double dt = 0; dt < orbit.getKeplerianPeriod(); dt += 10) {
+            final Orbit shifted = orbit.shiftedBy(dt);
+            final Vector3D p = shifted.getPVCoordinates().getPosition();
+            final double ratio = direct.getLightingRatio(p, gcrf, shifted.getDate());
+            Assert.assertEquals(srp.getLightingRatio(p, gcrf, shifted.getDate()), ratio, 1.0e-15);
+            umbra    |= ratio == 0.0;
+            penumbra |= ratio > 0.0 && ratio < 1.0;
+        }
+        Assert.assertTrue(umbra);
+        Assert.assertTrue(penumbra);
+    }
+
+    @Test
+    public void testOrderIndependence() {
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        for (double dt = 0; dt < 86400; dt += 377) {
+            dates.add(t0.shiftedBy(dt));
+        }
+
+        // forward calls
+        final EclipsePredictor forward = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                              Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+        final List<Vector3D> forwardPositions = new ArrayList<>();
+        for (final AbsoluteDate date : dates) {
+            forwardPositions.add(forward.getOccultedPosition(date, gcrf));
+        }
+
+        // backward and interleaved calls, as with steps rejections or shared predictors
+        final EclipsePredictor mixed = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                            Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+        for (int i = dates.size() - 1; i >= 0; --i) {
+            mixed.getOccultedPosition(dates.get(dates.size() - 1 - i), gcrf);
+            final Vector3D p = mixed.getOccultedPosition(dates.get(i), gcrf);
+            Assert.assertEquals(0.0, Vector3D.distance(forwardPositions.get(i), p), 0.0);
+        }
+
+    }
+
+    @Test
+    public void testDetectorsConsistentWithLightingRatio() {
+        final EclipsePredictor cached = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                             Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+        final SolarRadiationPressure srp =
+                        new SolarRadiationPressure(cached, new IsotropicRadiationSingleCoefficient(1.0, 1.5));
+        final List<EventDetector> detectors = srp.getEventsDetectors().collect(Collectors.toList());
+        final EventDetector umbraDetector    = detectors.get(0);
+        final EventDetector penumbraDetector = detectors.get(1);
+        int umbra    = 0;
+        int penumbra = 0;
+        for (double dt = 0; dt < orbit.getKeplerianPeriod(); dt += 0.5) {
+            final SpacecraftState state = new SpacecraftState(orbit.shiftedBy(dt));
+            final double ratio = srp.getLightingRatio(state.getPVCoordinates().getPosition(),
+                                                      state.getFrame(), state.getDate());
+            // both detectors and lighting ratio use the same Sun positions
+            Assert.assertEquals(ratio == 0.0, umbraDetector.g(state) <= 0.0);
+            Assert.assertEquals(ratio < 1.0, penumbraDetector.g(state) < 0.0);
+            if (ratio == 0.0) {
+                ++umbra;
+            } else if (ratio < 1.0) {
+                ++penumbra;
+            }
+        }
+        Assert.assertTrue(umbra > 0);
+        Assert.assertTrue(penumbra > 0);
+    }
+
+    @Test
+    public void testPredictedLighting() {
+        final EclipsePredictor predictor = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                                Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+
+        // perturbed trajectory, departing from the Keplerian approximation used for prediction
+        final Propagator propagator =
+                        new EcksteinHechlerPropagator(orbit, Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                                      Constants.EIGEN5C_EARTH_MU, Constants.EIGEN5C_EARTH_C20,
+                                                      Constants.EIGEN5C_EARTH_C30, Constants.EIGEN5C_EARTH_C40,
+                                                      Constants.EIGEN5C_EARTH_C50, Constants.EIGEN5C_EARTH_C60);
+        int lit          = 0;
+        int umbra        = 0;
+        int undetermined = 0;
+        for (double dt = 0; dt < 10 * orbit.getKeplerianPeriod(); dt += 10) {
+            final SpacecraftState state = propagator.propagate(t0.shiftedBy(dt));
+            final double ratio = predictor.getLightingRatio(state.getPVCoordinates().getPosition(),
+                                                            gcrf, state.getDate());
+            switch (predictor.getPredictedLighting(state.getPVCoordinates(), gcrf, state.getDate(),
+                                                   state.getMu(), 0.0)) {
+                case LIT :
+                    Assert.assertEquals(1.0, ratio, 0.0);
+                    ++lit;
+                    break;
+                case UMBRA :
+                    Assert.assertEquals(0.0, ratio, 0.0);
+                    ++umbra;
+                    break;
+                default :
+                    ++undetermined;
+            }
+        }
+        Assert.assertTrue(lit > 0);
+        Assert.assertTrue(umbra > 0);
+        Assert.assertTrue(undetermined < (lit + umbra) / 10);
+
+        // positions along the orbit at the same date, as used by semi-analytical models
+        lit   = 0;
+        umbra = 0;
+        for (double dM = 0; dM < MathUtils.TWO_PI; dM += 0.01) {
+            final KeplerianOrbit shifted = new KeplerianOrbit(orbit.getA(), orbit.getE(), orbit.getI(),
+                                                              orbit.getPerigeeArgument(),
+                                                              orbit.getRightAscensionOfAscendingNode(),
+                                                              orbit.getMeanAnomaly() + dM, PositionAngle.MEAN,
+                                                              gcrf, t0, orbit.getMu());
+            final double ratio = predictor.getLightingRatio(shifted.getPVCoordinates().getPosition(), gcrf, t0);
+            switch (predictor.getPredictedLighting(shifted.getPVCoordinates(), gcrf, t0, orbit.getMu(), 0.0)) {
+                case LIT :
+                    Assert.assertEquals(1.0, ratio, 0.0);
+                    ++lit;
+                    break;
+                case UMBRA :
+                    Assert.assertEquals(0.0, ratio, 0.0);
+                    ++umbra;
+                    break;
+                default :
+                    // eclipse geometry must be computed
+            }
+        }
+        Assert.assertTrue(lit > 0);
+        Assert.assertTrue(umbra > 0);
+
+    }
+
+    @Test
+    public void testPredictedLightingUndetermined() {
+        final EclipsePredictor predictor = new EclipsePredictor(sun, Constants.SUN_RADIUS,
+                                                                Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+
+        // non pseudo-inertial frame
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        Assert.assertEquals(EclipsePredictor.Lighting.UNDETERMINED,
+                            predictor.getPredictedLighting(orbit.getPVCoordinates(itrf), itrf, t0,
+                                                           orbit.getMu(), 0.0));
+
+        // hyperbolic trajectory
+        final PVCoordinates pv = orbit.getPVCoordinates();
+        Assert.assertEquals(EclipsePredictor.Lighting.UNDETERMINED,
+                            predictor.getPredictedLighting(new PVCoordinates(pv.getPosition(),
+                                                                             pv.getVelocity().scalarMultiply(2)),
+                                                           gcrf, t0, orbit.getMu(), 0.0));
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        sun   = CelestialBodyFactory.getSun();
+        gcrf  = FramesFactory.getGCRF();
+        t0    = new AbsoluteDate(1969, 7, 28, 4, 0, 0.0, TimeScalesFactory.getTT());
+        orbit = new KeplerianOrbit(7000000.0, 0.01, FastMath.toRadians(20.0),
+                                   FastMath.toRadians(30.0), FastMath.toRadians(40.0),
+                                   FastMath.toRadians(50.0), PositionAngle.MEAN,
+                                   gcrf, t0, Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
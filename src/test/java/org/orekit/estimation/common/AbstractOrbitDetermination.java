@@ -535,7 +535,8 @@ public abstract class AbstractOrbitDetermination<T extends IntegratedPropagatorB
 
         }
 
-        final List<ObservedMeasurement<?>> multiplexed = multiplexMeasurements(independentMeasurements, 1.0e-9);
+        // simultaneous measurements are multiplexed by the Kalman filter itself
+        independentMeasurements.sort(new ChronologicalComparator());
 
         // Building the Kalman filter:
         // - Gather the estimated measurement parameters in a list
@@ -545,7 +546,7 @@ public abstract class AbstractOrbitDetermination<T extends IntegratedPropagatorB
 
         // Build the list of estimated measurements
         final ParameterDriversList estimatedMeasurementsParameters = new ParameterDriversList();
-        for (ObservedMeasurement<?> measurement : multiplexed) {
+        for (ObservedMeasurement<?> measurement : independentMeasurements) {
             final List<ParameterDriver> drivers = measurement.getParametersDrivers();
             for (ParameterDriver driver : drivers) {
                 if (driver.isSelected()) {
@@ -724,7 +725,7 @@ public abstract class AbstractOrbitDetermination<T extends IntegratedPropagatorB
         });
 
         // Process the list measurements 
-        final Orbit estimated = kalman.processMeasurements(multiplexed)[0].getInitialState().getOrbit();
+        final Orbit estimated = kalman.processMeasurements(independentMeasurements, 1.0e-9)[0].getInitialState().getOrbit();
 
         // Get the last estimated physical covariances
         final RealMatrix covarianceMatrix = kalman.getPhysicalEstimatedCovarianceMatrix();
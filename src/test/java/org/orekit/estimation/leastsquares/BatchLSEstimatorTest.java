@@ -18,12 +18,15 @@ package org.orekit.estimation.leastsquares;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
@@ -246,6 +249,167 @@ public class BatchLSEstimatorTest {
 
     }
 
+    @Test
+    public void testConcurrentMeasurementsEstimation() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final Vector3D antennaPhaseCenter = new Vector3D(-1.2, 2.3, -0.7);
+
+        // create perfect range measurements with antenna offset
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context, antennaPhaseCenter, 0.0),
+                                                               1.0, 3.0, 300.0);
+        final OnBoardAntennaRangeModifier obaModifier = new OnBoardAntennaRangeModifier(antennaPhaseCenter);
+        for (final ObservedMeasurement<?> range : measurements) {
+            ((Range) range).addModifier(obaModifier);
+        }
+
+        final BatchLSEstimator sequential = createRangeEstimator(context, measurements, null, false);
+        final Orbit sequentialOrbit = sequential.estimate()[0].getInitialState().getOrbit();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BatchLSEstimator concurrent = createRangeEstimator(context, measurements, executor, false);
+            Assert.assertSame(executor, concurrent.getMeasurementsExecutor());
+            final Orbit concurrentOrbit = concurrent.estimate()[0].getInitialState().getOrbit();
+
+            // residuals and Jacobian are assembled in the same order, results are identical
+            Assert.assertEquals(sequential.getIterationsCount(),  concurrent.getIterationsCount());
+            Assert.assertEquals(sequential.getEvaluationsCount(), concurrent.getEvaluationsCount());
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(sequentialOrbit.getPVCoordinates().getPosition(),
+                                                  concurrentOrbit.getPVCoordinates().getPosition()),
+                                1.0e-15);
+            Assert.assertEquals(sequential.getOptimum().getRMS(), concurrent.getOptimum().getRMS(), 1.0e-15);
+            Assert.assertEquals(measurements.size(), concurrent.getLastEstimations().size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testNormalEquationsAccumulation() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final Vector3D antennaPhaseCenter = new Vector3D(-1.2, 2.3, -0.7);
+
+        // create perfect range measurements with antenna offset
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context, antennaPhaseCenter, 0.0),
+                                                               1.0, 3.0, 300.0);
+        final OnBoardAntennaRangeModifier obaModifier = new OnBoardAntennaRangeModifier(antennaPhaseCenter);
+        for (final ObservedMeasurement<?> range : measurements) {
+            ((Range) range).addModifier(obaModifier);
+        }
+
+        final BatchLSEstimator dense = createRangeEstimator(context, measurements, null, false);
+        Assert.assertFalse(dense.isNormalEquationsAccumulation());
+        final Orbit denseOrbit = dense.estimate()[0].getInitialState().getOrbit();
+
+        final BatchLSEstimator accumulating = createRangeEstimator(context, measurements, null, true);
+        Assert.assertTrue(accumulating.isNormalEquationsAccumulation());
+        final Orbit accumulatingOrbit = accumulating.estimate()[0].getInitialState().getOrbit();
+
+        // the compressed problem has one row per parameter plus one row
+        Assert.assertEquals(7, accumulating.getOptimum().getResiduals().getDimension());
+        Assert.assertEquals(6, accumulating.getOptimum().getJacobian().getColumnDimension());
+
+        // the solution is the same as with the full Jacobian
+        Assert.assertEquals(dense.getIterationsCount(),  accumulating.getIterationsCount());
+        Assert.assertEquals(dense.getEvaluationsCount(), accumulating.getEvaluationsCount());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(denseOrbit.getPVCoordinates().getPosition(),
+                                              accumulatingOrbit.getPVCoordinates().getPosition()),
+                            1.0e-6);
+        Assert.assertEquals(dense.getOptimum().getRMS(), accumulating.getOptimum().getRMS(),
+                            1.0e-10 * dense.getOptimum().getRMS());
+        final RealMatrix denseCovariances        = dense.getPhysicalCovariances(1.0e-10);
+        final RealMatrix accumulatingCovariances = accumulating.getPhysicalCovariances(1.0e-10);
+        for (int i = 0; i < 6; ++i) {
+            for (int j = 0; j < 6; ++j) {
+                Assert.assertEquals(denseCovariances.getEntry(i, j), accumulatingCovariances.getEntry(i, j),
+                                    1.0e-8 * FastMath.sqrt(denseCovariances.getEntry(i, i) * denseCovariances.getEntry(j, j)));
+            }
+        }
+        Assert.assertEquals(measurements.size(), accumulating.getLastEstimations().size());
+
+    }
+
+    @Test
+    public void testLinearizedEvaluations() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        final BatchLSEstimator full = createRangeEstimator(context, measurements, null, false);
+        Assert.assertEquals(0.0, full.getLinearizationThreshold(), 1.0e-15);
+        final Orbit fullOrbit = full.estimate()[0].getInitialState().getOrbit();
+        Assert.assertEquals(0, full.getLinearizedEvaluationsCount());
+
+        final BatchLSEstimator linearized = createRangeEstimator(context, measurements, null, false);
+        linearized.setLinearizationThreshold(1.0e-2);
+        final Orbit linearizedOrbit = linearized.estimate()[0].getInitialState().getOrbit();
+
+        // the last evaluation, with a tiny correction, did not need a propagation
+        Assert.assertEquals(full.getIterationsCount(),  linearized.getIterationsCount());
+        Assert.assertEquals(full.getEvaluationsCount(), linearized.getEvaluationsCount());
+        Assert.assertEquals(1, linearized.getLinearizedEvaluationsCount());
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(fullOrbit.getPVCoordinates().getPosition(),
+                                              linearizedOrbit.getPVCoordinates().getPosition()),
+                            1.0e-9);
+        Assert.assertEquals(0.0, linearized.getOptimum().getRMS(), 1.0e-6);
+
+    }
+
+    private BatchLSEstimator createRangeEstimator(final Context context,
+                                                  final List<ObservedMeasurement<?>> measurements,
+                                                  final ExecutorService executor,
+                                                  final boolean accumulate) {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                propagatorBuilder);
+        for (final ObservedMeasurement<?> range : measurements) {
+            estimator.addMeasurement(range);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        estimator.setMeasurementsExecutor(executor);
+        estimator.setNormalEquationsAccumulation(accumulate);
+        final ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        return estimator;
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset 
      */
@@ -23,6 +23,7 @@ import java.util.List;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
@@ -32,12 +33,14 @@ import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
 import org.orekit.estimation.measurements.AngularAzElMeasurementCreator;
 import org.orekit.estimation.measurements.AngularRaDecMeasurementCreator;
+import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.InterSatellitesRangeMeasurementCreator;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.estimation.measurements.PVMeasurementCreator;
 import org.orekit.estimation.measurements.Range;
 import org.orekit.estimation.measurements.RangeMeasurementCreator;
 import org.orekit.estimation.measurements.RangeRateMeasurementCreator;
+import org.orekit.estimation.measurements.modifiers.DynamicOutlierFilter;
 import org.orekit.estimation.measurements.modifiers.OnBoardAntennaRangeModifier;
 import org.orekit.frames.LOFType;
 import org.orekit.orbits.CartesianOrbit;
@@ -50,6 +53,7 @@ import org.orekit.propagation.Propagator;
 import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.ChronologicalComparator;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 import org.orekit.utils.ParameterDriversList.DelegatingDriver;
@@ -863,6 +867,209 @@ public class KalmanEstimatorTest {
 
     }
 
+    /**
+     * Perfect range and range rate measurements with a biased start,
+     * simultaneous measurements being grouped
+     */
+    @Test
+    public void testGroupedSimultaneousMeasurements() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builders
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final NumericalPropagatorBuilder sequentialBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+        final NumericalPropagatorBuilder groupedBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+
+        // Create perfect range and range rate measurements, sharing the same dates
+        final List<ObservedMeasurement<?>> measurements = createRangeAndRangeRate(context, sequentialBuilder);
+
+        // Reference position/velocity at last measurement date
+        final Orbit refOrbit = sequentialBuilder.
+                        buildPropagator(sequentialBuilder.getSelectedNormalizedParameters()).
+                        propagate(measurements.get(measurements.size() - 1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m as in the batch test
+        biasSemiMajorAxis(sequentialBuilder, groupedBuilder);
+
+        // Keplerian initial covariance matrix, from 100m on position / 1e-2m/s on velocity
+        final RealMatrix initialP = fromCartesian(context, orbitType, 100., 1e-2);
+        final RealMatrix Q = MatrixUtils.createRealMatrix(6, 6);
+
+        // Count the distinct measurements epochs
+        int epochs = 0;
+        AbsoluteDate previous = AbsoluteDate.PAST_INFINITY;
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            if (measurement.getDate().durationFrom(previous) > 1.0e-9) {
+                ++epochs;
+                previous = measurement.getDate();
+            }
+        }
+        Assert.assertTrue(epochs < measurements.size());
+
+        // Process measurements one at a time
+        final KalmanEstimator sequential = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(sequentialBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+        final Orbit sequentialOrbit = sequential.processMeasurements(measurements)[0].getInitialState().getOrbit();
+        Assert.assertEquals(measurements.size(), sequential.getCurrentMeasurementNumber());
+
+        // Process simultaneous measurements in one step
+        final KalmanEstimator grouped = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(groupedBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+        final Orbit groupedOrbit = grouped.processMeasurements(measurements, 1.0e-9)[0].getInitialState().getOrbit();
+        Assert.assertEquals(epochs, grouped.getCurrentMeasurementNumber());
+
+        final double dSequential = Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                                     sequentialOrbit.getPVCoordinates().getPosition());
+        final double dGrouped    = Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                                     groupedOrbit.getPVCoordinates().getPosition());
+        Assert.assertEquals(0.0, dSequential, 1.3e-4);
+        Assert.assertEquals(0.0, dGrouped,    1.3e-4);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(groupedOrbit.getPVCoordinates().getPosition(),
+                                              sequentialOrbit.getPVCoordinates().getPosition()),
+                            1.0e-6);
+
+    }
+
+    /**
+     * Dynamic outlier filter set on one of several simultaneous measurements
+     */
+    @Test
+    public void testGroupedMeasurementsDynamicOutlier() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+
+        // Create perfect range and range rate measurements, sharing the same dates,
+        // with dynamic outlier filters on range measurements and one outlier
+        final List<ObservedMeasurement<?>> measurements = createRangeAndRangeRate(context, propagatorBuilder);
+        int rangeCount = 0;
+        for (int i = 0; i < measurements.size(); ++i) {
+            if (measurements.get(i) instanceof Range) {
+                Range range = (Range) measurements.get(i);
+                if (++rangeCount == 20) {
+                    range = new Range(range.getStation(), range.isTwoWay(), range.getDate(),
+                                      range.getObservedValue()[0] + 1000.0,
+                                      range.getTheoreticalStandardDeviation()[0],
+                                      range.getBaseWeight()[0], range.getSatellites().get(0));
+                    measurements.set(i, range);
+                }
+                range.addModifier(new DynamicOutlierFilter<>(2, 3.0));
+            }
+        }
+
+        // Reference position/velocity at last measurement date
+        final Orbit refOrbit = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters()).
+                        propagate(measurements.get(measurements.size() - 1).getDate()).getOrbit();
+
+        // Keplerian initial covariance matrix, from 100m on position / 1e-2m/s on velocity
+        final RealMatrix initialP = fromCartesian(context, orbitType, 100., 1e-2);
+        final RealMatrix Q = MatrixUtils.createRealMatrix(6, 6);
+
+        // Process simultaneous measurements in one step
+        final KalmanEstimator grouped = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+        final int[] rejected = new int[1];
+        grouped.setObserver(estimation -> {
+            if (estimation.getPredictedMeasurement().getStatus() == EstimatedMeasurement.Status.REJECTED) {
+                ++rejected[0];
+            }
+        });
+        final Orbit groupedOrbit = grouped.processMeasurements(measurements, 1.0e-9)[0].getInitialState().getOrbit();
+
+        // the filter of the underlying range measurement rejected the whole group
+        Assert.assertEquals(1, rejected[0]);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                              groupedOrbit.getPVCoordinates().getPosition()),
+                            1.0e-4);
+
+    }
+
+    /**
+     * Square root covariance formulation versus classical formulation
+     */
+    @Test
+    public void testSquareRootCovariance() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builders
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final NumericalPropagatorBuilder classicalBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+        final NumericalPropagatorBuilder squareRootBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+
+        // Create perfect range and range rate measurements, sharing the same dates
+        final List<ObservedMeasurement<?>> measurements = createRangeAndRangeRate(context, classicalBuilder);
+
+        // Reference position/velocity at last measurement date
+        final Orbit refOrbit = classicalBuilder.
+                        buildPropagator(classicalBuilder.getSelectedNormalizedParameters()).
+                        propagate(measurements.get(measurements.size() - 1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m as in the batch test
+        biasSemiMajorAxis(classicalBuilder, squareRootBuilder);
+
+        // Keplerian initial covariance matrix, from 100m on position / 1e-2m/s on velocity
+        // and process noise from 1mm on position / 1e-6m/s on velocity
+        final RealMatrix initialP = fromCartesian(context, orbitType, 100., 1e-2);
+        final RealMatrix Q        = fromCartesian(context, orbitType, 1e-6, 1e-12);
+
+        // Classical formulation
+        final KalmanEstimator classical = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(classicalBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+        final Orbit classicalOrbit = classical.processMeasurements(measurements, 1.0e-9)[0].getInitialState().getOrbit();
+
+        // Square root formulation
+        final KalmanEstimator squareRoot = new KalmanEstimatorBuilder().
+                        squareRootCovariance(true).
+                        addPropagationConfiguration(squareRootBuilder, new ConstantProcessNoise(initialP, Q)).
+                        build();
+        final Orbit squareRootOrbit = squareRoot.processMeasurements(measurements, 1.0e-9)[0].getInitialState().getOrbit();
+
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                              squareRootOrbit.getPVCoordinates().getPosition()),
+                            2.0e-4);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(classicalOrbit.getPVCoordinates().getPosition(),
+                                              squareRootOrbit.getPVCoordinates().getPosition()),
+                            1.0e-6);
+
+        // the covariance matrices are consistent, and the square root one is exactly symmetric
+        final RealMatrix classicalP  = classical.getPhysicalEstimatedCovarianceMatrix();
+        final RealMatrix squareRootP = squareRoot.getPhysicalEstimatedCovarianceMatrix();
+        for (int i = 0; i < 6; ++i) {
+            for (int j = 0; j < 6; ++j) {
+                Assert.assertEquals(classicalP.getEntry(i, j), squareRootP.getEntry(i, j),
+                                    1.0e-6 * FastMath.sqrt(classicalP.getEntry(i, i) * classicalP.getEntry(j, j)));
+                Assert.assertEquals(squareRootP.getEntry(i, j), squareRootP.getEntry(j, i),
+                                    1.0e-15 * FastMath.abs(squareRootP.getEntry(i, j)));
+            }
+        }
+
+    }
+
     /**
      * Test of a wrapped exception in a Kalman observer
      */
@@ -915,6 +1122,56 @@ public class KalmanEstimatorTest {
 
     }
 
+    /** Create perfect range and range rate measurements, sharing the same dates.
+     * @param context context
+     * @param builder propagator builder
+     * @return chronologically sorted measurements
+     */
+    private List<ObservedMeasurement<?>> createRangeAndRangeRate(final Context context,
+                                                                 final NumericalPropagatorBuilder builder) {
+        final List<ObservedMeasurement<?>> measurements = new ArrayList<>();
+        measurements.addAll(EstimationTestUtils.createMeasurements(EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                                                        builder),
+                                                                   new RangeMeasurementCreator(context),
+                                                                   1.0, 4.0, 60.0));
+        measurements.addAll(EstimationTestUtils.createMeasurements(EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                                                        builder),
+                                                                   new RangeRateMeasurementCreator(context, false),
+                                                                   1.0, 4.0, 60.0));
+        measurements.sort(new ChronologicalComparator());
+        return measurements;
+    }
+
+    /** Change semi-major axis of 1.2m as in the batch test.
+     * @param builders propagator builders to change
+     */
+    private void biasSemiMajorAxis(final NumericalPropagatorBuilder... builders) {
+        for (final NumericalPropagatorBuilder builder : builders) {
+            final ParameterDriver aDriver = builder.getOrbitalParametersDrivers().getDrivers().get(0);
+            aDriver.setValue(aDriver.getValue() + 1.2);
+            aDriver.setReferenceDate(AbsoluteDate.GALILEO_EPOCH);
+        }
+    }
+
+    /** Convert a diagonal Cartesian covariance matrix around initial orbit.
+     * @param context context
+     * @param orbitType orbit type of the converted matrix
+     * @param positionVariance variance on position components
+     * @param velocityVariance variance on velocity components
+     * @return covariance matrix in orbit type
+     */
+    private RealMatrix fromCartesian(final Context context, final OrbitType orbitType,
+                                     final double positionVariance, final double velocityVariance) {
+        final RealMatrix cartesian = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            positionVariance, positionVariance, positionVariance,
+            velocityVariance, velocityVariance, velocityVariance
+        });
+        final double[][] dYdC = new double[6][6];
+        orbitType.convertType(context.initialOrbit).getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix jac = MatrixUtils.createRealMatrix(dYdC);
+        return jac.multiply(cartesian.multiply(jac.transpose()));
+    }
+
     private static class DummyException extends OrekitException {
         private static final long serialVersionUID = 1L;
         public DummyException() {
@@ -0,0 +1,282 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.sequential;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.DSSTContext;
+import org.orekit.estimation.DSSTEstimationTestUtils;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.PVMeasurementCreator;
+import org.orekit.estimation.measurements.RangeMeasurementCreator;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.DSSTPropagatorBuilder;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+import org.orekit.propagation.integration.AbstractIntegratedPropagator;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterDriversList;
+
+public class UnscentedKalmanEstimatorTest {
+
+    @Test
+    public void testMissingPropagatorBuilder() {
+        try {
+            new KalmanEstimatorBuilder().
+            buildUnscented();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_PROPAGATOR_CONFIGURED, oe.getSpecifier());
+        }
+    }
+
+    /**
+     * Perfect PV measurements with a perfect start
+     * Keplerian formalism
+     */
+    @Test
+    public void testKeplerianPV() {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+
+        // Create perfect PV measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new PVMeasurementCreator(),
+                                                               0.0, 3.0, 300.0);
+
+        // Reference position/velocity at last measurement date
+        final NumericalPropagator referencePropagator = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters());
+        final Orbit refOrbit = referencePropagator.
+                        propagate(measurements.get(measurements.size() - 1).getDate()).getOrbit();
+
+        // Keplerian covariance matrices, from 0.1m on position / 1e-4m/s on velocity
+        final Orbit initialOrbit = orbitType.convertType(context.initialOrbit);
+        final double[][] dYdC = new double[6][6];
+        initialOrbit.getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix jac = MatrixUtils.createRealMatrix(dYdC);
+        final RealMatrix initialP = jac.
+                                    multiply(MatrixUtils.createRealDiagonalMatrix(new double [] {
+                                        1e-2, 1e-2, 1e-2, 1e-8, 1e-8, 1e-8
+                                    })).
+                                    multiply(jac.transpose());
+        final RealMatrix Q = jac.
+                             multiply(MatrixUtils.createRealDiagonalMatrix(new double [] {
+                                 1e-8, 1e-8, 1e-8, 1e-14, 1e-14, 1e-14
+                             })).
+                             multiply(jac.transpose());
+
+        // Build the Kalman filter
+        final UnscentedKalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        buildUnscented();
+        final int[] count = new int[1];
+        kalman.setObserver(estimation -> {
+            // no Jacobians are computed by the unscented filter
+            Assert.assertNull(estimation.getPhysicalStateTransitionMatrix());
+            Assert.assertNull(estimation.getPhysicalMeasurementJacobian());
+            Assert.assertEquals(6, estimation.getPhysicalKalmanGain().getRowDimension());
+            Assert.assertEquals(6, estimation.getPhysicalInnovationCovarianceMatrix().getRowDimension());
+            ++count[0];
+        });
+
+        // Filter the measurements and check the results
+        checkFit(kalman, measurements, refOrbit, positionAngle,
+                 1.0e-7, 5.0e-11, 0.17, 6.4e-5);
+        Assert.assertEquals(measurements.size(), count[0]);
+
+    }
+
+    /**
+     * Perfect range measurements with a biased start
+     * Keplerian formalism
+     */
+    @Test
+    public void testKeplerianRange() {
+        doTestKeplerianRange(null);
+    }
+
+    /**
+     * Perfect range measurements with a biased start
+     * and concurrent propagation of sigma points
+     */
+    @Test
+    public void testConcurrentSigmaPoints() {
+        final Orbit sequential = doTestKeplerianRange(null);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // sigma points propagations are independent, so results are identical
+            final Orbit concurrent = doTestKeplerianRange(executor);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(sequential.getPVCoordinates().getPosition(),
+                                                  concurrent.getPVCoordinates().getPosition()),
+                                1.0e-15);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDSSTSequentialSigmaPoints() {
+
+        DSSTContext context = DSSTEstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final DSSTPropagatorBuilder propagatorBuilder = context.createBuilder(true, 1.e-6, 60., 1.);
+        final Propagator propagator = DSSTEstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                               propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        DSSTEstimationTestUtils.createMeasurements(propagator,
+                                                                   new PVMeasurementCreator(),
+                                                                   0.0, 0.1, 300.0);
+        final RealMatrix initialP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            1e-2, 1e-2, 1e-2, 1e-5, 1e-5, 1e-5
+        });
+        final RealMatrix Q = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            1.e-8, 1.e-8, 1.e-8, 1.e-8, 1.e-8, 1.e-8
+        });
+
+        // DSST force models are not thread-safe, the executor must never be used
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.shutdownNow();
+        final UnscentedKalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder, new ConstantProcessNoise(initialP, Q)).
+                        sigmaPointsExecutor(executor).
+                        buildUnscented();
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            kalman.estimationStep(measurement);
+        }
+        Assert.assertEquals(measurements.size(), kalman.getCurrentMeasurementNumber());
+
+    }
+
+    private Orbit doTestKeplerianRange(final ExecutorService executor) {
+
+        // Create context
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create initial orbit and propagator builder
+        final OrbitType     orbitType     = OrbitType.KEPLERIAN;
+        final PositionAngle positionAngle = PositionAngle.TRUE;
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(orbitType, positionAngle, true, 1.e-6, 60., 1.);
+
+        // Create perfect range measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 4.0, 60.0);
+
+        // Reference position/velocity at last measurement date
+        final NumericalPropagator referencePropagator = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters());
+        final Orbit refOrbit = referencePropagator.
+                        propagate(measurements.get(measurements.size() - 1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m as in the batch test
+        ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        aDriver.setReferenceDate(AbsoluteDate.GALILEO_EPOCH);
+
+        // Keplerian initial covariance matrix, from 100m on position / 1e-2m/s on velocity
+        final RealMatrix cartesianP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            100., 100., 100., 1e-2, 1e-2, 1e-2
+        });
+        final Orbit initialOrbit = orbitType.convertType(context.initialOrbit);
+        final double[][] dYdC = new double[6][6];
+        initialOrbit.getJacobianWrtCartesian(PositionAngle.TRUE, dYdC);
+        final RealMatrix jac = MatrixUtils.createRealMatrix(dYdC);
+        final RealMatrix initialP = jac.multiply(cartesianP.multiply(jac.transpose()));
+
+        // Build the Kalman filter
+        final UnscentedKalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder,
+                                                    new ConstantProcessNoise(initialP, MatrixUtils.createRealMatrix(6, 6))).
+                        estimatedMeasurementsParameters(new ParameterDriversList()).
+                        sigmaPointsExecutor(executor).
+                        buildUnscented();
+
+        // Filter the measurements and check the results
+        return checkFit(kalman, measurements, refOrbit, positionAngle,
+                        2.5e-2, 1.3e-5, 0.75, 2.27e-4);
+
+    }
+
+    private Orbit checkFit(final UnscentedKalmanEstimator kalman, final List<ObservedMeasurement<?>> measurements,
+                           final Orbit refOrbit, final PositionAngle positionAngle,
+                           final double posEps, final double velEps,
+                           final double maxSigmaPos, final double maxSigmaVel) {
+
+        final AbstractIntegratedPropagator[] estimated = kalman.processMeasurements(measurements);
+        Assert.assertEquals(measurements.size(), kalman.getCurrentMeasurementNumber());
+
+        final Orbit estimatedOrbit = estimated[0].getInitialState().getOrbit();
+        final double deltaPos = Vector3D.distance(refOrbit.getPVCoordinates().getPosition(),
+                                                  estimatedOrbit.getPVCoordinates().getPosition());
+        final double deltaVel = Vector3D.distance(refOrbit.getPVCoordinates().getVelocity(),
+                                                  estimatedOrbit.getPVCoordinates().getVelocity());
+
+        // Cartesian sigmas
+        final double[][] dCdY = new double[6][6];
+        estimatedOrbit.getJacobianWrtParameters(positionAngle, dCdY);
+        final RealMatrix jacobian = MatrixUtils.createRealMatrix(dCdY);
+        final RealMatrix cartesianP = jacobian.
+                                      multiply(kalman.getPhysicalEstimatedCovarianceMatrix().getSubMatrix(0, 5, 0, 5)).
+                                      multiply(jacobian.transpose());
+        double sigmaPos = 0;
+        double sigmaVel = 0;
+        for (int i = 0; i < 3; ++i) {
+            sigmaPos = FastMath.max(sigmaPos, FastMath.sqrt(cartesianP.getEntry(i, i)));
+            sigmaVel = FastMath.max(sigmaVel, FastMath.sqrt(cartesianP.getEntry(i + 3, i + 3)));
+        }
+
+        Assert.assertEquals(0.0, deltaPos, posEps);
+        Assert.assertEquals(0.0, deltaVel, velEps);
+        Assert.assertTrue(sigmaPos < maxSigmaPos);
+        Assert.assertTrue(sigmaVel < maxSigmaVel);
+
+        return estimatedOrbit;
+
+    }
+
+}
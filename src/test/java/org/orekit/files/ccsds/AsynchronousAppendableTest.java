@@ -0,0 +1,128 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsynchronousAppendableTest {
+
+    @Test
+    public void testSameOutput() throws IOException {
+        final RandomGenerator random = new Well19937a(0x2a1c7f3e95b04d68l);
+        final StringBuilder expected  = new StringBuilder();
+        final StringBuilder delegated = new StringBuilder();
+        final StringWriter  written   = new StringWriter();
+        try (AsynchronousAppendable out1 = new AsynchronousAppendable(delegated, 2, 7);
+             AsynchronousAppendable out2 = new AsynchronousAppendable(written)) {
+            for (int i = 0; i < 5000; ++i) {
+                final StringBuilder line = new StringBuilder();
+                final int n = random.nextInt(40);
+                for (int j = 0; j < n; ++j) {
+                    line.append((char) ('a' + random.nextInt(26)));
+                }
+                switch (i % 4) {
+                    case 0 :
+                        out1.append(line);
+                        out2.append(line);
+                        break;
+                    case 1 :
+                        out1.append(line.toString());
+                        out2.append(line.toString());
+                        break;
+                    case 2 :
+                        out1.append(line.toString(), 0, n / 2);
+                        out2.append(line.toString(), 0, n / 2);
+                        line.setLength(n / 2);
+                        break;
+                    default :
+                        for (int j = 0; j < n; ++j) {
+                            out1.append(line.charAt(j));
+                            out2.append(line.charAt(j));
+                        }
+                }
+                expected.append(line);
+                out1.append('\n');
+                out2.append('\n');
+                expected.append('\n');
+                if (i % 1000 == 999) {
+                    // flushing in the middle should not change anything
+                    out1.flush();
+                    Assert.assertEquals(expected.toString(), delegated.toString());
+                }
+            }
+        }
+        Assert.assertEquals(expected.toString(), delegated.toString());
+        Assert.assertEquals(expected.toString(), written.toString());
+    }
+
+    @Test
+    public void testNull() throws IOException {
+        final StringBuilder delegated = new StringBuilder();
+        try (AsynchronousAppendable out = new AsynchronousAppendable(delegated)) {
+            out.append(null).append(null, 1, 3);
+        }
+        Assert.assertEquals("nullul", delegated.toString());
+    }
+
+    @Test
+    public void testOutputFailure() {
+        final Writer failing = new Writer() {
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) throws IOException {
+                throw new IOException("dummy failure");
+            }
+            @Override
+            public void flush() {
+            }
+            @Override
+            public void close() {
+            }
+        };
+        try (AsynchronousAppendable out = new AsynchronousAppendable(failing, 2, 8)) {
+            for (int i = 0; i < 1000; ++i) {
+                out.append("0123456789");
+            }
+            Assert.fail("an exception should have been thrown");
+        } catch (IOException ioe) {
+            Assert.assertEquals("dummy failure", ioe.getMessage());
+        }
+    }
+
+    @Test
+    public void testAppendAfterClose() throws IOException {
+        final StringBuilder delegated = new StringBuilder();
+        final AsynchronousAppendable out = new AsynchronousAppendable(delegated);
+        out.append("abc");
+        out.close();
+        out.close();
+        Assert.assertEquals("abc", delegated.toString());
+        try {
+            out.append('d');
+            Assert.fail("an exception should have been thrown");
+        } catch (IOException ioe) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import java.io.IOException;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+public class EphemerisLineFormatterTest {
+
+    @Test
+    public void testDates() throws IOException {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final RandomGenerator random = new Well19937a(0x6c3b0e1f72d85a94l);
+        final EphemerisLineFormatter formatter = new EphemerisLineFormatter();
+        AbsoluteDate date = new AbsoluteDate(2016, 12, 31, 23, 58, 0.0, utc);
+        for (int i = 0; i < 20000; ++i) {
+            // mix whole and fractional steps, crossing days and a leap second
+            final double step = (i % 3 == 0) ? 1.0 : FastMath.scalb(random.nextInt(1 << 20), -14);
+            date = date.shiftedBy(step);
+            final DateTimeComponents components = date.getComponents(utc);
+            final StringBuilder out = new StringBuilder();
+            formatter.reset().appendDate(components).writeTo(out);
+            Assert.assertEquals(StreamingOemWriter.dateToString(components), out.toString());
+        }
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        final RandomGenerator random = new Well19937a(0x1d5f9a3c0b7e4268l);
+        final EphemerisLineFormatter formatter = new EphemerisLineFormatter();
+        for (int i = 0; i < 100000; ++i) {
+            final double x = Double.longBitsToDouble(random.nextLong());
+            final StringBuilder out = new StringBuilder();
+            formatter.reset().appendDouble(x).append(' ').append("end").writeTo(out);
+            Assert.assertEquals(Double.toString(x) + " end", out.toString());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
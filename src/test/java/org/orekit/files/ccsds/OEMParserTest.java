@@ -25,10 +25,16 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Pair;
 import org.junit.Assert;
 import org.junit.Before;
@@ -505,4 +511,95 @@ public class OEMParserTest {
         }
     }
 
+    @Test
+    public void testParallelDecoding() {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final OEMParser sequential = new OEMParser()
+                    .withMu(CelestialBodyFactory.getEarth().getGM())
+                    .withConventions(IERSConventions.IERS_2010);
+            final OEMParser parallel = sequential.withExecutor(executor);
+            Assert.assertNull(sequential.getExecutor());
+            Assert.assertSame(executor, parallel.getExecutor());
+            for (final String name : new String[] { "OEMExample.txt",  "OEMExample3.txt",
+                                                    "OEMExample5.txt", "OEMExample6.txt" }) {
+                final OEMFile expected = sequential.parse(getClass().getResourceAsStream("/ccsds/" + name), name);
+                final OEMFile actual   = parallel.parse(getClass().getResourceAsStream("/ccsds/" + name), name);
+                Assert.assertEquals(expected.getEphemeridesBlocks().size(), actual.getEphemeridesBlocks().size());
+                for (int i = 0; i < expected.getEphemeridesBlocks().size(); ++i) {
+                    final EphemeridesBlock expectedBlock = expected.getEphemeridesBlocks().get(i);
+                    final EphemeridesBlock actualBlock   = actual.getEphemeridesBlocks().get(i);
+                    Assert.assertEquals(expectedBlock.getAvailableDerivatives(), actualBlock.getAvailableDerivatives());
+                    Assert.assertEquals(expectedBlock.getEphemeridesDataLinesComment(),
+                                        actualBlock.getEphemeridesDataLinesComment());
+                    Assert.assertEquals(expectedBlock.getCovarianceMatrices().size(),
+                                        actualBlock.getCovarianceMatrices().size());
+                    final List<TimeStampedPVCoordinates> expectedLines = expectedBlock.getEphemeridesDataLines();
+                    final List<TimeStampedPVCoordinates> actualLines   = actualBlock.getEphemeridesDataLines();
+                    Assert.assertEquals(expectedLines.size(), actualLines.size());
+                    for (int j = 0; j < expectedLines.size(); ++j) {
+                        Assert.assertEquals(expectedLines.get(j).getDate(), actualLines.get(j).getDate());
+                        Assert.assertEquals(expectedLines.get(j).getPosition(), actualLines.get(j).getPosition());
+                        Assert.assertEquals(expectedLines.get(j).getVelocity(), actualLines.get(j).getVelocity());
+                        Assert.assertEquals(expectedLines.get(j).getAcceleration(), actualLines.get(j).getAcceleration());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelNumberFormatError() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new OEMParser().withMu(CelestialBodyFactory.getMars().getGM()).withExecutor(executor).
+            parse(getClass().getResourceAsStream("/ccsds/OEM-ephemeris-number-format-error.txt"),
+                                                 "OEM-ephemeris-number-format-error.txt");
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+            Assert.assertEquals(44, oe.getParts()[0]);
+            Assert.assertEquals("OEM-ephemeris-number-format-error.txt", oe.getParts()[1]);
+            Assert.assertEquals("1996-12-28T21:59:02.267 -2445.234 -878.141 this-is-not-a-number 1.86043 -3.421256 -0.996366", oe.getParts()[2]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFastNumbersParsing() {
+        final String[] special = {
+            "0", "-0", "+0.0", "0.0e0", "1", "-1.5", ".5", "5.", "1.86043", "-3.421256",
+            "4.6189273e-04", "1E22", "1e23", "1e-22", "1e-23", "123456789012345",
+            "1234567890123456", "0.000000000000000000001234", "9007199254740993",
+            "1.7976931348623157e308", "4.9e-324", "NaN", "-Infinity", "1.0d"
+        };
+        for (final String s : special) {
+            checkParse(s);
+        }
+        final RandomGenerator random = new Well19937a(0x4d8e6a4c1b2f3d5bl);
+        for (int i = 0; i < 100000; ++i) {
+            final double x = (random.nextDouble() - 0.5) * FastMath.pow(10.0, random.nextInt(20) - 10);
+            checkParse(Double.toString(x));
+            checkParse(String.format(Locale.US, "%.6f",  x));
+            checkParse(String.format(Locale.US, "%.12e", x));
+        }
+        for (final String s : new String[] { "", "-", "e5", "1e", "1.2.3", "1e+", "this-is-not-a-number" }) {
+            try {
+                OEMParser.parseDouble(s, 0, s.length());
+                Assert.fail("an exception should have been thrown");
+            } catch (NumberFormatException nfe) {
+                // expected
+            }
+        }
+    }
+
+    private void checkParse(final String s) {
+        final String padded = "  " + s + " ";
+        Assert.assertEquals(Double.doubleToLongBits(Double.parseDouble(s)),
+                            Double.doubleToLongBits(OEMParser.parseDouble(padded, 2, 2 + s.length())));
+    }
+
 }
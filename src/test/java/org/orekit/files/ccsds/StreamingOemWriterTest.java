@@ -24,6 +24,7 @@ import java.io.InputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -269,6 +270,68 @@ public class StreamingOemWriterTest {
 
     }
 
+    /**
+     * Check asynchronous output gives the same result as the historical line format.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testAsynchronousOutput() throws Exception {
+        // setup
+        TimeScale utc = TimeScalesFactory.getUTC();
+        InputStream inEntry = getClass().getResourceAsStream("/ccsds/OEMExample5.txt");
+        OEMParser parser = new OEMParser()
+                .withMu(CelestialBodyFactory.getEarth().getGM())
+                .withConventions(IERSConventions.IERS_2010);
+        OEMFile oemFile = parser.parse(inEntry, "OEMExample.txt");
+        EphemeridesBlock block = oemFile.getEphemeridesBlocks().get(0);
+        BoundedPropagator propagator = block.getPropagator();
+        Frame frame = block.getFrame();
+
+        Map<Keyword, String> metadata = new LinkedHashMap<>();
+        metadata.put(Keyword.CREATION_DATE, "2020-06-01T00:00:00Z");
+        metadata.put(Keyword.OBJECT_NAME, block.getMetaData().getObjectName());
+        metadata.put(Keyword.OBJECT_ID, block.getMetaData().getObjectID());
+
+        // write directly, with a step that is not a whole number of seconds
+        StringBuilder direct = new StringBuilder();
+        StreamingOemWriter writer = new StreamingOemWriter(direct, utc, metadata);
+        writer.writeHeader();
+        propagator.setMasterMode(17.125, writer.newSegment(frame, Collections.emptyMap()));
+        propagator.propagate(propagator.getMinDate(), propagator.getMaxDate());
+
+        // write asynchronously, with a tiny ring buffer
+        StringBuilder delegated = new StringBuilder();
+        try (AsynchronousAppendable out = new AsynchronousAppendable(delegated, 3, 100)) {
+            writer = new StreamingOemWriter(out, utc, metadata);
+            writer.writeHeader();
+            propagator.setMasterMode(17.125, writer.newSegment(frame, Collections.emptyMap()));
+            propagator.propagate(propagator.getMinDate(), propagator.getMaxDate());
+        }
+        assertEquals(direct.toString(), delegated.toString());
+
+        // check ephemeris lines against historical formatting
+        int nbLines = 0;
+        for (final String line : direct.toString().split("\n")) {
+            if (line.matches("^[0-9]{4}-.*")) {
+                final String[] fields = line.split(" ");
+                final AbsoluteDate date = new AbsoluteDate(fields[0], utc);
+                final TimeStampedPVCoordinates pv = propagator.getPVCoordinates(date, frame);
+                final StringBuilder expected = new StringBuilder();
+                expected.append(StreamingOemWriter.dateToString(date.getComponents(utc)));
+                for (final Vector3D v : Arrays.asList(pv.getPosition(), pv.getVelocity())) {
+                    expected.append(' ').append(Double.toString(v.getX() * 1e-3));
+                    expected.append(' ').append(Double.toString(v.getY() * 1e-3));
+                    expected.append(' ').append(Double.toString(v.getZ() * 1e-3));
+                }
+                assertEquals(expected.toString(), line);
+                ++nbLines;
+            }
+        }
+        assertThat(nbLines > 100, CoreMatchers.is(true));
+
+    }
+
     private static void compareOemEphemerisBlocks(EphemeridesBlock block1,
                                                   EphemeridesBlock block2,
                                                   double p_tol,
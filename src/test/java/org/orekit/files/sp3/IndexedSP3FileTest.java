@@ -0,0 +1,165 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.sp3.IndexedSP3File.IndexedSP3Ephemeris;
+import org.orekit.files.sp3.SP3File.SP3Coordinate;
+import org.orekit.files.sp3.SP3File.SP3Ephemeris;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class IndexedSP3FileTest {
+
+    @Test
+    public void testPositionOnly() throws IOException, URISyntaxException {
+        checkSameAsParser("/sp3/example-a-1.sp3");
+        checkSameAsParser("/sp3/example-c-1.sp3");
+        checkSameAsParser("/sp3/example-d-1.sp3");
+    }
+
+    @Test
+    public void testPositionVelocity() throws IOException, URISyntaxException {
+        checkSameAsParser("/sp3/example-a-2.sp3");
+        checkSameAsParser("/sp3/example-c-2.sp3");
+        checkSameAsParser("/sp3/example-d-2.sp3");
+    }
+
+    @Test
+    public void testManySatellites() throws IOException, URISyntaxException {
+        final IndexedSP3File indexed = checkSameAsParser("/sp3/gbm19500_truncated.sp3");
+        Assert.assertEquals(87, indexed.getSatellites().size());
+        Assert.assertEquals(2, indexed.getNumberOfEpochs());
+        Assert.assertTrue(indexed.containsSatellite("R17"));
+        Assert.assertFalse(indexed.containsSatellite("R99"));
+        Assert.assertEquals(indexed.getHeader().getEpoch(), indexed.getEpoch(0));
+    }
+
+    @Test
+    public void testPropagator() throws IOException, URISyntaxException {
+        final String fileName = Paths.get(getClass().getResource("/sp3/example-a-2.sp3").toURI()).toString();
+        final Frame frame = FramesFactory.getITRF(IERSConventions.IERS_2003, true);
+        final SP3Parser parser = new SP3Parser(Constants.EIGEN5C_EARTH_MU, 3, s -> frame);
+        final SP3Ephemeris reference = parser.parse(fileName).getSatellites().get("1");
+        final IndexedSP3Ephemeris lazy = parser.parseIndexed(fileName).getSatellites().get("1");
+
+        final BoundedPropagator referencePropagator = reference.getPropagator();
+        final BoundedPropagator lazyPropagator      = lazy.getPropagator();
+        Assert.assertEquals(referencePropagator.getMinDate(), lazyPropagator.getMinDate());
+        Assert.assertEquals(referencePropagator.getMaxDate(), lazyPropagator.getMaxDate());
+        final double span = lazyPropagator.getMaxDate().durationFrom(lazyPropagator.getMinDate());
+        for (double dt = 0; dt <= span; dt += 600.0) {
+            final AbsoluteDate date = lazyPropagator.getMinDate().shiftedBy(dt);
+            final TimeStampedPVCoordinates expected = referencePropagator.getPVCoordinates(date, frame);
+            final TimeStampedPVCoordinates actual   = lazyPropagator.getPVCoordinates(date, frame);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-15);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testTruncatedLine() throws IOException, URISyntaxException {
+        checkError("/sp3/truncated-line.sp3", OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 27);
+    }
+
+    @Test
+    public void testMissingEOF() throws IOException, URISyntaxException {
+        checkError("/sp3/missing-eof.sp3", OrekitMessages.SP3_UNEXPECTED_END_OF_FILE, 24);
+    }
+
+    @Test
+    public void testWrongLineIdentifier() throws IOException, URISyntaxException {
+        checkError("/sp3/wrong-line-identifier.sp3", OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 13);
+    }
+
+    @Test
+    public void testWrongNumberOfEpochs() throws IOException, URISyntaxException {
+        checkError("/sp3/wrong-number-of-epochs.sp3", OrekitMessages.SP3_NUMBER_OF_EPOCH_MISMATCH, 2);
+    }
+
+    private IndexedSP3File checkSameAsParser(final String name) throws IOException, URISyntaxException {
+
+        final String fileName = Paths.get(getClass().getResource(name).toURI()).toString();
+        final SP3Parser parser = new SP3Parser();
+        final SP3File reference = parser.parse(fileName);
+        final IndexedSP3File indexed = parser.parseIndexed(fileName);
+
+        Assert.assertEquals(fileName, indexed.getName());
+        Assert.assertEquals(reference.getNumberOfEpochs(), indexed.getNumberOfEpochs());
+        Assert.assertEquals(reference.getSatellites().keySet(), indexed.getSatellites().keySet());
+        for (final SP3Ephemeris expected : reference.getSatellites().values()) {
+            final IndexedSP3Ephemeris actual = indexed.getSatellites().get(expected.getId());
+            Assert.assertEquals(expected.getTimeScale(),            actual.getTimeScale());
+            Assert.assertEquals(expected.getFrameString(),          actual.getFrameString());
+            Assert.assertEquals(expected.getAvailableDerivatives(), actual.getAvailableDerivatives());
+            Assert.assertEquals(expected.getAccuracy(),             actual.getAccuracy(), 1.0e-15);
+            final List<SP3Coordinate> expectedCoordinates = expected.getCoordinates();
+            final List<SP3Coordinate> actualCoordinates   = actual.getCoordinates();
+            Assert.assertEquals(expectedCoordinates.size(), actualCoordinates.size());
+            for (int i = 0; i < expectedCoordinates.size(); ++i) {
+                final SP3Coordinate e = expectedCoordinates.get(i);
+                final SP3Coordinate a = actualCoordinates.get(i);
+                Assert.assertEquals(e.getDate(), a.getDate());
+                Assert.assertEquals(0.0, Vector3D.distance(e.getPosition(), a.getPosition()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(e.getVelocity(), a.getVelocity()), 1.0e-15);
+                Assert.assertEquals(e.getClockCorrection(), a.getClockCorrection(), 1.0e-15);
+                Assert.assertEquals(e.getClockRateChange(), a.getClockRateChange(), 1.0e-15);
+            }
+            if (!expectedCoordinates.isEmpty()) {
+                Assert.assertEquals(expected.getStart(), actual.getStart());
+                Assert.assertEquals(expected.getStop(),  actual.getStop());
+            }
+        }
+
+        return indexed;
+
+    }
+
+    private void checkError(final String name, final OrekitMessages expected, final int part)
+        throws IOException, URISyntaxException {
+        try {
+            final String fileName = Paths.get(getClass().getResource(name).toURI()).toString();
+            new SP3Parser().parseIndexed(fileName);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(expected, oe.getSpecifier());
+            Assert.assertEquals(part, ((Integer) oe.getParts()[0]).intValue());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
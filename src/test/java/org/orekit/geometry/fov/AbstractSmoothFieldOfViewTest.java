@@ -18,7 +18,10 @@ package org.orekit.geometry.fov;
 
 import java.util.List;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.UnitSphereRandomVectorGenerator;
 import org.hipparchus.util.FastMath;
@@ -145,6 +148,19 @@ public abstract class AbstractSmoothFieldOfViewTest {
         }
     }
 
+    protected void doTestEnclosingCap(final SmoothFieldOfView fov, final RandomGenerator random) {
+        final EnclosingBall<Sphere2D, S2Point> cap = fov.getEnclosingCap();
+        UnitSphereRandomVectorGenerator spGenerator = new UnitSphereRandomVectorGenerator(3, random);
+        for (int i = 0; i < 1000; ++i) {
+            Vector3D queryLOS = new Vector3D(spGenerator.nextVector());
+            Vector3D closest  = fov.projectToBoundary(queryLOS);
+            Assert.assertTrue(Vector3D.angle(cap.getCenter().getVector(), closest) <= cap.getRadius() + 1.0e-12);
+            if (Vector3D.angle(cap.getCenter().getVector(), queryLOS) > cap.getRadius() + fov.getMargin()) {
+                Assert.assertTrue(fov.offsetFromBoundary(queryLOS, 0, VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV) > 0);
+            }
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
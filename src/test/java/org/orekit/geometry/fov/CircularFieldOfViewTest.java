@@ -87,6 +87,12 @@ public class CircularFieldOfViewTest extends AbstractSmoothFieldOfViewTest {
                        2.0e-15);
     }
 
+    @Test
+    public void testEnclosingCap() {
+        doTestEnclosingCap(new CircularFieldOfView(Vector3D.MINUS_K, FastMath.toRadians(3.0), 0.01),
+                           new Well19937a(0x4a2b1fd2c6a2e0b1l));
+    }
+
     @Test
     public void testNoFootprintInside() {
         doTestNoFootprintInside(new CircularFieldOfView(Vector3D.PLUS_K, FastMath.toRadians(3.0), 0.0),
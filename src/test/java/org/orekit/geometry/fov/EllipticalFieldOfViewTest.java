@@ -220,6 +220,14 @@ public class EllipticalFieldOfViewTest extends AbstractSmoothFieldOfViewTest {
                                Vector3D.MINUS_K);
     }
 
+    @Test
+    public void testEnclosingCap() {
+        doTestEnclosingCap(new EllipticalFieldOfView(Vector3D.PLUS_K, Vector3D.PLUS_I,
+                                                     FastMath.toRadians(4.0), FastMath.toRadians(2.0),
+                                                     0.0),
+                           new Well19937a(0x7b1e2a6c40d3f19el));
+    }
+
     @Test
     public void testNoFootprintInside() {
         doTestNoFootprintInside(new EllipticalFieldOfView(Vector3D.PLUS_K, Vector3D.PLUS_I,
@@ -0,0 +1,268 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.data.GzipFilter;
+import org.orekit.data.NamedData;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.estimation.measurements.GroundStation;
+import org.orekit.estimation.measurements.ObservableSatellite;
+import org.orekit.estimation.measurements.Range;
+import org.orekit.estimation.measurements.gnss.Phase;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class ColumnarRinexLoaderTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNetwork() throws IOException {
+
+        final List<String> names = Arrays.asList("rinex/aiub0000.00o",
+                                                 "rinex/jnu10110.17o",
+                                                 "rinex/aber0440.16d.Z",
+                                                 "rinex/TLSG00FRA_R_20160440000_30S_30S_MO.crx.gz",
+                                                 "rinex/VILL00ESP_R_20160440000_01D_30S_MO.crx.gz");
+        final List<NamedData> sources = new ArrayList<>();
+        for (final String name : names) {
+            sources.add(source(name));
+        }
+
+        final List<ColumnarObservations> loaded = new ColumnarRinexLoader(executor).load(sources);
+        Assert.assertEquals(names.size(), loaded.size());
+        for (int i = 0; i < names.size(); ++i) {
+            final NamedData source = sources.get(i);
+            Assert.assertEquals(source.getName(), loaded.get(i).getName());
+            checkSameAsLoader(new RinexLoader(source.getStreamOpener().openStream(), source.getName()).
+                              getObservationDataSets(),
+                              loaded.get(i));
+        }
+
+    }
+
+    @Test
+    public void testRebuiltDataSets() throws IOException {
+        final NamedData source = source("rinex/aiub0000.00o");
+        final ColumnarObservations observations = new ColumnarRinexLoader(executor).
+                                                  load(Arrays.asList(source)).get(0);
+        Assert.assertNotNull(observations.getHeader());
+        int count = 0;
+        for (final SatelliteSystem system : observations.getSatelliteSystems()) {
+            for (final int prn : observations.getPrnNumbers(system)) {
+                final List<ObservationDataSet> rebuilt = observations.getObservationDataSets(system, prn);
+                Assert.assertEquals(observations.getNbEpochs(system, prn), rebuilt.size());
+                for (int i = 0; i < rebuilt.size(); ++i) {
+                    Assert.assertEquals(0.0,
+                                        rebuilt.get(i).getDate().durationFrom(observations.getDate(system, prn, i)),
+                                        0.0);
+                    Assert.assertEquals(observations.getObservationTypes(system, prn).size(),
+                                        rebuilt.get(i).getObservationData().size());
+                }
+                count += rebuilt.size();
+            }
+        }
+        Assert.assertEquals(new RinexLoader(source.getStreamOpener().openStream(), source.getName()).
+                            getObservationDataSets().size(),
+                            count);
+        Assert.assertEquals(0, observations.getNbEpochs(SatelliteSystem.BEIDOU, 99));
+        Assert.assertEquals(0, observations.getValues(SatelliteSystem.BEIDOU, 99, ObservationType.C1).length);
+    }
+
+    @Test
+    public void testConcatenatedHeaders() throws IOException {
+        final List<ObservationDataSet> first  = load("rinex/aiub0000.00o");
+        final List<ObservationDataSet> second = load("rinex/jnu10110.17o");
+        final ColumnarObservations observations = new ColumnarObservations("concatenated");
+        first.forEach(observations::add);
+        second.forEach(observations::add);
+        observations.trim();
+
+        Assert.assertEquals(2, observations.getHeaders().size());
+        Assert.assertSame(first.get(0).getHeader(),  observations.getHeader());
+        Assert.assertSame(first.get(0).getHeader(),  observations.getHeaders().get(0));
+        Assert.assertSame(second.get(0).getHeader(), observations.getHeaders().get(1));
+
+        final List<ObservationDataSet> all = new ArrayList<>(first);
+        all.addAll(second);
+        final Map<String, Integer> indices = new HashMap<>();
+        for (final ObservationDataSet dataSet : all) {
+            final SatelliteSystem system = dataSet.getSatelliteSystem();
+            final int             prn    = dataSet.getPrnNumber();
+            final int             index  = indices.merge(system + " " + prn, 1, Integer::sum) - 1;
+            Assert.assertSame(dataSet.getHeader(), observations.getHeader(system, prn, index));
+            Assert.assertSame(dataSet.getHeader(),
+                              observations.getObservationDataSets(system, prn).get(index).getHeader());
+            Assert.assertEquals(0.0,
+                                dataSet.getDate().durationFrom(observations.getDate(system, prn, index)),
+                                1.0e-6);
+        }
+    }
+
+    @Test
+    public void testMeasurements() throws IOException {
+        final ColumnarObservations observations = new ColumnarRinexLoader(executor).
+                                                  load(Arrays.asList(source("rinex/aiub0000.00o"))).get(0);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final GroundStation station = new GroundStation(new TopocentricFrame(earth,
+                                                                             new GeodeticPoint(0.8, 0.13, 950.0),
+                                                                             "AIUB"));
+        final ObservableSatellite satellite = new ObservableSatellite(0);
+        final int prn = observations.getPrnNumbers(SatelliteSystem.GPS).first();
+
+        final double[]    p1     = observations.getValues(SatelliteSystem.GPS, prn, ObservationType.P1);
+        final List<Range> ranges = observations.createRanges(SatelliteSystem.GPS, prn, ObservationType.P1,
+                                                             station, 2.0, 1.0, satellite);
+        Assert.assertFalse(ranges.isEmpty());
+        int k = 0;
+        for (int i = 0; i < p1.length; ++i) {
+            if (!Double.isNaN(p1[i])) {
+                final Range range = ranges.get(k++);
+                Assert.assertEquals(0.0,
+                                    range.getDate().durationFrom(observations.getDate(SatelliteSystem.GPS, prn, i)),
+                                    0.0);
+                Assert.assertEquals(p1[i], range.getObservedValue()[0], 0.0);
+                Assert.assertEquals(2.0, range.getTheoreticalStandardDeviation()[0], 0.0);
+                Assert.assertFalse(range.isTwoWay());
+                Assert.assertSame(station, range.getStation());
+            }
+        }
+        Assert.assertEquals(ranges.size(), k);
+
+        final double[]    l1     = observations.getValues(SatelliteSystem.GPS, prn, ObservationType.L1);
+        final List<Phase> phases = observations.createPhases(SatelliteSystem.GPS, prn, ObservationType.L1,
+                                                             station, 0.01, 1.0, satellite);
+        Assert.assertFalse(phases.isEmpty());
+        k = 0;
+        for (int i = 0; i < l1.length; ++i) {
+            if (!Double.isNaN(l1[i])) {
+                final Phase phase = phases.get(k++);
+                Assert.assertEquals(0.0,
+                                    phase.getDate().durationFrom(observations.getDate(SatelliteSystem.GPS, prn, i)),
+                                    0.0);
+                Assert.assertEquals(l1[i], phase.getObservedValue()[0], 0.0);
+                Assert.assertEquals(Frequency.G01.getWavelength(), phase.getWavelength(), 0.0);
+            }
+        }
+        Assert.assertEquals(phases.size(), k);
+
+        Assert.assertTrue(observations.createRanges(SatelliteSystem.BEIDOU, 99, ObservationType.C1,
+                                                    station, 2.0, 1.0, satellite).isEmpty());
+        try {
+            observations.createRanges(SatelliteSystem.GPS, prn, ObservationType.L1, station, 2.0, 1.0, satellite);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INVALID_TYPE_FOR_FUNCTION, oe.getSpecifier());
+        }
+        try {
+            observations.createPhases(SatelliteSystem.GPS, prn, ObservationType.P1, station, 0.01, 1.0, satellite);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INVALID_TYPE_FOR_FUNCTION, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testError() throws IOException {
+        try {
+            new ColumnarRinexLoader(executor).load(Arrays.asList(source("rinex/aiub0000.00o"),
+                                                                 source("rinex/unknown-label.00o")));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+            Assert.assertEquals(22, ((Integer) oe.getParts()[0]).intValue());
+        }
+    }
+
+    private List<ObservationDataSet> load(final String name) throws IOException {
+        final NamedData source = source(name);
+        return new RinexLoader(source.getStreamOpener().openStream(), source.getName()).getObservationDataSets();
+    }
+
+    private NamedData source(final String name) throws IOException {
+        final NamedData raw = new NamedData(name.substring(name.indexOf('/') + 1),
+                                            () -> Utils.class.getClassLoader().getResourceAsStream(name));
+        return new HatanakaCompressFilter().filter(new UnixCompressFilter().filter(new GzipFilter().filter(raw)));
+    }
+
+    private void checkSameAsLoader(final List<ObservationDataSet> reference,
+                                   final ColumnarObservations observations) {
+        Assert.assertFalse(reference.isEmpty());
+        Assert.assertEquals(reference.get(0).getHeader().getMarkerName(), observations.getHeader().getMarkerName());
+        final Map<String, Integer> indices = new HashMap<>();
+        for (final ObservationDataSet dataSet : reference) {
+            final SatelliteSystem system = dataSet.getSatelliteSystem();
+            final int             prn    = dataSet.getPrnNumber();
+            final int             index  = indices.merge(system + " " + prn, 1, Integer::sum) - 1;
+            Assert.assertEquals(0.0,
+                                dataSet.getDate().durationFrom(observations.getDate(system, prn, index)),
+                                1.0e-9);
+            Assert.assertEquals(dataSet.getRcvrClkOffset(),
+                                observations.getReceiverClockOffset(system, prn, index),
+                                0.0);
+            for (final ObservationData data : dataSet.getObservationData()) {
+                final ObservationType type = data.getObservationType();
+                Assert.assertEquals(data.getValue(), observations.getValue(system, prn, type, index), 0.0);
+                Assert.assertEquals(data.getLossOfLockIndicator(),
+                                    observations.getLossOfLockIndicator(system, prn, type, index));
+                Assert.assertEquals(data.getSignalStrength(),
+                                    observations.getSignalStrength(system, prn, type, index));
+            }
+        }
+        int total = 0;
+        for (final SatelliteSystem system : observations.getSatelliteSystems()) {
+            for (final int prn : observations.getPrnNumbers(system)) {
+                total += observations.getNbEpochs(system, prn);
+            }
+        }
+        Assert.assertEquals(reference.size(), total);
+    }
+
+}
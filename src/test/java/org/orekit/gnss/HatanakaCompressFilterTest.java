@@ -615,6 +615,84 @@ public class HatanakaCompressFilterTest {
 
     }
 
+    @Test
+    public void testDecompressionRegression() throws IOException, NoSuchAlgorithmException {
+        // reference digests of the output of the filter before the allocations reduction,
+        // they match the CRX2RNX ones for the files checked in other tests
+        final String[][] references = {
+            { "rinex/GANP00SVK_R_20151890000_01H_10M_MO.crx.gz", "680cf9145f416d92458afc82aabd9cef3460c27f33837686fa0535195df379fe" },
+            { "rinex/THTG00PYF_R_20160440000_60S_30S_MO.crx.gz", "f07c83dcd4dfa02e517ebb8bed6ac7caa0a8ba6f5809cb9d367d7e757741afab" },
+            { "rinex/TLSG00FRA_R_20160440000_30S_30S_MO.crx.gz", "79b524e36869055b41238ee5919b13f0ca2923b95f8516fe0e09a7ac968a62d6" },
+            { "rinex/VILL00ESP_R_20160440000_01D_30S_MO.crx.gz", "a7f7136b71923d1fbd44638843300298872bb35a732325782ebe13cc299c0d46" },
+            { "rinex/ZIMM00CHE_R_20190320000_15M_30S_MO.crx.gz", "6ac7c9160d2131581156b2ea88c0c5844b88e1369c3a03956cb77f919c5cca3e" },
+            { "rinex/aber0440.16d.Z",                            "b2bc4c32c144f8e6fdda15c9a041c17cbd6b48653c0866dd121f9ad5663f3895" },
+            { "rinex/abmf0440.16d.Z",                            "8eee596cd333bb784ece5a7afd94ab1674f27af58ede842873d952414a39998f" },
+            { "rinex/arev0440.16d.Z",                            "4e5d77c4f4b21f9c995da88b4e1efd75d0e808e3e531ec815f95c4a8652fba8f" },
+            { "rinex/arol0090.01d.Z",                            "2ec64a396f19c09e70d0748e01ebb0f96d4961fdfd3ba8f023011de40b52c2b4" },
+            { "rinex/bogi1210.09d.Z",                            "7b1556a1f582b4e037b6bae7e31672370fbea23ebb9289ceebcefefa898afe9c" },
+            { "rinex/clckReset_U_20190320000_10M_10M_MO.crx",    "b54f4ec3fb860a032f93f569199224e247b35ceba309bc96478779ff7120455a" }
+        };
+        for (final String[] reference : references) {
+            final String name = reference[0];
+            final NamedData raw = new NamedData(name.substring(name.indexOf('/') + 1),
+                                                () -> Utils.class.getClassLoader().getResourceAsStream(name));
+            final NamedData filtered = new HatanakaCompressFilter().
+                                       filter(new GzipFilter().filter(new UnixCompressFilter().filter(raw)));
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            try (InputStream is = new DigestInputStream(filtered.getStreamOpener().openStream(), md)) {
+                final byte[] buffer = new byte[4096];
+                while (is.read(buffer) >= 0) {
+                    // nothing to do here
+                }
+            }
+            checkDigest(reference[1], md);
+        }
+    }
+
+    @Test
+    public void testParseLong() {
+        Assert.assertEquals(0L,     HatanakaCompressFilter.parseLong("0", 0, 1));
+        Assert.assertEquals(12345L, HatanakaCompressFilter.parseLong("  12345", 2, 7));
+        Assert.assertEquals(12345L, HatanakaCompressFilter.parseLong("+12345", 0, 6));
+        Assert.assertEquals(-1234L, HatanakaCompressFilter.parseLong("x-1234y", 1, 6));
+        Assert.assertEquals(Long.MAX_VALUE,
+                            HatanakaCompressFilter.parseLong(Long.toString(Long.MAX_VALUE), 0, 19));
+        Assert.assertEquals(Long.MIN_VALUE,
+                            HatanakaCompressFilter.parseLong(Long.toString(Long.MIN_VALUE), 0, 20));
+    }
+
+    @Test
+    public void testParseLongEmpty() {
+        checkParseLongError("", 0, 0);
+        checkParseLongError("123", 1, 1);
+        checkParseLongError("-", 0, 1);
+        checkParseLongError("+", 0, 1);
+    }
+
+    @Test
+    public void testParseLongNotDigits() {
+        checkParseLongError("12a4", 0, 4);
+        checkParseLongError("--1", 0, 3);
+        checkParseLongError("1 2", 0, 3);
+    }
+
+    @Test
+    public void testParseLongOverflow() {
+        checkParseLongError("9223372036854775808", 0, 19);
+        checkParseLongError("-9223372036854775809", 0, 20);
+        checkParseLongError("123456789012345678901", 0, 21);
+        checkParseLongError("-99999999999999999999", 0, 21);
+    }
+
+    private void checkParseLongError(final String sequence, final int start, final int end) {
+        try {
+            HatanakaCompressFilter.parseLong(sequence, start, end);
+            Assert.fail("an exception should have been thrown");
+        } catch (NumberFormatException nfe) {
+            Assert.assertEquals(sequence.substring(start, end), nfe.getMessage());
+        }
+    }
+
     private void checkDigest(final String expected, final MessageDigest md) {
         StringBuilder builder = new StringBuilder();
         for (final byte b : md.digest()) {
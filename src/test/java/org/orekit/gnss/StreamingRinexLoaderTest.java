@@ -0,0 +1,128 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.data.GzipFilter;
+import org.orekit.data.NamedData;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+
+public class StreamingRinexLoaderTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testRinex2() throws IOException {
+        checkSameAsLoader("rinex/aiub0000.00o", 2);
+    }
+
+    @Test
+    public void testRinex3() throws IOException {
+        checkSameAsLoader("rinex/jnu10110.17o", 1);
+    }
+
+    @Test
+    public void testCompactRinex() throws IOException {
+
+        final NamedData raw = new NamedData("TLSG00FRA_R_20160440000_30S_30S_MO.crx.gz",
+                                            () -> Utils.class.getClassLoader().
+                                                   getResourceAsStream("rinex/TLSG00FRA_R_20160440000_30S_30S_MO.crx.gz"));
+        final NamedData filtered = new HatanakaCompressFilter().filter(new GzipFilter().filter(raw));
+        final List<ObservationDataSet> reference =
+                        new RinexLoader(filtered.getStreamOpener().openStream(), filtered.getName()).
+                        getObservationDataSets();
+
+        try (StreamingRinexLoader loader = new StreamingRinexLoader(filtered.getStreamOpener().openStream(),
+                                                                    filtered.getName(), 4)) {
+            final List<ObservationDataSet> streamed = loader.stream().collect(Collectors.toList());
+            checkSame(reference, streamed);
+            Assert.assertTrue(loader.getBytesRead() > 0);
+            Assert.assertTrue(loader.getThroughput() > 0);
+        }
+
+    }
+
+    @Test
+    public void testEarlyClose() {
+        final String name = "rinex/aiub0000.00o";
+        final StreamingRinexLoader loader =
+                        new StreamingRinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name, 2);
+        Assert.assertTrue(loader.hasNext());
+        loader.next();
+        loader.close();
+        Assert.assertFalse(loader.hasNext());
+    }
+
+    @Test
+    public void testWrongLabel() {
+        final String name = "rinex/unknown-label.00o";
+        try (StreamingRinexLoader loader =
+                        new StreamingRinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name, 2)) {
+            loader.stream().count();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, oe.getSpecifier());
+            Assert.assertEquals(22, ((Integer) oe.getParts()[0]).intValue());
+        }
+    }
+
+    private void checkSameAsLoader(final String name, final int bufferSize) throws IOException {
+        final List<ObservationDataSet> reference =
+                        new RinexLoader(Utils.class.getClassLoader().getResourceAsStream(name), name).
+                        getObservationDataSets();
+        try (InputStream is = Utils.class.getClassLoader().getResourceAsStream(name);
+             StreamingRinexLoader loader = new StreamingRinexLoader(is, name, bufferSize)) {
+            final List<ObservationDataSet> streamed = loader.stream().collect(Collectors.toList());
+            checkSame(reference, streamed);
+        }
+    }
+
+    private void checkSame(final List<ObservationDataSet> reference, final List<ObservationDataSet> streamed) {
+        Assert.assertFalse(reference.isEmpty());
+        Assert.assertEquals(reference.size(), streamed.size());
+        for (int i = 0; i < reference.size(); ++i) {
+            final ObservationDataSet r = reference.get(i);
+            final ObservationDataSet s = streamed.get(i);
+            Assert.assertEquals(r.getSatelliteSystem(), s.getSatelliteSystem());
+            Assert.assertEquals(r.getPrnNumber(), s.getPrnNumber());
+            Assert.assertEquals(0.0, s.getDate().durationFrom(r.getDate()), 0.0);
+            Assert.assertEquals(r.getRcvrClkOffset(), s.getRcvrClkOffset(), 0.0);
+            Assert.assertEquals(r.getObservationData().size(), s.getObservationData().size());
+            for (int j = 0; j < r.getObservationData().size(); ++j) {
+                final ObservationData rj = r.getObservationData().get(j);
+                final ObservationData sj = s.getObservationData().get(j);
+                Assert.assertEquals(rj.getObservationType(), sj.getObservationType());
+                Assert.assertEquals(rj.getValue(), sj.getValue(), 0.0);
+                Assert.assertEquals(rj.getLossOfLockIndicator(), sj.getLossOfLockIndicator());
+                Assert.assertEquals(rj.getSignalStrength(), sj.getSignalStrength());
+            }
+        }
+    }
+
+}
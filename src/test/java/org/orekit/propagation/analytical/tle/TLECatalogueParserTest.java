@@ -0,0 +1,197 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.TimeScalesFactory;
+
+public class TLECatalogueParserTest {
+
+    @Test
+    public void testSequentialAndParallel() throws IOException {
+
+        // reference: lines read and paired by hand
+        final List<TLE> reference = new ArrayList<>();
+        try (InputStream is = getClass().getResourceAsStream("/tle/tle-series/spot-5.tle");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            for (String line1 = reader.readLine(); line1 != null; line1 = reader.readLine()) {
+                reference.add(new TLE(line1, reader.readLine()));
+            }
+        }
+        Assert.assertEquals(250, reference.size());
+
+        final TLECatalogueParser parser = new TLECatalogueParser(TimeScalesFactory.getUTC());
+        final List<TLE> sequential;
+        try (InputStream is = getClass().getResourceAsStream("/tle/tle-series/spot-5.tle")) {
+            sequential = parser.parse(is, "spot-5.tle").collect(Collectors.toList());
+        }
+        final List<TLE> parallel;
+        try (InputStream is = getClass().getResourceAsStream("/tle/tle-series/spot-5.tle")) {
+            parallel = parser.parse(is, "spot-5.tle").parallel().collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(reference, sequential);
+        Assert.assertEquals(reference, parallel);
+
+    }
+
+    @Test
+    public void testFile() throws IOException {
+        final String fileName = getClass().getResource("/tle/extrapolationTest-data/SatCode-entry").getPath();
+        try (Stream<TLE> stream = new TLECatalogueParser().parse(fileName)) {
+            final List<TLE> catalogue = stream.collect(Collectors.toList());
+            Assert.assertEquals(29, catalogue.size());
+            Assert.assertEquals(5, catalogue.get(0).getSatelliteNumber());
+            Assert.assertEquals(4632, catalogue.get(1).getSatelliteNumber());
+        }
+    }
+
+    @Test
+    public void testExtraLines() throws IOException {
+        final String catalogue =
+                        "These are extra non-TLE lines\n" +
+                        "\n" +
+                        "# some are comments\n" +
+                        "1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20\n" +
+                        "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62\n" +
+                        "\n" +
+                        "1 27421U 02021A   02124.77040167 -.00012463  00000-0 -52031-2 0    40\n" +
+                        "2 27421  98.7490 199.7923 0001420 132.0684 228.0544 14.26111297   106\n";
+        final List<TLECatalogueParser.Entry> entries = new TLECatalogueParser().
+                                                       parseEntries(new BufferedReader(new StringReader(catalogue)), "extra").
+                                                       collect(Collectors.toList());
+        Assert.assertEquals(2, entries.size());
+        Assert.assertNull(entries.get(0).getName());
+        Assert.assertNull(entries.get(1).getName());
+        Assert.assertEquals("1 27421U 02021A   02124.77040167 -.00012463  00000-0 -52031-2 0    40",
+                            entries.get(1).getTLE().getLine1());
+    }
+
+    @Test
+    public void testWrongLength() throws IOException {
+        // line 4 starts as a first line, but is too long
+        try (InputStream is = getClass().getResourceAsStream("/tle/tle-series/spot-5-with-extra-lines.tle")) {
+            new TLECatalogueParser().parse(is, "spot-5-with-extra-lines.tle").collect(Collectors.toList());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.MISSING_SECOND_TLE_LINE, oe.getSpecifier());
+            Assert.assertEquals(4, ((Integer) oe.getParts()[0]).intValue());
+        }
+        final String catalogue =
+                        "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                        "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537 \n";
+        checkError(catalogue, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 2);
+    }
+
+    @Test
+    public void testMissingFirstLine() {
+        final String catalogue =
+                        "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                        "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n" +
+                        "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62\n";
+        checkError(catalogue, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 3);
+    }
+
+    @Test
+    public void testMissingSecondLine() {
+        final String catalogue =
+                        "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                        "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n" +
+                        "1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20\n";
+        try {
+            new TLECatalogueParser().
+            parse(new BufferedReader(new StringReader(catalogue)), "truncated").
+            collect(Collectors.toList());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNEXPECTED_END_OF_FILE_AFTER_LINE, oe.getSpecifier());
+            Assert.assertEquals("truncated", oe.getParts()[0]);
+            Assert.assertEquals(3, ((Integer) oe.getParts()[1]).intValue());
+        }
+    }
+
+    @Test
+    public void testThreeLines() {
+        final String catalogue =
+                        "0 ISS (ZARYA)\n" +
+                        "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                        "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n" +
+                        "0 SPOT 5\n" +
+                        "1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20\n" +
+                        "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62\n";
+        final List<TLE> tles = new TLECatalogueParser().
+                               parse(new BufferedReader(new StringReader(catalogue)), "3le").
+                               collect(Collectors.toList());
+        Assert.assertEquals(2, tles.size());
+        Assert.assertEquals(25544, tles.get(0).getSatelliteNumber());
+        Assert.assertEquals(27421, tles.get(1).getSatelliteNumber());
+
+        final List<TLECatalogueParser.Entry> entries = new TLECatalogueParser().
+                                                       parseEntries(new BufferedReader(new StringReader(catalogue)), "3le").
+                                                       collect(Collectors.toList());
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("ISS (ZARYA)", entries.get(0).getName());
+        Assert.assertEquals(tles.get(0), entries.get(0).getTLE());
+        Assert.assertEquals("SPOT 5", entries.get(1).getName());
+        Assert.assertEquals(tles.get(1), entries.get(1).getTLE());
+    }
+
+    @Test
+    public void testWrongFormat() {
+        final String catalogue =
+                        "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                        "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n" +
+                        "1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20\n" +
+                        "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.2611399x    62\n";
+        checkError(catalogue, OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE, 4);
+    }
+
+    private void checkError(final String catalogue, final OrekitMessages expected, final int lineNumber) {
+        try {
+            new TLECatalogueParser().
+            parse(new BufferedReader(new StringReader(catalogue)), "wrong").
+            collect(Collectors.toList());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(expected, oe.getSpecifier());
+            Assert.assertEquals(lineNumber, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals("wrong", oe.getParts()[1]);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
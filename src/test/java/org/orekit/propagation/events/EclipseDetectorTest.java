@@ -30,6 +30,7 @@ import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.EclipsePredictor;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
@@ -41,6 +42,7 @@ import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
 import org.orekit.propagation.events.EventsLogger.LoggedEvent;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.events.handlers.StopOnDecreasing;
@@ -160,6 +162,54 @@ public class EclipseDetectorTest {
         Assert.assertEquals(4388.155852, finalState.getDate().durationFrom(iniDate), 2.0e-6);
     }
 
+    @Test
+    public void testSharedPredictor() {
+        final EclipsePredictor predictor = new EclipsePredictor(sun, sunRadius, earth.getEquatorialRadius());
+        EclipseDetector e = new EclipseDetector(predictor, earth).
+                            withMaxCheck(60.0).
+                            withThreshold(1.0e-3).
+                            withPenumbra();
+        Assert.assertFalse(e.getTotalEclipse());
+        Assert.assertSame(predictor, e.getEclipsePredictor());
+        Assert.assertSame(sun, e.getOcculted());
+        Assert.assertEquals(sunRadius, e.getOccultedRadius(), 1.0e-15);
+        propagator.addEventDetector(e);
+        final SpacecraftState finalState = propagator.propagate(iniDate.shiftedBy(6000));
+        Assert.assertEquals(4388.155852, finalState.getDate().durationFrom(iniDate), 2.0e-3);
+    }
+
+    @Test
+    public void testSharedPredictorEvents() {
+        final OneAxisEllipsoid wgs84 = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final EclipsePredictor predictor = new EclipsePredictor(sun, sunRadius, wgs84.getEquatorialRadius());
+        final EventsLogger reference = new EventsLogger();
+        final EventsLogger shared    = new EventsLogger();
+        final KeplerianPropagator keplerian = new KeplerianPropagator(initialState.getOrbit());
+        keplerian.addEventDetector(reference.monitorDetector(new EclipseDetector(sun, sunRadius, wgs84).
+                                                             withHandler(new ContinueOnEvent<>())));
+        keplerian.addEventDetector(reference.monitorDetector(new EclipseDetector(sun, sunRadius, wgs84).
+                                                             withPenumbra().
+                                                             withHandler(new ContinueOnEvent<>())));
+        keplerian.addEventDetector(shared.monitorDetector(new EclipseDetector(predictor, wgs84).
+                                                          withHandler(new ContinueOnEvent<>())));
+        keplerian.addEventDetector(shared.monitorDetector(new EclipseDetector(predictor, wgs84).
+                                                          withPenumbra().
+                                                          withHandler(new ContinueOnEvent<>())));
+        keplerian.propagate(iniDate.shiftedBy(Constants.JULIAN_DAY));
+
+        // saturating the switching function far from shadow boundaries does not change events
+        Assert.assertEquals(58, reference.getLoggedEvents().size());
+        Assert.assertEquals(reference.getLoggedEvents().size(), shared.getLoggedEvents().size());
+        for (int i = 0; i < reference.getLoggedEvents().size(); ++i) {
+            final LoggedEvent r = reference.getLoggedEvents().get(i);
+            final LoggedEvent e = shared.getLoggedEvents().get(i);
+            Assert.assertEquals(r.isIncreasing(), e.isIncreasing());
+            Assert.assertEquals(0.0, e.getState().getDate().durationFrom(r.getState().getDate()), 1.0e-3);
+        }
+    }
+
     @Test
     public void testWithMethods() {
         EclipseDetector e = new EclipseDetector(sun, sunRadius, earth).
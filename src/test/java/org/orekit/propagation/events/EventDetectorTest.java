@@ -16,6 +16,10 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.analysis.solvers.PegasusSolver;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.events.Action;
@@ -339,6 +343,160 @@ public class EventDetectorTest {
                                                                   AbsoluteDate.J2000_EPOCH, Constants.EIGEN5C_EARTH_MU));
        Assert.assertSame(s, dummyDetector.resetState(s));
 
+       // by default, events skipping and metrics are disabled, and solver is a 5th order Brent solver
+       Assert.assertTrue(Double.isInfinite(dummyDetector.getMaxGRate()));
+       Assert.assertNull(dummyDetector.getMetrics());
+       Assert.assertTrue(dummyDetector.getSolver() instanceof BracketingNthOrderBrentSolver);
+       Assert.assertEquals(1.0e-10, dummyDetector.getSolver().getAbsoluteAccuracy(), 1.0e-25);
+
+    }
+
+    @Test
+    public void testSolverAndMetricsAnalytical() {
+        final KeplerianOrbit orbit = new KeplerianOrbit(7e6, 0.01, 0.3, 0, 0, 0,
+                                                        PositionAngle.TRUE, FramesFactory.getEME2000(),
+                                                        AbsoluteDate.J2000_EPOCH, mu);
+        final AbsoluteDate target = orbit.getDate().shiftedBy(5 * orbit.getKeplerianPeriod());
+        final EventDetector raw = new ApsideDetector(orbit).withMaxCheck(600.0).withThreshold(1.0e-6).
+                                   withHandler(new ContinueOnEvent<>());
+
+        // reference run, with default solver and no metrics
+        final EventsLogger referenceLogger = new EventsLogger();
+        final Propagator referencePropagator = new KeplerianPropagator(orbit);
+        referencePropagator.addEventDetector(referenceLogger.monitorDetector(raw));
+        referencePropagator.propagate(target);
+
+        // run with a custom solver and metrics
+        final EventStatistics statistics = new EventStatistics();
+        final int[] solverCalls = new int[1];
+        final EventsLogger logger = new EventsLogger();
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.addEventDetector(logger.monitorDetector(new AdapterDetector(raw) {
+            @Override
+            public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+                ++solverCalls[0];
+                return new PegasusSolver(getThreshold());
+            }
+            @Override
+            public EventMetrics getMetrics() {
+                return statistics;
+            }
+        }));
+        propagator.propagate(target);
+
+        // the solver is retrieved only once and reused
+        Assert.assertEquals(1, solverCalls[0]);
+
+        Assert.assertEquals(9, referenceLogger.getLoggedEvents().size());
+        Assert.assertEquals(9, logger.getLoggedEvents().size());
+        for (int i = 0; i < 9; ++i) {
+            Assert.assertEquals(0.0,
+                                logger.getLoggedEvents().get(i).getState().getDate().
+                                durationFrom(referenceLogger.getLoggedEvents().get(i).getState().getDate()),
+                                1.0e-6);
+        }
+
+        Assert.assertTrue(statistics.getCheckedSteps() > 0);
+        Assert.assertEquals(9, statistics.getRootSearches());
+        Assert.assertEquals(9, statistics.getRootsFound());
+        Assert.assertTrue(statistics.getRootsEvaluations() >= statistics.getRootSearches());
+        Assert.assertTrue(statistics.getStepsEvaluations() > statistics.getRootsEvaluations());
+        Assert.assertTrue(statistics.getStepsTime() >= statistics.getRootsTime());
+        Assert.assertTrue(statistics.getRootsTime() > 0);
+
+        statistics.reset();
+        Assert.assertEquals(0, statistics.getCheckedSteps());
+        Assert.assertEquals(0, statistics.getStepsEvaluations());
+        Assert.assertEquals(0.0, statistics.getStepsTime(), 1.0e-15);
+        Assert.assertEquals(0, statistics.getRootSearches());
+        Assert.assertEquals(0, statistics.getRootsFound());
+        Assert.assertEquals(0, statistics.getRootsEvaluations());
+        Assert.assertEquals(0.0, statistics.getRootsTime(), 1.0e-15);
+
+    }
+
+    @Test
+    public void testSolverNumerical() {
+        final KeplerianOrbit orbit = new KeplerianOrbit(7e6, 0.01, 0.3, 0, 0, 0,
+                                                        PositionAngle.TRUE, FramesFactory.getEME2000(),
+                                                        AbsoluteDate.J2000_EPOCH, mu);
+        final int[] solveCalls = new int[1];
+        final EventsLogger logger = new EventsLogger();
+        final NumericalPropagator propagator = new NumericalPropagator(new ClassicalRungeKuttaIntegrator(60.0));
+        propagator.setInitialState(new SpacecraftState(orbit));
+        propagator.addEventDetector(logger.monitorDetector(new AdapterDetector(new ApsideDetector(orbit).withHandler(new ContinueOnEvent<>())) {
+            @Override
+            public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+                return new BracketingNthOrderBrentSolver(0, getThreshold(), 0, 3) {
+                    @Override
+                    public Interval solveInterval(final int maxEval, final UnivariateFunction f,
+                                                  final double min, final double max, final double startValue) {
+                        ++solveCalls[0];
+                        return super.solveInterval(maxEval, f, min, max, startValue);
+                    }
+                };
+            }
+        }));
+        propagator.propagate(orbit.getDate().shiftedBy(5 * orbit.getKeplerianPeriod()));
+        Assert.assertEquals(9, logger.getLoggedEvents().size());
+        Assert.assertTrue(solveCalls[0] >= 9);
+    }
+
+    @Test
+    public void testMetricsNumerical() {
+        final KeplerianOrbit orbit = new KeplerianOrbit(7e6, 0.01, 0.3, 0, 0, 0,
+                                                        PositionAngle.TRUE, FramesFactory.getEME2000(),
+                                                        AbsoluteDate.J2000_EPOCH, mu);
+        final EventStatistics statistics = new EventStatistics();
+        final int[] gCalls = new int[1];
+        final EventsLogger logger = new EventsLogger();
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(60.0);
+        final NumericalPropagator propagator = new NumericalPropagator(integrator);
+        propagator.setInitialState(new SpacecraftState(orbit));
+        propagator.addEventDetector(logger.monitorDetector(new AdapterDetector(new ApsideDetector(orbit).withHandler(new ContinueOnEvent<>())) {
+            @Override
+            public double g(final SpacecraftState s) {
+                ++gCalls[0];
+                return super.g(s);
+            }
+            @Override
+            public EventMetrics getMetrics() {
+                return statistics;
+            }
+        }));
+
+        final int[] steps = new int[1];
+        propagator.setMasterMode((interpolator, isLast) -> ++steps[0]);
+
+        final double duration = 5 * orbit.getKeplerianPeriod();
+        propagator.propagate(orbit.getDate().shiftedBy(duration));
+        Assert.assertEquals(9, logger.getLoggedEvents().size());
+
+        // one step check per step handed over to step handlers
+        Assert.assertTrue(steps[0] > duration / 60.0);
+        Assert.assertEquals(steps[0], statistics.getCheckedSteps());
+        Assert.assertEquals(gCalls[0], statistics.getStepsEvaluations());
+        Assert.assertTrue(statistics.getStepsTime() > 0);
+        Assert.assertTrue(statistics.getRootSearches() >= 9);
+        Assert.assertEquals(statistics.getRootSearches(), statistics.getRootsFound());
+        Assert.assertTrue(statistics.getRootsEvaluations() >= statistics.getRootSearches());
+        Assert.assertTrue(statistics.getStepsEvaluations() > statistics.getRootsEvaluations());
+
+        // metrics are not notified twice when propagating again
+        statistics.reset();
+        gCalls[0] = 0;
+        steps[0]  = 0;
+        propagator.propagate(orbit.getDate().shiftedBy(2 * duration));
+        Assert.assertEquals(steps[0], statistics.getCheckedSteps());
+        Assert.assertEquals(gCalls[0], statistics.getStepsEvaluations());
+
+        // the metrics handler does not remain in the integrator after propagation
+        Assert.assertEquals(1, integrator.getStepHandlers().size());
+        propagator.clearEventsDetectors();
+        statistics.reset();
+        propagator.propagate(orbit.getDate().shiftedBy(3 * duration));
+        Assert.assertEquals(0, statistics.getCheckedSteps());
+
     }
 
     @Before
@@ -19,9 +19,12 @@ package org.orekit.propagation.events;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.spherical.twod.Edge;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
 import org.hipparchus.ode.events.Action;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
@@ -40,6 +43,7 @@ import org.orekit.errors.OrekitException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
 import org.orekit.geometry.fov.CircularFieldOfView;
 import org.orekit.geometry.fov.DoubleDihedraFieldOfView;
 import org.orekit.geometry.fov.EllipticalFieldOfView;
@@ -177,6 +181,164 @@ public class FieldOfViewDetectorTest {
         
     }
 
+    @Test
+    public void testEventsSkipping() {
+
+        // square field of view, along X axis, aperture 68°
+        final double halfAperture = FastMath.toRadians(0.5 * 68.0);
+        final FieldOfView fov = new DoubleDihedraFieldOfView(Vector3D.PLUS_I,
+                                                             Vector3D.PLUS_K, halfAperture,
+                                                             Vector3D.PLUS_J, halfAperture,
+                                                             0.0);
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+
+        // the Sun direction moves at orbital rate in an Earth pointing spacecraft frame
+        final double maxRate = 2 * initialOrbit.getKeplerianMeanMotion();
+
+        final int[] counts = new int[2];
+        final List<List<LoggedEvent>> events = new ArrayList<>();
+        for (int i = 0; i < 2; ++i) {
+            final int index = i;
+            final PVCoordinatesProvider countingSun = (date, frame) -> {
+                ++counts[index];
+                return sun.getPVCoordinates(date, frame);
+            };
+            FieldOfViewDetector detector = new FieldOfViewDetector(countingSun, fov).
+                                           withMaxCheck(5.0).
+                                           withThreshold(1.0e-10).
+                                           withHandler(new ContinueOnEvent<>());
+            if (i == 1) {
+                detector = detector.withMaxAngularRate(maxRate);
+                Assert.assertEquals(maxRate, detector.getMaxGRate(), 1.0e-15);
+            } else {
+                Assert.assertTrue(Double.isInfinite(detector.getMaxGRate()));
+            }
+            final EventsLogger logger = new EventsLogger();
+            final KeplerianPropagator propagator = new KeplerianPropagator(initialOrbit, earthCenterAttitudeLaw);
+            propagator.addEventDetector(logger.monitorDetector(detector));
+            propagator.propagate(initDate.shiftedBy(20000.));
+            events.add(logger.getLoggedEvents());
+        }
+
+        // the same events are found
+        Assert.assertEquals(4, events.get(0).size());
+        Assert.assertEquals(events.get(0).size(), events.get(1).size());
+        for (int i = 0; i < events.get(0).size(); ++i) {
+            Assert.assertEquals(events.get(0).get(i).isIncreasing(), events.get(1).get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                events.get(1).get(i).getState().getDate().durationFrom(events.get(0).get(i).getState().getDate()),
+                                1.0e-8);
+        }
+
+        // but with far less g function evaluations
+        Assert.assertEquals(4040, counts[0]);
+        Assert.assertEquals(316, counts[1]);
+
+    }
+
+    @Test
+    public void testContinuousG() {
+
+        // square field of view, along X axis, aperture 68°
+        final double halfAperture = FastMath.toRadians(0.5 * 68.0);
+        final FieldOfView fov = new DoubleDihedraFieldOfView(Vector3D.PLUS_I,
+                                                             Vector3D.PLUS_K, halfAperture,
+                                                             Vector3D.PLUS_J, halfAperture,
+                                                             0.0);
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        final FieldOfViewDetector detector = new FieldOfViewDetector(sun, fov);
+
+        // g is the exact offset saturated far from the Field Of View,
+        // hence continuous, even when the enclosing cap filter triggers
+        final KeplerianPropagator propagator = new KeplerianPropagator(initialOrbit, earthCenterAttitudeLaw);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double dt = 0; dt < 20000.0; dt += 10.0) {
+            final SpacecraftState s = propagator.propagate(initDate.shiftedBy(dt));
+            final Vector3D los = s.toTransform().
+                                 transformPosition(sun.getPVCoordinates(s.getDate(), s.getFrame()).getPosition());
+            final double exact = fov.offsetFromBoundary(los, 0.0,
+                                                        VisibilityTrigger.VISIBLE_AS_SOON_AS_PARTIALLY_IN_FOV);
+            final double g = detector.g(s);
+            Assert.assertEquals(FastMath.min(exact, 0.5), g, 1.0e-15);
+            min = FastMath.min(min, g);
+            max = FastMath.max(max, g);
+        }
+        Assert.assertTrue(min < 0);
+        Assert.assertEquals(0.5, max, 1.0e-15);
+
+    }
+
+    @Test
+    public void testEnclosingCapFilter() {
+
+        // square field of view, along X axis, aperture 68°
+        final double halfAperture = FastMath.toRadians(0.5 * 68.0);
+        final FieldOfView raw = new DoubleDihedraFieldOfView(Vector3D.PLUS_I,
+                                                             Vector3D.PLUS_K, halfAperture,
+                                                             Vector3D.PLUS_J, halfAperture,
+                                                             0.0);
+
+        // wrapper counting the exact offset computations
+        final int[] offsetCalls = new int[1];
+        final FieldOfView counting = new FieldOfView() {
+            public double getMargin() {
+                return raw.getMargin();
+            }
+            public EnclosingBall<Sphere2D, S2Point> getEnclosingCap() {
+                return raw.getEnclosingCap();
+            }
+            public double offsetFromBoundary(final Vector3D lineOfSight, final double angularRadius,
+                                             final VisibilityTrigger trigger) {
+                ++offsetCalls[0];
+                return raw.offsetFromBoundary(lineOfSight, angularRadius, trigger);
+            }
+            public Vector3D projectToBoundary(final Vector3D lineOfSight) {
+                return raw.projectToBoundary(lineOfSight);
+            }
+            public List<List<GeodeticPoint>> getFootprint(final Transform fovToBody,
+                                                          final OneAxisEllipsoid body,
+                                                          final double angularStep) {
+                return raw.getFootprint(fovToBody, body, angularStep);
+            }
+        };
+
+        final List<List<LoggedEvent>> events = new ArrayList<>();
+        final int[] gCalls = new int[1];
+        for (final FieldOfView fov : new FieldOfView[] { raw, counting }) {
+            final FieldOfViewDetector detector = new FieldOfViewDetector(CelestialBodyFactory.getSun(), fov).
+                                                 withMaxCheck(5.0).
+                                                 withThreshold(1.0e-10).
+                                                 withHandler(new ContinueOnEvent<>());
+            final EventsLogger logger = new EventsLogger();
+            final KeplerianPropagator propagator = new KeplerianPropagator(initialOrbit, earthCenterAttitudeLaw);
+            propagator.addEventDetector(logger.monitorDetector(new AdapterDetector(detector) {
+                @Override
+                public double g(final SpacecraftState s) {
+                    ++gCalls[0];
+                    return super.g(s);
+                }
+            }));
+            propagator.propagate(initDate.shiftedBy(20000.));
+            events.add(logger.getLoggedEvents());
+        }
+
+        // the cap does not change the events
+        Assert.assertEquals(4, events.get(0).size());
+        Assert.assertEquals(events.get(0).size(), events.get(1).size());
+        for (int i = 0; i < events.get(0).size(); ++i) {
+            Assert.assertEquals(events.get(0).get(i).isIncreasing(), events.get(1).get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                events.get(1).get(i).getState().getDate().durationFrom(events.get(0).get(i).getState().getDate()),
+                                1.0e-8);
+        }
+
+        // but the exact offset is computed only when the Sun is close to the Field Of View
+        Assert.assertTrue(offsetCalls[0] > 0);
+        Assert.assertTrue(offsetCalls[0] < gCalls[0] / 4);
+
+    }
+
     private double[] dihedralAngles(final Vector3D center, final Vector3D axis1, final Vector3D axis2,
                                     final PVCoordinates target, final SpacecraftState s) {
         final Rotation toInert     = s.getAttitude().getOrientation().getRotation().revert();
@@ -36,6 +36,7 @@ import org.orekit.geometry.fov.PolygonalFieldOfView.DefiningConeType;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.analytical.KeplerianPropagator;
 import org.orekit.propagation.events.EventsLogger.LoggedEvent;
 import org.orekit.time.AbsoluteDate;
@@ -122,6 +123,65 @@ public class GroundFieldOfViewDetectorTest {
 
     }
 
+    /**
+     * Check events skipping does not change events but reduces g function calls.
+     */
+    @Test
+    public void testEventsSkipping() {
+        AbsoluteDate date = AbsoluteDate.J2000_EPOCH;
+        AbsoluteDate endDate = date.shiftedBy(Constants.JULIAN_DAY);
+        Frame ecef = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        BodyShape earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                               Constants.WGS84_EARTH_FLATTENING,
+                                               ecef);
+        TopocentricFrame topo = new TopocentricFrame(earth,
+                                                     new GeodeticPoint(FastMath.toRadians(39), FastMath.toRadians(77), 0),
+                                                     "topo");
+        KeplerianOrbit orbit = new KeplerianOrbit(6378137 + 400e3, 0, FastMath.toRadians(51.65), 0, 0, 0,
+                                                  PositionAngle.TRUE, FramesFactory.getGCRF(), date,
+                                                  Constants.EGM96_EARTH_MU);
+        FieldOfView fov = new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                   DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                   Vector3D.PLUS_I, FastMath.PI / 3, 16, 0);
+        GroundFieldOfViewDetector regular = new GroundFieldOfViewDetector(topo, fov).withMaxCheck(5.0);
+        Assert.assertTrue(Double.isInfinite(regular.getMaxGRate()));
+
+        // line of sight cannot rotate faster than relative velocity divided by minimum distance
+        final double maxRate = 1.2 * (orbit.getPVCoordinates().getVelocity().getNorm() + 500.0) / 400e3;
+        GroundFieldOfViewDetector skipping = regular.withMaxAngularRate(maxRate);
+        Assert.assertEquals(maxRate, skipping.getMaxGRate(), 1.0e-15);
+
+        final int[] counts = new int[2];
+        final List<LoggedEvent> expected = run(orbit, regular,  counts, 0, endDate);
+        final List<LoggedEvent> actual   = run(orbit, skipping, counts, 1, endDate);
+
+        Assert.assertEquals(2, expected.size());
+        Assert.assertEquals(2, actual.size());
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(0.0,
+                                expected.get(i).getState().getDate().durationFrom(actual.get(i).getState().getDate()),
+                                1.0e-6);
+            Assert.assertEquals(expected.get(i).isIncreasing(), actual.get(i).isIncreasing());
+        }
+        Assert.assertTrue(counts[1] < counts[0] / 3);
+
+    }
+
+    private List<LoggedEvent> run(final KeplerianOrbit orbit, final EventDetector detector,
+                                  final int[] counts, final int index, final AbsoluteDate endDate) {
+        final EventsLogger logger = new EventsLogger();
+        final Propagator prop = new KeplerianPropagator(orbit);
+        prop.addEventDetector(logger.monitorDetector(new AdapterDetector(detector) {
+            @Override
+            public double g(final SpacecraftState s) {
+                ++counts[index];
+                return super.g(s);
+            }
+        }));
+        prop.propagate(endDate);
+        return logger.getLoggedEvents();
+    }
+
     /**
      * Check FoV detector is similar to {@link ElevationDetector} when using
      * zenith pointing.
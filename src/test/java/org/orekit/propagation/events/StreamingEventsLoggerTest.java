@@ -0,0 +1,258 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class StreamingEventsLoggerTest {
+
+    private AbsoluteDate         iniDate;
+    private NumericalPropagator  propagator;
+    private int                  count;
+    private EventDetector        umbraDetector;
+    private EventDetector        penumbraDetector;
+    private List<ToDoubleFunction<SpacecraftState>> fields;
+
+    @Test
+    public void testSameAsEventsLogger() {
+        final EventsLogger        reference = new EventsLogger();
+        final List<EventRecord>   records   = Collections.synchronizedList(new ArrayList<>());
+        try (StreamingEventsLogger logger = new StreamingEventsLogger(records::add, fields)) {
+            propagator.addEventDetector(logger.monitorDetector("umbra", reference.monitorDetector(umbraDetector)));
+            propagator.addEventDetector(logger.monitorDetector("penumbra", reference.monitorDetector(penumbraDetector)));
+            propagator.propagate(iniDate.shiftedBy(16215));
+        }
+        Assert.assertEquals(11, count);
+        final List<EventsLogger.LoggedEvent> expected = reference.getLoggedEvents();
+        Assert.assertEquals(expected.size(), records.size());
+        for (int i = 0; i < records.size(); ++i) {
+            final EventsLogger.LoggedEvent e = expected.get(i);
+            final EventRecord              r = records.get(i);
+            Assert.assertEquals(0.0, r.getDate().durationFrom(e.getState().getDate()), 1.0e-15);
+            Assert.assertEquals(e.getEventDetector() == umbraDetector ? "umbra" : "penumbra", r.getDetectorId());
+            Assert.assertEquals(e.isIncreasing(), r.isIncreasing());
+            Assert.assertEquals(2, r.getValuesCount());
+            Assert.assertEquals(e.getState().getMass(), r.getValue(0), 1.0e-15);
+            Assert.assertEquals(e.getState().getPVCoordinates().getPosition().getNorm(), r.getValues()[1], 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testBackPressure() {
+        final List<EventRecord> records = new ArrayList<>();
+        final EventRecordSink slowSink = record -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ie) {
+                throw new IOException(ie);
+            }
+            records.add(record);
+        };
+        try (StreamingEventsLogger logger = new StreamingEventsLogger(slowSink, fields, 1)) {
+            propagator.addEventDetector(logger.monitorDetector("umbra", umbraDetector));
+            propagator.addEventDetector(logger.monitorDetector("penumbra", penumbraDetector));
+            propagator.propagate(iniDate.shiftedBy(16215));
+        }
+        Assert.assertEquals(11, records.size());
+        for (int i = 1; i < records.size(); ++i) {
+            Assert.assertTrue(records.get(i).getDate().compareTo(records.get(i - 1).getDate()) >= 0);
+        }
+    }
+
+    @Test
+    public void testWriter() {
+        final StringWriter writer = new StringWriter();
+        try (StreamingEventsLogger logger =
+                        new StreamingEventsLogger(new EventRecordWriter(writer, TimeScalesFactory.getUTC()),
+                                                  fields)) {
+            propagator.addEventDetector(logger.monitorDetector("umbra", umbraDetector));
+            propagator.propagate(iniDate.shiftedBy(16215));
+        }
+        final String[] lines = writer.toString().split("\n");
+        Assert.assertEquals(6, lines.length);
+        for (final String line : lines) {
+            final String[] tokens = line.split(" ");
+            Assert.assertEquals(5, tokens.length);
+            Assert.assertTrue(tokens[0].startsWith("1969-07-28T"));
+            Assert.assertEquals("umbra", tokens[1]);
+            Assert.assertTrue(Arrays.asList("true", "false").contains(tokens[2]));
+            Assert.assertEquals(1000.0, Double.parseDouble(tokens[3]), 1.0e-15);
+            Assert.assertEquals(7.0e6, Double.parseDouble(tokens[4]), 2.0e5);
+        }
+    }
+
+    @Test
+    public void testSinkFailure() {
+        final EventRecordSink failingSink = record -> {
+            throw new IOException("dummy failure");
+        };
+        try (StreamingEventsLogger logger = new StreamingEventsLogger(failingSink, fields)) {
+            propagator.addEventDetector(logger.monitorDetector("umbra", umbraDetector));
+            propagator.addEventDetector(logger.monitorDetector("penumbra", penumbraDetector));
+            propagator.propagate(iniDate.shiftedBy(16215));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertTrue(oe.getCause() instanceof IOException);
+            Assert.assertEquals("dummy failure", oe.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testClosed() {
+        final List<EventRecord> records = new ArrayList<>();
+        final StreamingEventsLogger logger = new StreamingEventsLogger(records::add, fields);
+        propagator.addEventDetector(logger.monitorDetector("umbra", umbraDetector));
+        propagator.propagate(iniDate.shiftedBy(16215));
+        logger.close();
+        Assert.assertEquals(6, records.size());
+
+        // closing again is harmless
+        logger.close();
+
+        try {
+            propagator.propagate(iniDate.shiftedBy(30000));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalStateException oise) {
+            Assert.assertEquals(OrekitMessages.STREAMING_LOGGER_CLOSED, oise.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testInterruptedWhileClosing() {
+        final Thread caller = Thread.currentThread();
+        final EventRecordSink interruptingSink = new EventRecordSink() {
+            public void accept(final EventRecord record) {
+                // nothing to do
+            }
+            public void flush() {
+                // interrupt the thread waiting for sink completion
+                caller.interrupt();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException ie) {
+                    // expected, the logger shuts down the sink thread
+                }
+            }
+        };
+        final StreamingEventsLogger logger = new StreamingEventsLogger(interruptingSink, fields);
+        try {
+            logger.close();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertTrue(oe.getCause() instanceof InterruptedException);
+            // the interrupt flag must have been restored
+            Assert.assertTrue(Thread.interrupted());
+        }
+    }
+
+    private EventDetector buildDetector(final boolean totalEclipse) {
+
+        EclipseDetector detector =
+                new EclipseDetector(CelestialBodyFactory.getSun(), 696000000,
+                                    new OneAxisEllipsoid(6400000,
+                                                         0.0,
+                                                         FramesFactory.getITRF(IERSConventions.IERS_2010, true))).
+                withMaxCheck(60.0).
+                withThreshold(1.0e-3);
+
+        if (totalEclipse) {
+            detector = detector.withUmbra();
+        } else {
+            detector = detector.withPenumbra();
+        }
+
+        detector = detector.withHandler(new EventHandler<EclipseDetector>() {
+
+            public Action eventOccurred(SpacecraftState s, EclipseDetector detector, boolean increasing) {
+                ++count;
+                return Action.CONTINUE;
+            }
+
+        });
+
+        return detector;
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final double mu  = 3.9860047e14;
+        final Vector3D position  = new Vector3D(-6142438.668, 3492467.560, -25767.25680);
+        final Vector3D velocity  = new Vector3D(505.8479685, 942.7809215, 7435.922231);
+        iniDate = new AbsoluteDate(1969, 7, 28, 4, 0, 0.0, TimeScalesFactory.getTT());
+        final Orbit orbit = new EquinoctialOrbit(new PVCoordinates(position,  velocity),
+                                                 FramesFactory.getEME2000(), iniDate, mu);
+        double[] absTolerance = {
+            0.001, 1.0e-9, 1.0e-9, 1.0e-6, 1.0e-6, 1.0e-6, 0.001
+        };
+        double[] relTolerance = {
+            1.0e-7, 1.0e-4, 1.0e-4, 1.0e-7, 1.0e-7, 1.0e-7, 1.0e-7
+        };
+        AdaptiveStepsizeIntegrator integrator =
+            new DormandPrince853Integrator(0.001, 1000, absTolerance, relTolerance);
+        integrator.setInitialStepSize(60);
+        propagator = new NumericalPropagator(integrator);
+        propagator.setInitialState(new SpacecraftState(orbit));
+        count = 0;
+        umbraDetector = buildDetector(true);
+        penumbraDetector = buildDetector(false);
+        fields = Arrays.asList(s -> s.getMass(), s -> s.getPVCoordinates().getPosition().getNorm());
+    }
+
+    @After
+    public void tearDown() {
+        iniDate = null;
+        propagator = null;
+        count = 0;
+        umbraDetector = null;
+        penumbraDetector = null;
+        fields = null;
+    }
+
+}
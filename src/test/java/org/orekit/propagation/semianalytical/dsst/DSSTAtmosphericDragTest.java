@@ -22,9 +22,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationOrder;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +49,9 @@ import org.orekit.frames.FramesFactory;
 import org.orekit.frames.LOFType;
 import org.orekit.models.earth.atmosphere.Atmosphere;
 import org.orekit.models.earth.atmosphere.HarrisPriester;
+import org.orekit.models.earth.atmosphere.SimpleExponentialAtmosphere;
 import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.PropagationType;
@@ -55,6 +61,7 @@ import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
 import org.orekit.propagation.semianalytical.dsst.forces.ShortPeriodTerms;
 import org.orekit.propagation.semianalytical.dsst.utilities.AuxiliaryElements;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScalesFactory;
@@ -199,6 +206,135 @@ public class DSSTAtmosphericDragTest {
         Assert.assertEquals(2.538427523777691E-8,   y[5], 1.e-23);
     }
 
+    @Test
+    public void testAdaptiveQuadratureLifetime() {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 07, 01, 0, 0, 0, TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 600000.0, 0.03,
+                                               FastMath.toRadians(51.6), 0.0, 0.0, 0.0, PositionAngle.MEAN,
+                                               FramesFactory.getEME2000(), initDate,
+                                               Constants.WGS84_EARTH_MU);
+        final double duration = 120 * Constants.JULIAN_DAY;
+
+        final int[] fixedCount = new int[1];
+        final DSSTAtmosphericDrag fixedDrag = createCountingDrag(fixedCount);
+        Assert.assertTrue(Double.isInfinite(fixedDrag.getQuadratureReselectionThreshold()));
+        final SpacecraftState fixed = propagateDecay(orbit, fixedDrag, duration);
+
+        final int[] adaptiveCount = new int[1];
+        final DSSTAtmosphericDrag adaptiveDrag = createCountingDrag(adaptiveCount);
+        adaptiveDrag.setQuadratureReselectionThreshold(0.001);
+        Assert.assertEquals(0.001, adaptiveDrag.getQuadratureReselectionThreshold(), 1.0e-15);
+        final SpacecraftState adaptive = propagateDecay(orbit, adaptiveDrag, duration);
+
+        // the orbit decays by about 16.5 km
+        Assert.assertEquals(16.49, (orbit.getA() - fixed.getA()) / 1000.0, 0.01);
+
+        // the lowest order is still accurate enough after decay, so only the
+        // periodic selection checks add density evaluations
+        Assert.assertEquals(12, fixedDrag.getQuadratureOrder());
+        Assert.assertEquals(12, adaptiveDrag.getQuadratureOrder());
+        Assert.assertEquals(33192, fixedCount[0]);
+        Assert.assertEquals(33336, adaptiveCount[0]);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(fixed.getPVCoordinates().getPosition(),
+                                              adaptive.getPVCoordinates().getPosition()),
+                            1.0e-6);
+
+    }
+
+    @Test
+    public void testAdaptiveQuadratureOrderSwitch() {
+
+        // low perigee eccentric orbit in a steep atmosphere: drag circularizes
+        // the orbit quickly and the order needed near perigee changes
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 07, 01, 0, 0, 0, TimeScalesFactory.getUTC());
+        final double rp = Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 250000.0;
+        final double ra = Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 600000.0;
+        final Orbit orbit = new KeplerianOrbit(0.5 * (rp + ra), (ra - rp) / (ra + rp),
+                                               FastMath.toRadians(51.6), 0.0, 0.0, 0.0, PositionAngle.MEAN,
+                                               FramesFactory.getEME2000(), initDate,
+                                               Constants.WGS84_EARTH_MU);
+        final Atmosphere atmosphere = new SimpleExponentialAtmosphere(createEarth(), 4.0e-13, 300000.0, 8000.0);
+
+        final int[] fixedCount = new int[1];
+        final DSSTAtmosphericDrag fixedDrag = createCountingDrag(atmosphere, fixedCount);
+        final int[] adaptiveCount = new int[1];
+        final DSSTAtmosphericDrag adaptiveDrag = createCountingDrag(atmosphere, adaptiveCount);
+        adaptiveDrag.setQuadratureReselectionThreshold(0.01);
+
+        // both models select the same order at start
+        propagateDecay(orbit, fixedDrag, 60.0, 600.0);
+        propagateDecay(orbit, adaptiveDrag, 60.0, 600.0);
+        Assert.assertEquals(20, fixedDrag.getQuadratureOrder());
+        Assert.assertEquals(20, adaptiveDrag.getQuadratureOrder());
+
+        final double duration = 12 * Constants.JULIAN_DAY;
+        final SpacecraftState fixed    = propagateDecay(orbit, fixedDrag, 60.0, duration);
+        final SpacecraftState adaptive = propagateDecay(orbit, adaptiveDrag, 60.0, duration);
+
+        // apogee drops by about 84 km, which triggers a new selection
+        // and the adaptive model switches to the lowest order
+        Assert.assertEquals(-83.57, (fixed.getA() * (1 + fixed.getE()) - ra) / 1000.0, 0.1);
+        Assert.assertEquals(20, fixedDrag.getQuadratureOrder());
+        Assert.assertEquals(12, adaptiveDrag.getQuadratureOrder());
+
+        // the decay computed with the lower order remains consistent
+        final double fixedDecay    = orbit.getA() - fixed.getA();
+        final double adaptiveDecay = orbit.getA() - adaptive.getA();
+        Assert.assertEquals(0.0, (adaptiveDecay - fixedDecay) / fixedDecay, 0.003);
+
+    }
+
+    private OneAxisEllipsoid createEarth() {
+        return new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                    Constants.WGS84_EARTH_FLATTENING,
+                                    FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+    }
+
+    private DSSTAtmosphericDrag createCountingDrag(final int[] count) {
+        return createCountingDrag(new HarrisPriester(CelestialBodyFactory.getSun(), createEarth(), 4), count);
+    }
+
+    private DSSTAtmosphericDrag createCountingDrag(final Atmosphere hp, final int[] count) {
+        final Atmosphere counting = new Atmosphere() {
+            private static final long serialVersionUID = 20200623L;
+            public Frame getFrame() {
+                return hp.getFrame();
+            }
+            public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+                ++count[0];
+                return hp.getDensity(date, position, frame);
+            }
+            public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                                final FieldVector3D<T> position,
+                                                                final Frame frame) {
+                ++count[0];
+                return hp.getDensity(date, position, frame);
+            }
+            public Vector3D getVelocity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+                return hp.getVelocity(date, position, frame);
+            }
+        };
+        return new DSSTAtmosphericDrag(counting, 2.2, 10.0, Constants.WGS84_EARTH_MU);
+    }
+
+    private SpacecraftState propagateDecay(final Orbit orbit, final DSSTForceModel drag, final double duration) {
+        return propagateDecay(orbit, drag, orbit.getKeplerianPeriod(), duration);
+    }
+
+    private SpacecraftState propagateDecay(final Orbit orbit, final DSSTForceModel drag,
+                                           final double minStep, final double duration) {
+        final double[][] tol = DSSTPropagator.tolerances(1.0, orbit);
+        final DSSTPropagator propagator =
+                        new DSSTPropagator(new DormandPrince853Integrator(minStep,
+                                                                          10 * orbit.getKeplerianPeriod(),
+                                                                          tol[0], tol[1]));
+        propagator.setInitialState(new SpacecraftState(orbit, 500.0), PropagationType.MEAN);
+        propagator.addForceModel(drag);
+        return propagator.propagate(orbit.getDate().shiftedBy(duration));
+    }
+
     @Before
     public void setUp() throws IOException, ParseException {
         Utils.setDataRoot("regular-data:potential/shm-format");
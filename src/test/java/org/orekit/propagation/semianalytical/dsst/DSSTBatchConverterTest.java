@@ -0,0 +1,212 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.ICGEMFormatReader;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+public class DSSTBatchConverterTest {
+
+    private UnnormalizedSphericalHarmonicsProvider provider;
+    private Frame earthFrame;
+    private Supplier<Collection<DSSTForceModel>> supplier;
+    private List<SpacecraftState> osculating;
+
+    @Test
+    public void testConsistencyWithSingleConversion() {
+        final DSSTBatchConverter converter = new DSSTBatchConverter(supplier, null);
+        Assert.assertEquals(DSSTBatchConverter.DEFAULT_CHUNK_SIZE, converter.getChunkSize());
+        Assert.assertNull(converter.getExecutor());
+        converter.setChunkSize(10);
+        final DSSTBatchConverter.Result result = converter.toMean(osculating);
+        Assert.assertEquals(osculating.size(), result.getStates().size());
+        for (int i = 0; i < osculating.size(); ++i) {
+            final SpacecraftState reference = DSSTPropagator.computeMeanState(osculating.get(i), null, supplier.get());
+            final SpacecraftState batch     = result.getStates().get(i);
+            Assert.assertEquals(0.0, reference.getDate().durationFrom(batch.getDate()), 1.0e-15);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                  batch.getPVCoordinates().getPosition()),
+                                1.0e-5);
+        }
+    }
+
+    @Test
+    public void testWarmStart() {
+
+        // with one state per chunk, there are no warm starts
+        final DSSTBatchConverter converter = new DSSTBatchConverter(supplier, null);
+        converter.setChunkSize(1);
+        final DSSTBatchConverter.Result cold = converter.toMean(osculating);
+        Assert.assertEquals(0, cold.getWarmStarts());
+
+        // the 3 objects are in separate chunks, all but the first state in each chunk are warm-started
+        converter.setChunkSize(osculating.size() / 3);
+        final DSSTBatchConverter.Result warm = converter.toMean(osculating);
+        Assert.assertEquals(osculating.size() - 3, warm.getWarmStarts());
+        Assert.assertTrue(warm.getTotalIterations() < cold.getTotalIterations());
+        Assert.assertTrue(warm.getMeanIterations()  < cold.getMeanIterations());
+        Assert.assertTrue(warm.getMaxIterations()  <= cold.getMaxIterations());
+        Assert.assertEquals(((double) cold.getTotalIterations()) / osculating.size(), cold.getMeanIterations(), 1.0e-15);
+
+        // with chunks overlapping objects, the first state after a change of object is cold-started
+        converter.setChunkSize(7);
+        final DSSTBatchConverter.Result overlapping = converter.toMean(osculating);
+        Assert.assertEquals(osculating.size() - 9 - 2, overlapping.getWarmStarts());
+
+    }
+
+    @Test
+    public void testMixedObjects() {
+
+        // interleave the states of the three objects
+        final int perObject = osculating.size() / 3;
+        final List<SpacecraftState> mixed = new ArrayList<>(osculating.size());
+        for (int i = 0; i < perObject; ++i) {
+            for (int k = 0; k < 3; ++k) {
+                mixed.add(osculating.get(k * perObject + i));
+            }
+        }
+
+        // the previous state always belongs to another object, so warm start is never used
+        final DSSTBatchConverter converter = new DSSTBatchConverter(supplier, null);
+        converter.setChunkSize(mixed.size());
+        final DSSTBatchConverter.Result result = converter.toMean(mixed);
+        Assert.assertEquals(0, result.getWarmStarts());
+        for (int i = 0; i < mixed.size(); ++i) {
+            final SpacecraftState reference = DSSTPropagator.computeMeanState(mixed.get(i), null, supplier.get());
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                  result.getStates().get(i).getPVCoordinates().getPosition()),
+                                1.0e-15);
+        }
+
+    }
+
+    @Test
+    public void testConcurrentConversion() {
+        final DSSTBatchConverter sequential = new DSSTBatchConverter(supplier, null, 1.0e-13, 200);
+        sequential.setChunkSize(7);
+        final DSSTBatchConverter.Result reference = sequential.toMean(osculating);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final DSSTBatchConverter concurrent = new DSSTBatchConverter(supplier, null, 1.0e-13, 200);
+            concurrent.setChunkSize(7);
+            concurrent.setExecutor(executor);
+            Assert.assertSame(executor, concurrent.getExecutor());
+            final DSSTBatchConverter.Result result = concurrent.toMean(osculating);
+
+            // chunks are independent, so results are exactly the same
+            Assert.assertEquals(reference.getWarmStarts(),      result.getWarmStarts());
+            Assert.assertEquals(reference.getTotalIterations(), result.getTotalIterations());
+            Assert.assertEquals(reference.getMaxIterations(),   result.getMaxIterations());
+            for (int i = 0; i < osculating.size(); ++i) {
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference.getStates().get(i).getPVCoordinates().getPosition(),
+                                                      result.getStates().get(i).getPVCoordinates().getPosition()),
+                                    1.0e-15);
+            }
+
+            // round trip
+            final DSSTBatchConverter.Result back = concurrent.toOsculating(result.getStates());
+            Assert.assertEquals(0, back.getWarmStarts());
+            Assert.assertEquals(0, back.getTotalIterations());
+            Assert.assertEquals(0.0, back.getMeanIterations(), 1.0e-15);
+            for (int i = 0; i < osculating.size(); ++i) {
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(osculating.get(i).getPVCoordinates().getPosition(),
+                                                      back.getStates().get(i).getPVCoordinates().getPosition()),
+                                    1.0e-5);
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWrongChunkSize() {
+        try {
+            new DSSTBatchConverter(supplier, null).setChunkSize(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+            Assert.assertEquals(0, ((Integer) oiae.getParts()[0]).intValue());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        provider   = GravityFieldFactory.getUnnormalizedProvider(4, 4);
+        earthFrame = FramesFactory.getGTOD(false);
+        supplier   = () -> Arrays.asList(new DSSTZonal(provider, 4, 3, 9),
+                                         new DSSTTesseral(earthFrame, Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                          provider, 4, 4, 4, 8, 4, 4, 2));
+
+        // three objects, with consecutive states for each object
+        final AbsoluteDate date = new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC());
+        final Orbit[] orbits = new Orbit[] {
+            new KeplerianOrbit(7000000.0, 0.001, FastMath.toRadians(98.0), 0.3, 0.2, 0.1,
+                               PositionAngle.MEAN, FramesFactory.getEME2000(), date, provider.getMu()),
+            new KeplerianOrbit(13378000, 0.05, FastMath.toRadians(55.0), 0.0, FastMath.PI, 0.0,
+                               PositionAngle.MEAN, FramesFactory.getEME2000(), date, provider.getMu()),
+            new KeplerianOrbit(26560000.0, 0.01, FastMath.toRadians(56.0), 1.0, 2.0, 3.0,
+                               PositionAngle.MEAN, FramesFactory.getEME2000(), date, provider.getMu())
+        };
+        osculating = new ArrayList<>();
+        for (final Orbit orbit : orbits) {
+            final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+            for (int i = 0; i < 20; ++i) {
+                osculating.add(propagator.propagate(date.shiftedBy(i * 60.0)));
+            }
+        }
+    }
+
+}
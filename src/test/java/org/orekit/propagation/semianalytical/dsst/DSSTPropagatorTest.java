@@ -16,13 +16,25 @@
  */
 package org.orekit.propagation.semianalytical.dsst;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 
 import org.hamcrest.MatcherAssert;
 import org.hipparchus.geometry.euclidean.threed.RotationOrder;
@@ -47,6 +59,8 @@ import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.BoxAndSolarArraySpacecraft;
 import org.orekit.forces.ForceModel;
 import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
@@ -86,6 +100,10 @@ import org.orekit.propagation.semianalytical.dsst.forces.DSSTSolarRadiationPress
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTThirdBody;
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.propagation.semianalytical.dsst.utilities.FieldGammaMnsFunction;
+import org.orekit.propagation.semianalytical.dsst.utilities.GammaMnsFunction;
+import org.orekit.propagation.semianalytical.dsst.utilities.JacobiPolynomials;
+import org.orekit.propagation.semianalytical.dsst.utilities.NewcombOperators;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.TimeComponents;
@@ -361,6 +379,95 @@ public class DSSTPropagatorTest {
                             5.e-3);
     }
 
+    @Test
+    public void testConcurrentPropagators()
+        throws InterruptedException, ExecutionException, ReflectiveOperationException {
+
+        // start from cold coefficients caches, so concurrent propagations race to fill them
+        resetCoefficientsCaches();
+
+        final int threads = 8;
+        final int jobs    = 32;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Callable<SpacecraftState>> tasks = new ArrayList<>();
+        for (int i = 0; i < jobs; ++i) {
+            tasks.add(() -> {
+                start.await();
+                return propagateGPS();
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<SpacecraftState>> futures = new ArrayList<>();
+            for (final Callable<SpacecraftState> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            // sequential reference, computed once caches have been filled concurrently
+            final List<SpacecraftState> states = new ArrayList<>();
+            for (final Future<SpacecraftState> future : futures) {
+                states.add(future.get());
+            }
+            final SpacecraftState reference = propagateGPS();
+
+            for (final SpacecraftState state : states) {
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                      state.getPVCoordinates().getPosition()),
+                                    1.0e-15);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    /** Reset the static coefficients caches shared by all DSST propagators.
+     * @exception ReflectiveOperationException if caches cannot be accessed
+     */
+    @SuppressWarnings("unchecked")
+    private void resetCoefficientsCaches() throws ReflectiveOperationException {
+        for (final Class<?> c : new Class<?>[] { GammaMnsFunction.class, FieldGammaMnsFunction.class }) {
+            final java.lang.reflect.Field ratios = c.getDeclaredField("PRECOMPUTED_RATIOS");
+            ratios.setAccessible(true);
+            ((AtomicReference<double[]>) ratios.get(null)).set(new double[0]);
+        }
+        final java.lang.reflect.Field jacobi = JacobiPolynomials.class.getDeclaredField("MAP");
+        jacobi.setAccessible(true);
+        ((Map<?, ?>) jacobi.get(null)).clear();
+        final java.lang.reflect.Field newcomb = NewcombOperators.class.getDeclaredField("MAP");
+        newcomb.setAccessible(true);
+        ((Map<?, ?>) newcomb.get(null)).clear();
+    }
+
+    private SpacecraftState propagateGPS() {
+
+        final UnnormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getUnnormalizedProvider(4, 4);
+        final Frame earthFrame = CelestialBodyFactory.getEarth().getBodyOrientedFrame();
+        final AbsoluteDate initDate = new AbsoluteDate(2007, 4, 16, 0, 46, 42.400,
+                                                       TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(26559890., 0.0041632,
+                                               FastMath.toRadians(55.2), FastMath.toRadians(315.4985),
+                                               FastMath.toRadians(130.7562), FastMath.toRadians(44.2377),
+                                               PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                               initDate, provider.getMu());
+
+        final double[][] tol = DSSTPropagator.tolerances(1.0, orbit);
+        final DSSTPropagator propagator =
+                        new DSSTPropagator(new DormandPrince853Integrator(orbit.getKeplerianPeriod(),
+                                                                          100 * orbit.getKeplerianPeriod(),
+                                                                          tol[0], tol[1]));
+        propagator.setInitialState(new SpacecraftState(orbit), PropagationType.MEAN);
+        propagator.addForceModel(new DSSTZonal(provider, 4, 3, 9));
+        propagator.addForceModel(new DSSTTesseral(earthFrame,
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY, provider,
+                                                  4, 4, 4, 8, 4, 4, 2));
+        return propagator.propagate(initDate.shiftedBy(86400.));
+
+    }
+
     @Test
     public void testPropagationWithThirdBody() throws IOException {
 
@@ -828,6 +935,145 @@ public class DSSTPropagatorTest {
 
     }
 
+    @Test
+    public void testShortPeriodTermsExecutor() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(4, 4);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+        final AbsoluteDate finalDate = orbit.getDate().shiftedBy(5 * Constants.JULIAN_DAY);
+
+        final DSSTPropagator sequential = createOsculatingPropagator(orbit, nshp);
+        Assert.assertNull(sequential.getShortPeriodTermsExecutor());
+        sequential.setSelectedCoefficients(new HashSet<String>());
+        final SpacecraftState sequentialState = sequential.propagate(finalDate);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final DSSTPropagator concurrent = createOsculatingPropagator(orbit, nshp);
+            concurrent.setShortPeriodTermsExecutor(executor);
+            Assert.assertSame(executor, concurrent.getShortPeriodTermsExecutor());
+            concurrent.setSelectedCoefficients(new HashSet<String>());
+            final SpacecraftState concurrentState = concurrent.propagate(finalDate);
+
+            // force models are independent, so results are exactly the same
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(sequentialState.getPVCoordinates().getPosition(),
+                                                  concurrentState.getPVCoordinates().getPosition()),
+                                1.0e-15);
+            Assert.assertEquals(sequentialState.getAdditionalStates().size(),
+                                concurrentState.getAdditionalStates().size());
+            for (final Map.Entry<String, double[]> entry : sequentialState.getAdditionalStates().entrySet()) {
+                Assert.assertArrayEquals(entry.getValue(), concurrentState.getAdditionalState(entry.getKey()), 1.0e-15);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testEphemerisStorage() throws IOException {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(4, 4);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+        final AbsoluteDate finalDate = orbit.getDate().shiftedBy(5 * Constants.JULIAN_DAY);
+
+        final DSSTPropagator propagator = createOsculatingPropagator(orbit, nshp);
+        try {
+            propagator.getGeneratedStorage();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalStateException oise) {
+            Assert.assertEquals(OrekitMessages.PROPAGATOR_NOT_IN_EPHEMERIS_GENERATION_MODE, oise.getSpecifier());
+        }
+        propagator.setEphemerisMode();
+        try {
+            // nothing generated yet
+            propagator.getGeneratedStorage();
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalStateException oise) {
+            Assert.assertEquals(OrekitMessages.PROPAGATOR_NOT_IN_EPHEMERIS_GENERATION_MODE, oise.getSpecifier());
+        }
+        propagator.propagate(finalDate);
+        final BoundedPropagator generated = propagator.getGeneratedEphemeris();
+
+        // write storage and read it back
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        propagator.getGeneratedStorage().write(out);
+        final DSSTEphemerisStorage storage =
+                        DSSTEphemerisStorage.read(new ByteArrayInputStream(out.toByteArray()), "storage");
+        Assert.assertEquals(0.0, storage.getMinDate().durationFrom(generated.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, storage.getMaxDate().durationFrom(generated.getMaxDate()), 1.0e-15);
+        Assert.assertEquals(6, storage.getShortPeriodTerms().size());
+
+        // replayed states are identical to the ones from the original ephemeris
+        final BoundedPropagator osculating = storage.getEphemeris(PropagationType.OSCULATING,
+                                                                  propagator.getAttitudeProvider());
+        final BoundedPropagator mean       = storage.getEphemeris(PropagationType.MEAN,
+                                                                  propagator.getAttitudeProvider());
+        for (double dt = 0; dt < finalDate.durationFrom(orbit.getDate()); dt += 3600.0) {
+            final AbsoluteDate date = orbit.getDate().shiftedBy(dt);
+            final SpacecraftState reference = generated.propagate(date);
+            final SpacecraftState replayed  = osculating.propagate(date);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                  replayed.getPVCoordinates().getPosition()),
+                                1.0e-15);
+            Assert.assertEquals(reference.getMass(), replayed.getMass(), 1.0e-15);
+            final SpacecraftState meanState = mean.propagate(date);
+            Assert.assertTrue(Vector3D.distance(reference.getPVCoordinates().getPosition(),
+                                                meanState.getPVCoordinates().getPosition()) > 10.0);
+        }
+
+        // corrupted storage
+        try {
+            final ByteArrayOutputStream other = new ByteArrayOutputStream();
+            final GZIPOutputStream gzip = new GZIPOutputStream(other);
+            final ObjectOutputStream stream = new ObjectOutputStream(gzip);
+            stream.writeObject(orbit);
+            stream.flush();
+            gzip.finish();
+            DSSTEphemerisStorage.read(new ByteArrayInputStream(other.toByteArray()), "orbit");
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+            Assert.assertEquals("orbit", oe.getParts()[0]);
+        }
+
+    }
+
+    private DSSTPropagator createOsculatingPropagator(final Orbit orbit,
+                                                      final UnnormalizedSphericalHarmonicsProvider nshp) {
+        double period = orbit.getKeplerianPeriod();
+        double[][] tolerance = DSSTPropagator.tolerances(1.0, orbit);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(period / 100, period * 100, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(10 * period);
+        DSSTPropagator propagator = new DSSTPropagator(integrator, PropagationType.OSCULATING);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                      Constants.WGS84_EARTH_FLATTENING,
+                                                      FramesFactory.getGTOD(false));
+        CelestialBody sun = CelestialBodyFactory.getSun();
+        CelestialBody moon = CelestialBodyFactory.getMoon();
+        propagator.addForceModel(new DSSTZonal(nshp, 4, 3, 9));
+        propagator.addForceModel(new DSSTTesseral(earth.getBodyFrame(),
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                  nshp, 4, 4, 4, 8, 4, 4, 2));
+        propagator.addForceModel(new DSSTThirdBody(sun, nshp.getMu()));
+        propagator.addForceModel(new DSSTThirdBody(moon, nshp.getMu()));
+        propagator.addForceModel(new DSSTAtmosphericDrag(new HarrisPriester(sun, earth), 2.1, 180, nshp.getMu()));
+        propagator.addForceModel(new DSSTSolarRadiationPressure(1.2, 180, sun, earth.getEquatorialRadius(), nshp.getMu()));
+        propagator.setInitialState(new SpacecraftState(orbit, 45.0), PropagationType.OSCULATING);
+        return propagator;
+    }
+
     @Test
     public void testIssueMeanInclination() {
 
@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -46,6 +47,7 @@ import org.orekit.propagation.semianalytical.dsst.forces.DSSTForceModel;
 import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
 import org.orekit.propagation.semianalytical.dsst.forces.ShortPeriodTerms;
 import org.orekit.propagation.semianalytical.dsst.utilities.AuxiliaryElements;
+import org.orekit.propagation.semianalytical.dsst.utilities.hansen.HansenTesseralCache;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
@@ -215,6 +217,72 @@ public class DSSTTesseralTest {
 
     }
 
+    @Test
+    public void testHansenCacheConstellation() {
+
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        final UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getGTOD(false));
+        final AbsoluteDate date = new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC());
+
+        // Walker constellation 24/6/1
+        final int planes     = 6;
+        final int perPlane   = 4;
+        final HansenTesseralCache cache = new HansenTesseralCache();
+        Assert.assertEquals(0.0, cache.getHitRate(), 1.0e-15);
+        for (int p = 0; p < planes; ++p) {
+            for (int q = 0; q < perPlane; ++q) {
+                final Orbit orbit = new KeplerianOrbit(26559890.0, 0.005, FastMath.toRadians(55.0), 0.0,
+                                                       p * MathUtils.TWO_PI / planes,
+                                                       (q + p / (double) planes) * MathUtils.TWO_PI / perPlane,
+                                                       PositionAngle.MEAN, FramesFactory.getTOD(false),
+                                                       date, nshp.getMu());
+                final DSSTTesseral reference = new DSSTTesseral(earth.getBodyFrame(), Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                                nshp, 8, 8, 4, 12, 8, 8, 4);
+                Assert.assertNull(reference.getHansenCache());
+                final DSSTTesseral shared    = new DSSTTesseral(earth.getBodyFrame(), Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                                nshp, 8, 8, 4, 12, 8, 8, 4);
+                shared.setHansenCache(cache);
+                Assert.assertSame(cache, shared.getHansenCache());
+
+                // sharing Hansen kernels does not change the results at all
+                final double[] expected = computeRatesAndShortPeriods(reference, orbit);
+                final double[] actual   = computeRatesAndShortPeriods(shared, orbit);
+                Assert.assertArrayEquals(expected, actual, 0.0);
+
+            }
+        }
+
+        // all satellites select the same terms, so only the first one builds kernels
+        Assert.assertTrue(cache.size() > 0);
+        Assert.assertEquals(cache.size(), cache.getMisses());
+        Assert.assertEquals((planes * perPlane - 1) * cache.getMisses(), cache.getHits());
+        Assert.assertEquals((planes * perPlane - 1.0) / (planes * perPlane), cache.getHitRate(), 1.0e-15);
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(0, cache.getMisses());
+
+    }
+
+    private double[] computeRatesAndShortPeriods(final DSSTTesseral force, final Orbit orbit) {
+        final SpacecraftState state = new SpacecraftState(orbit, 1000.0);
+        final AuxiliaryElements aux = new AuxiliaryElements(orbit, 1);
+        force.registerAttitudeProvider(null);
+        final List<ShortPeriodTerms> terms = force.initialize(aux, PropagationType.OSCULATING, force.getParameters());
+        force.updateShortPeriodTerms(force.getParameters(), state);
+        final double[] rates = force.getMeanElementRate(state, aux, force.getParameters());
+        final double[] shortPeriodic = terms.get(0).value(orbit);
+        final double[] result = new double[rates.length + shortPeriodic.length];
+        System.arraycopy(rates, 0, result, 0, rates.length);
+        System.arraycopy(shortPeriodic, 0, result, rates.length, shortPeriodic.length);
+        return result;
+    }
+
     @Test
     public void testOutOfRangeException() {
         // Central Body geopotential 1x0
@@ -18,10 +18,20 @@ package org.orekit.propagation.semianalytical.dsst.utilities;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.util.CombinatoricsUtils;
+import org.hipparchus.util.Decimal64;
 import org.hipparchus.util.Decimal64Field;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
@@ -61,7 +71,7 @@ public class FieldGammaMnsFunctionTest {
         java.lang.reflect.Field precomputedF = FieldGammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
         precomputedF.setAccessible(true);
         new FieldGammaMnsFunction<>(nMax, zero.add(0.5), +1, field);
-        double[] precomputed = (double[]) precomputedF.get(null);
+        double[] precomputed = getRatios(precomputedF);
         int i = 0;
         for (int n = 0; n <= nMax; ++n) {
             for (int m = 0; m <= n; ++m) {
@@ -85,12 +95,12 @@ public class FieldGammaMnsFunctionTest {
         final T zero = field.getZero();
         java.lang.reflect.Field precomputedF = FieldGammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
         precomputedF.setAccessible(true);
-        precomputedF.set(null, new double[0]);
+        resetRatios(precomputedF);
         new FieldGammaMnsFunction<>(nMax, zero.add(0.5), +1, field);
-        double[] orginalPrecomputed = (double[]) precomputedF.get(null);
+        double[] orginalPrecomputed = getRatios(precomputedF);
         Assert.assertEquals((nMax + 1) * (nMax + 2) * (4 * nMax + 3) / 6, orginalPrecomputed.length);
         new FieldGammaMnsFunction<>(nMax + 3, zero.add(0.5), +1, field);
-        double[] reallocatedPrecomputed = (double[]) precomputedF.get(null);
+        double[] reallocatedPrecomputed = getRatios(precomputedF);
         Assert.assertEquals((nMax + 4) * (nMax + 5) * (4 * nMax + 15) / 6, reallocatedPrecomputed.length);
         for (int i = 0; i < orginalPrecomputed.length; ++i) {
             Assert.assertEquals(orginalPrecomputed[i], reallocatedPrecomputed[i],
@@ -147,6 +157,69 @@ public class FieldGammaMnsFunctionTest {
                (CombinatoricsUtils.factorialDouble(n + s) * CombinatoricsUtils.factorialDouble(n - s));
     }
 
+    @Test
+    public void testConcurrentColdCache()
+        throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException,
+               InterruptedException, ExecutionException {
+        java.lang.reflect.Field precomputedF = FieldGammaMnsFunction.class.getDeclaredField("PRECOMPUTED_RATIOS");
+        precomputedF.setAccessible(true);
+        resetRatios(precomputedF);
+
+        // many threads start together on a cold cache, requesting different sizes
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Callable<FieldGammaMnsFunction<Decimal64>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4 * threads; ++i) {
+            final int n = 2 + (7 * i) % (nMax + 1);
+            tasks.add(() -> {
+                start.await();
+                return new FieldGammaMnsFunction<>(n, Decimal64Field.getInstance().getZero().add(0.5), +1, Decimal64Field.getInstance());
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<FieldGammaMnsFunction<Decimal64>>> futures = new ArrayList<>();
+            for (final Callable<FieldGammaMnsFunction<Decimal64>> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (int i = 0; i < futures.size(); ++i) {
+                final FieldGammaMnsFunction<Decimal64> f = futures.get(i).get();
+                final int nI = 2 + (7 * i) % (nMax + 1);
+                for (int n = 0; n <= nI; ++n) {
+                    for (int m = 0; m <= n; ++m) {
+                        for (int s = -n; s <= n; ++s) {
+                            final double r = naiveRatio(m, n, s);
+                            if (s > -m && s <= m) {
+                                final double expected = FastMath.scalb(FastMath.pow(1.5, s), -m) * r;
+                                Assert.assertEquals(expected, FastMath.abs(f.getValue(m, n, s).getReal()), 1.0e-13 * expected);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the largest array has been kept
+        final int n = nMax + 2;
+        Assert.assertEquals((n + 1) * (n + 2) * (4 * n + 3) / 6, getRatios(precomputedF).length);
+
+    }
+
+    private double[] getRatios(final java.lang.reflect.Field precomputedF) throws IllegalAccessException {
+        @SuppressWarnings("unchecked")
+        final AtomicReference<double[]> reference = (AtomicReference<double[]>) precomputedF.get(null);
+        return reference.get();
+    }
+
+    private void resetRatios(final java.lang.reflect.Field precomputedF) throws IllegalAccessException {
+        @SuppressWarnings("unchecked")
+        final AtomicReference<double[]> reference = (AtomicReference<double[]>) precomputedF.get(null);
+        reference.set(new double[0]);
+    }
+
     @Before
     public void setUp() {
         nMax = 12;
@@ -18,6 +18,8 @@ package org.orekit.propagation.semianalytical.dsst.utilities.hansen;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.analysis.differentiation.GradientField;
 import org.hipparchus.util.Decimal64;
 import org.hipparchus.util.Decimal64Field;
 import org.hipparchus.util.FastMath;
@@ -105,6 +107,35 @@ public class FieldHansenThirdBodyLinearTest {
         doTestLinearVsRecursive(zero.add(0.9), zero.add(8.9e-16), Decimal64Field.getInstance());
     }
 
+    @Test
+    public void testGradientVsDoubleWithChangingArgument() {
+        final int N = 22;
+        final GradientField field = GradientField.getField(1);
+        final double[] eccentricities = { 0.1, 0.6, 0.1 };
+        for (int s = 0; s <= N; s++) {
+            // the same object is reused for several arguments, it must not return stale values
+            final FieldHansenThirdBodyLinear<Gradient> fhtbl = new FieldHansenThirdBodyLinear<>(N, s, field);
+            for (final double ecc : eccentricities) {
+                final double  chitm1  = FastMath.sqrt(1 - ecc * ecc);
+                final Gradient gchitm1 = Gradient.variable(1, 0, chitm1);
+                final HansenThirdBodyLinear htbl = new HansenThirdBodyLinear(N, s);
+                htbl.computeInitValues(chitm1, chitm1 * chitm1, chitm1 * chitm1 * chitm1);
+                fhtbl.computeInitValues(gchitm1, gchitm1.multiply(gchitm1), gchitm1.multiply(gchitm1).multiply(gchitm1));
+                for (int n = FastMath.max(2, s); n <= N; n++) {
+                    final double   ref  = htbl.getValue(n, chitm1);
+                    final Gradient g    = fhtbl.getValue(n, gchitm1);
+                    final double   dRef = htbl.getDerivative(n, chitm1);
+                    final Gradient dg   = fhtbl.getDerivative(n, gchitm1);
+                    Assert.assertEquals(ref,  g.getValue(),  1.0e-15 * FastMath.abs(ref));
+                    Assert.assertEquals(dRef, dg.getValue(), 1.0e-15 * FastMath.abs(dRef));
+                    // the gradient is with respect to χ⁻¹, dK/dχ⁻¹ = -χ² dK/dχ
+                    final double dRefdChitm1 = -dRef / (chitm1 * chitm1);
+                    Assert.assertEquals(dRefdChitm1, g.getGradient()[0], 1.0e-12 * FastMath.abs(dRefdChitm1));
+                }
+            }
+        }
+    }
+
     private <T extends RealFieldElement<T>> void doTestLinearVsRecursive(final T ecc, final T tol, final Field<T> field) {
         final T zero = field.getZero();
         final int N = 22;
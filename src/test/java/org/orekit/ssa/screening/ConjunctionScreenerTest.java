@@ -0,0 +1,228 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.screening;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.RotationConvention;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class ConjunctionScreenerTest {
+
+    @Test
+    public void testNonInertialFrame() {
+        try {
+            new ConjunctionScreener(FramesFactory.getITRF(IERSConventions.IERS_2010, true), 1000.0, 10.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.NON_PSEUDO_INERTIAL_FRAME, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testPlantedConjunctions() {
+
+        // synthetic catalogue with a few planted close approaches
+        final RandomGenerator random = new Well19937a(0x8d5c1e3fa4a3b2d1l);
+        final List<ScreenedObject> catalogue = randomCatalogue(random, 2000, 600000.0, 1200000.0);
+        final double[] offsets = { 50.0, 150.0, 400.0, 1500.0 };
+        final double[] tcas    = { 1234.5, 2000.0, 5000.0, 6789.0 };
+        for (int i = 0; i < offsets.length; ++i) {
+            catalogue.add(plant(catalogue.get(i), "planted-" + i, tcas[i], offsets[i]));
+        }
+
+        final ConjunctionScreener screener = new ConjunctionScreener(frame, 1000.0, 10.0);
+        final List<CloseApproach> approaches = screener.screen(catalogue, t0, t0.shiftedBy(7200.0));
+
+        // only close approaches involving planted objects should be found
+        // (planted objects may also meet their primary again half an orbit later)
+        for (final CloseApproach ca : approaches) {
+            Assert.assertTrue(ca.getSecondary().getId().startsWith("planted-"));
+            Assert.assertNotEquals("planted-3", ca.getSecondary().getId());
+        }
+        for (int i = 0; i < 3; ++i) {
+            boolean found = false;
+            for (final CloseApproach ca : approaches) {
+                if (ca.getSecondary().getId().equals("planted-" + i) &&
+                    FastMath.abs(ca.getDate().durationFrom(t0) - tcas[i]) < 1.0e-3) {
+                    Assert.assertEquals(catalogue.get(i).getId(), ca.getPrimary().getId());
+                    Assert.assertEquals(offsets[i], ca.getMissDistance(), 5.0e-2);
+                    Assert.assertEquals(0.0,
+                                        Vector3D.dotProduct(ca.getRelativePosition(), ca.getRelativeVelocity()) /
+                                        (ca.getMissDistance() * ca.getRelativeSpeed()),
+                                        1.0e-6);
+                    found = true;
+                }
+            }
+            Assert.assertTrue(found);
+        }
+
+    }
+
+    @Test
+    public void testInterrupted() {
+        final RandomGenerator random = new Well19937a(0x3c2b1f4e8a7d6b5al);
+        final List<ScreenedObject> catalogue = randomCatalogue(random, 2000, 600000.0, 1200000.0);
+        final ConjunctionScreener screener = new ConjunctionScreener(frame, 1000.0, 10.0);
+        Thread.currentThread().interrupt();
+        try {
+            screener.screen(catalogue, t0, t0.shiftedBy(7200.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertTrue(oe.getCause() instanceof InterruptedException);
+            // the interrupt flag has been restored (this also clears it)
+            Assert.assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void testAgainstBruteForce() {
+
+        // dense catalogue in a narrow altitude band, to have many natural close approaches
+        final RandomGenerator random = new Well19937a(0x5f1dcbd7b6a1ea76l);
+        final List<ScreenedObject> catalogue = randomCatalogue(random, 150, 700000.0, 720000.0);
+        final double threshold = 40000.0;
+        final double duration  = 3600.0;
+
+        // brute force search, sampling every pair every second
+        final List<double[]> reference = new ArrayList<>();
+        final Vector3D[][] positions = new Vector3D[catalogue.size()][];
+        for (int i = 0; i < catalogue.size(); ++i) {
+            positions[i] = new Vector3D[(int) duration + 1];
+            for (int k = 0; k < positions[i].length; ++k) {
+                positions[i][k] = catalogue.get(i).getPropagator().
+                                  getPVCoordinates(t0.shiftedBy(k), frame).getPosition();
+            }
+        }
+        for (int i = 0; i < catalogue.size(); ++i) {
+            for (int j = i + 1; j < catalogue.size(); ++j) {
+                for (int k = 1; k < positions[i].length - 1; ++k) {
+                    final double dPrev = Vector3D.distance(positions[i][k - 1], positions[j][k - 1]);
+                    final double d     = Vector3D.distance(positions[i][k],     positions[j][k]);
+                    final double dNext = Vector3D.distance(positions[i][k + 1], positions[j][k + 1]);
+                    if (d <= dPrev && d < dNext && d < threshold) {
+                        reference.add(new double[] { i, j, k, d });
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(reference.size() > 10);
+
+        // screening, using small chunks and several threads to exercise boundaries
+        final ConjunctionScreener screener =
+                        new ConjunctionScreener(frame, threshold, 20.0,
+                                                ConjunctionScreener.DEFAULT_MAX_RELATIVE_VELOCITY,
+                                                ConjunctionScreener.DEFAULT_MARGIN, 4, 7);
+        final List<CloseApproach> approaches = screener.screen(catalogue, t0, t0.shiftedBy(duration));
+
+        // all close approaches found by brute force must be found by the screener
+        for (final double[] r : reference) {
+            boolean found = false;
+            for (final CloseApproach ca : approaches) {
+                if (ca.getPrimary()   == catalogue.get((int) r[0]) &&
+                    ca.getSecondary() == catalogue.get((int) r[1]) &&
+                    FastMath.abs(ca.getDate().durationFrom(t0) - r[2]) <= 1.0) {
+                    Assert.assertTrue(ca.getMissDistance() <= r[3] + 1.0e-3);
+                    found = true;
+                }
+            }
+            Assert.assertTrue(found);
+        }
+
+        // the screener may find a few additional ones
+        // (close to threshold or at interval boundaries), but not many
+        Assert.assertTrue(approaches.size() >= reference.size());
+        Assert.assertTrue(approaches.size() <= reference.size() + 3);
+        for (final CloseApproach ca : approaches) {
+            Assert.assertTrue(ca.getMissDistance() <= threshold);
+            final PVCoordinates pv1 = ca.getPrimary().getPropagator().getPVCoordinates(ca.getDate(), frame);
+            final PVCoordinates pv2 = ca.getSecondary().getPropagator().getPVCoordinates(ca.getDate(), frame);
+            Assert.assertEquals(Vector3D.distance(pv1.getPosition(), pv2.getPosition()),
+                                ca.getMissDistance(), 1.0e-2);
+        }
+
+    }
+
+    private List<ScreenedObject> randomCatalogue(final RandomGenerator random, final int n,
+                                                 final double minAltitude, final double maxAltitude) {
+        final List<ScreenedObject> catalogue = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            final double rp = Constants.WGS84_EARTH_EQUATORIAL_RADIUS +
+                              minAltitude + (maxAltitude - minAltitude) * random.nextDouble();
+            final double ra = rp + (maxAltitude - minAltitude) * random.nextDouble() * 0.1;
+            final Orbit orbit = new KeplerianOrbit(0.5 * (rp + ra), (ra - rp) / (ra + rp),
+                                                   FastMath.PI * random.nextDouble(),
+                                                   2 * FastMath.PI * random.nextDouble(),
+                                                   2 * FastMath.PI * random.nextDouble(),
+                                                   2 * FastMath.PI * random.nextDouble(),
+                                                   PositionAngle.MEAN, frame, t0,
+                                                   Constants.EIGEN5C_EARTH_MU);
+            catalogue.add(new ScreenedObject(String.format("%05d", i), new KeplerianPropagator(orbit)));
+        }
+        return catalogue;
+    }
+
+    private ScreenedObject plant(final ScreenedObject primary, final String id,
+                                 final double dt, final double offset) {
+        // build a secondary object crossing primary at the specified date,
+        // with velocity rotated around radial direction and an offset along the
+        // direction perpendicular to both velocities
+        final PVCoordinates pv = primary.getPropagator().getPVCoordinates(t0.shiftedBy(dt), frame);
+        final Rotation r = new Rotation(pv.getPosition(), FastMath.toRadians(40), RotationConvention.VECTOR_OPERATOR);
+        final Vector3D v = r.applyTo(pv.getVelocity());
+        final Vector3D p = new Vector3D(1.0, pv.getPosition(),
+                                        offset, Vector3D.crossProduct(pv.getVelocity(), v).normalize());
+        final Orbit orbit = new CartesianOrbit(new PVCoordinates(p, v), frame, t0.shiftedBy(dt),
+                                               Constants.EIGEN5C_EARTH_MU);
+        return new ScreenedObject(id, new KeplerianPropagator(orbit));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        frame = FramesFactory.getEME2000();
+        t0    = new AbsoluteDate(2020, 4, 17, 0, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+    private Frame        frame;
+    private AbsoluteDate t0;
+
+}